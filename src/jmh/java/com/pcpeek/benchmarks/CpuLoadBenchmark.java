@@ -0,0 +1,74 @@
+package com.pcpeek.benchmarks;
+
+import com.pcpeek.monitors.dynamicinfo.CpuLoadSampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calcul de la charge CPU à partir des écarts de ticks entre deux relevés,
+ * pour le processeur entier puis pour chaque coeur logique.
+ * {@link CpuLoadSampler#computeLoad} met à jour le relevé précédent en place :
+ * chaque invocation fait donc avancer les ticks courants pour que l'écart
+ * reste non nul.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CpuLoadBenchmark {
+    // Colonnes de /proc/stat et de OSHI : user, nice, system, idle, iowait, irq, softirq, steal
+    private static final int TICK_TYPES = 8;
+    private static final long[] TICKS_PER_SAMPLE = { 120, 3, 45, 780, 12, 2, 4, 0 };
+
+    @Param({ "8", "32" })
+    public int cores;
+
+    private long[] previousSystemTicks;
+    private long[] currentSystemTicks;
+    private long[][] previousCoreTicks;
+    private long[][] currentCoreTicks;
+    private double[] coreLoads;
+
+    @Setup
+    public void setUp() {
+        previousSystemTicks = new long[TICK_TYPES];
+        currentSystemTicks = new long[TICK_TYPES];
+        previousCoreTicks = new long[cores][TICK_TYPES];
+        currentCoreTicks = new long[cores][TICK_TYPES];
+        coreLoads = new double[cores];
+    }
+
+    @Benchmark
+    public double computeSystemLoad() {
+        advance(currentSystemTicks, 0);
+        return CpuLoadSampler.computeLoad(previousSystemTicks, currentSystemTicks);
+    }
+
+    @Benchmark
+    public double[] computeCoreLoads() {
+        for (int core = 0; core < cores; core++) {
+            advance(currentCoreTicks[core], core);
+            coreLoads[core] = CpuLoadSampler.computeLoad(previousCoreTicks[core], currentCoreTicks[core]);
+        }
+        return coreLoads;
+    }
+
+    private static void advance(long[] ticks, int shift) {
+        for (int i = 0; i < TICK_TYPES; i++) {
+            ticks[i] += TICKS_PER_SAMPLE[(i + shift) % TICK_TYPES];
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.pcpeek.benchmarks;
+
+import com.pcpeek.SystemData;
+import com.pcpeek.monitors.Monitor;
+import com.pcpeek.monitors.backend.CommandBackends;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mise en forme appelée à chaque rafraîchissement de l'affichage : tailles,
+ * durée de fonctionnement et barres de progression du mode CLI.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormattingBenchmark {
+    // Champ non final : évite que le JIT ne calcule le résultat une fois pour toutes
+    private long uptimeSeconds = 273845L;
+
+    @State(Scope.Thread)
+    public static class Sizes {
+        @Param({ "512", "17179869184", "1000202273280" })
+        public long bytes;
+    }
+
+    @State(Scope.Thread)
+    public static class Bars {
+        @Param({ "20", "30" })
+        public int length;
+
+        ProgressBarMonitor monitor;
+
+        @Setup
+        public void setUp() {
+            monitor = new ProgressBarMonitor();
+        }
+    }
+
+    @Benchmark
+    public String formatBytes(Sizes sizes) {
+        return SystemData.formatBytes(sizes.bytes);
+    }
+
+    @Benchmark
+    public String formatUptime() {
+        return SystemData.formatUptime(uptimeSeconds);
+    }
+
+    @Benchmark
+    public String createProgressBar(Bars bars) {
+        return bars.monitor.progressBar(0.63, bars.length);
+    }
+
+    /**
+     * Moniteur sans commande, qui donne accès à la barre de progression
+     */
+    static final class ProgressBarMonitor extends Monitor {
+        ProgressBarMonitor() {
+            super(CommandBackends.none());
+        }
+
+        String progressBar(double value, int length) {
+            return createProgressBar(value, length);
+        }
+
+        @Override
+        protected Map<String, Object> initializeSystemInfo() {
+            return new HashMap<>();
+        }
+
+        @Override
+        protected void performUpdate() {
+        }
+
+        @Override
+        protected void displayContent() {
+        }
+
+        @Override
+        protected String getMonitorName() {
+            return "Benchmark";
+        }
+    }
+}
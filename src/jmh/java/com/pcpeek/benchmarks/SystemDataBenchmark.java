@@ -0,0 +1,103 @@
+package com.pcpeek.benchmarks;
+
+import com.pcpeek.SystemData;
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.MetricRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accès au modèle de données partagé : lectures par clé et par métrique,
+ * écritures (copie de l'instantané à chaque publication) et export complet.
+ * Les données sont celles d'un rafraîchissement typique du tableau de bord.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SystemDataBenchmark {
+    private SystemData systemData;
+    private SystemSnapshot snapshot;
+    private long version;
+    private double load;
+
+    @Setup
+    public void setUp() {
+        systemData = new SystemData();
+        systemData.update(builder -> builder
+                .putStatic(MetricRegistry.OS_CAPTION, "Microsoft Windows 11 Professionnel")
+                .putStatic(MetricRegistry.OS_VERSION, "10.0.22631")
+                .putStatic(MetricRegistry.CPU_NAME, "AMD Ryzen 7 5800X 8-Core Processor")
+                .putStatic(MetricRegistry.CPU_CORES, 8L)
+                .putStatic(MetricRegistry.CPU_THREADS, 16L)
+                .putStatic(MetricRegistry.MEMORY_TOTAL, 34359738368L)
+                .putStatic(MetricRegistry.DISK_MODEL, "Samsung SSD 980 PRO 1TB")
+                .putStatic(MetricRegistry.DISK_SIZE, 1000202273280L)
+                .putDynamicDouble(MetricRegistry.CPU_LOAD, 0.42)
+                .putDynamicDouble(MetricRegistry.CPU_LOAD_AVG, 0.37)
+                .putDynamicDouble(MetricRegistry.CPU_TEMPERATURE, 54.5)
+                .putDynamicDouble(MetricRegistry.GPU_LOAD, 0.12)
+                .putDynamicDouble(MetricRegistry.GPU_TEMPERATURE, 41.0)
+                .putDynamicLong(MetricRegistry.TOTAL_MEMORY, 34359738368L)
+                .putDynamicLong(MetricRegistry.AVAILABLE_MEMORY, 17179869184L)
+                .putDynamicLong(MetricRegistry.SYSTEM_UPTIME, 273845L)
+                .putDynamic(MetricRegistry.CPU_LOADS_PER_CORE, new double[16])
+                .putDynamic(MetricRegistry.FAN_SPEEDS, new int[] { 1200, 950, 780 }));
+        snapshot = systemData.snapshot();
+        version = snapshot.getVersion();
+    }
+
+    @Benchmark
+    public double getDoubleByMetric() {
+        return systemData.getDouble(MetricRegistry.CPU_LOAD, Double.NaN);
+    }
+
+    @Benchmark
+    public OptionalDouble getDoubleByKey() {
+        return systemData.getDouble("cpu_load");
+    }
+
+    @Benchmark
+    public OptionalDouble getCpuLoad() {
+        return systemData.getCpuLoad();
+    }
+
+    @Benchmark
+    public void putDynamicDouble() {
+        load = load >= 1.0 ? 0.0 : load + 0.01;
+        systemData.putDynamicDouble(MetricRegistry.CPU_LOAD, load);
+    }
+
+    @Benchmark
+    public SystemSnapshot updateSample() {
+        load = load >= 1.0 ? 0.0 : load + 0.01;
+        return systemData.update(builder -> builder
+                .putDynamicDouble(MetricRegistry.CPU_LOAD, load)
+                .putDynamicDouble(MetricRegistry.CPU_TEMPERATURE, 50.0 + load * 10)
+                .putDynamicLong(MetricRegistry.AVAILABLE_MEMORY, 17179869184L));
+    }
+
+    @Benchmark
+    public SystemSnapshot copySnapshot() {
+        return snapshot.toBuilder().build(++version);
+    }
+
+    @Benchmark
+    public Map<String, Object> getAllData() {
+        return systemData.getAllData();
+    }
+}
@@ -0,0 +1,99 @@
+package com.pcpeek.benchmarks;
+
+import com.pcpeek.monitors.Monitor;
+import com.pcpeek.monitors.backend.CommandBackends;
+import com.pcpeek.monitors.backend.RecordedCommandBackend;
+import com.pcpeek.monitors.staticinfo.HardwareLevelMonitor;
+import com.pcpeek.monitors.staticinfo.OSLevelMonitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parseurs des sorties WMIC des moniteurs statiques, alimentés par des
+ * sorties enregistrées : la mesure ne lance aucun processus et fonctionne
+ * sur tous les systèmes. Les parseurs étant privés, ils sont appelés par
+ * {@link Monitor#executeWmicCommands(com.pcpeek.monitors.backend.CommandBackend, Monitor...)},
+ * qui ajoute le filtrage des lignes et la répartition par commande, comme
+ * lors d'un vrai rafraîchissement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WmicParsingBenchmark {
+    private static final Map<String, String> RECORDED_OUTPUTS = Map.of(
+            "wmic os get caption,version,osarchitecture,serialnumber",
+            "Caption                                  \r\n"
+                    + "Caption Microsoft Windows 11 Professionnel\r\n"
+                    + "OSArchitecture 64 bits\r\n"
+                    + "SerialNumber 00330-80000-00000-AA123\r\n",
+            "wmic computersystem get model,manufacturer,systemtype",
+            "Model MS-7C56\r\n"
+                    + "Manufacturer Micro-Star International Co., Ltd.\r\n"
+                    + "SystemType x64-based PC\r\n",
+            "wmic path win32_operatingsystem get caption,version,osarchitecture,serialnumber,licensedatetime",
+            "OSArchitecture 64 bits\r\n"
+                    + "SerialNumber 00330-80000-00000-AA123\r\n"
+                    + "LicenseDateTime 20231105143012.000000+060\r\n",
+            "wmic cpu get name,numberofcores,numberoflogicalprocessors,currentclockspeed,maxclockspeed",
+            "Name                                  \r\n"
+                    + "NumberOfCores 8\r\n"
+                    + "NumberOfLogicalProcessors 16\r\n"
+                    + "CurrentClockSpeed 3801\r\n"
+                    + "MaxClockSpeed 3801\r\n",
+            "wmic memorychip get capacity,speed,manufacturer,partnumber",
+            "Capacity                              \r\n"
+                    + "Speed 3200\r\n"
+                    + "Manufacturer memory Kingston\r\n"
+                    + "PartNumber KF3200C16D4/16GX\r\n",
+            "wmic diskdrive get model,size,mediatype,status",
+            "Model Samsung SSD 980 PRO 1TB\r\n"
+                    + "Size 1000202273280\r\n"
+                    + "MediaType Fixed hard disk media\r\n"
+                    + "Status OK\r\n",
+            "wmic baseboard get manufacturer,product,version,serialnumber",
+            "Manufacturer Micro-Star International Co., Ltd.\r\n"
+                    + "Product MAG B550 TOMAHAWK (MS-7C91)\r\n"
+                    + "Version 2.0\r\n"
+                    + "SerialNumber 07C9111_L71E123456\r\n");
+
+    private RecordedCommandBackend backend;
+    private OSLevelMonitor osMonitor;
+    private HardwareLevelMonitor hardwareMonitor;
+
+    @Setup
+    public void setUp() {
+        backend = new RecordedCommandBackend(RECORDED_OUTPUTS);
+        // Construits sans backend actif : la construction ne parse rien
+        osMonitor = new OSLevelMonitor(CommandBackends.none());
+        hardwareMonitor = new HardwareLevelMonitor(CommandBackends.none());
+    }
+
+    @Benchmark
+    public Map<String, Object> processHardwareInfo() {
+        return Monitor.executeWmicCommands(backend, hardwareMonitor);
+    }
+
+    @Benchmark
+    public Map<String, Object> processSystemInfo() {
+        return Monitor.executeWmicCommands(backend, osMonitor);
+    }
+
+    @Benchmark
+    public Map<String, Object> processAllStaticInfo() {
+        return Monitor.executeWmicCommands(backend, osMonitor, hardwareMonitor);
+    }
+}
@@ -17,9 +17,23 @@ import com.vaadin.flow.theme.Theme;
 public class Main implements AppShellConfigurator {
 
     public static void main(String[] args) {
-        System.out.println("=== PC Peek - Système de Monitoring ===\n");
-
         // Vérifier les arguments de lancement
+        if (hasArgument(args, "--refresh-inventory")) {
+            // Ignore le cache d'inventaire statique et le réécrit
+            System.setProperty("pcpeek.inventory.refresh", "true");
+        }
+        applyRecordingArguments(args);
+        if (hasArgument(args, "--agent")) {
+            // Pas de bannière : la sortie standard peut recevoir les échantillons
+            startAgent(args);
+            return;
+        }
+        if (argumentValue(args, "--analyze=") != null) {
+            startAnalytics(args);
+            return;
+        }
+
+        System.out.println("=== PC Peek - Système de Monitoring ===\n");
         if (hasCliArgument(args)) {
             startCLI();
         } else {
@@ -31,13 +45,117 @@ public class Main implements AppShellConfigurator {
         return args.length > 0 && ("--cli".equals(args[0]) || "-c".equals(args[0]) || "cli".equals(args[0]));
     }
 
+    private static boolean hasArgument(String[] args, String name) {
+        for (String arg : args) {
+            if (name.equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String argumentValue(String[] args, String prefix) {
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reporte --replay, --replay-speed et --record dans les propriétés lues
+     * par Spring et par le mode console
+     */
+    private static void applyRecordingArguments(String[] args) {
+        String replay = argumentValue(args, "--replay=");
+        if (replay != null) {
+            System.setProperty("pcpeek.replay.dir", replay);
+            // Les échantillons rejoués ne doivent pas rejoindre l'historique persisté
+            if (System.getProperty("pcpeek.persistence.enabled") == null) {
+                System.setProperty("pcpeek.persistence.enabled", "false");
+            }
+        }
+        String speed = argumentValue(args, "--replay-speed=");
+        if (speed != null) {
+            System.setProperty("pcpeek.replay.speed", speed);
+        }
+        // Le mode agent lit --record lui-même
+        String record = argumentValue(args, "--record=");
+        if (record != null && !hasArgument(args, "--agent")) {
+            System.setProperty("pcpeek.recording.dir", record);
+        }
+    }
+
     private static void startCLI() {
+        com.pcpeek.recording.SessionRecorder recorder = null;
         try {
-            com.pcpeek.cli.CLIApplication cliApp = new com.pcpeek.cli.CLIApplication();
+            com.pcpeek.sampling.SamplingService samplingService = createCliSamplingService();
+            String record = System.getProperty("pcpeek.recording.dir");
+            if (record != null) {
+                recorder = new com.pcpeek.recording.SessionRecorder(samplingService,
+                        new com.pcpeek.recording.RecordingWriter(java.nio.file.Path.of(record),
+                                samplingService.getIntervalMs()));
+                recorder.start();
+                System.out.println("Enregistrement de la session dans " + record);
+            }
+            com.pcpeek.cli.CLIApplication cliApp = new com.pcpeek.cli.CLIApplication(samplingService);
             cliApp.run();
         } catch (Exception e) {
             System.err.println("Erreur lors du démarrage du mode console : " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            if (recorder != null) {
+                recorder.close();
+            }
+        }
+    }
+
+    private static com.pcpeek.sampling.SamplingService createCliSamplingService() throws java.io.IOException {
+        String replay = System.getProperty("pcpeek.replay.dir");
+        if (replay == null) {
+            return new com.pcpeek.sampling.SamplingService(com.pcpeek.cli.CLIApplication.SAMPLING_INTERVAL_MS);
+        }
+        double speed = Double.parseDouble(System.getProperty("pcpeek.replay.speed", "1"));
+        com.pcpeek.recording.ReplaySource source = new com.pcpeek.recording.ReplaySource(
+                com.pcpeek.recording.RecordingReader.open(java.nio.file.Path.of(replay)), speed);
+        System.out.println("Relecture de la session enregistrée dans " + replay + " (vitesse x" + speed + ")");
+        return new com.pcpeek.sampling.SamplingService(com.pcpeek.sampling.SamplingService.DEFAULT_INTERVAL_MS,
+                com.pcpeek.sampling.SamplingService.DEFAULT_RETENTION_SECONDS, source);
+    }
+
+    private static void startAgent(String[] args) {
+        com.pcpeek.agent.AgentOptions options;
+        try {
+            options = com.pcpeek.agent.AgentOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Erreur dans les options du mode agent : " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        try {
+            new com.pcpeek.agent.AgentApplication(options).run();
+        } catch (Exception e) {
+            System.err.println("Erreur lors du démarrage du mode agent : " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private static void startAnalytics(String[] args) {
+        com.pcpeek.cli.AnalyticsOptions options;
+        try {
+            options = com.pcpeek.cli.AnalyticsOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Erreur dans les options de l'analyse : " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        try {
+            new com.pcpeek.cli.AnalyticsCommand(options).run();
+        } catch (Exception e) {
+            System.err.println("Erreur lors de l'analyse de la session : " + e.getMessage());
+            System.exit(1);
         }
     }
 
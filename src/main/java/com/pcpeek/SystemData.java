@@ -1,442 +1,591 @@
 package com.pcpeek;
 
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricRegistry;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.util.Map;
-import java.util.HashMap;
 import java.util.Set;
-import java.util.HashSet;
 import java.util.Optional;
 import java.util.OptionalDouble;
-
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Données système partagées entre les moniteurs et les interfaces.
+ * Les valeurs sont rangées dans des emplacements primitifs indexés par le
+ * {@link MetricRegistry} ; les getters nommés ({@code getCpuLoad()}, ...) ne
+ * sont qu'une façade au-dessus de ces emplacements. Les accesseurs typés
+ * {@link #getDouble(Metric, double)} et {@link #getLong(Metric, long)}
+ * n'allouent rien et sont à privilégier dans les chemins fréquents.
+ * <p>
+ * L'état courant est un {@link SystemSnapshot} immuable. Chaque écriture
+ * construit un nouvel instantané versionné et le publie par un échange de
+ * référence atomique : les lectures ne prennent aucun verrou. Pour lire
+ * plusieurs valeurs issues du même échantillon (mémoire totale et disponible
+ * par exemple), il faut passer par {@link #snapshot()}.
+ */
 public class SystemData {
-    private final Map<String, Object> staticData = new HashMap<>();
-    private final Map<String, Object> dynamicData = new HashMap<>();
-    private LocalTime lastUpdate = LocalTime.now();
+    private final AtomicReference<SystemSnapshot> current =
+            new AtomicReference<>(SystemSnapshot.builder().build(0));
+
+    /**
+     * @return Instantané courant, cohérent et immuable
+     */
+    public SystemSnapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * @return Version de l'instantané courant, incrémentée à chaque publication
+     */
+    public long getVersion() {
+        return current.get().getVersion();
+    }
+
+    /**
+     * Permet à un lecteur d'éviter un travail redondant
+     *
+     * @param version Dernière version traitée par le lecteur
+     * @return true si un autre instantané a été publié depuis
+     */
+    public boolean hasChangedSince(long version) {
+        return current.get().isNewerThan(version);
+    }
+
+    /**
+     * Remplace l'état courant par un instantané déjà construit, par exemple
+     * celui publié par le service d'échantillonnage
+     *
+     * @param snapshot Instantané à publier
+     */
+    public void publish(SystemSnapshot snapshot) {
+        current.set(snapshot);
+    }
+
+    /**
+     * Applique un lot de modifications et les publie en un seul échange.
+     * En cas d'écriture concurrente, les modifications sont rejouées sur le
+     * nouvel état : elles ne doivent pas avoir d'effet de bord.
+     *
+     * @param changes Modifications à appliquer au constructeur
+     * @return Instantané publié
+     */
+    public SystemSnapshot update(Consumer<SystemSnapshot.Builder> changes) {
+        while (true) {
+            SystemSnapshot base = current.get();
+            SystemSnapshot.Builder builder = base.toBuilder();
+            changes.accept(builder);
+            SystemSnapshot next = builder.build(base.getVersion() + 1);
+            if (current.compareAndSet(base, next)) {
+                return next;
+            }
+        }
+    }
 
     public OptionalDouble getDouble(String key) {
-        Object value = getValue(key);
-        if (value instanceof Number) {
-            return OptionalDouble.of(((Number) value).doubleValue());
-        }
-        return OptionalDouble.empty();
+        Metric metric = MetricRegistry.find(key);
+        return metric != null ? getDouble(metric) : OptionalDouble.empty();
     }
 
     public Optional<String> getString(String key) {
-        Object value = getValue(key);
-        return value instanceof String ? Optional.of((String) value) : Optional.empty();
+        Metric metric = MetricRegistry.find(key);
+        return metric != null ? getString(metric) : Optional.empty();
     }
 
     public Optional<Long> getLong(String key) {
-        Object value = getValue(key);
-        if (value instanceof Number) {
-            return Optional.of(((Number) value).longValue());
-        }
-        return Optional.empty();
+        Metric metric = MetricRegistry.find(key);
+        return metric != null ? getLong(metric) : Optional.empty();
+    }
+
+    public OptionalDouble getDouble(Metric metric) {
+        return current.get().getDouble(metric);
+    }
+
+    public Optional<String> getString(Metric metric) {
+        return current.get().getString(metric);
+    }
+
+    public Optional<Long> getLong(Metric metric) {
+        return current.get().getLong(metric);
+    }
+
+    /**
+     * Lit une valeur numérique sans allocation
+     *
+     * @param metric   Métrique à lire
+     * @param fallback Valeur retournée si la métrique est absente ou non numérique
+     * @return Valeur dynamique si présente, sinon valeur statique, sinon fallback
+     */
+    public double getDouble(Metric metric, double fallback) {
+        return current.get().getDouble(metric, fallback);
+    }
+
+    /**
+     * Lit une valeur entière sans allocation
+     *
+     * @param metric   Métrique à lire
+     * @param fallback Valeur retournée si la métrique est absente ou non numérique
+     * @return Valeur dynamique si présente, sinon valeur statique, sinon fallback
+     */
+    public long getLong(Metric metric, long fallback) {
+        return current.get().getLong(metric, fallback);
+    }
+
+    /**
+     * @return Valeur objet (texte, tableau) de la métrique, ou null. Un
+     *         tableau est retourné sous forme de copie.
+     */
+    public Object getObject(Metric metric) {
+        return current.get().getObject(metric);
     }
 
-    private Object getValue(String key) {
-        Object value = dynamicData.get(key);
-        return value != null ? value : staticData.get(key);
+    public boolean has(Metric metric) {
+        return current.get().has(metric);
     }
 
     public Optional<String> getOsCaption() {
-        return getString("os.caption");
+        return getString(MetricRegistry.OS_CAPTION);
     }
 
     public Optional<String> getOsVersion() {
-        return getString("os.version");
+        return getString(MetricRegistry.OS_VERSION);
     }
 
     public Optional<String> getOsArchitecture() {
-        return getString("os.architecture");
+        return getString(MetricRegistry.OS_ARCHITECTURE);
     }
 
     public Optional<String> getOsSerial() {
-        return getString("os.serial");
+        return getString(MetricRegistry.OS_SERIAL);
     }
 
     public Optional<String> getOsLicense() {
-        return getString("os.license");
+        return getString(MetricRegistry.OS_LICENSE);
     }
 
     public Optional<String> getSystemModel() {
-        return getString("system.model");
+        return getString(MetricRegistry.SYSTEM_MODEL);
     }
 
     public Optional<String> getSystemManufacturer() {
-        return getString("system.manufacturer");
+        return getString(MetricRegistry.SYSTEM_MANUFACTURER);
     }
 
     public Optional<String> getSystemType() {
-        return getString("system.type");
+        return getString(MetricRegistry.SYSTEM_TYPE);
     }
 
     public OptionalDouble getCpuLoad() {
-        return getDouble("cpu_load");
+        return getDouble(MetricRegistry.CPU_LOAD);
     }
 
     public OptionalDouble getCpuLoadAvg() {
-        return getDouble("cpu_load_avg");
+        return getDouble(MetricRegistry.CPU_LOAD_AVG);
     }
 
     public OptionalDouble getCpuTemperature() {
-        return getDouble("cpu_temperature");
+        return getDouble(MetricRegistry.CPU_TEMPERATURE);
     }
 
     public Optional<String> getCpuName() {
-        return getString("cpu.name");
+        return getString(MetricRegistry.CPU_NAME);
     }
 
     public Optional<String> getProcessorName() {
-        return getString("processor_name");
+        return getString(MetricRegistry.PROCESSOR_NAME);
     }
 
     public Optional<Long> getCpuCores() {
-        return getLong("cpu.cores");
+        return getLong(MetricRegistry.CPU_CORES);
     }
 
     public Optional<Long> getCpuThreads() {
-        return getLong("cpu.threads");
+        return getLong(MetricRegistry.CPU_THREADS);
     }
 
     public Optional<Long> getCpuCurrentSpeed() {
-        return getLong("cpu.current.speed");
+        return getLong(MetricRegistry.CPU_CURRENT_SPEED);
     }
 
     public Optional<Long> getCpuMaxSpeed() {
-        return getLong("cpu.max.speed");
+        return getLong(MetricRegistry.CPU_MAX_SPEED);
     }
 
+    /**
+     * @return Copie de la charge par coeur
+     */
     public Optional<double[]> getCpuLoadsPerCore() {
-        Object value = getValue("cpu_loads_per_core");
+        Object value = getObject(MetricRegistry.CPU_LOADS_PER_CORE);
         return value instanceof double[] ? Optional.of((double[]) value) : Optional.empty();
     }
 
     public OptionalDouble getGpuLoad() {
-        return getDouble("gpu_load");
+        return getDouble(MetricRegistry.GPU_LOAD);
     }
 
     public OptionalDouble getGpuTemperature() {
-        return getDouble("gpu_temperature");
+        return getDouble(MetricRegistry.GPU_TEMPERATURE);
     }
 
     public Optional<Long> getTotalMemory() {
-        return getLong("total_memory");
+        return getLong(MetricRegistry.TOTAL_MEMORY);
     }
 
     public Optional<Long> getAvailableMemory() {
-        return getLong("available_memory");
+        return getLong(MetricRegistry.AVAILABLE_MEMORY);
     }
 
     public Optional<Long> getMemoryTotal() {
-        return getLong("memory.total");
+        return getLong(MetricRegistry.MEMORY_TOTAL);
     }
 
     public Optional<Long> getMemoryFree() {
-        return getLong("memory.free");
+        return getLong(MetricRegistry.MEMORY_FREE);
     }
 
     public Optional<String> getMemorySpeed() {
-        return getString("memory.speed");
+        return getString(MetricRegistry.MEMORY_SPEED);
     }
 
     public Optional<String> getMemoryManufacturer() {
-        return getString("memory.manufacturer");
+        return getString(MetricRegistry.MEMORY_MANUFACTURER);
     }
 
     public Optional<String> getMemoryPart() {
-        return getString("memory.part");
+        return getString(MetricRegistry.MEMORY_PART);
     }
 
     public Optional<String> getDiskModel() {
-        return getString("disk.model");
+        return getString(MetricRegistry.DISK_MODEL);
     }
 
     public Optional<Long> getDiskSize() {
-        return getLong("disk.size");
+        return getLong(MetricRegistry.DISK_SIZE);
     }
 
     public Optional<String> getDiskType() {
-        return getString("disk.type");
+        return getString(MetricRegistry.DISK_TYPE);
     }
 
     public Optional<String> getDiskStatus() {
-        return getString("disk.status");
+        return getString(MetricRegistry.DISK_STATUS);
     }
 
     public Optional<String> getBoardManufacturer() {
-        return getString("board.manufacturer");
+        return getString(MetricRegistry.BOARD_MANUFACTURER);
     }
 
     public Optional<String> getBoardModel() {
-        return getString("board.model");
+        return getString(MetricRegistry.BOARD_MODEL);
     }
 
     public Optional<String> getBoardVersion() {
-        return getString("board.version");
+        return getString(MetricRegistry.BOARD_VERSION);
     }
 
     public Optional<String> getBoardSerial() {
-        return getString("board.serial");
+        return getString(MetricRegistry.BOARD_SERIAL);
     }
 
+    /**
+     * @return Copie des vitesses des ventilateurs
+     */
     public Optional<int[]> getFanSpeeds() {
-        Object value = getValue("fan_speeds");
+        Object value = getObject(MetricRegistry.FAN_SPEEDS);
         return value instanceof int[] ? Optional.of((int[]) value) : Optional.empty();
     }
 
     public Optional<Long> getSystemUptime() {
-        return getLong("system_uptime");
+        return getLong(MetricRegistry.SYSTEM_UPTIME);
+    }
+
+    /**
+     * Charge moyenne du système sur 1, 5 ou 15 minutes (Linux uniquement)
+     */
+    public OptionalDouble getLoadAverage1() {
+        return getDouble(MetricRegistry.LOAD_AVERAGE_1);
+    }
+
+    public OptionalDouble getLoadAverage5() {
+        return getDouble(MetricRegistry.LOAD_AVERAGE_5);
+    }
+
+    public OptionalDouble getLoadAverage15() {
+        return getDouble(MetricRegistry.LOAD_AVERAGE_15);
     }
 
     public Optional<String> getBootTime() {
-        return getString("boot_time");
+        return getString(MetricRegistry.BOOT_TIME);
     }
 
     public Optional<String> getOsName() {
-        return getString("os_name");
+        return getString(MetricRegistry.OS_NAME);
     }
 
     public LocalTime getLastUpdate() {
-        return lastUpdate;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(getLastUpdateMillis()), ZoneId.systemDefault())
+                .toLocalTime();
+    }
+
+    public long getLastUpdateMillis() {
+        return current.get().getLastUpdateMillis();
     }
 
     public void putStatic(String key, Object value) {
-        staticData.put(key, value);
+        putStatic(MetricRegistry.lookup(key), value);
     }
 
     public void putDynamic(String key, Object value) {
-        dynamicData.put(key, value);
-        lastUpdate = LocalTime.now();
+        putDynamic(MetricRegistry.lookup(key), value);
+    }
+
+    public void putStatic(Metric metric, Object value) {
+        update(builder -> builder.putStatic(metric, value));
+    }
+
+    public void putDynamic(Metric metric, Object value) {
+        update(builder -> builder.putDynamic(metric, value));
+    }
+
+    public void putDynamicDouble(Metric metric, double value) {
+        update(builder -> builder.putDynamicDouble(metric, value));
+    }
+
+    public void putDynamicLong(Metric metric, long value) {
+        update(builder -> builder.putDynamicLong(metric, value));
     }
 
     public Map<String, Object> getStaticData() {
-        return new HashMap<>(staticData);
+        return current.get().getStaticData();
     }
 
     public Map<String, Object> getDynamicData() {
-        return new HashMap<>(dynamicData);
+        return current.get().getDynamicData();
     }
 
     public void setOsCaption(String value) {
-        putStatic("os.caption", value);
+        putStatic(MetricRegistry.OS_CAPTION, value);
     }
 
     public void setOsVersion(String value) {
-        putStatic("os.version", value);
+        putStatic(MetricRegistry.OS_VERSION, value);
     }
 
     public void setOsArchitecture(String value) {
-        putStatic("os.architecture", value);
+        putStatic(MetricRegistry.OS_ARCHITECTURE, value);
     }
 
     public void setOsSerial(String value) {
-        putStatic("os.serial", value);
+        putStatic(MetricRegistry.OS_SERIAL, value);
     }
 
     public void setOsLicense(String value) {
-        putStatic("os.license", value);
+        putStatic(MetricRegistry.OS_LICENSE, value);
     }
 
     public void setSystemModel(String value) {
-        putStatic("system.model", value);
+        putStatic(MetricRegistry.SYSTEM_MODEL, value);
     }
 
     public void setSystemManufacturer(String value) {
-        putStatic("system.manufacturer", value);
+        putStatic(MetricRegistry.SYSTEM_MANUFACTURER, value);
     }
 
     public void setSystemType(String value) {
-        putStatic("system.type", value);
+        putStatic(MetricRegistry.SYSTEM_TYPE, value);
     }
 
     public void setCpuName(String value) {
-        putStatic("cpu.name", value);
+        putStatic(MetricRegistry.CPU_NAME, value);
     }
 
     public void setCpuCores(Long value) {
-        putStatic("cpu.cores", value);
+        putStatic(MetricRegistry.CPU_CORES, value);
     }
 
     public void setCpuThreads(Long value) {
-        putStatic("cpu.threads", value);
+        putStatic(MetricRegistry.CPU_THREADS, value);
     }
 
     public void setCpuCurrentSpeed(Long value) {
-        putStatic("cpu.current.speed", value);
+        putStatic(MetricRegistry.CPU_CURRENT_SPEED, value);
     }
 
     public void setCpuMaxSpeed(Long value) {
-        putStatic("cpu.max.speed", value);
+        putStatic(MetricRegistry.CPU_MAX_SPEED, value);
     }
 
     public void setMemoryTotal(Long value) {
-        putStatic("memory.total", value);
+        putStatic(MetricRegistry.MEMORY_TOTAL, value);
     }
 
     public void setMemorySpeed(String value) {
-        putStatic("memory.speed", value);
+        putStatic(MetricRegistry.MEMORY_SPEED, value);
     }
 
     public void setMemoryManufacturer(String value) {
-        putStatic("memory.manufacturer", value);
+        putStatic(MetricRegistry.MEMORY_MANUFACTURER, value);
     }
 
     public void setMemoryPart(String value) {
-        putStatic("memory.part", value);
+        putStatic(MetricRegistry.MEMORY_PART, value);
     }
 
     public void setDiskModel(String value) {
-        putStatic("disk.model", value);
+        putStatic(MetricRegistry.DISK_MODEL, value);
     }
 
     public void setDiskSize(Long value) {
-        putStatic("disk.size", value);
+        putStatic(MetricRegistry.DISK_SIZE, value);
     }
 
     public void setDiskType(String value) {
-        putStatic("disk.type", value);
+        putStatic(MetricRegistry.DISK_TYPE, value);
     }
 
     public void setDiskStatus(String value) {
-        putStatic("disk.status", value);
+        putStatic(MetricRegistry.DISK_STATUS, value);
     }
 
     public void setBoardManufacturer(String value) {
-        putStatic("board.manufacturer", value);
+        putStatic(MetricRegistry.BOARD_MANUFACTURER, value);
     }
 
     public void setBoardModel(String value) {
-        putStatic("board.model", value);
+        putStatic(MetricRegistry.BOARD_MODEL, value);
     }
 
     public void setBoardVersion(String value) {
-        putStatic("board.version", value);
+        putStatic(MetricRegistry.BOARD_VERSION, value);
     }
 
     public void setBoardSerial(String value) {
-        putStatic("board.serial", value);
+        putStatic(MetricRegistry.BOARD_SERIAL, value);
     }
 
     public void setCpuLoad(Double value) {
-        putDynamic("cpu_load", value);
+        putDynamic(MetricRegistry.CPU_LOAD, value);
     }
 
     public void setCpuLoadAvg(Double value) {
-        putDynamic("cpu_load_avg", value);
+        putDynamic(MetricRegistry.CPU_LOAD_AVG, value);
     }
 
     public void setCpuTemperature(Double value) {
-        putDynamic("cpu_temperature", value);
+        putDynamic(MetricRegistry.CPU_TEMPERATURE, value);
     }
 
     public void setProcessorName(String value) {
-        putDynamic("processor_name", value);
+        putDynamic(MetricRegistry.PROCESSOR_NAME, value);
     }
 
     public void setCpuLoadsPerCore(double[] value) {
-        putDynamic("cpu_loads_per_core", value);
+        putDynamic(MetricRegistry.CPU_LOADS_PER_CORE, value);
     }
 
     public void setGpuLoad(Double value) {
-        putDynamic("gpu_load", value);
+        putDynamic(MetricRegistry.GPU_LOAD, value);
     }
 
     public void setGpuTemperature(Double value) {
-        putDynamic("gpu_temperature", value);
+        putDynamic(MetricRegistry.GPU_TEMPERATURE, value);
     }
 
     public void setTotalMemory(Long value) {
-        putDynamic("total_memory", value);
+        putDynamic(MetricRegistry.TOTAL_MEMORY, value);
     }
 
     public void setAvailableMemory(Long value) {
-        putDynamic("available_memory", value);
+        putDynamic(MetricRegistry.AVAILABLE_MEMORY, value);
     }
 
     public void setMemoryFree(Long value) {
-        putDynamic("memory.free", value);
+        putDynamic(MetricRegistry.MEMORY_FREE, value);
     }
 
     public void setFanSpeeds(int[] value) {
-        putDynamic("fan_speeds", value);
+        putDynamic(MetricRegistry.FAN_SPEEDS, value);
     }
 
     public void setSystemUptime(Long value) {
-        putDynamic("system_uptime", value);
+        putDynamic(MetricRegistry.SYSTEM_UPTIME, value);
     }
 
     public void setBootTime(String value) {
-        putDynamic("boot_time", value);
+        putDynamic(MetricRegistry.BOOT_TIME, value);
     }
 
     public void setOsName(String value) {
-        putDynamic("os_name", value);
+        putDynamic(MetricRegistry.OS_NAME, value);
     }
 
     public void updateStaticData(Map<String, Object> data) {
         if (data != null) {
-            for (Map.Entry<String, Object> entry : data.entrySet()) {
-                putStatic(entry.getKey(), entry.getValue());
-            }
+            update(builder -> builder.putAllStatic(data));
         }
     }
 
     public void updateDynamicData(Map<String, Object> data) {
         if (data != null) {
-            for (Map.Entry<String, Object> entry : data.entrySet()) {
-                putDynamic(entry.getKey(), entry.getValue());
-            }
+            update(builder -> builder.putAllDynamic(data));
         }
     }
 
     public Map<String, Object> getAllData() {
-        Map<String, Object> allData = new HashMap<>(staticData);
-        allData.putAll(dynamicData);
+        SystemSnapshot snapshot = current.get();
+        Map<String, Object> allData = snapshot.getStaticData();
+        allData.putAll(snapshot.getDynamicData());
         return allData;
     }
 
     public void clearDynamicData() {
-        dynamicData.clear();
-        lastUpdate = LocalTime.now();
+        update(SystemSnapshot.Builder::clearDynamic);
     }
 
     public boolean hasData(String key) {
-        return dynamicData.containsKey(key) || staticData.containsKey(key);
+        Metric metric = MetricRegistry.find(key);
+        return metric != null && current.get().has(metric);
     }
 
     public boolean hasStaticData(String key) {
-        return staticData.containsKey(key);
+        Metric metric = MetricRegistry.find(key);
+        return metric != null && current.get().hasStatic(metric);
     }
 
     public boolean hasDynamicData(String key) {
-        return dynamicData.containsKey(key);
+        Metric metric = MetricRegistry.find(key);
+        return metric != null && current.get().hasDynamic(metric);
     }
 
     public Set<String> getStaticKeys() {
-        return new HashSet<>(staticData.keySet());
+        return current.get().getStaticKeys();
     }
 
     public Set<String> getDynamicKeys() {
-        return new HashSet<>(dynamicData.keySet());
+        return current.get().getDynamicKeys();
     }
 
     public Set<String> getAllKeys() {
-        Set<String> allKeys = new HashSet<>(staticData.keySet());
-        allKeys.addAll(dynamicData.keySet());
+        SystemSnapshot snapshot = current.get();
+        Set<String> allKeys = snapshot.getStaticKeys();
+        allKeys.addAll(snapshot.getDynamicKeys());
         return allKeys;
     }
 
     public int getStaticDataCount() {
-        return staticData.size();
+        return current.get().getStaticDataCount();
     }
 
     public int getDynamicDataCount() {
-        return dynamicData.size();
+        return current.get().getDynamicDataCount();
     }
 
     public boolean isEmpty() {
-        return staticData.isEmpty() && dynamicData.isEmpty();
+        SystemSnapshot snapshot = current.get();
+        return snapshot.getStaticDataCount() == 0 && snapshot.getDynamicDataCount() == 0;
     }
 
     public static String formatBytes(long bytes) {
@@ -0,0 +1,359 @@
+package com.pcpeek;
+
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricRegistry;
+import com.pcpeek.metrics.MetricStore;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+/**
+ * Instantané immuable et versionné de toutes les valeurs d'un échantillon.
+ * Un lecteur qui conserve la référence obtient une vue cohérente (par exemple
+ * mémoire totale et disponible issues du même échantillon), sans verrou.
+ * Les instantanés sont construits par un {@link Builder} puis publiés par
+ * {@link SystemData} en un seul échange de référence atomique.
+ * <p>
+ * Les tableaux (charge par coeur, vitesses des ventilateurs) sont copiés à
+ * l'entrée dans le constructeur et à la sortie par {@link #getObject} : un
+ * lecteur ne peut pas modifier l'instantané partagé. Les accesseurs indexés
+ * {@link #getLength} et {@link #getElement} les lisent sans copie.
+ */
+public final class SystemSnapshot {
+    public static final SystemSnapshot EMPTY = new SystemSnapshot(new MetricStore(), new MetricStore(), 0, 0, 0);
+
+    private final MetricStore staticData;
+    private final MetricStore dynamicData;
+    private final long version;
+    private final long staticVersion;
+    private final long lastUpdateMillis;
+
+    private SystemSnapshot(MetricStore staticData, MetricStore dynamicData, long version, long staticVersion,
+            long lastUpdateMillis) {
+        this.staticData = staticData;
+        this.dynamicData = dynamicData;
+        this.version = version;
+        this.staticVersion = staticVersion;
+        this.lastUpdateMillis = lastUpdateMillis;
+    }
+
+    /**
+     * @return Constructeur vide, horodaté à l'instant courant
+     */
+    public static Builder builder() {
+        Builder builder = new Builder(EMPTY);
+        builder.lastUpdateMillis = System.currentTimeMillis();
+        return builder;
+    }
+
+    /**
+     * @return Nouveau constructeur initialisé avec les valeurs de cet instantané
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Version de l'instantané dans lequel les informations statiques
+     *         ont été modifiées pour la dernière fois. Tant qu'elle ne change
+     *         pas, les lecteurs peuvent réutiliser ce qu'ils en ont dérivé.
+     */
+    public long getStaticVersion() {
+        return staticVersion;
+    }
+
+    /**
+     * @param knownVersion Version déjà traitée par le lecteur
+     * @return true si cet instantané est plus récent
+     */
+    public boolean isNewerThan(long knownVersion) {
+        return version != knownVersion;
+    }
+
+    public long getLastUpdateMillis() {
+        return lastUpdateMillis;
+    }
+
+    public double getDouble(Metric metric, double fallback) {
+        MetricStore store = storeFor(metric.getId());
+        return store != null ? store.getDouble(metric.getId(), fallback) : fallback;
+    }
+
+    public long getLong(Metric metric, long fallback) {
+        MetricStore store = storeFor(metric.getId());
+        return store != null ? store.getLong(metric.getId(), fallback) : fallback;
+    }
+
+    /**
+     * @return Valeur objet de la métrique, ou null. Un tableau est retourné
+     *         sous forme de copie.
+     */
+    public Object getObject(Metric metric) {
+        return copyOf(rawObject(metric));
+    }
+
+    /**
+     * @return Nombre d'éléments du tableau de la métrique, -1 si elle est
+     *         absente ou n'est pas un tableau
+     */
+    public int getLength(Metric metric) {
+        Object value = rawObject(metric);
+        if (value instanceof double[]) {
+            return ((double[]) value).length;
+        }
+        return value instanceof int[] ? ((int[]) value).length : -1;
+    }
+
+    /**
+     * @return Élément du tableau de la métrique, fallback si elle est absente,
+     *         n'est pas un tableau ou si l'indice est hors du tableau
+     */
+    public double getElement(Metric metric, int index, double fallback) {
+        Object value = rawObject(metric);
+        if (value instanceof double[] && index >= 0 && index < ((double[]) value).length) {
+            return ((double[]) value)[index];
+        }
+        if (value instanceof int[] && index >= 0 && index < ((int[]) value).length) {
+            return ((int[]) value)[index];
+        }
+        return fallback;
+    }
+
+    private Object rawObject(Metric metric) {
+        MetricStore store = storeFor(metric.getId());
+        return store != null ? store.getObject(metric.getId()) : null;
+    }
+
+    public OptionalDouble getDouble(Metric metric) {
+        MetricStore store = storeFor(metric.getId());
+        if (store != null && store.isNumeric(metric.getId())) {
+            return OptionalDouble.of(store.getDouble(metric.getId(), 0.0));
+        }
+        return OptionalDouble.empty();
+    }
+
+    public Optional<Long> getLong(Metric metric) {
+        MetricStore store = storeFor(metric.getId());
+        if (store != null && store.isNumeric(metric.getId())) {
+            return Optional.of(store.getLong(metric.getId(), 0L));
+        }
+        return Optional.empty();
+    }
+
+    public Optional<String> getString(Metric metric) {
+        Object value = getObject(metric);
+        return value instanceof String ? Optional.of((String) value) : Optional.empty();
+    }
+
+    public boolean has(Metric metric) {
+        return storeFor(metric.getId()) != null;
+    }
+
+    public boolean hasStatic(Metric metric) {
+        return staticData.has(metric.getId());
+    }
+
+    public boolean hasDynamic(Metric metric) {
+        return dynamicData.has(metric.getId());
+    }
+
+    /**
+     * Parcourt les valeurs dynamiques numériques de l'instantané
+     */
+    public void forEachDynamicNumeric(MetricStore.NumericVisitor visitor) {
+        dynamicData.forEachNumeric(visitor);
+    }
+
+    public Map<String, Object> getStaticData() {
+        return toMap(staticData);
+    }
+
+    public Map<String, Object> getDynamicData() {
+        return toMap(dynamicData);
+    }
+
+    public Set<String> getStaticKeys() {
+        return keysOf(staticData);
+    }
+
+    public Set<String> getDynamicKeys() {
+        return keysOf(dynamicData);
+    }
+
+    public int getStaticDataCount() {
+        return staticData.size();
+    }
+
+    public int getDynamicDataCount() {
+        return dynamicData.size();
+    }
+
+    private MetricStore storeFor(int id) {
+        if (dynamicData.has(id)) {
+            return dynamicData;
+        }
+        return staticData.has(id) ? staticData : null;
+    }
+
+    private static Map<String, Object> toMap(MetricStore store) {
+        Map<String, Object> data = new HashMap<>();
+        for (int id = 0; id < store.capacity(); id++) {
+            if (store.has(id)) {
+                data.put(MetricRegistry.get(id).getKey(), copyOf(store.getBoxed(id)));
+            }
+        }
+        return data;
+    }
+
+    private static Set<String> keysOf(MetricStore store) {
+        Set<String> keys = new HashSet<>();
+        for (int id = 0; id < store.capacity(); id++) {
+            if (store.has(id)) {
+                keys.add(MetricRegistry.get(id).getKey());
+            }
+        }
+        return keys;
+    }
+
+    private static Object copyOf(Object value) {
+        if (value instanceof double[]) {
+            return ((double[]) value).clone();
+        }
+        return value instanceof int[] ? ((int[]) value).clone() : value;
+    }
+
+    /**
+     * Constructeur d'instantané. Il travaille sur une copie privée des
+     * valeurs ; l'instantané d'origine n'est jamais modifié. Les informations
+     * statiques ne sont copiées qu'à leur première modification : tant
+     * qu'elles ne changent pas, les instantanés successifs partagent le même
+     * stockage et la même version statique.
+     */
+    public static final class Builder {
+        private final SystemSnapshot base;
+        private MetricStore staticData;
+        private MetricStore dynamicData;
+        private boolean staticModified;
+        private boolean built;
+        private long lastUpdateMillis;
+
+        private Builder(SystemSnapshot base) {
+            this.base = base;
+            this.staticData = base.staticData;
+            this.dynamicData = new MetricStore(base.dynamicData);
+            this.lastUpdateMillis = base.lastUpdateMillis;
+        }
+
+        private MetricStore mutableStatic() {
+            if (!staticModified) {
+                staticData = new MetricStore(base.staticData);
+                staticModified = true;
+            }
+            return staticData;
+        }
+
+        public Builder putStatic(Metric metric, Object value) {
+            mutableStatic().put(metric, copyOf(value));
+            return this;
+        }
+
+        public Builder putDynamic(Metric metric, Object value) {
+            dynamicData.put(metric, copyOf(value));
+            lastUpdateMillis = System.currentTimeMillis();
+            return this;
+        }
+
+        public Builder putDynamicDouble(Metric metric, double value) {
+            dynamicData.putDouble(metric, value);
+            lastUpdateMillis = System.currentTimeMillis();
+            return this;
+        }
+
+        public Builder putDynamicLong(Metric metric, long value) {
+            dynamicData.putLong(metric, value);
+            lastUpdateMillis = System.currentTimeMillis();
+            return this;
+        }
+
+        public Builder putAllStatic(Map<String, Object> data) {
+            if (data != null) {
+                for (Map.Entry<String, Object> entry : data.entrySet()) {
+                    putStatic(MetricRegistry.lookup(entry.getKey()), entry.getValue());
+                }
+            }
+            return this;
+        }
+
+        public Builder putAllDynamic(Map<String, Object> data) {
+            if (data != null) {
+                for (Map.Entry<String, Object> entry : data.entrySet()) {
+                    putDynamic(MetricRegistry.lookup(entry.getKey()), entry.getValue());
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Fusionne les valeurs d'un stockage rempli par un collecteur natif
+         */
+        public Builder putAllDynamic(MetricStore values) {
+            dynamicData.putAll(values);
+            // Le collecteur peut réutiliser ses tableaux
+            for (int id = 0; id < values.capacity(); id++) {
+                Object value = values.getObject(id);
+                if (value instanceof double[] || value instanceof int[]) {
+                    dynamicData.putObject(MetricRegistry.get(id), copyOf(value));
+                }
+            }
+            lastUpdateMillis = System.currentTimeMillis();
+            return this;
+        }
+
+        /**
+         * Fusionne les valeurs dynamiques d'un autre instantané
+         */
+        public Builder putAllDynamic(SystemSnapshot other) {
+            dynamicData.putAll(other.dynamicData);
+            lastUpdateMillis = Math.max(lastUpdateMillis, other.lastUpdateMillis);
+            return this;
+        }
+
+        public Builder clearStatic() {
+            mutableStatic().clear();
+            return this;
+        }
+
+        public Builder clearDynamic() {
+            dynamicData.clear();
+            lastUpdateMillis = System.currentTimeMillis();
+            return this;
+        }
+
+        /**
+         * Construit l'instantané. Le constructeur ne peut plus être utilisé
+         * ensuite.
+         *
+         * @param version Version attribuée à l'instantané
+         * @return Instantané immuable
+         */
+        public SystemSnapshot build(long version) {
+            if (built) {
+                throw new IllegalStateException("Instantané déjà construit");
+            }
+            built = true;
+            long staticVersion = staticModified ? version : base.staticVersion;
+            SystemSnapshot snapshot = new SystemSnapshot(staticData, dynamicData, version, staticVersion,
+                    lastUpdateMillis);
+            staticData = null;
+            dynamicData = null;
+            return snapshot;
+        }
+    }
+}
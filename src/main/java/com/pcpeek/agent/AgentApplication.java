@@ -0,0 +1,206 @@
+package com.pcpeek.agent;
+
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.api.SnapshotEncoder;
+import com.pcpeek.recording.RecordingWriter;
+import com.pcpeek.recording.SessionRecorder;
+import com.pcpeek.sampling.SamplingService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Mode agent : échantillonnage sans interface, pour les serveurs.
+ * <p>
+ * Seuls le service d'échantillonnage et ses moniteurs sont démarrés, sans
+ * Spring ni Vaadin : le démarrage est immédiat et la mémoire occupée se
+ * limite aux collecteurs. Chaque échantillon est encodé une fois en JSON puis
+ * écrit sur toutes les destinations par un thread d'écriture dédié ; si une
+ * destination est plus lente que l'intervalle, seul le dernier échantillon
+ * est conservé. La session peut aussi être enregistrée au format binaire
+ * ({@code --record}), directement depuis le thread d'échantillonnage. Les messages de l'agent vont sur la sortie d'erreur, la
+ * sortie standard étant réservée aux échantillons.
+ */
+public class AgentApplication {
+    // L'agent ne consulte pas l'historique : une seule valeur par métrique suffit
+    private static final long HISTORY_RETENTION_SECONDS = 1;
+    private static final long WRITER_SHUTDOWN_TIMEOUT_MS = 2000;
+
+    private final AgentOptions options;
+    private final SamplingService samplingService;
+    private final List<SampleSink> sinks;
+    private final SessionRecorder recorder;
+    private final SnapshotEncoder encoder = new SnapshotEncoder();
+    private final Consumer<SystemSnapshot> snapshotListener = this::onSnapshot;
+    private final ExecutorService writer;
+    private final AtomicReference<SystemSnapshot> pending = new AtomicReference<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean stopping = new AtomicBoolean();
+    private final AtomicLong written = new AtomicLong();
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    public AgentApplication(AgentOptions options) throws IOException {
+        this(options, new SamplingService(options.getIntervalMs(), HISTORY_RETENTION_SECONDS), openSinks(options));
+    }
+
+    AgentApplication(AgentOptions options, SamplingService samplingService, List<SampleSink> sinks)
+            throws IOException {
+        this.options = options;
+        this.samplingService = samplingService;
+        this.sinks = sinks;
+        this.recorder = openRecorder(options, samplingService, sinks);
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pcpeek-agent-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Démarre l'échantillonnage et bloque jusqu'à l'arrêt de l'agent (signal
+     * d'arrêt de la JVM, ou nombre d'échantillons demandé atteint)
+     */
+    public void run() throws InterruptedException {
+        List<String> destinations = new ArrayList<>(options.getOutputs());
+        if (recorder != null) {
+            destinations.add("enregistrement " + recorder.getDirectory());
+        }
+        System.err.println("Mode agent activé : un échantillon toutes les " + options.getIntervalMs()
+                + " ms vers " + String.join(", ", destinations));
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "pcpeek-agent-shutdown"));
+        start();
+        finished.await();
+        stop();
+    }
+
+    void start() {
+        if (recorder != null) {
+            recorder.start();
+        }
+        samplingService.subscribe(snapshotListener);
+        samplingService.start();
+    }
+
+    /**
+     * Arrête l'échantillonnage, écrit le dernier échantillon en attente et
+     * ferme les destinations
+     */
+    public void stop() {
+        if (!stopping.compareAndSet(false, true)) {
+            return;
+        }
+        samplingService.unsubscribe(snapshotListener);
+        samplingService.stop();
+        if (recorder != null) {
+            recorder.close();
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(WRITER_SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SampleSink sink : sinks) {
+            sink.close();
+        }
+        finished.countDown();
+    }
+
+    /**
+     * @return Nombre d'échantillons écrits
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    private void onSnapshot(SystemSnapshot snapshot) {
+        pending.set(snapshot);
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            writer.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+        }
+    }
+
+    private void drain() {
+        try {
+            SystemSnapshot snapshot = pending.getAndSet(null);
+            if (snapshot != null && !limitReached()) {
+                write(encoder.encode(snapshot).toJsonLine(options.getSelection()));
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Erreur lors de l'encodage d'un échantillon: " + e.getMessage());
+        } finally {
+            scheduled.set(false);
+        }
+        if (limitReached()) {
+            finished.countDown();
+        } else if (pending.get() != null && scheduled.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+    }
+
+    private void write(String line) {
+        for (SampleSink sink : sinks) {
+            try {
+                sink.write(line);
+            } catch (IOException e) {
+                System.err.println("Erreur lors de l'écriture d'un échantillon: " + e.getMessage());
+            }
+        }
+        written.incrementAndGet();
+    }
+
+    private boolean limitReached() {
+        return options.getMaxSamples() > 0 && written.get() >= options.getMaxSamples();
+    }
+
+    private static SessionRecorder openRecorder(AgentOptions options, SamplingService samplingService,
+            List<SampleSink> sinks) throws IOException {
+        if (options.getRecordDirectory() == null) {
+            return null;
+        }
+        try {
+            return new SessionRecorder(samplingService,
+                    new RecordingWriter(Path.of(options.getRecordDirectory()), samplingService.getIntervalMs()));
+        } catch (IOException | RuntimeException e) {
+            for (SampleSink sink : sinks) {
+                sink.close();
+            }
+            throw e;
+        }
+    }
+
+    private static List<SampleSink> openSinks(AgentOptions options) throws IOException {
+        List<SampleSink> sinks = new ArrayList<>();
+        try {
+            for (String output : options.getOutputs()) {
+                sinks.add(SampleSinks.open(output));
+            }
+        } catch (IOException e) {
+            for (SampleSink sink : sinks) {
+                sink.close();
+            }
+            throw e;
+        }
+        return sinks;
+    }
+}
@@ -0,0 +1,157 @@
+package com.pcpeek.agent;
+
+import com.pcpeek.api.MetricSelection;
+import com.pcpeek.sampling.SamplingService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Options du mode agent, lues sur la ligne de commande :
+ * <ul>
+ * <li>{@code --interval-ms=N} : intervalle d'échantillonnage (5000 par défaut)</li>
+ * <li>{@code --output=stdout}, {@code --output=file:chemin} ou
+ * {@code --output=tcp:hôte:port} : destination des échantillons, répétable
+ * (sortie standard par défaut)</li>
+ * <li>{@code --metrics=clé,clé} : métriques transmises (toutes par défaut)</li>
+ * <li>{@code --samples=N} : arrêt après N échantillons (0, par défaut, pour
+ * ne jamais s'arrêter)</li>
+ * <li>{@code --record=répertoire} : enregistrement binaire de la session,
+ * relisible avec {@code --replay=répertoire}</li>
+ * </ul>
+ * Les autres arguments sont ignorés.
+ */
+public final class AgentOptions {
+    private static final String INTERVAL = "--interval-ms=";
+    private static final String OUTPUT = "--output=";
+    private static final String METRICS = "--metrics=";
+    private static final String SAMPLES = "--samples=";
+    private static final String RECORD = "--record=";
+
+    private final long intervalMs;
+    private final List<String> outputs;
+    private final MetricSelection selection;
+    private final long maxSamples;
+    private final String recordDirectory;
+
+    private AgentOptions(long intervalMs, List<String> outputs, MetricSelection selection, long maxSamples,
+            String recordDirectory) {
+        this.intervalMs = intervalMs;
+        this.outputs = outputs;
+        this.selection = selection;
+        this.maxSamples = maxSamples;
+        this.recordDirectory = recordDirectory;
+    }
+
+    /**
+     * @param args Arguments de la ligne de commande
+     * @return Options lues
+     * @throws IllegalArgumentException si une option est invalide
+     */
+    public static AgentOptions parse(String[] args) {
+        long intervalMs = SamplingService.DEFAULT_INTERVAL_MS;
+        List<String> outputs = new ArrayList<>();
+        MetricSelection selection = null;
+        long maxSamples = 0;
+        String recordDirectory = null;
+        for (String arg : args) {
+            if (arg.startsWith(INTERVAL)) {
+                intervalMs = parseLong(arg.substring(INTERVAL.length()), "--interval-ms", 1);
+            } else if (arg.startsWith(OUTPUT)) {
+                outputs.add(validateOutput(arg.substring(OUTPUT.length())));
+            } else if (arg.startsWith(METRICS)) {
+                selection = MetricSelection.parse(arg.substring(METRICS.length()));
+            } else if (arg.startsWith(SAMPLES)) {
+                maxSamples = parseLong(arg.substring(SAMPLES.length()), "--samples", 0);
+            } else if (arg.startsWith(RECORD)) {
+                recordDirectory = arg.substring(RECORD.length());
+                if (recordDirectory.isEmpty()) {
+                    throw new IllegalArgumentException("Répertoire d'enregistrement manquant pour --record");
+                }
+            }
+        }
+        // Un agent qui ne fait qu'enregistrer n'écrit rien sur la sortie standard
+        if (outputs.isEmpty() && recordDirectory == null) {
+            outputs.add("stdout");
+        }
+        return new AgentOptions(intervalMs, Collections.unmodifiableList(outputs), selection, maxSamples,
+                recordDirectory);
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    /**
+     * @return Destinations, sous la forme {@code stdout}, {@code file:chemin}
+     *         ou {@code tcp:hôte:port}
+     */
+    public List<String> getOutputs() {
+        return outputs;
+    }
+
+    /**
+     * @return Métriques transmises, null pour toutes
+     */
+    public MetricSelection getSelection() {
+        return selection;
+    }
+
+    /**
+     * @return Nombre d'échantillons avant l'arrêt, 0 pour ne jamais s'arrêter
+     */
+    public long getMaxSamples() {
+        return maxSamples;
+    }
+
+    /**
+     * @return Répertoire d'enregistrement de la session, null si elle n'est
+     *         pas enregistrée
+     */
+    public String getRecordDirectory() {
+        return recordDirectory;
+    }
+
+    private static String validateOutput(String output) {
+        if ("stdout".equals(output)) {
+            return output;
+        }
+        if (output.startsWith("file:") && output.length() > "file:".length()) {
+            return output;
+        }
+        if (output.startsWith("tcp:")) {
+            int separator = output.lastIndexOf(':');
+            if (separator > "tcp:".length()) {
+                parsePort(output.substring(separator + 1));
+                return output;
+            }
+        }
+        throw new IllegalArgumentException("Destination invalide: " + output
+                + " (attendu stdout, file:chemin ou tcp:hôte:port)");
+    }
+
+    static int parsePort(String value) {
+        try {
+            int port = Integer.parseInt(value);
+            if (port > 0 && port <= 65535) {
+                return port;
+            }
+        } catch (NumberFormatException e) {
+            // Signalé ci-dessous
+        }
+        throw new IllegalArgumentException("Port invalide: " + value);
+    }
+
+    private static long parseLong(String value, String option, long min) {
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed >= min) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Signalé ci-dessous
+        }
+        throw new IllegalArgumentException("Valeur invalide pour " + option + ": " + value);
+    }
+}
@@ -0,0 +1,16 @@
+package com.pcpeek.agent;
+
+import java.io.IOException;
+
+/**
+ * Destination des échantillons du mode agent. Chaque échantillon est une
+ * ligne JSON, au même format que le flux NDJSON de {@code /api/metrics/stream}.
+ */
+public interface SampleSink {
+    /**
+     * @param line Document JSON terminé par un retour à la ligne
+     */
+    void write(String line) throws IOException;
+
+    void close();
+}
@@ -0,0 +1,70 @@
+package com.pcpeek.agent;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Création des destinations à partir de leur description :
+ * {@code stdout}, {@code file:chemin} (ajout en fin de fichier) ou
+ * {@code tcp:hôte:port}.
+ */
+public final class SampleSinks {
+
+    private SampleSinks() {
+    }
+
+    /**
+     * @param output Description de la destination, validée par {@link AgentOptions}
+     * @return Destination ouverte
+     */
+    public static SampleSink open(String output) throws IOException {
+        if ("stdout".equals(output)) {
+            return new WriterSink(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), false);
+        }
+        if (output.startsWith("file:")) {
+            String path = output.substring("file:".length());
+            return new WriterSink(new BufferedWriter(
+                    new OutputStreamWriter(new FileOutputStream(path, true), StandardCharsets.UTF_8)), true);
+        }
+        int separator = output.lastIndexOf(':');
+        String host = output.substring("tcp:".length(), separator);
+        return new TcpSink(host, AgentOptions.parsePort(output.substring(separator + 1)));
+    }
+
+    /**
+     * Destination écrivant dans un flux, vidé après chaque ligne pour que les
+     * lecteurs (tail -f, collecteur de logs) voient chaque échantillon
+     */
+    static final class WriterSink implements SampleSink {
+        private final Writer writer;
+        private final boolean closeable;
+
+        WriterSink(Writer writer, boolean closeable) {
+            this.writer = writer;
+            this.closeable = closeable;
+        }
+
+        @Override
+        public void write(String line) throws IOException {
+            writer.write(line);
+            writer.flush();
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (closeable) {
+                    writer.close();
+                } else {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la fermeture de la sortie: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.pcpeek.agent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Destination TCP : une ligne JSON par échantillon sur une connexion
+ * persistante. Si la connexion est perdue ou refusée, les échantillons sont
+ * abandonnés et la connexion est retentée au plus une fois par
+ * {@value #RETRY_DELAY_MS} ms, sans jamais bloquer l'agent.
+ * <p>
+ * Une écriture bloquée (collecteur qui ne lit plus, tampon d'envoi plein)
+ * est interrompue par la fermeture du socket après le délai d'écriture.
+ * {@link #close()} ferme aussi le socket directement, sans attendre
+ * l'écriture en cours : l'arrêt de l'agent n'est jamais bloqué.
+ */
+public class TcpSink implements SampleSink {
+    static final long RETRY_DELAY_MS = 5000;
+    static final long DEFAULT_WRITE_TIMEOUT_MS = 5000;
+    private static final int CONNECT_TIMEOUT_MS = 2000;
+
+    private final String host;
+    private final int port;
+    private final long writeTimeoutMs;
+    private final Object writeLock = new Object();
+    private final ScheduledExecutorService watchdog;
+    private volatile Socket socket;
+    private volatile boolean closed;
+    // Début de l'écriture en cours, 0 si aucune
+    private volatile long writeStartedMillis;
+    private Writer writer;
+    private long nextAttemptMillis;
+
+    public TcpSink(String host, int port) {
+        this(host, port, DEFAULT_WRITE_TIMEOUT_MS);
+    }
+
+    /**
+     * @param writeTimeoutMs Durée maximale d'une écriture avant fermeture de
+     *                       la connexion
+     */
+    TcpSink(String host, int port, long writeTimeoutMs) {
+        this.host = host;
+        this.port = port;
+        this.writeTimeoutMs = writeTimeoutMs;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pcpeek-tcp-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, writeTimeoutMs / 4);
+        watchdog.scheduleWithFixedDelay(this::checkStalledWrite, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void write(String line) throws IOException {
+        synchronized (writeLock) {
+            if (closed || (writer == null && !connect())) {
+                return;
+            }
+            writeStartedMillis = System.currentTimeMillis();
+            try {
+                writer.write(line);
+                writer.flush();
+            } catch (IOException e) {
+                disconnect();
+                nextAttemptMillis = System.currentTimeMillis() + RETRY_DELAY_MS;
+                throw e;
+            } finally {
+                writeStartedMillis = 0;
+            }
+        }
+    }
+
+    /**
+     * Ferme la connexion sans prendre le verrou d'écriture : une écriture
+     * bloquée échoue aussitôt
+     */
+    @Override
+    public void close() {
+        closed = true;
+        watchdog.shutdownNow();
+        closeSocket(socket);
+    }
+
+    private void checkStalledWrite() {
+        long started = writeStartedMillis;
+        if (started != 0 && System.currentTimeMillis() - started > writeTimeoutMs) {
+            System.err.println("Écriture vers " + host + ":" + port + " bloquée depuis plus de " + writeTimeoutMs
+                    + " ms, connexion fermée");
+            closeSocket(socket);
+        }
+    }
+
+    private boolean connect() {
+        long now = System.currentTimeMillis();
+        if (now < nextAttemptMillis) {
+            return false;
+        }
+        Socket candidate = new Socket();
+        try {
+            candidate.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            writer = new BufferedWriter(new OutputStreamWriter(candidate.getOutputStream(), StandardCharsets.UTF_8));
+            socket = candidate;
+            if (closed) {
+                // Fermeture pendant la connexion
+                disconnect();
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            nextAttemptMillis = now + RETRY_DELAY_MS;
+            System.err.println("Erreur lors de la connexion à " + host + ":" + port + ": " + e.getMessage());
+            try {
+                candidate.close();
+            } catch (IOException ignored) {
+                // La connexion n'a pas abouti
+            }
+            return false;
+        }
+    }
+
+    private void disconnect() {
+        closeSocket(socket);
+        socket = null;
+        writer = null;
+    }
+
+    private static void closeSocket(Socket target) {
+        if (target != null) {
+            try {
+                target.close();
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la fermeture de la connexion: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.pcpeek.api;
+
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.sampling.SamplingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Diffuse chaque nouvel échantillon aux clients du flux HTTP.
+ * <p>
+ * Un seul abonnement au service d'échantillonnage alimente tous les clients.
+ * L'instantané est encodé une fois par {@link SnapshotEncoder}, puis chaque
+ * client reçoit le document correspondant à sa sélection de métriques, au
+ * plus une fois par intervalle demandé. L'écriture réseau se fait sur un
+ * exécuteur dédié : un client lent ne bloque ni l'échantillonnage ni les
+ * autres clients, et ne reçoit que le dernier échantillon disponible au
+ * lieu d'accumuler un retard.
+ */
+@Component
+public class LiveMetricStream {
+    // Les envois attendent surtout le réseau : le nombre de threads ne dépend pas des coeurs
+    private static final int SENDER_THREADS = 4;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final SamplingService samplingService;
+    private final SnapshotEncoder encoder = new SnapshotEncoder();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Consumer<SystemSnapshot> snapshotListener = this::onSnapshot;
+    private final ExecutorService executor;
+
+    public LiveMetricStream(SamplingService samplingService) {
+        this.samplingService = samplingService;
+        this.executor = Executors.newFixedThreadPool(SENDER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "pcpeek-stream-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        samplingService.subscribe(snapshotListener);
+    }
+
+    @PreDestroy
+    public void stop() {
+        samplingService.unsubscribe(snapshotListener);
+        for (Subscription subscription : subscriptions) {
+            subscription.cancel();
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Inscrit un client. Le dernier échantillon disponible lui est envoyé
+     * immédiatement.
+     *
+     * @param sink       Destination des documents
+     * @param selection  Métriques retenues, null pour toutes
+     * @param intervalMs Intervalle minimal entre deux envois, 0 pour chaque échantillon
+     * @return Inscription du client
+     */
+    public Subscription subscribe(Sink sink, MetricSelection selection, long intervalMs) {
+        Subscription subscription = new Subscription(sink, selection, Math.max(0, intervalMs));
+        subscriptions.add(subscription);
+        SystemSnapshot latest = samplingService.getLatest();
+        if (latest != null && latest.getVersion() > 0) {
+            subscription.offer(encoder.encode(latest));
+        }
+        return subscription;
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    private void onSnapshot(SystemSnapshot snapshot) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        SnapshotEncoder.EncodedSnapshot encoded = encoder.encode(snapshot);
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(encoded);
+        }
+    }
+
+    /**
+     * Destination des documents d'un client (événements SSE, lignes NDJSON, ...)
+     */
+    public interface Sink {
+        /**
+         * @param snapshot  Instantané encodé, partagé entre les clients
+         * @param selection Métriques retenues par le client, null pour toutes
+         */
+        void send(SnapshotEncoder.EncodedSnapshot snapshot, MetricSelection selection) throws IOException;
+
+        void close();
+    }
+
+    /**
+     * Inscription d'un client du flux
+     */
+    public final class Subscription {
+        private final Sink sink;
+        private final MetricSelection selection;
+        private final long intervalMs;
+        private final AtomicReference<SnapshotEncoder.EncodedSnapshot> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private volatile long lastSentTimestamp = Long.MIN_VALUE;
+
+        private Subscription(Sink sink, MetricSelection selection, long intervalMs) {
+            this.sink = sink;
+            this.selection = selection;
+            this.intervalMs = intervalMs;
+        }
+
+        private void offer(SnapshotEncoder.EncodedSnapshot encoded) {
+            if (lastSentTimestamp != Long.MIN_VALUE && encoded.getTimestamp() - lastSentTimestamp < intervalMs) {
+                return;
+            }
+            pending.set(encoded);
+            schedule();
+        }
+
+        private void schedule() {
+            if (cancelled.get() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                SnapshotEncoder.EncodedSnapshot next = pending.getAndSet(null);
+                if (next != null && !cancelled.get()) {
+                    sink.send(next, selection);
+                    lastSentTimestamp = next.getTimestamp();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client déconnecté
+                cancel();
+            } finally {
+                scheduled.set(false);
+            }
+            if (pending.get() != null) {
+                schedule();
+            }
+        }
+
+        /**
+         * Désinscrit le client et ferme sa destination
+         */
+        public void cancel() {
+            if (cancelled.compareAndSet(false, true)) {
+                subscriptions.remove(this);
+                pending.set(null);
+                sink.close();
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+    }
+}
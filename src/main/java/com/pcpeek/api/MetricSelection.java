@@ -0,0 +1,53 @@
+package com.pcpeek.api;
+
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricRegistry;
+
+import java.util.BitSet;
+
+/**
+ * Sélection de métriques demandée par un abonné du flux. Deux sélections
+ * portant sur les mêmes métriques, dans n'importe quel ordre, ont la même
+ * clé et partagent donc le même document encodé.
+ */
+public final class MetricSelection {
+    private final BitSet ids;
+    private final String key;
+
+    private MetricSelection(BitSet ids) {
+        this.ids = ids;
+        this.key = ids.toString();
+    }
+
+    /**
+     * @param keys Clés de métriques séparées par des virgules
+     * @return Sélection, ou null si aucune clé n'est donnée (toutes les métriques)
+     * @throws IllegalArgumentException si une clé est inconnue
+     */
+    public static MetricSelection parse(String keys) {
+        if (keys == null || keys.isBlank()) {
+            return null;
+        }
+        BitSet ids = new BitSet(MetricRegistry.size());
+        for (String key : keys.split(",")) {
+            String trimmed = key.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Metric metric = MetricRegistry.find(trimmed);
+            if (metric == null) {
+                throw new IllegalArgumentException("Métrique inconnue: " + trimmed);
+            }
+            ids.set(metric.getId());
+        }
+        return ids.isEmpty() ? null : new MetricSelection(ids);
+    }
+
+    public boolean contains(int id) {
+        return ids.get(id);
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,99 @@
+package com.pcpeek.api;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Flux HTTP des échantillons, pour les scripts et outils externes.
+ * <p>
+ * {@code GET /api/metrics/stream} répond en Server-Sent Events
+ * ({@code Accept: text/event-stream}) ou en JSON délimité par des retours à
+ * la ligne ({@code Accept: application/x-ndjson}). Paramètres facultatifs :
+ * <ul>
+ * <li>{@code metrics} : clés des métriques à transmettre, séparées par des virgules</li>
+ * <li>{@code interval-ms} : intervalle minimal entre deux envois</li>
+ * </ul>
+ * Exemple : {@code curl -N -H 'Accept: application/x-ndjson'
+ * 'http://localhost:8080/api/metrics/stream?metrics=cpu_load,gpu_load&interval-ms=10000'}
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricStreamController {
+    private final LiveMetricStream stream;
+    private final long timeoutMs;
+
+    public MetricStreamController(LiveMetricStream stream,
+            @Value("${pcpeek.stream.timeout-ms:0}") long timeoutMs) {
+        this.stream = stream;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestParam(name = "metrics", required = false) String metrics,
+            @RequestParam(name = "interval-ms", defaultValue = "0") long intervalMs) {
+        MetricSelection selection = parseSelection(metrics);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        register(emitter, new LiveMetricStream.Sink() {
+            @Override
+            public void send(SnapshotEncoder.EncodedSnapshot snapshot, MetricSelection selection)
+                    throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(snapshot.getVersion()))
+                        .name("sample")
+                        .data(snapshot.toJson(selection), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        }, selection, intervalMs);
+        return emitter;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseBodyEmitter streamLines(@RequestParam(name = "metrics", required = false) String metrics,
+            @RequestParam(name = "interval-ms", defaultValue = "0") long intervalMs) {
+        MetricSelection selection = parseSelection(metrics);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+        register(emitter, new LiveMetricStream.Sink() {
+            @Override
+            public void send(SnapshotEncoder.EncodedSnapshot snapshot, MetricSelection selection)
+                    throws IOException {
+                emitter.send(snapshot.toJsonLine(selection), MediaType.APPLICATION_NDJSON);
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        }, selection, intervalMs);
+        return emitter;
+    }
+
+    private void register(ResponseBodyEmitter emitter, LiveMetricStream.Sink sink, MetricSelection selection,
+            long intervalMs) {
+        LiveMetricStream.Subscription subscription = stream.subscribe(sink, selection, intervalMs);
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+    }
+
+    private static MetricSelection parseSelection(String metrics) {
+        try {
+            return MetricSelection.parse(metrics);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.pcpeek.api;
+
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricRegistry;
+import com.pcpeek.metrics.MetricType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encode les instantanés en JSON pour le flux de métriques.
+ * <p>
+ * Chaque instantané n'est encodé qu'une fois, quel que soit le nombre
+ * d'abonnés : chaque métrique dynamique devient un fragment
+ * {@code "clé":valeur}, et le document d'une sélection de métriques est
+ * assemblé à partir de ces fragments puis partagé par tous les abonnés qui
+ * demandent la même sélection.
+ * <p>
+ * Format d'un document :
+ * {@code {"version":12,"timestamp":1700000000000,"metrics":{"cpu_load":12.5,...}}}
+ */
+public final class SnapshotEncoder {
+    private volatile EncodedSnapshot last;
+
+    /**
+     * @param snapshot Instantané à encoder
+     * @return Encodage de l'instantané, réutilisé tant que la version ne change pas
+     */
+    public EncodedSnapshot encode(SystemSnapshot snapshot) {
+        EncodedSnapshot encoded = last;
+        if (encoded != null && encoded.version == snapshot.getVersion()) {
+            return encoded;
+        }
+        synchronized (this) {
+            encoded = last;
+            if (encoded == null || encoded.version != snapshot.getVersion()) {
+                encoded = new EncodedSnapshot(snapshot);
+                last = encoded;
+            }
+            return encoded;
+        }
+    }
+
+    /**
+     * Instantané encodé : fragments par métrique et documents par sélection
+     */
+    public static final class EncodedSnapshot {
+        private static final String ALL = "*";
+
+        private final long version;
+        private final long timestamp;
+        private final String[] fragments;
+        private final Map<String, String> documents = new ConcurrentHashMap<>();
+
+        private EncodedSnapshot(SystemSnapshot snapshot) {
+            this.version = snapshot.getVersion();
+            this.timestamp = snapshot.getLastUpdateMillis();
+            this.fragments = new String[MetricRegistry.size()];
+            StringBuilder buffer = new StringBuilder(64);
+            for (int id = 0; id < fragments.length; id++) {
+                Metric metric = MetricRegistry.get(id);
+                if (snapshot.hasDynamic(metric)) {
+                    buffer.setLength(0);
+                    appendString(buffer, metric.getKey());
+                    buffer.append(':');
+                    appendValue(buffer, snapshot, metric);
+                    fragments[id] = buffer.toString();
+                }
+            }
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * @return Document contenant toutes les métriques dynamiques
+         */
+        public String toJson() {
+            return documents.computeIfAbsent(ALL, key -> assemble(null));
+        }
+
+        /**
+         * @param selection Métriques retenues, null pour toutes
+         * @return Document limité à la sélection ; les métriques absentes de
+         *         l'instantané sont omises
+         */
+        public String toJson(MetricSelection selection) {
+            if (selection == null) {
+                return toJson();
+            }
+            return documents.computeIfAbsent(selection.getKey(), key -> assemble(selection));
+        }
+
+        /**
+         * @param selection Métriques retenues, null pour toutes
+         * @return Document suivi d'un retour à la ligne, pour le format NDJSON
+         */
+        public String toJsonLine(MetricSelection selection) {
+            String key = (selection == null ? ALL : selection.getKey()) + "\n";
+            String line = documents.get(key);
+            if (line == null) {
+                // Document calculé hors de computeIfAbsent : la table ne
+                // supporte pas une mise à jour imbriquée
+                String json = toJson(selection);
+                line = documents.computeIfAbsent(key, k -> json + "\n");
+            }
+            return line;
+        }
+
+        private String assemble(MetricSelection selection) {
+            StringBuilder json = new StringBuilder(256);
+            json.append("{\"version\":").append(version)
+                    .append(",\"timestamp\":").append(timestamp)
+                    .append(",\"metrics\":{");
+            boolean first = true;
+            for (int id = 0; id < fragments.length; id++) {
+                if (fragments[id] == null || (selection != null && !selection.contains(id))) {
+                    continue;
+                }
+                if (!first) {
+                    json.append(',');
+                }
+                json.append(fragments[id]);
+                first = false;
+            }
+            return json.append("}}").toString();
+        }
+    }
+
+    private static void appendValue(StringBuilder json, SystemSnapshot snapshot, Metric metric) {
+        Object value = snapshot.getObject(metric);
+        if (value == null) {
+            if (metric.getType() == MetricType.LONG) {
+                json.append(snapshot.getLong(metric, 0L));
+            } else {
+                appendDouble(json, snapshot.getDouble(metric, Double.NaN));
+            }
+        } else if (value instanceof double[]) {
+            double[] values = (double[]) value;
+            json.append('[');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                appendDouble(json, values[i]);
+            }
+            json.append(']');
+        } else if (value instanceof int[]) {
+            int[] values = (int[]) value;
+            json.append('[');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append(values[i]);
+            }
+            json.append(']');
+        } else if (value instanceof Boolean) {
+            json.append(value);
+        } else {
+            appendString(json, String.valueOf(value));
+        }
+    }
+
+    private static void appendDouble(StringBuilder json, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            json.append("null");
+        } else {
+            json.append(value);
+        }
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,131 @@
+package com.pcpeek.cli;
+
+import com.pcpeek.SystemData;
+import com.pcpeek.recording.MetricSummary;
+import com.pcpeek.recording.RecordingReader;
+import com.pcpeek.recording.SessionAnalyzer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Sous-commande {@code --analyze} : statistiques d'une session enregistrée
+ * (extremums, moyenne, centiles, dépassements de seuil, plus hauts pics),
+ * calculées en parallèle sur toute la période demandée.
+ */
+public class AnalyticsCommand {
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    private final AnalyticsOptions options;
+    private final PrintStream out;
+
+    public AnalyticsCommand(AnalyticsOptions options) {
+        this(options, System.out);
+    }
+
+    public AnalyticsCommand(AnalyticsOptions options, PrintStream out) {
+        this.options = options;
+        this.out = out;
+    }
+
+    public void run() throws IOException {
+        try (RecordingReader reader = RecordingReader.open(Path.of(options.getDirectory()))) {
+            SessionAnalyzer analyzer = new SessionAnalyzer(reader);
+            long start = System.nanoTime();
+            List<MetricSummary> summaries = analyzer.analyze(options.getFromMillis(), options.getToMillis(),
+                    options.getMetrics(), options.getThresholds(), options.getTop());
+            long elapsedNanos = System.nanoTime() - start;
+
+            long from = Math.max(options.getFromMillis(), reader.getStartMillis());
+            long to = Math.min(options.getToMillis(), reader.getEndMillis());
+            out.println("=== Analyse de la session " + reader.getDirectory() + " ===");
+            out.println("Période : " + formatTime(from) + " -> " + formatTime(to)
+                    + " (" + reader.size() + " échantillons enregistrés)\n");
+            printStatistics(summaries);
+            printExceedances(summaries);
+            printPeaks(summaries);
+            int threads = analyzer.getParallelism();
+            out.println(String.format("\nAnalyse effectuée en %.2f s sur %d thread%s", elapsedNanos / 1e9, threads,
+                    threads > 1 ? "s" : ""));
+        }
+    }
+
+    private void printStatistics(List<MetricSummary> summaries) {
+        out.println(String.format("%-24s %9s %9s %9s %9s %9s %9s %9s %9s", "Métrique", "Nombre", "Min", "Moy.",
+                "Écart", "p50", "p95", "p99", "Max"));
+        for (MetricSummary summary : summaries) {
+            if (summary.getCount() == 0) {
+                out.println(String.format("%-24s %9d", summary.getMetric().getKey(), 0));
+                continue;
+            }
+            out.println(String.format("%-24s %9d %9s %9s %9s %9s %9s %9s %9s",
+                    summary.getMetric().getKey(),
+                    summary.getCount(),
+                    formatValue(summary.getMin()),
+                    formatValue(summary.getMean()),
+                    formatValue(summary.getStdDev()),
+                    formatValue(summary.getPercentile(50)),
+                    formatValue(summary.getPercentile(95)),
+                    formatValue(summary.getPercentile(99)),
+                    formatValue(summary.getMax())));
+        }
+    }
+
+    private void printExceedances(List<MetricSummary> summaries) {
+        boolean header = false;
+        for (MetricSummary summary : summaries) {
+            if (!summary.hasThreshold() || summary.getCount() == 0) {
+                continue;
+            }
+            if (!header) {
+                out.println("\n=== Dépassements de seuil ===");
+                header = true;
+            }
+            String line = summary.getMetric().getKey() + " >= " + formatValue(summary.getThreshold()) + " : ";
+            if (summary.getExceedanceEpisodes() == 0) {
+                out.println(line + "aucun dépassement");
+            } else {
+                out.println(line + formatDuration(summary.getExceedanceMillis()) + " au total, "
+                        + summary.getExceedanceEpisodes() + " dépassement"
+                        + (summary.getExceedanceEpisodes() > 1 ? "s" : "")
+                        + ", le plus long " + formatDuration(summary.getLongestExceedanceMillis()));
+            }
+        }
+    }
+
+    private void printPeaks(List<MetricSummary> summaries) {
+        if (options.getTop() == 0) {
+            return;
+        }
+        out.println("\n=== Plus hauts pics ===");
+        for (MetricSummary summary : summaries) {
+            if (summary.getPeaks().isEmpty()) {
+                continue;
+            }
+            StringBuilder line = new StringBuilder(summary.getMetric().getKey()).append(" :");
+            for (MetricSummary.Peak peak : summary.getPeaks()) {
+                line.append("\n    ").append(formatValue(peak.getValue()))
+                        .append("  (").append(formatTime(peak.getTimestampMillis())).append(")");
+            }
+            out.println(line);
+        }
+    }
+
+    private static String formatValue(double value) {
+        return Math.abs(value) >= 100_000 ? String.format("%.3g", value) : String.format("%.1f", value);
+    }
+
+    private static String formatTime(long millis) {
+        return TIME_FORMAT.format(Instant.ofEpochMilli(millis));
+    }
+
+    private static String formatDuration(long millis) {
+        return millis < 1000 ? millis + " ms" : SystemData.formatUptime(millis / 1000);
+    }
+}
@@ -0,0 +1,184 @@
+package com.pcpeek.cli;
+
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricRegistry;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options de l'analyse d'une session enregistrée, lues sur la ligne de
+ * commande :
+ * <ul>
+ * <li>{@code --analyze=répertoire} : enregistrement analysé</li>
+ * <li>{@code --from=date} et {@code --to=date} : période analysée
+ * ({@code 2024-05-01}, {@code 2024-05-01T12:00} ou millisecondes depuis
+ * l'époque ; tout l'enregistrement par défaut)</li>
+ * <li>{@code --metrics=clé,clé} : métriques analysées (toutes les métriques
+ * numériques par défaut)</li>
+ * <li>{@code --threshold=clé:valeur} : seuil de dépassement, répétable
+ * (85 °C pour cpu_temperature et 80 % pour cpu_load par défaut)</li>
+ * <li>{@code --top=N} : nombre de pics affichés par métrique (5 par
+ * défaut)</li>
+ * </ul>
+ * Les autres arguments sont ignorés.
+ */
+public final class AnalyticsOptions {
+    public static final int DEFAULT_TOP = 5;
+
+    private static final String ANALYZE = "--analyze=";
+    private static final String FROM = "--from=";
+    private static final String TO = "--to=";
+    private static final String METRICS = "--metrics=";
+    private static final String THRESHOLD = "--threshold=";
+    private static final String TOP = "--top=";
+
+    private final String directory;
+    private final long fromMillis;
+    private final long toMillis;
+    private final List<Metric> metrics;
+    private final Map<Metric, Double> thresholds;
+    private final int top;
+
+    private AnalyticsOptions(String directory, long fromMillis, long toMillis, List<Metric> metrics,
+            Map<Metric, Double> thresholds, int top) {
+        this.directory = directory;
+        this.fromMillis = fromMillis;
+        this.toMillis = toMillis;
+        this.metrics = metrics;
+        this.thresholds = thresholds;
+        this.top = top;
+    }
+
+    /**
+     * @param args Arguments de la ligne de commande
+     * @return Options lues
+     * @throws IllegalArgumentException si une option est invalide
+     */
+    public static AnalyticsOptions parse(String[] args) {
+        String directory = null;
+        long fromMillis = Long.MIN_VALUE;
+        long toMillis = Long.MAX_VALUE;
+        List<Metric> metrics = new ArrayList<>();
+        Map<Metric, Double> thresholds = new LinkedHashMap<>();
+        thresholds.put(MetricRegistry.CPU_TEMPERATURE, 85.0);
+        thresholds.put(MetricRegistry.CPU_LOAD, 80.0);
+        int top = DEFAULT_TOP;
+        for (String arg : args) {
+            if (arg.startsWith(ANALYZE)) {
+                directory = arg.substring(ANALYZE.length());
+            } else if (arg.startsWith(FROM)) {
+                fromMillis = parseTime(arg.substring(FROM.length()), false);
+            } else if (arg.startsWith(TO)) {
+                toMillis = parseTime(arg.substring(TO.length()), true);
+            } else if (arg.startsWith(METRICS)) {
+                for (String key : arg.substring(METRICS.length()).split(",")) {
+                    if (!key.isBlank()) {
+                        metrics.add(parseMetric(key.trim()));
+                    }
+                }
+            } else if (arg.startsWith(THRESHOLD)) {
+                String value = arg.substring(THRESHOLD.length());
+                int separator = value.lastIndexOf(':');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Seuil invalide: " + value + " (attendu clé:valeur)");
+                }
+                thresholds.put(parseMetric(value.substring(0, separator)),
+                        parseDouble(value.substring(separator + 1), "--threshold"));
+            } else if (arg.startsWith(TOP)) {
+                top = (int) parseLong(arg.substring(TOP.length()), "--top", 0);
+            }
+        }
+        if (directory == null || directory.isEmpty()) {
+            throw new IllegalArgumentException("Répertoire d'enregistrement manquant pour --analyze");
+        }
+        if (fromMillis > toMillis) {
+            throw new IllegalArgumentException("La période analysée se termine avant de commencer");
+        }
+        return new AnalyticsOptions(directory, fromMillis, toMillis, Collections.unmodifiableList(metrics),
+                Collections.unmodifiableMap(thresholds), top);
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public long getFromMillis() {
+        return fromMillis;
+    }
+
+    public long getToMillis() {
+        return toMillis;
+    }
+
+    /**
+     * @return Métriques analysées, vide pour toutes
+     */
+    public List<Metric> getMetrics() {
+        return metrics;
+    }
+
+    public Map<Metric, Double> getThresholds() {
+        return thresholds;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    /**
+     * @param endOfDay true pour qu'une date seule désigne la fin de la journée
+     */
+    static long parseTime(String value, boolean endOfDay) {
+        ZoneId zone = ZoneId.systemDefault();
+        try {
+            if (value.chars().allMatch(Character::isDigit) && !value.isEmpty()) {
+                return Long.parseLong(value);
+            }
+            if (value.length() == 10) {
+                LocalDate date = LocalDate.parse(value);
+                return endOfDay ? date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli() - 1
+                        : date.atStartOfDay(zone).toInstant().toEpochMilli();
+            }
+            return LocalDateTime.parse(value.replace(' ', 'T')).atZone(zone).toInstant().toEpochMilli();
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Date invalide: " + value
+                    + " (attendu 2024-05-01, 2024-05-01T12:00 ou millisecondes)");
+        }
+    }
+
+    private static Metric parseMetric(String key) {
+        Metric metric = MetricRegistry.find(key);
+        if (metric == null || !metric.getType().isNumeric()) {
+            throw new IllegalArgumentException("Métrique numérique inconnue: " + key);
+        }
+        return metric;
+    }
+
+    private static double parseDouble(String value, String option) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valeur invalide pour " + option + ": " + value);
+        }
+    }
+
+    private static long parseLong(String value, String option, long min) {
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed >= min) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Signalé ci-dessous
+        }
+        throw new IllegalArgumentException("Valeur invalide pour " + option + ": " + value);
+    }
+}
@@ -1,23 +1,30 @@
 package com.pcpeek.cli;
 
 import com.pcpeek.SystemData;
-import com.pcpeek.monitors.staticinfo.OSLevelMonitor;
-import com.pcpeek.monitors.staticinfo.HardwareLevelMonitor;
+import com.pcpeek.sampling.SamplingService;
 import java.util.Scanner;
 
 public class CLIApplication {
+    // Le mode temps réel affiche un échantillon par seconde
+    public static final long SAMPLING_INTERVAL_MS = 1000;
+
     private final SystemData systemData;
     private final CLIMenuHandler menuHandler;
 
-    private final OSLevelMonitor osMonitor;
-    private final HardwareLevelMonitor hwMonitor;
+    private final SamplingService samplingService;
 
     public CLIApplication() {
-        this.systemData = new SystemData();
-        this.menuHandler = new CLIMenuHandler(systemData);
+        this(new SamplingService(SAMPLING_INTERVAL_MS));
+    }
 
-        this.osMonitor = new OSLevelMonitor();
-        this.hwMonitor = new HardwareLevelMonitor();
+    /**
+     * @param samplingService Service d'échantillonnage, éventuellement
+     *                        alimenté par la relecture d'une session
+     */
+    public CLIApplication(SamplingService samplingService) {
+        this.systemData = new SystemData();
+        this.samplingService = samplingService;
+        this.menuHandler = new CLIMenuHandler(systemData, samplingService);
 
         collectStaticData();
     }
@@ -27,15 +34,18 @@ public class CLIApplication {
         System.out.println("Mode Console Activé");
         System.out.println("Initialisation des moniteurs système...\n");
 
+        // Un seul service échantillonne pour tous les modes et l'enregistrement
+        samplingService.start();
         Scanner scanner = new Scanner(System.in);
-        menuHandler.showMainMenu(scanner);
-
-        scanner.close();
+        try {
+            menuHandler.showMainMenu(scanner);
+        } finally {
+            samplingService.stop();
+            scanner.close();
+        }
     }
 
     private void collectStaticData() {
-        osMonitor.getSystemInfo().forEach(systemData::putStatic);
-
-        hwMonitor.getSystemInfo().forEach(systemData::putStatic);
+        systemData.updateStaticData(samplingService.getStaticData());
     }
 }
@@ -3,18 +3,23 @@ package com.pcpeek.cli;
 import com.pcpeek.SystemData;
 import com.pcpeek.cli.modes.StaticInfoMode;
 import com.pcpeek.cli.modes.RealTimeMode;
+import com.pcpeek.cli.modes.StatsMode;
 import com.pcpeek.cli.modes.TemperatureMode;
+import com.pcpeek.sampling.SamplingService;
 import java.util.Scanner;
 
 public class CLIMenuHandler {
     private final SystemData systemData;
     private final StaticInfoMode staticMode;
     private final RealTimeMode realTimeMode;
-    private final TemperatureMode temperatureMode;    public CLIMenuHandler(SystemData systemData) {
+    private final TemperatureMode temperatureMode;
+    private final StatsMode statsMode = new StatsMode();
+
+    public CLIMenuHandler(SystemData systemData, SamplingService samplingService) {
         this.systemData = systemData;
         this.staticMode = new StaticInfoMode(systemData);
-        this.realTimeMode = new RealTimeMode(systemData);
-        this.temperatureMode = new TemperatureMode(systemData);
+        this.realTimeMode = new RealTimeMode(systemData, samplingService);
+        this.temperatureMode = new TemperatureMode(systemData, samplingService);
     }
 
     public void showMainMenu(Scanner scanner) {
@@ -26,7 +31,7 @@ public class CLIMenuHandler {
                 int choice = scanner.nextInt();
                 scanner.nextLine();
 
-                if (choice == 4) {
+                if (choice == 5) {
                     running = false;
                     System.out.println("Au revoir !");
                 } else {
@@ -44,7 +49,8 @@ public class CLIMenuHandler {
         System.out.println("1. Mode Statique (snapshot complet)");
         System.out.println("2. Mode Real Time (informations dynamiques)");
         System.out.println("3. Mode Diagnostic (analyse système)");
-        System.out.println("4. Quitter");
+        System.out.println("4. Statistiques de collecte");
+        System.out.println("5. Quitter");
         System.out.print("\nVotre choix : ");
     }
 
@@ -60,6 +66,9 @@ public class CLIMenuHandler {
                 temperatureMode.execute(scanner);
                 break;
             case 4:
+                statsMode.execute(scanner);
+                break;
+            case 5:
                 System.out.println("Au revoir !");
                 System.exit(0);
                 break;
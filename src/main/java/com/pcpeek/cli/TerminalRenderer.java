@@ -0,0 +1,277 @@
+package com.pcpeek.cli;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+
+/**
+ * Rendu différentiel d'un écran texte dans un terminal ANSI.
+ * <p>
+ * Chaque image est écrite dans un tampon de cellules (lignes × colonnes) ;
+ * à la fin de l'image, seules les cellules qui diffèrent de l'image
+ * précédente sont envoyées, précédées d'un positionnement du curseur. Une
+ * image inchangée n'envoie rien : pas de scintillement dû à un effacement
+ * complet, et très peu d'octets sur une liaison lente (SSH).
+ * <p>
+ * Les deux tampons d'écran et le tampon de sortie sont réutilisés d'une
+ * image à l'autre : écrire du texte, des nombres ou des barres de
+ * progression n'alloue rien. La première image efface l'écran. Chaque
+ * caractère occupe une cellule, le texte qui dépasse de l'écran est
+ * tronqué. Une instance n'est utilisée que par un seul thread.
+ */
+public final class TerminalRenderer implements AutoCloseable {
+    private static final char ESC = '\033';
+    // Cellules inchangées réécrites plutôt que de repositionner le curseur,
+    // dont la séquence coûte de 6 à 8 octets
+    private static final int MAX_GAP = 6;
+
+    private final Writer writer;
+    private final int columns;
+    private final int rows;
+    private final char decimalSeparator;
+    private char[] front;
+    private char[] back;
+    private char[] output = new char[4096];
+    private int outputLength;
+    private final char[] digits = new char[20];
+    private int row;
+    private int column;
+    private int cursorRow = -1;
+    private int cursorColumn = -1;
+    private boolean firstFrame = true;
+
+    public TerminalRenderer(OutputStream out, int columns, int rows) {
+        this(out, consoleCharset(), columns, rows);
+    }
+
+    public TerminalRenderer(OutputStream out, Charset charset, int columns, int rows) {
+        if (columns <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Taille d'écran invalide: " + columns + "x" + rows);
+        }
+        this.writer = new OutputStreamWriter(out, charset);
+        this.columns = columns;
+        this.rows = rows;
+        this.decimalSeparator = DecimalFormatSymbols.getInstance().getDecimalSeparator();
+        this.front = new char[columns * rows];
+        this.back = new char[columns * rows];
+    }
+
+    /**
+     * Encodage de la sortie standard, celui qu'utilise {@code System.out}
+     */
+    private static Charset consoleCharset() {
+        String encoding = System.getProperty("stdout.encoding", System.getProperty("sun.stdout.encoding"));
+        try {
+            return encoding != null ? Charset.forName(encoding) : Charset.defaultCharset();
+        } catch (IllegalArgumentException e) {
+            return Charset.defaultCharset();
+        }
+    }
+
+    /**
+     * Commence une nouvelle image, vide, avec le curseur d'écriture en haut
+     * à gauche
+     */
+    public void beginFrame() {
+        Arrays.fill(back, ' ');
+        row = 0;
+        column = 0;
+    }
+
+    public TerminalRenderer print(char c) {
+        if (c == '\n') {
+            return newLine();
+        }
+        if (row < rows && column < columns) {
+            back[row * columns + column] = c;
+        }
+        column++;
+        return this;
+    }
+
+    public TerminalRenderer print(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            print(text.charAt(i));
+        }
+        return this;
+    }
+
+    public TerminalRenderer print(long value) {
+        return print(value, 1);
+    }
+
+    /**
+     * @param minDigits Nombre minimal de chiffres, complété par des zéros
+     */
+    public TerminalRenderer print(long value, int minDigits) {
+        if (value < 0) {
+            print('-');
+        }
+        int length = 0;
+        long remaining = value;
+        do {
+            digits[length++] = (char) ('0' + Math.abs(remaining % 10));
+            remaining /= 10;
+        } while (remaining != 0);
+        for (int i = length; i < minDigits; i++) {
+            print('0');
+        }
+        while (length > 0) {
+            print(digits[--length]);
+        }
+        return this;
+    }
+
+    /**
+     * Écrit un nombre à virgule fixe, avec le séparateur décimal de la
+     * locale comme {@code String.format("%.1f")}
+     */
+    public TerminalRenderer print(double value, int decimals) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return print(Double.isNaN(value) ? "NaN" : value > 0 ? "Infinity" : "-Infinity");
+        }
+        long scale = 1;
+        for (int i = 0; i < decimals; i++) {
+            scale *= 10;
+        }
+        long scaled = Math.round(Math.abs(value) * scale);
+        if (value < 0 && scaled != 0) {
+            print('-');
+        }
+        print(scaled / scale);
+        if (decimals > 0) {
+            print(decimalSeparator);
+            print(scaled % scale, decimals);
+        }
+        return this;
+    }
+
+    public TerminalRenderer repeat(char c, int count) {
+        for (int i = 0; i < count; i++) {
+            print(c);
+        }
+        return this;
+    }
+
+    public TerminalRenderer newLine() {
+        row++;
+        column = 0;
+        return this;
+    }
+
+    /**
+     * Envoie au terminal les cellules modifiées depuis l'image précédente
+     */
+    public void endFrame() throws IOException {
+        outputLength = 0;
+        if (firstFrame) {
+            // Curseur masqué pendant la surveillance, écran effacé
+            append(ESC).append('[').append('?').appendNumber(25).append('l');
+            append(ESC).append('[').append('H');
+            append(ESC).append('[').appendNumber(2).append('J');
+            Arrays.fill(front, ' ');
+            cursorRow = 0;
+            cursorColumn = 0;
+            firstFrame = false;
+        }
+        for (int r = 0; r < rows; r++) {
+            int base = r * columns;
+            int c = 0;
+            while (c < columns) {
+                if (back[base + c] == front[base + c]) {
+                    c++;
+                    continue;
+                }
+                int lastChanged = c;
+                for (int next = c + 1; next < columns && next - lastChanged <= MAX_GAP; next++) {
+                    if (back[base + next] != front[base + next]) {
+                        lastChanged = next;
+                    }
+                }
+                moveCursor(r, c);
+                ensureCapacity(lastChanged - c + 1);
+                System.arraycopy(back, base + c, output, outputLength, lastChanged - c + 1);
+                outputLength += lastChanged - c + 1;
+                // En dernière colonne, la position du curseur dépend du terminal
+                cursorColumn = lastChanged + 1 < columns ? lastChanged + 1 : -1;
+                c = lastChanged + 1;
+            }
+        }
+        if (outputLength > 0) {
+            // Curseur sous l'image, là où s'affiche la saisie
+            moveCursor(contentEnd(), 0);
+            writer.write(output, 0, outputLength);
+            writer.flush();
+        }
+        char[] previous = front;
+        front = back;
+        back = previous;
+    }
+
+    /**
+     * Réaffiche le curseur sous la dernière image. La sortie n'est pas
+     * fermée.
+     */
+    @Override
+    public void close() throws IOException {
+        outputLength = 0;
+        if (!firstFrame) {
+            moveCursor(contentEnd(), 0);
+        }
+        append(ESC).append('[').append('?').appendNumber(25).append('h');
+        writer.write(output, 0, outputLength);
+        writer.flush();
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return Première ligne après le texte de l'image
+     */
+    private int contentEnd() {
+        return Math.min(column == 0 ? row : row + 1, rows);
+    }
+
+    private void moveCursor(int r, int c) {
+        if (r == cursorRow && c == cursorColumn) {
+            return;
+        }
+        append(ESC).append('[').appendNumber(r + 1).append(';').appendNumber(c + 1).append('H');
+        cursorRow = r;
+        cursorColumn = c;
+    }
+
+    private TerminalRenderer append(char c) {
+        ensureCapacity(1);
+        output[outputLength++] = c;
+        return this;
+    }
+
+    private TerminalRenderer appendNumber(int value) {
+        int length = 0;
+        do {
+            digits[length++] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        while (length > 0) {
+            append(digits[--length]);
+        }
+        return this;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (outputLength + extra > output.length) {
+            output = Arrays.copyOf(output, Math.max(output.length * 2, outputLength + extra));
+        }
+    }
+}
@@ -1,53 +1,50 @@
 package com.pcpeek.cli.modes;
 
 import com.pcpeek.SystemData;
-import oshi.SystemInfo;
-import oshi.hardware.CentralProcessor;
-import oshi.hardware.GlobalMemory;
-import oshi.hardware.HardwareAbstractionLayer;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.cli.TerminalRenderer;
+import com.pcpeek.metrics.MetricRegistry;
+import com.pcpeek.sampling.SamplingService;
+
+import java.io.IOException;
+import java.time.LocalTime;
 import java.util.Scanner;
+import java.util.function.Consumer;
 
 public class RealTimeMode {
-    private final SystemData systemData;
-    private final SystemInfo systemInfo;
-    private final HardwareAbstractionLayer hardware;
-    private final DateTimeFormatter timeFormatter;
-    private long[] prevTicks;
+    private static final int SCREEN_COLUMNS = 80;
+    private static final int SCREEN_ROWS = 40;
+    private static final long REFRESH_INTERVAL_MS = 100;
+    // Attente maximale du premier échantillon du service (WMIC peut être lent)
+    private static final long FIRST_SAMPLE_TIMEOUT_MS = 10_000;
+    private static final int BAR_LENGTH = 30;
+    private static final int[] NO_FANS = new int[0];
 
-    public RealTimeMode(SystemData systemData) {
+    private final SystemData systemData;
+    private final SamplingService samplingService;
+    private final Consumer<SystemSnapshot> snapshotListener = this::apply;
+
+    /**
+     * @param samplingService Service d'échantillonnage partagé, démarré par
+     *                        l'application : le mode lit ses instantanés
+     *                        sans jamais collecter lui-même
+     */
+    public RealTimeMode(SystemData systemData, SamplingService samplingService) {
         this.systemData = systemData;
-        this.systemInfo = new SystemInfo();
-        this.hardware = systemInfo.getHardware();
-        this.timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
-        this.prevTicks = new long[CentralProcessor.TickType.values().length];
-    }
-
-    private double getCpuLoad() {
-        CentralProcessor processor = hardware.getProcessor();
-        long[] prevTicks = processor.getSystemCpuLoadTicks();
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        long[] ticks = processor.getSystemCpuLoadTicks();
-        long user = ticks[CentralProcessor.TickType.USER.getIndex()] - prevTicks[CentralProcessor.TickType.USER.getIndex()];
-        long nice = ticks[CentralProcessor.TickType.NICE.getIndex()] - prevTicks[CentralProcessor.TickType.NICE.getIndex()];
-        long sys = ticks[CentralProcessor.TickType.SYSTEM.getIndex()] - prevTicks[CentralProcessor.TickType.SYSTEM.getIndex()];
-        long idle = ticks[CentralProcessor.TickType.IDLE.getIndex()] - prevTicks[CentralProcessor.TickType.IDLE.getIndex()];
-        long totalCpu = user + nice + sys + idle;
-        return totalCpu > 0 ? 100.0 * (totalCpu - idle) / totalCpu : 0.0;
+        this.samplingService = samplingService;
     }
 
     public void execute(Scanner scanner) {
+        // Sous Windows, cls active aussi les séquences ANSI de la console
+        // utilisées ensuite par le rendu
         clearScreen();
         System.out.println("=== Mode Real Time ===");
         
-        // Vérifier la compatibilité OS pour OpenHardwareMonitor
-        if (!isWindows()) {
-            System.out.println("\nLe mode Real Time nécessite OpenHardwareMonitor qui n'est disponible que sur Windows.");
+        // Le mode dépend de la source d'échantillonnage (moniteurs Windows,
+        // collecteur Linux ou relecture d'une session), pas du système
+        updateSystemData();
+        if (!hasLiveData()) {
+            System.out.println("\nAucune donnée temps réel n'est disponible sur ce système.");
             System.out.println("Système détecté: " + System.getProperty("os.name"));
             System.out.println("Veuillez utiliser le mode Statique à la place.");
             System.out.println("\nAppuyez sur Entrée pour revenir au menu...");
@@ -55,8 +52,9 @@ public class RealTimeMode {
             return;
         }
 
+        TerminalRenderer renderer = new TerminalRenderer(System.out, SCREEN_COLUMNS, SCREEN_ROWS);
+        samplingService.subscribe(snapshotListener);
         try {
-            boolean monitoring = true;
             System.out.println("Surveillance temps réel démarrée... (Appuyez sur Entrée pour arrêter)");
 
             Thread inputThread = new Thread(() -> {
@@ -68,74 +66,79 @@ public class RealTimeMode {
             inputThread.setDaemon(true);
             inputThread.start();
 
-            hardware.getProcessor().getSystemCpuLoadTicks();            while (monitoring && inputThread.isAlive()) {
-                clearScreen();
-                StringBuilder display = new StringBuilder();
-                display.append("=== Mode Real Time ===\n");
-                display.append("Appuyez sur Entrée pour revenir au menu...\n\n");
-                
-                updateSystemData();
-                
-                display.append("=== Heure ===\n");
-                display.append(LocalDateTime.now().format(timeFormatter)).append("\n\n");
-                
-                display.append("=== CPU ===\n");
-                CentralProcessor processor = hardware.getProcessor();
-                long cpuCores = processor.getLogicalProcessorCount();
-                systemData.setCpuCores(cpuCores);
-                display.append("Processeurs disponibles: ").append(cpuCores).append("\n");
-                
-                double cpuLoad = getCpuLoad();
-                systemData.setCpuLoad(cpuLoad);
-                display.append(String.format("Charge CPU: %.1f%%\n", cpuLoad));
-                
-                addProgressBar(display, cpuLoad, "CPU");
-                
-                display.append("\n=== Mémoire ===\n");
-                GlobalMemory memory = hardware.getMemory();
-                long totalMemory = memory.getTotal();
-                long availableMemory = memory.getAvailable();
-                long usedMemory = totalMemory - availableMemory;
-                double memoryUsage = (usedMemory * 100.0) / totalMemory;
-                
-                systemData.setTotalMemory(totalMemory);
-                systemData.setAvailableMemory(availableMemory);
-                
-                display.append(String.format("Totale: %s\n", formatSize(totalMemory)));
-                display.append(String.format("Utilisée: %s (%.1f%%)\n", formatSize(usedMemory), memoryUsage));
-                display.append(String.format("Libre: %s\n", formatSize(availableMemory)));
-                
-                addProgressBar(display, memoryUsage, "Mémoire");
-
-                display.append("\nTempératures:\n");
-                try {
-                    double cpuTemp = hardware.getSensors().getCpuTemperature();
-                    systemData.setCpuTemperature(cpuTemp);
-                    if (cpuTemp > 0) {
-                        display.append(String.format("CPU: %.1f°C\n", cpuTemp));
-                        addTemperatureBar(display, cpuTemp);
-                    } else {
-                        display.append("Température CPU non disponible\n");
-                    }
-                } catch (Exception e) {
-                    display.append("Température CPU non disponible\n");
-                }
-
-                display.append("\nVentilateurs:\n");
-                displayFanInfo(display);
-
-                System.out.print(display.toString());
-                System.out.flush();
-
-                if (!inputThread.isAlive()) {
-                    monitoring = false;
-                }
-                
-                Thread.sleep(1000);
+            // Les instantanés arrivent par abonnement ; l'écran est rafraîchi
+            // plus souvent et une image inchangée n'envoie rien au terminal
+            while (inputThread.isAlive()) {
+                render(renderer);
+                Thread.sleep(REFRESH_INTERVAL_MS);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             System.err.println("Erreur lors du mode temps réel: " + e.getMessage());
+        } finally {
+            samplingService.unsubscribe(snapshotListener);
+            try {
+                renderer.close();
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la restauration du terminal: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Écrit une image complète dans le tampon du terminal, qui n'envoie que
+     * les cellules modifiées
+     */
+    void render(TerminalRenderer screen) throws IOException {
+        screen.beginFrame();
+        screen.print("=== Mode Real Time ===\n");
+        screen.print("Appuyez sur Entrée pour revenir au menu...\n\n");
+
+        screen.print("=== Heure ===\n");
+        LocalTime time = LocalTime.now();
+        screen.print(time.getHour(), 2).print(':').print(time.getMinute(), 2).print(':')
+                .print(time.getSecond(), 2).print("\n\n");
+
+        screen.print("=== CPU ===\n");
+        long cpuCores = systemData.getCpuCores().orElse(0L);
+        screen.print("Processeurs disponibles: ").print(cpuCores).newLine();
+
+        double cpuLoad = systemData.getCpuLoad().orElse(0.0);
+        screen.print("Charge CPU: ").print(cpuLoad, 1).print("%\n");
+        addProgressBar(screen, cpuLoad, loadBarChar(cpuLoad, 80, 50));
+
+        screen.print("\n=== Mémoire ===\n");
+        long totalMemory = systemData.getTotalMemory().orElse(0L);
+        long availableMemory = systemData.getAvailableMemory().orElse(0L);
+        long usedMemory = totalMemory - availableMemory;
+        double memoryUsage = totalMemory > 0 ? (usedMemory * 100.0) / totalMemory : 0.0;
+
+        printSize(screen.print("Totale: "), totalMemory).newLine();
+        printSize(screen.print("Utilisée: "), usedMemory).print(" (").print(memoryUsage, 1).print("%)\n");
+        printSize(screen.print("Libre: "), availableMemory).newLine();
+        addProgressBar(screen, memoryUsage, loadBarChar(memoryUsage, 80, 50));
+
+        screen.print("\nTempératures:\n");
+        double cpuTemp = systemData.getCpuTemperature().orElse(0.0);
+        if (cpuTemp > 0) {
+            screen.print("CPU: ").print(cpuTemp, 1).print("°C\n");
+            addProgressBar(screen, cpuTemp, loadBarChar(cpuTemp, 80, 60));
+        } else {
+            screen.print("Température CPU non disponible\n");
         }
+
+        screen.print("\nVentilateurs:\n");
+        displayFanInfo(screen);
+        screen.endFrame();
+    }
+
+    /**
+     * @return true si la source d'échantillonnage fournit la charge CPU ou
+     *         la mémoire
+     */
+    boolean hasLiveData() {
+        return systemData.getCpuLoad().isPresent() || systemData.getAvailableMemory().isPresent();
     }
 
     public boolean isWindows() {
@@ -164,154 +167,78 @@ public class RealTimeMode {
         }
     }
 
+    /**
+     * Reprend le dernier instantané publié par le service, en attendant le
+     * premier si le service vient de démarrer
+     */
     public void updateSystemData() {
         try {
-            CentralProcessor processor = hardware.getProcessor();
-            GlobalMemory memory = hardware.getMemory();
-            
-            systemData.setCpuCores((long) processor.getLogicalProcessorCount());
-            systemData.setCpuLoad(getCpuLoad());
-            
-            systemData.setTotalMemory(memory.getTotal());
-            systemData.setAvailableMemory(memory.getAvailable());
-            
-            try {
-                double cpuTemp = hardware.getSensors().getCpuTemperature();
-                if (cpuTemp > 0) {
-                    systemData.setCpuTemperature(cpuTemp);
-                }
-            } catch (Exception e) {
+            SystemSnapshot latest = samplingService.getLatest();
+            long deadline = System.currentTimeMillis() + FIRST_SAMPLE_TIMEOUT_MS;
+            while (latest == null && samplingService.isRunning() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(REFRESH_INTERVAL_MS);
+                latest = samplingService.getLatest();
             }
-        } catch (Exception e) {
-            System.err.println("Erreur lors de la mise à jour des données système: " + e.getMessage());
+            if (latest != null) {
+                apply(latest);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
-    private void addProgressBar(StringBuilder display, double percentage, String label) {
-        int barLength = 30;
-        int filledLength = (int) (percentage * barLength / 100);
-        filledLength = Math.min(filledLength, barLength);
-        filledLength = Math.max(filledLength, 0);
+    /**
+     * Copie les métriques dynamiques d'un instantané du service ; appelé sur
+     * le thread d'échantillonnage pendant la surveillance
+     */
+    private void apply(SystemSnapshot sample) {
+        long cores = Runtime.getRuntime().availableProcessors();
+        systemData.update(builder -> builder
+                .putAllDynamic(sample)
+                .putStatic(MetricRegistry.CPU_CORES, cores));
+    }
 
-        StringBuilder bar = new StringBuilder();
-        bar.append("  [");
-        for (int i = 0; i < barLength; i++) {
-            if (i < filledLength) {
-                if (percentage >= 80) {
-                    bar.append("#");
-                } else if (percentage >= 50) {
-                    bar.append("=");
-                } else {
-                    bar.append("-");
-                }
-            } else {
-                bar.append(" ");
-            }
+    /**
+     * Écrit une taille comme {@link #formatSize(long)}, sans allouer
+     */
+    private TerminalRenderer printSize(TerminalRenderer screen, long bytes) {
+        if (bytes < 1024) {
+            return screen.print(bytes).print(" B");
         }
-        bar.append("]");
-        display.append(bar.toString()).append("\n");
+        int exp = (int) (Math.log(bytes) / Math.log(1024));
+        return screen.print(bytes / Math.pow(1024, exp), 1).print(' ').print("KMGTPE".charAt(exp - 1)).print('B');
     }
 
-    private void addTemperatureBar(StringBuilder display, double temperature) {
-        int tempBarLength = 30;
-        int tempFilledLength = (int) ((temperature / 100.0) * tempBarLength);
-        tempFilledLength = Math.min(tempFilledLength, tempBarLength);
-        tempFilledLength = Math.max(tempFilledLength, 0);
-        
-        StringBuilder tempBar = new StringBuilder();
-        tempBar.append("  [");
-        for (int j = 0; j < tempBarLength; j++) {
-            if (j < tempFilledLength) {
-                if (temperature >= 80) {
-                    tempBar.append("#");
-                } else if (temperature >= 60) {
-                    tempBar.append("=");
-                } else {
-                    tempBar.append("-");
-                }
-            } else {
-                tempBar.append(" ");
-            }
-        }
-        tempBar.append("]");
-        display.append(tempBar.toString()).append("\n");
+    private static char loadBarChar(double value, double high, double medium) {
+        return value >= high ? '#' : value >= medium ? '=' : '-';
     }
 
-    private void displayFanInfo(StringBuilder display) {
-        try {
-            ProcessBuilder pb = new ProcessBuilder(
-                "powershell",
-                "-Command",
-                "Get-WmiObject -Class Win32_Fan | Select-Object Name, Speed | Format-Table -AutoSize"
-            );
-            pb.redirectErrorStream(true);
-            Process process = pb.start();
-            
-            java.io.BufferedReader reader = new java.io.BufferedReader(
-                new java.io.InputStreamReader(process.getInputStream())
-            );
-            
-            String line;
-            boolean firstLine = true;
-            boolean hasFans = false;
-            java.util.List<Integer> fanSpeeds = new java.util.ArrayList<>();
-            
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (firstLine || line.isEmpty() || line.contains("----")) {
-                    firstLine = false;
-                    continue;
-                }
-                
-                String[] parts = line.split("\\s+");
-                if (parts.length >= 2) {
-                    try {
-                        String fanName = parts[0];
-                        int speed = Integer.parseInt(parts[parts.length - 1]);
-                        if (speed > 0) {
-                            hasFans = true;
-                            fanSpeeds.add(speed);
-                            display.append(String.format("%s: %d RPM\n", fanName, speed));
-                            
-                            int fanBarLength = 30;
-                            int fanFilledLength = (int) ((speed / 5000.0) * fanBarLength);
-                            fanFilledLength = Math.min(fanFilledLength, fanBarLength);
-                            fanFilledLength = Math.max(fanFilledLength, 0);
-                            
-                            StringBuilder fanBar = new StringBuilder();
-                            fanBar.append("  [");
-                            for (int j = 0; j < fanBarLength; j++) {
-                                if (j < fanFilledLength) {
-                                    if (speed >= 4000) {
-                                        fanBar.append("█");
-                                    } else if (speed >= 2000) {
-                                        fanBar.append("▓");
-                                    } else {
-                                        fanBar.append("░");
-                                    }
-                                } else {
-                                    fanBar.append(" ");
-                                }
-                            }
-                            fanBar.append("]");
-                            display.append(fanBar.toString()).append("\n");
-                        }
-                    } catch (NumberFormatException e) {
-                    }
-                }
-            }
-            
-            if (!fanSpeeds.isEmpty()) {
-                systemData.setFanSpeeds(fanSpeeds.stream().mapToInt(Integer::intValue).toArray());
-            }
-            
-            if (!hasFans) {
-                display.append("Aucun ventilateur détecté\n");
+    /**
+     * Barre de 30 cellules, pleine à 100
+     */
+    private void addProgressBar(TerminalRenderer screen, double percentage, char fill) {
+        int filledLength = (int) (percentage * BAR_LENGTH / 100);
+        filledLength = Math.min(filledLength, BAR_LENGTH);
+        filledLength = Math.max(filledLength, 0);
+        screen.print("  [").repeat(fill, filledLength).repeat(' ', BAR_LENGTH - filledLength).print("]\n");
+    }
+
+    private void displayFanInfo(TerminalRenderer screen) {
+        int[] fanSpeeds = systemData.getFanSpeeds().orElse(NO_FANS);
+        boolean hasFans = false;
+
+        for (int i = 0; i < fanSpeeds.length; i++) {
+            int speed = fanSpeeds[i];
+            if (speed > 0) {
+                hasFans = true;
+                screen.print("Ventilateur ").print(i + 1).print(": ").print(speed).print(" RPM\n");
+                char fill = speed >= 4000 ? '█' : speed >= 2000 ? '▓' : '░';
+                addProgressBar(screen, speed / 50.0, fill);
             }
-            
-            process.waitFor();
-        } catch (Exception e) {
-            display.append("Aucun ventilateur détecté\n");
+        }
+
+        if (!hasFans) {
+            screen.print("Aucun ventilateur détecté\n");
         }
     }
 }
@@ -1,7 +1,14 @@
 package com.pcpeek.cli.modes;
 
 import com.pcpeek.SystemData;
+import com.pcpeek.monitors.ParallelCollector;
+import com.pcpeek.monitors.backend.ProcessScope;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 import java.io.File;
 
 public class StaticInfoMode {
@@ -31,22 +38,36 @@ public class StaticInfoMode {
             systemData.setOsVersion(System.getProperty("os.version"));
             systemData.setOsArchitecture(System.getProperty("os.arch"));
 
-            // Informations CPU via WMI
-            collectCpuInfo();
-            
-            // Informations GPU via WMI
-            collectGpuInfo();
-            
-            // Informations disques
-            collectDiskInfo();
-            
-            // Informations réseau
-            collectNetworkInfo();
-            
-            // État d'activation Windows
+            // Sondes lancées en parallèle : une sonde bloquée est abandonnée à
+            // l'échéance, les autres sont tout de même affichées
+            Map<String, Consumer<SystemData>> probes = new LinkedHashMap<>();
+            probes.put("cpu", this::collectCpuInfo);
+            probes.put("gpu", this::collectGpuInfo);
+            probes.put("disque", this::collectDiskInfo);
+            probes.put("réseau", this::collectNetworkInfo);
             if (isCompatibleOS()) {
-                collectWindowsActivationInfo();
-                collectBatteryInfo();
+                probes.put("activation", this::collectWindowsActivationInfo);
+                probes.put("batterie", this::collectBatteryInfo);
+            }
+
+            // Chaque sonde écrit dans sa propre copie : une sonde abandonnée
+            // qui se termine après l'échéance ne publie rien
+            Map<String, SystemData> targets = new HashMap<>();
+            Map<String, Callable<Map<String, Object>>> tasks = new LinkedHashMap<>();
+            for (Map.Entry<String, Consumer<SystemData>> probe : probes.entrySet()) {
+                SystemData target = new SystemData();
+                targets.put(probe.getKey(), target);
+                tasks.put(probe.getKey(), () -> {
+                    probe.getValue().accept(target);
+                    return null;
+                });
+            }
+            ParallelCollector.Result result = ParallelCollector.getDefault().collect(tasks);
+            for (String completed : result.getCompleted()) {
+                SystemData target = targets.get(completed);
+                systemData.update(builder -> builder
+                        .putAllStatic(target.getStaticData())
+                        .putAllDynamic(target.getDynamicData()));
             }
 
         } catch (Exception e) {
@@ -55,8 +76,12 @@ public class StaticInfoMode {
     }
 
     public void collectCpuInfo() {
+        collectCpuInfo(systemData);
+    }
+
+    private void collectCpuInfo(SystemData target) {
         try {
-            Process cpuProcess = Runtime.getRuntime().exec("wmic cpu get name");
+            Process cpuProcess = ProcessScope.start(new ProcessBuilder("wmic", "cpu", "get", "name"));
             java.io.BufferedReader cpuReader = new java.io.BufferedReader(new java.io.InputStreamReader(cpuProcess.getInputStream()));
             String cpuLine;
             boolean firstLine = true;
@@ -66,7 +91,7 @@ public class StaticInfoMode {
                     continue;
                 }
                 if (!cpuLine.trim().isEmpty()) {
-                    systemData.setCpuName(cpuLine.trim());
+                    target.setCpuName(cpuLine.trim());
                     break;
                 }
             }
@@ -77,12 +102,16 @@ public class StaticInfoMode {
     }
 
     public void collectDiskInfo() {
+        collectDiskInfo(systemData);
+    }
+
+    private void collectDiskInfo(SystemData target) {
         try {
             File[] roots = File.listRoots();
             for (File root : roots) {
                 if (root.getTotalSpace() > 0) {
                     // Stocker les informations du premier disque trouvé
-                    systemData.setDiskSize(root.getTotalSpace());
+                    target.setDiskSize(root.getTotalSpace());
                     break;
                 }
             }
@@ -147,13 +176,13 @@ public class StaticInfoMode {
         return sb.toString();
     }
 
-    private void collectGpuInfo() {
+    private void collectGpuInfo(SystemData target) {
     }
 
-    private void collectNetworkInfo() {
+    private void collectNetworkInfo(SystemData target) {
     }
 
-    private void collectWindowsActivationInfo() {
+    private void collectWindowsActivationInfo(SystemData target) {
         try {
             ProcessBuilder pb = new ProcessBuilder(
                 "wmic",
@@ -163,7 +192,7 @@ public class StaticInfoMode {
                 "caption,version,osarchitecture,serialnumber,licensedatetime"
             );
             pb.redirectErrorStream(true);
-            Process process = pb.start();
+            Process process = ProcessScope.start(pb);
             
             java.io.BufferedReader reader = new java.io.BufferedReader(
                 new java.io.InputStreamReader(process.getInputStream())
@@ -179,13 +208,13 @@ public class StaticInfoMode {
                 if (!line.trim().isEmpty()) {
                     String[] parts = line.trim().split("\\s+", 5);
                     if (parts.length >= 5) {
-                        systemData.setOsCaption(parts[0] + " " + parts[1]);
-                        systemData.setOsArchitecture(parts[2]);
+                        target.setOsCaption(parts[0] + " " + parts[1]);
+                        target.setOsArchitecture(parts[2]);
                         if (!parts[3].equals("NULL")) {
-                            systemData.setOsSerial(parts[3]);
+                            target.setOsSerial(parts[3]);
                         }
                         if (!parts[4].equals("NULL")) {
-                            systemData.setOsLicense(parts[4]);
+                            target.setOsLicense(parts[4]);
                         }
                         break;
                     }
@@ -197,7 +226,7 @@ public class StaticInfoMode {
         }
     }
 
-    private void collectBatteryInfo() {
+    private void collectBatteryInfo(SystemData target) {
     }
 
     private void displayCollectedInfo() {
@@ -0,0 +1,90 @@
+package com.pcpeek.cli.modes;
+
+import com.pcpeek.monitors.stats.CollectionStats;
+import com.pcpeek.monitors.stats.LatencyHistogram;
+import com.pcpeek.monitors.stats.OperationStats;
+
+import java.util.Map;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Écran des statistiques de collecte : latence de chaque opération
+ * (mise à jour des moniteurs, commandes WMIC, sondes, rendu) et âge du
+ * dernier échantillon de chaque métrique
+ */
+public class StatsMode {
+    private final CollectionStats stats;
+
+    public StatsMode() {
+        this(CollectionStats.getDefault());
+    }
+
+    public StatsMode(CollectionStats stats) {
+        this.stats = stats;
+    }
+
+    public void execute(Scanner scanner) {
+        boolean running = true;
+        while (running) {
+            clearScreen();
+            displayStats();
+            System.out.print("\nEntrée pour rafraîchir, 'r' pour remettre à zéro, 'q' pour revenir : ");
+            String choice = scanner.nextLine().trim();
+            switch (choice) {
+                case "q" -> running = false;
+                case "r" -> stats.reset();
+                default -> {
+                }
+            }
+        }
+    }
+
+    public void displayStats() {
+        System.out.println("=== Statistiques de collecte ===\n");
+        System.out.println(String.format("%-48s %7s %6s %9s %9s %9s %9s", "Opération", "Nombre", "Err.",
+                "Moy. ms", "p50 ms", "p99 ms", "Max ms"));
+        for (OperationStats operation : stats.getOperations()) {
+            LatencyHistogram latencies = operation.getLatencies();
+            System.out.println(String.format("%-48s %7d %6d %9.2f %9.2f %9.2f %9.2f",
+                    truncate(operation.getName(), 48),
+                    latencies.getCount(),
+                    operation.getErrorCount(),
+                    latencies.getMeanNanos() / TimeUnit.MILLISECONDS.toNanos(1),
+                    latencies.getValueAtQuantile(0.50, TimeUnit.MILLISECONDS),
+                    latencies.getValueAtQuantile(0.99, TimeUnit.MILLISECONDS),
+                    (double) latencies.getMaxNanos() / TimeUnit.MILLISECONDS.toNanos(1)));
+            if (operation.getLastError() != null) {
+                System.out.println("    dernière erreur : " + operation.getLastError());
+            }
+        }
+
+        Map<String, Long> ages = stats.getFreshness().getAgesMillis(System.currentTimeMillis());
+        System.out.println("\n=== Fraîcheur des métriques ===\n");
+        if (ages.isEmpty()) {
+            System.out.println("Aucun échantillon collecté");
+        }
+        for (Map.Entry<String, Long> age : ages.entrySet()) {
+            System.out.println(String.format("%-30s %8.1f s", age.getKey(), age.getValue() / 1000.0));
+        }
+    }
+
+    private static String truncate(String value, int length) {
+        return value.length() <= length ? value : value.substring(0, length - 1) + "…";
+    }
+
+    private void clearScreen() {
+        try {
+            if (System.getProperty("os.name").toLowerCase().contains("windows")) {
+                new ProcessBuilder("cmd", "/c", "cls").inheritIO().start().waitFor();
+            } else {
+                System.out.print("\033[H\033[2J");
+                System.out.flush();
+            }
+        } catch (Exception e) {
+            for (int i = 0; i < 50; i++) {
+                System.out.println();
+            }
+        }
+    }
+}
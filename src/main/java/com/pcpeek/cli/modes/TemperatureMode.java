@@ -1,11 +1,12 @@
 package com.pcpeek.cli.modes;
 
 import com.pcpeek.SystemData;
-import oshi.SystemInfo;
-import oshi.hardware.CentralProcessor;
-import oshi.hardware.HardwareAbstractionLayer;
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.MetricHistory;
+import com.pcpeek.metrics.MetricRegistry;
+import com.pcpeek.sampling.SamplingService;
 
-import java.util.*;
+import java.util.List;
 import java.util.Scanner;
 
 public class TemperatureMode {    private static final double TEMP_CRITICAL = 90.0;
@@ -17,17 +18,29 @@ public class TemperatureMode {    private static final double TEMP_CRITICAL = 90
     private static final double TREND_CRITICAL = 3.0;
     private static final double TREND_HIGH = 2.0;
     private static final double TREND_LOW = 0.5;
+    // Attente maximale du premier échantillon du service (WMIC peut être lent)
+    private static final long FIRST_SAMPLE_TIMEOUT_MS = 10_000;
+    private static final long POLL_INTERVAL_MS = 100;
+    // Points nécessaires à l'analyse ; attendus si le service vient de démarrer
+    private static final int MIN_ANALYSIS_SAMPLES = 5;
     
     private final SystemData systemData;
-    private final SystemInfo si = new SystemInfo();
-    private final HardwareAbstractionLayer hal = si.getHardware();
-    private final Queue<Double> temperatureHistory = new LinkedList<>();
-    private final Queue<Double> loadHistory = new LinkedList<>();
-    private final int HISTORY_SIZE = 5;
+    private final SamplingService samplingService;
+    // Historiques du service : l'analyse couvre toute la rétention configurée
+    private final MetricHistory temperatureHistory;
+    private final MetricHistory loadHistory;
     private boolean running = true;
 
-    public TemperatureMode(SystemData systemData) {
+    /**
+     * @param samplingService Service d'échantillonnage partagé, démarré par
+     *                        l'application : le mode lit ses instantanés et
+     *                        ses historiques sans jamais collecter lui-même
+     */
+    public TemperatureMode(SystemData systemData, SamplingService samplingService) {
         this.systemData = systemData;
+        this.samplingService = samplingService;
+        this.temperatureHistory = samplingService.getHistory().track(MetricRegistry.CPU_TEMPERATURE);
+        this.loadHistory = samplingService.getHistory().track(MetricRegistry.CPU_LOAD);
     }
 
     public void execute(Scanner scanner) {
@@ -53,60 +66,45 @@ public class TemperatureMode {    private static final double TEMP_CRITICAL = 90
         }
     }
 
-    private void showCurrentState(Scanner scanner) {
+    void showCurrentState(Scanner scanner) {
         clearScreen();
         System.out.println("=== État Actuel ===");
-        updateMetrics();
+        updateSystemData();
         displayMetrics();
         waitForEnter(scanner);
-    }    private void updateMetrics() {
-        // Mettre à jour les données système
-        updateSystemData();
-        
-        double currentTemp = systemData.getCpuTemperature().orElse(0.0);
-        double currentLoad = systemData.getCpuLoad().orElse(0.0);
-
-        temperatureHistory.offer(currentTemp);
-        loadHistory.offer(currentLoad);
-
-        if (temperatureHistory.size() > HISTORY_SIZE) {
-            temperatureHistory.poll();
-            loadHistory.poll();
-        }
     }
 
+    /**
+     * Reprend le dernier instantané publié par le service, en attendant le
+     * premier si le service vient de démarrer
+     */
     private void updateSystemData() {
-        double cpuTemp = hal.getSensors().getCpuTemperature();
-        if (cpuTemp > 0) {
-            systemData.setCpuTemperature(cpuTemp);
-        }
-        
-        double cpuLoad = getCurrentCpuLoad();
-        systemData.setCpuLoad(cpuLoad);
-    }
-
-    private double getCurrentCpuLoad() {
-        CentralProcessor processor = hal.getProcessor();
-        long[] prevTicks = processor.getSystemCpuLoadTicks();
+        SystemSnapshot sample = samplingService.getLatest();
         try {
-            Thread.sleep(1000);
+            long deadline = System.currentTimeMillis() + FIRST_SAMPLE_TIMEOUT_MS;
+            while (sample == null && samplingService.isRunning() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(POLL_INTERVAL_MS);
+                sample = samplingService.getLatest();
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
-        long[] ticks = processor.getSystemCpuLoadTicks();
-        long user = ticks[CentralProcessor.TickType.USER.getIndex()] - prevTicks[CentralProcessor.TickType.USER.getIndex()];
-        long nice = ticks[CentralProcessor.TickType.NICE.getIndex()] - prevTicks[CentralProcessor.TickType.NICE.getIndex()];
-        long sys = ticks[CentralProcessor.TickType.SYSTEM.getIndex()] - prevTicks[CentralProcessor.TickType.SYSTEM.getIndex()];
-        long idle = ticks[CentralProcessor.TickType.IDLE.getIndex()] - prevTicks[CentralProcessor.TickType.IDLE.getIndex()];
-        long totalCpu = user + nice + sys + idle;
-        return totalCpu > 0 ? 100.0 * (totalCpu - idle) / totalCpu : 0.0;
+        if (sample == null) {
+            return;
+        }
+        double cpuTemp = sample.getDouble(MetricRegistry.CPU_TEMPERATURE, 0.0);
+        double cpuLoad = sample.getDouble(MetricRegistry.CPU_LOAD, 0.0);
+        systemData.update(builder -> {
+            if (cpuTemp > 0) {
+                builder.putDynamicDouble(MetricRegistry.CPU_TEMPERATURE, cpuTemp);
+            }
+            builder.putDynamicDouble(MetricRegistry.CPU_LOAD, cpuLoad);
+        });
     }
 
     private void displayMetrics() {
-        Double currentTemp = ((LinkedList<Double>) temperatureHistory).peekLast();
-        Double currentLoad = ((LinkedList<Double>) loadHistory).peekLast();
-
-        if (currentTemp != null) {
+        if (!temperatureHistory.isEmpty()) {
+            double currentTemp = temperatureHistory.getLatest(0.0);
             System.out.printf("\nTempérature CPU: %.1f°C\n", currentTemp);
             System.out.print("État: ");            if (currentTemp >= TEMP_CRITICAL) {
                 System.out.println("CRITIQUE");
@@ -117,7 +115,8 @@ public class TemperatureMode {    private static final double TEMP_CRITICAL = 90
             }
         }
 
-        if (currentLoad != null) {
+        if (!loadHistory.isEmpty()) {
+            double currentLoad = loadHistory.getLatest(0.0);
             System.out.printf("\nCharge CPU: %.1f%%\n", currentLoad);
             System.out.print("État: ");            if (currentLoad >= 80) {
                 System.out.println("ELEVEE");
@@ -131,12 +130,15 @@ public class TemperatureMode {    private static final double TEMP_CRITICAL = 90
         clearScreen();
         System.out.println("=== Analyse Détaillée ===");
         System.out.println("\nCollecte des données en cours...");
-        
-        for (int i = 0; i < 5; i++) {
-            updateMetrics();
+
+        updateSystemData();
+        // Le service vient de démarrer : attente de quelques échantillons
+        long deadline = System.currentTimeMillis() + MIN_ANALYSIS_SAMPLES * samplingService.getIntervalMs();
+        while (temperatureHistory.size() < MIN_ANALYSIS_SAMPLES && samplingService.isRunning()
+                && System.currentTimeMillis() < deadline) {
             System.out.print(".");
             try {
-                Thread.sleep(1000);
+                Thread.sleep(samplingService.getIntervalMs());
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 return;
@@ -149,11 +151,10 @@ public class TemperatureMode {    private static final double TEMP_CRITICAL = 90
             return;
         }
 
-        List<Double> temps = new ArrayList<>(temperatureHistory);
-        double mean = calculateMean(temps);
-        double variance = calculateVariance(temps);
+        double mean = temperatureHistory.mean();
+        double variance = temperatureHistory.variance();
         double stdDev = Math.sqrt(variance);
-        double currentTemp = temps.get(temps.size() - 1);
+        double currentTemp = temperatureHistory.getLatest(0.0);
         
         System.out.println("=== Situation Actuelle ===");
         System.out.printf("Température actuelle: %.1f°C\n", currentTemp);
@@ -178,7 +179,7 @@ public class TemperatureMode {    private static final double TEMP_CRITICAL = 90
             isWorrisome = true;
         }
         
-        double maxVariation = calculateMaxVariation(temps);
+        double maxVariation = temperatureHistory.maxStep();
         if (maxVariation > VAR_EXTREME && currentTemp > mean) {
             System.out.println("\nVARIATIONS EXTREMES");
             System.out.printf("Variation: %.1f°C/seconde\n", maxVariation);
@@ -201,7 +202,7 @@ public class TemperatureMode {    private static final double TEMP_CRITICAL = 90
         }
         
         System.out.println("\n=== Tendance ===");
-        double trend = calculateSimpleTrend(temps);
+        double trend = temperatureHistory.trend();
         if (trend > TREND_CRITICAL) {
             System.out.println("AUGMENTATION TRES RAPIDE");
             isWorrisome = true;
@@ -251,20 +252,6 @@ public class TemperatureMode {    private static final double TEMP_CRITICAL = 90
                 .orElse(0.0);
     }
 
-    private double calculateMaxVariation(List<Double> values) {
-        double maxVar = 0.0;
-        for (int i = 1; i < values.size(); i++) {
-            double var = Math.abs(values.get(i) - values.get(i-1));
-            maxVar = Math.max(maxVar, var);
-        }
-        return maxVar;
-    }
-
-    private double calculateSimpleTrend(List<Double> values) {
-        if (values.size() < 2) return 0.0;
-        return values.get(values.size() - 1) - values.get(0);
-    }
-
     private void clearScreen() {
         try {
             if (System.getProperty("os.name").toLowerCase().contains("windows")) {
@@ -0,0 +1,334 @@
+package com.pcpeek.metrics;
+
+/**
+ * Niveaux de résolution précalculés d'un {@link MetricHistory}.
+ * <p>
+ * Chaque niveau regroupe les points du niveau inférieur par
+ * {@link #FACTOR} et ne garde qu'un représentant par groupe, choisi comme
+ * dans l'algorithme Largest-Triangle-Three-Buckets : le point qui forme le
+ * plus grand triangle avec le représentant précédent et la moyenne du
+ * groupe suivant. Un groupe n'est donc résolu qu'une fois le suivant
+ * complet. Chaque point garde aussi l'enveloppe (minimum et maximum) de
+ * tous les échantillons bruts qu'il représente, pour qu'aucun pic ne
+ * disparaisse d'un graphique sous-échantillonné.
+ * <p>
+ * Les niveaux sont des tampons circulaires de capacité fixe, dimensionnés
+ * pour couvrir la même durée que l'historique brut : l'ajout d'un point
+ * coûte O(1) amorti et n'alloue rien. La classe n'est pas synchronisée,
+ * l'historique propriétaire la protège par son verrou.
+ */
+final class LttbPyramid {
+    static final int FACTOR = 4;
+    static final int MIN_LEVEL_POINTS = 64;
+
+    private final Level[] levels;
+
+    LttbPyramid(int rawCapacity) {
+        int depth = 0;
+        for (long capacity = rawCapacity / FACTOR; capacity >= MIN_LEVEL_POINTS; capacity /= FACTOR) {
+            depth++;
+        }
+        levels = new Level[depth];
+        long capacity = rawCapacity;
+        for (int k = 0; k < depth; k++) {
+            capacity /= FACTOR;
+            // Deux points de marge pour les groupes encore en attente
+            levels[k] = new Level((int) capacity + 2);
+        }
+        for (int k = 0; k + 1 < depth; k++) {
+            levels[k].parent = levels[k + 1];
+        }
+    }
+
+    void add(long timestamp, double value) {
+        if (levels.length > 0) {
+            levels[0].offer(timestamp, value, value, value);
+        }
+    }
+
+    void clear() {
+        for (Level level : levels) {
+            level.clear();
+        }
+    }
+
+    /**
+     * @return Nombre de niveaux, 0 pour un historique trop petit
+     */
+    int depth() {
+        return levels.length;
+    }
+
+    /**
+     * @param k 0 pour le niveau le plus fin ({@link #FACTOR} points bruts par
+     *          point)
+     */
+    Level level(int k) {
+        return levels[k];
+    }
+
+    /**
+     * Réduit une suite de points à exactement maxPoints points avec
+     * Largest-Triangle-Three-Buckets : le premier et le dernier point sont
+     * conservés, les autres sont répartis en maxPoints - 2 classes dont on
+     * garde un représentant et l'enveloppe. Sans réduction nécessaire, tous
+     * les points sont visités.
+     *
+     * @return Nombre de points visités
+     */
+    static int downsample(Points points, int maxPoints, MetricHistory.EnvelopeVisitor visitor) {
+        long[] timestamps = points.timestamps;
+        double[] values = points.values;
+        double[] mins = points.mins;
+        double[] maxs = points.maxs;
+        int length = points.size;
+        if (length <= maxPoints) {
+            for (int i = 0; i < length; i++) {
+                visitor.visit(timestamps[i], values[i], mins[i], maxs[i]);
+            }
+            return length;
+        }
+        visitor.visit(timestamps[0], values[0], mins[0], maxs[0]);
+        double every = (double) (length - 2) / (maxPoints - 2);
+        int previous = 0;
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            int start = (int) (bucket * every) + 1;
+            int end = (int) ((bucket + 1) * every) + 1;
+            int nextEnd = Math.min((int) ((bucket + 2) * every) + 1, length);
+            double nextX = 0.0;
+            double nextY = 0.0;
+            for (int i = end; i < nextEnd; i++) {
+                nextX += timestamps[i] - timestamps[previous];
+                nextY += values[i];
+            }
+            nextX /= nextEnd - end;
+            nextY /= nextEnd - end;
+
+            int selected = start;
+            double largest = -1.0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = start; i < end; i++) {
+                double area = area(values[previous], timestamps[i] - timestamps[previous], values[i], nextX, nextY);
+                if (area > largest) {
+                    largest = area;
+                    selected = i;
+                }
+                min = Math.min(min, mins[i]);
+                max = Math.max(max, maxs[i]);
+            }
+            visitor.visit(timestamps[selected], values[selected], min, max);
+            previous = selected;
+        }
+        int last = length - 1;
+        visitor.visit(timestamps[last], values[last], mins[last], maxs[last]);
+        return maxPoints;
+    }
+
+    /**
+     * Double de l'aire du triangle (0, ay), (bx, by), (cx, cy) : les
+     * abscisses sont relatives au premier sommet pour rester précises avec
+     * des horodatages en millisecondes
+     */
+    private static double area(double ay, double bx, double by, double cx, double cy) {
+        return Math.abs(bx * (cy - ay) - cx * (by - ay));
+    }
+
+    /**
+     * Niveau de la pyramide : un tampon circulaire de points (horodatage,
+     * représentant, minimum, maximum) et les deux groupes de points du
+     * niveau inférieur en cours de résolution
+     */
+    static final class Level {
+        private final long[] timestamps;
+        private final double[] values;
+        private final double[] mins;
+        private final double[] maxs;
+        private Level parent;
+        private int head;
+        private int count;
+
+        // Groupe complet en attente du suivant, et groupe en cours de remplissage
+        private Points pending = new Points(FACTOR);
+        private Points filling = new Points(FACTOR);
+        private boolean hasPending;
+        private boolean hasPrevious;
+        private long previousTimestamp;
+        private double previousValue;
+        private long consumedUntil = Long.MIN_VALUE;
+
+        Level(int capacity) {
+            this.timestamps = new long[capacity];
+            this.values = new double[capacity];
+            this.mins = new double[capacity];
+            this.maxs = new double[capacity];
+        }
+
+        void offer(long timestamp, double value, double min, double max) {
+            filling.add(timestamp, value, min, max);
+            if (filling.size < FACTOR) {
+                return;
+            }
+            if (hasPending) {
+                emit(filling.meanOffset(previousTimestamp(pending)), filling.meanValue());
+            }
+            Points resolved = pending;
+            pending = filling;
+            filling = resolved;
+            filling.size = 0;
+            hasPending = true;
+        }
+
+        private long previousTimestamp(Points group) {
+            return hasPrevious ? previousTimestamp : group.timestamps[0];
+        }
+
+        /**
+         * Choisit le représentant du groupe en attente, connaissant la
+         * moyenne du groupe suivant (abscisse relative au point précédent)
+         */
+        private void emit(double nextX, double nextY) {
+            Points group = pending;
+            long origin = previousTimestamp(group);
+            double anchor = hasPrevious ? previousValue : group.values[0];
+            int selected = 0;
+            double largest = -1.0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < group.size; i++) {
+                double area = area(anchor, group.timestamps[i] - origin, group.values[i], nextX, nextY);
+                if (area > largest) {
+                    largest = area;
+                    selected = i;
+                }
+                min = Math.min(min, group.mins[i]);
+                max = Math.max(max, group.maxs[i]);
+            }
+            long timestamp = group.timestamps[selected];
+            double value = group.values[selected];
+            timestamps[head] = timestamp;
+            values[head] = value;
+            mins[head] = min;
+            maxs[head] = max;
+            head = (head + 1) % values.length;
+            if (count < values.length) {
+                count++;
+            }
+            hasPrevious = true;
+            previousTimestamp = timestamp;
+            previousValue = value;
+            consumedUntil = group.timestamps[group.size - 1];
+            if (parent != null) {
+                parent.offer(timestamp, value, min, max);
+            }
+        }
+
+        void clear() {
+            head = 0;
+            count = 0;
+            filling.size = 0;
+            hasPending = false;
+            hasPrevious = false;
+            consumedUntil = Long.MIN_VALUE;
+        }
+
+        int size() {
+            return count;
+        }
+
+        /**
+         * @return Horodatage du dernier point du niveau inférieur déjà
+         *         représenté dans ce niveau, Long.MIN_VALUE si aucun
+         */
+        long getConsumedUntil() {
+            return consumedUntil;
+        }
+
+        long timestamp(int index) {
+            return timestamps[physicalIndex(index)];
+        }
+
+        double value(int index) {
+            return values[physicalIndex(index)];
+        }
+
+        double min(int index) {
+            return mins[physicalIndex(index)];
+        }
+
+        double max(int index) {
+            return maxs[physicalIndex(index)];
+        }
+
+        /**
+         * @return Premier index dont l'horodatage est supérieur ou égal
+         */
+        int firstIndexAtOrAfter(long timestampMillis) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamps[physicalIndex(mid)] < timestampMillis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int physicalIndex(int index) {
+            int oldest = count < values.length ? 0 : head;
+            return (oldest + index) % values.length;
+        }
+    }
+
+    /**
+     * Suite de points (horodatage, valeur, minimum, maximum) de capacité fixe
+     */
+    static final class Points {
+        final long[] timestamps;
+        final double[] values;
+        final double[] mins;
+        final double[] maxs;
+        int size;
+
+        Points(int capacity) {
+            timestamps = new long[capacity];
+            values = new double[capacity];
+            mins = new double[capacity];
+            maxs = new double[capacity];
+        }
+
+        void add(long timestamp, double value, double min, double max) {
+            timestamps[size] = timestamp;
+            values[size] = value;
+            mins[size] = min;
+            maxs[size] = max;
+            size++;
+        }
+
+        /**
+         * @return Horodatage du dernier point, Long.MIN_VALUE si vide
+         */
+        long lastTimestamp() {
+            return size == 0 ? Long.MIN_VALUE : timestamps[size - 1];
+        }
+
+        double meanOffset(long origin) {
+            double sum = 0.0;
+            for (int i = 0; i < size; i++) {
+                sum += timestamps[i] - origin;
+            }
+            return sum / size;
+        }
+
+        double meanValue() {
+            double sum = 0.0;
+            for (int i = 0; i < size; i++) {
+                sum += values[i];
+            }
+            return sum / size;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.pcpeek.metrics;
+
+/**
+ * Métrique connue du registre, identifiée par un index dense utilisé pour
+ * adresser directement les emplacements d'un {@link MetricStore}.
+ */
+public final class Metric {
+    private final int id;
+    private final String key;
+    private final MetricType type;
+
+    Metric(int id, String key, MetricType type) {
+        this.id = id;
+        this.key = key;
+        this.type = type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public MetricType getType() {
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
@@ -0,0 +1,438 @@
+package com.pcpeek.metrics;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Historique d'une métrique dans un tampon circulaire de capacité fixe.
+ * Les horodatages et les valeurs sont stockés dans des tableaux primitifs
+ * ({@code long[]}, {@code double[]}) alloués une seule fois : l'ajout d'un
+ * point et la lecture d'une fenêtre n'allouent rien. Une fois plein, le
+ * tampon écrase les points les plus anciens.
+ * <p>
+ * Pour les longues fenêtres, l'historique entretient aussi des niveaux de
+ * résolution réduite ({@link LttbPyramid}) : {@link #forEachDownsampled}
+ * sert une fenêtre en un nombre de points donné pour un coût proportionnel
+ * à ce nombre, et non à la durée de la fenêtre.
+ * <p>
+ * Un seul écrivain (le thread d'échantillonnage) et plusieurs lecteurs
+ * (dashboards, modes CLI) peuvent l'utiliser en parallèle. Les visiteurs
+ * sont appelés sous verrou de lecture et doivent rester courts.
+ */
+public final class MetricHistory {
+
+    /**
+     * Reçoit les points d'une fenêtre, du plus ancien au plus récent
+     */
+    @FunctionalInterface
+    public interface SampleVisitor {
+        void visit(long timestamp, double value);
+    }
+
+    /**
+     * Reçoit les points d'une fenêtre sous-échantillonnée, du plus ancien au
+     * plus récent, avec les extremums des points bruts qu'ils représentent
+     */
+    @FunctionalInterface
+    public interface EnvelopeVisitor {
+        void visit(long timestamp, double value, double min, double max);
+    }
+
+    private final long[] timestamps;
+    private final double[] values;
+    private final LttbPyramid pyramid;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int head;
+    private int count;
+
+    public MetricHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacité invalide: " + capacity);
+        }
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity];
+        this.pyramid = new LttbPyramid(capacity);
+    }
+
+    /**
+     * Calcule la capacité nécessaire pour conserver une durée donnée
+     *
+     * @param retentionMillis Durée à conserver
+     * @param intervalMillis  Intervalle entre deux points
+     * @return Nombre de points, au moins 1
+     */
+    public static int capacityFor(long retentionMillis, long intervalMillis) {
+        if (intervalMillis <= 0) {
+            return 1;
+        }
+        long capacity = (retentionMillis + intervalMillis - 1) / intervalMillis;
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, capacity));
+    }
+
+    /**
+     * Ajoute un point, en écrasant le plus ancien si le tampon est plein
+     */
+    public void add(long timestamp, double value) {
+        lock.writeLock().lock();
+        try {
+            timestamps[head] = timestamp;
+            values[head] = value;
+            head = (head + 1) % values.length;
+            if (count < values.length) {
+                count++;
+            }
+            pyramid.add(timestamp, value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            head = 0;
+            count = 0;
+            pyramid.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    /**
+     * @param index Position dans l'historique, 0 pour le point le plus ancien
+     * @return Valeur du point
+     */
+    public double getValue(int index) {
+        lock.readLock().lock();
+        try {
+            return values[physicalIndex(index)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param index Position dans l'historique, 0 pour le point le plus ancien
+     * @return Horodatage du point en millisecondes
+     */
+    public long getTimestamp(int index) {
+        lock.readLock().lock();
+        try {
+            return timestamps[physicalIndex(index)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Valeur la plus récente, ou fallback si l'historique est vide
+     */
+    public double getLatest(double fallback) {
+        lock.readLock().lock();
+        try {
+            return count == 0 ? fallback : values[physicalIndex(count - 1)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Horodatage le plus récent, ou 0 si l'historique est vide
+     */
+    public long getLatestTimestamp() {
+        lock.readLock().lock();
+        try {
+            return count == 0 ? 0 : timestamps[physicalIndex(count - 1)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Parcourt tout l'historique sans copie
+     *
+     * @return Nombre de points visités
+     */
+    public int forEach(SampleVisitor visitor) {
+        return forEachLast(Integer.MAX_VALUE, visitor);
+    }
+
+    /**
+     * Parcourt les derniers points de l'historique sans copie
+     *
+     * @param limit   Nombre maximal de points
+     * @param visitor Visiteur appelé du plus ancien au plus récent
+     * @return Nombre de points visités
+     */
+    public int forEachLast(int limit, SampleVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            int visited = Math.min(limit, count);
+            for (int i = count - visited; i < count; i++) {
+                int slot = physicalIndex(i);
+                visitor.visit(timestamps[slot], values[slot]);
+            }
+            return visited;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Parcourt les points horodatés à partir d'un instant donné
+     *
+     * @param fromMillis Horodatage minimal (inclus)
+     * @param visitor    Visiteur appelé du plus ancien au plus récent
+     * @return Nombre de points visités
+     */
+    public int forEachSince(long fromMillis, SampleVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            int first = firstIndexAtOrAfter(fromMillis);
+            for (int i = first; i < count; i++) {
+                int slot = physicalIndex(i);
+                visitor.visit(timestamps[slot], values[slot]);
+            }
+            return count - first;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Parcourt une fenêtre réduite à au plus maxPoints points, par exemple un
+     * par pixel d'un graphique. Le niveau de résolution le plus grossier qui
+     * contient encore assez de points dans la fenêtre est complété par les
+     * points récents des niveaux plus fins, puis réduit à exactement
+     * maxPoints points par Largest-Triangle-Three-Buckets. Chaque point
+     * porte le minimum et le maximum des points bruts qu'il représente.
+     *
+     * @param fromMillis Début de la fenêtre (inclus)
+     * @param toMillis   Fin de la fenêtre (incluse)
+     * @param maxPoints  Nombre maximal de points, au moins 3
+     * @param visitor    Visiteur appelé du plus ancien au plus récent
+     * @return Nombre de points visités : maxPoints, ou moins si la fenêtre
+     *         contient moins de points bruts
+     */
+    public int forEachDownsampled(long fromMillis, long toMillis, int maxPoints, EnvelopeVisitor visitor) {
+        if (maxPoints < 3) {
+            throw new IllegalArgumentException("Nombre de points invalide: " + maxPoints);
+        }
+        lock.readLock().lock();
+        try {
+            if (count == 0) {
+                return 0;
+            }
+            // Les niveaux peuvent remonter plus loin que les points bruts
+            long from = Math.max(fromMillis, timestamps[physicalIndex(0)]);
+            int rawStart = firstIndexAtOrAfter(from);
+            int rawEnd = firstIndexAfter(toMillis);
+            int rawFirst = rawStart;
+            if (rawEnd - rawFirst <= maxPoints) {
+                for (int i = rawFirst; i < rawEnd; i++) {
+                    int slot = physicalIndex(i);
+                    visitor.visit(timestamps[slot], values[slot], values[slot], values[slot]);
+                }
+                return Math.max(0, rawEnd - rawFirst);
+            }
+
+            // Niveau le plus grossier avec au moins maxPoints points : il en a
+            // au plus FACTOR fois plus que nécessaire
+            int top = -1;
+            int depth = pyramid.depth();
+            int[] starts = new int[depth];
+            int[] ends = new int[depth];
+            for (int k = depth - 1; k >= 0 && top < 0; k--) {
+                LttbPyramid.Level level = pyramid.level(k);
+                starts[k] = level.firstIndexAtOrAfter(from);
+                ends[k] = firstIndexAfter(level, toMillis);
+                if (ends[k] - starts[k] >= maxPoints) {
+                    top = k;
+                }
+            }
+            // Les points pas encore résolus dans un niveau sont repris du
+            // niveau plus fin, jusqu'aux points bruts
+            int total = top >= 0 ? ends[top] - starts[top] : 0;
+            for (int k = top - 1; k >= 0; k--) {
+                LttbPyramid.Level level = pyramid.level(k);
+                long consumed = pyramid.level(k + 1).getConsumedUntil();
+                starts[k] = Math.max(level.firstIndexAtOrAfter(from), firstIndexAfter(level, consumed));
+                ends[k] = Math.max(starts[k], firstIndexAfter(level, toMillis));
+                total += ends[k] - starts[k];
+            }
+            if (top >= 0) {
+                long consumed = pyramid.level(0).getConsumedUntil();
+                rawFirst = Math.min(rawEnd, Math.max(rawFirst, firstIndexAfter(consumed)));
+            }
+            total += rawEnd - rawFirst;
+
+            // Plus les deux points bruts extrêmes de la fenêtre, que LTTB conserve
+            LttbPyramid.Points candidates = new LttbPyramid.Points(total + 2);
+            int firstSlot = physicalIndex(rawStart);
+            if (top >= 0 && timestamps[firstSlot] < pyramid.level(top).timestamp(starts[top])) {
+                candidates.add(timestamps[firstSlot], values[firstSlot], values[firstSlot], values[firstSlot]);
+            }
+            for (int k = top; k >= 0; k--) {
+                LttbPyramid.Level level = pyramid.level(k);
+                for (int i = starts[k]; i < ends[k]; i++) {
+                    candidates.add(level.timestamp(i), level.value(i), level.min(i), level.max(i));
+                }
+            }
+            for (int i = rawFirst; i < rawEnd; i++) {
+                int slot = physicalIndex(i);
+                candidates.add(timestamps[slot], values[slot], values[slot], values[slot]);
+            }
+            int lastSlot = physicalIndex(rawEnd - 1);
+            if (timestamps[lastSlot] > candidates.lastTimestamp()) {
+                candidates.add(timestamps[lastSlot], values[lastSlot], values[lastSlot], values[lastSlot]);
+            }
+            return LttbPyramid.downsample(candidates, maxPoints, visitor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copie les dernières valeurs dans un tableau réutilisable
+     *
+     * @param target Tableau de destination, rempli du plus ancien au plus récent
+     * @return Nombre de valeurs copiées
+     */
+    public int copyLastValues(double[] target) {
+        lock.readLock().lock();
+        try {
+            int copied = Math.min(target.length, count);
+            int start = count - copied;
+            for (int i = 0; i < copied; i++) {
+                target[i] = values[physicalIndex(start + i)];
+            }
+            return copied;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Moyenne des valeurs, 0 si l'historique est vide
+     */
+    public double mean() {
+        lock.readLock().lock();
+        try {
+            if (count == 0) {
+                return 0.0;
+            }
+            double sum = 0.0;
+            for (int i = 0; i < count; i++) {
+                sum += values[physicalIndex(i)];
+            }
+            return sum / count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Variance (population) des valeurs, 0 si l'historique est vide
+     */
+    public double variance() {
+        lock.readLock().lock();
+        try {
+            if (count == 0) {
+                return 0.0;
+            }
+            double mean = 0.0;
+            for (int i = 0; i < count; i++) {
+                mean += values[physicalIndex(i)];
+            }
+            mean /= count;
+            double sum = 0.0;
+            for (int i = 0; i < count; i++) {
+                double delta = values[physicalIndex(i)] - mean;
+                sum += delta * delta;
+            }
+            return sum / count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Plus grand écart absolu entre deux points consécutifs
+     */
+    public double maxStep() {
+        lock.readLock().lock();
+        try {
+            double maxStep = 0.0;
+            for (int i = 1; i < count; i++) {
+                double step = Math.abs(values[physicalIndex(i)] - values[physicalIndex(i - 1)]);
+                maxStep = Math.max(maxStep, step);
+            }
+            return maxStep;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Écart entre le point le plus récent et le plus ancien
+     */
+    public double trend() {
+        lock.readLock().lock();
+        try {
+            if (count < 2) {
+                return 0.0;
+            }
+            return values[physicalIndex(count - 1)] - values[physicalIndex(0)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int physicalIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " hors de l'historique (" + count + ")");
+        }
+        int oldest = count < values.length ? 0 : head;
+        return (oldest + index) % values.length;
+    }
+
+    private int firstIndexAtOrAfter(long fromMillis) {
+        // Les horodatages sont croissants : recherche dichotomique
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[physicalIndex(mid)] < fromMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstIndexAfter(long timestampMillis) {
+        return timestampMillis == Long.MAX_VALUE ? count : firstIndexAtOrAfter(timestampMillis + 1);
+    }
+
+    private static int firstIndexAfter(LttbPyramid.Level level, long timestampMillis) {
+        return timestampMillis == Long.MAX_VALUE ? level.size() : level.firstIndexAtOrAfter(timestampMillis + 1);
+    }
+}
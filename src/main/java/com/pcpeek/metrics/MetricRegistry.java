@@ -0,0 +1,118 @@
+package com.pcpeek.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registre des métriques connues de PC Peek.
+ * Chaque clé reçoit un identifiant dense, attribué une seule fois. Les clés
+ * inconnues remontées par les moniteurs (erreurs, valeurs WMIC annexes) sont
+ * enregistrées à la volée avec le type {@link MetricType#OBJECT}.
+ */
+public final class MetricRegistry {
+    private static final Map<String, Metric> BY_KEY = new ConcurrentHashMap<>();
+    private static volatile Metric[] byId = new Metric[0];
+
+    // Informations statiques - système d'exploitation
+    public static final Metric OS_CAPTION = register("os.caption", MetricType.TEXT);
+    public static final Metric OS_VERSION = register("os.version", MetricType.TEXT);
+    public static final Metric OS_ARCHITECTURE = register("os.architecture", MetricType.TEXT);
+    public static final Metric OS_SERIAL = register("os.serial", MetricType.TEXT);
+    public static final Metric OS_LICENSE = register("os.license", MetricType.TEXT);
+    public static final Metric SYSTEM_MODEL = register("system.model", MetricType.TEXT);
+    public static final Metric SYSTEM_MANUFACTURER = register("system.manufacturer", MetricType.TEXT);
+    public static final Metric SYSTEM_TYPE = register("system.type", MetricType.TEXT);
+
+    // Informations statiques - matériel
+    public static final Metric CPU_NAME = register("cpu.name", MetricType.TEXT);
+    public static final Metric CPU_CORES = register("cpu.cores", MetricType.LONG);
+    public static final Metric CPU_THREADS = register("cpu.threads", MetricType.LONG);
+    public static final Metric CPU_CURRENT_SPEED = register("cpu.current.speed", MetricType.LONG);
+    public static final Metric CPU_MAX_SPEED = register("cpu.max.speed", MetricType.LONG);
+    public static final Metric MEMORY_TOTAL = register("memory.total", MetricType.LONG);
+    public static final Metric MEMORY_SPEED = register("memory.speed", MetricType.TEXT);
+    public static final Metric MEMORY_MANUFACTURER = register("memory.manufacturer", MetricType.TEXT);
+    public static final Metric MEMORY_PART = register("memory.part", MetricType.TEXT);
+    public static final Metric DISK_MODEL = register("disk.model", MetricType.TEXT);
+    public static final Metric DISK_SIZE = register("disk.size", MetricType.LONG);
+    public static final Metric DISK_TYPE = register("disk.type", MetricType.TEXT);
+    public static final Metric DISK_STATUS = register("disk.status", MetricType.TEXT);
+    public static final Metric BOARD_MANUFACTURER = register("board.manufacturer", MetricType.TEXT);
+    public static final Metric BOARD_MODEL = register("board.model", MetricType.TEXT);
+    public static final Metric BOARD_VERSION = register("board.version", MetricType.TEXT);
+    public static final Metric BOARD_SERIAL = register("board.serial", MetricType.TEXT);
+
+    // Informations dynamiques
+    public static final Metric CPU_LOAD = register("cpu_load", MetricType.DOUBLE);
+    public static final Metric CPU_LOAD_AVG = register("cpu_load_avg", MetricType.DOUBLE);
+    public static final Metric CPU_TEMPERATURE = register("cpu_temperature", MetricType.DOUBLE);
+    public static final Metric PROCESSOR_NAME = register("processor_name", MetricType.TEXT);
+    public static final Metric CPU_LOADS_PER_CORE = register("cpu_loads_per_core", MetricType.DOUBLE_ARRAY);
+    public static final Metric GPU_LOAD = register("gpu_load", MetricType.DOUBLE);
+    public static final Metric GPU_TEMPERATURE = register("gpu_temperature", MetricType.DOUBLE);
+    public static final Metric TOTAL_MEMORY = register("total_memory", MetricType.LONG);
+    public static final Metric AVAILABLE_MEMORY = register("available_memory", MetricType.LONG);
+    public static final Metric MEMORY_FREE = register("memory.free", MetricType.LONG);
+    public static final Metric FAN_SPEEDS = register("fan_speeds", MetricType.INT_ARRAY);
+    public static final Metric SYSTEM_UPTIME = register("system_uptime", MetricType.LONG);
+    public static final Metric LOAD_AVERAGE_1 = register("load_average_1", MetricType.DOUBLE);
+    public static final Metric LOAD_AVERAGE_5 = register("load_average_5", MetricType.DOUBLE);
+    public static final Metric LOAD_AVERAGE_15 = register("load_average_15", MetricType.DOUBLE);
+    public static final Metric BOOT_TIME = register("boot_time", MetricType.TEXT);
+    public static final Metric OS_NAME = register("os_name", MetricType.TEXT);
+
+    private MetricRegistry() {
+    }
+
+    /**
+     * Enregistre une métrique ou retourne celle déjà associée à la clé
+     *
+     * @param key  Clé de la métrique
+     * @param type Type déclaré
+     * @return Métrique enregistrée
+     */
+    public static synchronized Metric register(String key, MetricType type) {
+        Metric existing = BY_KEY.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        Metric[] current = byId;
+        Metric metric = new Metric(current.length, key, type);
+        Metric[] next = Arrays.copyOf(current, current.length + 1);
+        next[metric.getId()] = metric;
+        byId = next;
+        BY_KEY.put(key, metric);
+        return metric;
+    }
+
+    /**
+     * Recherche une métrique sans l'enregistrer
+     *
+     * @param key Clé de la métrique
+     * @return Métrique, ou null si la clé est inconnue
+     */
+    public static Metric find(String key) {
+        return BY_KEY.get(key);
+    }
+
+    /**
+     * Recherche une métrique et l'enregistre comme {@link MetricType#OBJECT}
+     * si la clé est inconnue
+     *
+     * @param key Clé de la métrique
+     * @return Métrique correspondante
+     */
+    public static Metric lookup(String key) {
+        Metric metric = BY_KEY.get(key);
+        return metric != null ? metric : register(key, MetricType.OBJECT);
+    }
+
+    public static Metric get(int id) {
+        return byId[id];
+    }
+
+    public static int size() {
+        return byId.length;
+    }
+}
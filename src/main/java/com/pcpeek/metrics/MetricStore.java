@@ -0,0 +1,245 @@
+package com.pcpeek.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Stockage des valeurs de métriques indexé par identifiant de registre.
+ * Les valeurs numériques sont conservées dans des tableaux primitifs
+ * ({@code double[]}, {@code long[]}) et lues sans allocation ; seuls les
+ * textes et les tableaux passent par un emplacement objet.
+ * Cette classe n'est pas thread-safe.
+ */
+public final class MetricStore {
+    private static final byte ABSENT = 0;
+    private static final byte DOUBLE = 1;
+    private static final byte LONG = 2;
+    private static final byte OBJECT = 3;
+
+    /**
+     * Reçoit les valeurs numériques d'un stockage
+     */
+    @FunctionalInterface
+    public interface NumericVisitor {
+        void visit(Metric metric, double value);
+    }
+
+    private byte[] kinds;
+    private double[] doubles;
+    private long[] longs;
+    private Object[] objects;
+    private int size;
+
+    public MetricStore() {
+        this(MetricRegistry.size());
+    }
+
+    public MetricStore(int capacity) {
+        kinds = new byte[capacity];
+        doubles = new double[capacity];
+        longs = new long[capacity];
+        objects = new Object[capacity];
+    }
+
+    public MetricStore(MetricStore other) {
+        kinds = other.kinds.clone();
+        doubles = other.doubles.clone();
+        longs = other.longs.clone();
+        objects = other.objects.clone();
+        size = other.size;
+    }
+
+    /**
+     * Enregistre une valeur quelconque dans l'emplacement adapté : les nombres
+     * vont dans les tableaux primitifs, les textes numériques d'une métrique
+     * numérique sont convertis, le reste est conservé tel quel.
+     *
+     * @param metric Métrique cible
+     * @param value  Valeur, null pour supprimer la métrique
+     */
+    public void put(Metric metric, Object value) {
+        if (value == null) {
+            remove(metric);
+        } else if (value instanceof Double || value instanceof Float) {
+            putDouble(metric, ((Number) value).doubleValue());
+        } else if (value instanceof Number) {
+            putLong(metric, ((Number) value).longValue());
+        } else if (value instanceof String && metric.getType().isNumeric()) {
+            putParsed(metric, (String) value);
+        } else {
+            putObject(metric, value);
+        }
+    }
+
+    public void putDouble(Metric metric, double value) {
+        int id = slot(metric);
+        doubles[id] = value;
+        objects[id] = null;
+        mark(id, DOUBLE);
+    }
+
+    public void putLong(Metric metric, long value) {
+        int id = slot(metric);
+        longs[id] = value;
+        objects[id] = null;
+        mark(id, LONG);
+    }
+
+    public void putObject(Metric metric, Object value) {
+        int id = slot(metric);
+        objects[id] = value;
+        mark(id, OBJECT);
+    }
+
+    public void remove(Metric metric) {
+        int id = metric.getId();
+        if (id < kinds.length && kinds[id] != ABSENT) {
+            kinds[id] = ABSENT;
+            objects[id] = null;
+            size--;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(kinds, ABSENT);
+        Arrays.fill(objects, null);
+        size = 0;
+    }
+
+    /**
+     * Copie dans ce stockage toutes les valeurs présentes dans un autre
+     *
+     * @param other Stockage source
+     */
+    public void putAll(MetricStore other) {
+        for (int id = 0; id < other.kinds.length; id++) {
+            byte kind = other.kinds[id];
+            if (kind != ABSENT) {
+                Metric metric = MetricRegistry.get(id);
+                int slot = slot(metric);
+                doubles[slot] = other.doubles[id];
+                longs[slot] = other.longs[id];
+                objects[slot] = other.objects[id];
+                mark(slot, kind);
+            }
+        }
+    }
+
+    public boolean has(int id) {
+        return id < kinds.length && kinds[id] != ABSENT;
+    }
+
+    public boolean isNumeric(int id) {
+        return id < kinds.length && (kinds[id] == DOUBLE || kinds[id] == LONG);
+    }
+
+    public double getDouble(int id, double fallback) {
+        if (id >= kinds.length) {
+            return fallback;
+        }
+        switch (kinds[id]) {
+            case DOUBLE:
+                return doubles[id];
+            case LONG:
+                return longs[id];
+            default:
+                return fallback;
+        }
+    }
+
+    public long getLong(int id, long fallback) {
+        if (id >= kinds.length) {
+            return fallback;
+        }
+        switch (kinds[id]) {
+            case LONG:
+                return longs[id];
+            case DOUBLE:
+                return (long) doubles[id];
+            default:
+                return fallback;
+        }
+    }
+
+    /**
+     * @return Valeur de l'emplacement objet (texte, tableau), ou null si la
+     *         métrique est absente ou numérique
+     */
+    public Object getObject(int id) {
+        return id < kinds.length && kinds[id] == OBJECT ? objects[id] : null;
+    }
+
+    /**
+     * Retourne la valeur sous forme d'objet, en encapsulant les nombres.
+     * Réservé aux API de compatibilité basées sur des {@code Map}.
+     */
+    public Object getBoxed(int id) {
+        if (id >= kinds.length) {
+            return null;
+        }
+        switch (kinds[id]) {
+            case DOUBLE:
+                return doubles[id];
+            case LONG:
+                return longs[id];
+            case OBJECT:
+                return objects[id];
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Parcourt les valeurs numériques présentes, sans allocation
+     *
+     * @param visitor Visiteur appelé pour chaque métrique numérique
+     */
+    public void forEachNumeric(NumericVisitor visitor) {
+        for (int id = 0; id < kinds.length; id++) {
+            if (kinds[id] == DOUBLE) {
+                visitor.visit(MetricRegistry.get(id), doubles[id]);
+            } else if (kinds[id] == LONG) {
+                visitor.visit(MetricRegistry.get(id), longs[id]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return kinds.length;
+    }
+
+    private void putParsed(Metric metric, String value) {
+        String trimmed = value.trim();
+        try {
+            if (metric.getType() == MetricType.LONG) {
+                putLong(metric, Long.parseLong(trimmed));
+            } else {
+                putDouble(metric, Double.parseDouble(trimmed));
+            }
+        } catch (NumberFormatException e) {
+            putObject(metric, value);
+        }
+    }
+
+    private int slot(Metric metric) {
+        int id = metric.getId();
+        if (id >= kinds.length) {
+            int capacity = Math.max(id + 1, MetricRegistry.size());
+            kinds = Arrays.copyOf(kinds, capacity);
+            doubles = Arrays.copyOf(doubles, capacity);
+            longs = Arrays.copyOf(longs, capacity);
+            objects = Arrays.copyOf(objects, capacity);
+        }
+        return id;
+    }
+
+    private void mark(int id, byte kind) {
+        if (kinds[id] == ABSENT) {
+            size++;
+        }
+        kinds[id] = kind;
+    }
+}
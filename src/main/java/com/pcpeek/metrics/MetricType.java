@@ -0,0 +1,18 @@
+package com.pcpeek.metrics;
+
+/**
+ * Type déclaré d'une métrique. Il sert à convertir les valeurs textuelles
+ * remontées par les moniteurs (WMIC) vers le bon emplacement primitif.
+ */
+public enum MetricType {
+    DOUBLE,
+    LONG,
+    TEXT,
+    DOUBLE_ARRAY,
+    INT_ARRAY,
+    OBJECT;
+
+    public boolean isNumeric() {
+        return this == DOUBLE || this == LONG;
+    }
+}
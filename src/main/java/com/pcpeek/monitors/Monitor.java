@@ -1,9 +1,17 @@
 package com.pcpeek.monitors;
 
+import com.pcpeek.monitors.backend.CommandBackend;
+import com.pcpeek.monitors.backend.CommandBackends;
+import com.pcpeek.monitors.stats.CollectionStats;
+import com.pcpeek.monitors.stats.CommandBatchTimer;
+import com.pcpeek.monitors.stats.OperationStats;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Callable;
 
 /**
  * Classe abstraite représentant un moniteur système.
@@ -14,11 +22,22 @@ public abstract class Monitor {
     protected Map<String, Object> systemInfo;
     protected boolean isInitialized;
     protected long lastUpdateTime;
+    protected final CommandBackend commandBackend;
 
     /**
      * Initialise le moniteur avec les informations système de base
      */
     public Monitor() {
+        this(CommandBackends.getDefault());
+    }
+
+    /**
+     * Initialise le moniteur avec un backend de commandes donné
+     *
+     * @param commandBackend Backend utilisé pour exécuter les commandes WMIC
+     */
+    public Monitor(CommandBackend commandBackend) {
+        this.commandBackend = commandBackend;
         systemInfo = new HashMap<>();
         isInitialized = false;
         lastUpdateTime = 0;
@@ -46,10 +65,15 @@ public abstract class Monitor {
             return;
         }
 
+        OperationStats stats = CollectionStats.getDefault()
+                .operation("monitor." + getClass().getSimpleName() + ".update");
+        long start = System.nanoTime();
         try {
             performUpdate();
             lastUpdateTime = System.currentTimeMillis();
+            stats.recordSuccess(start);
         } catch (Exception e) {
+            stats.recordFailure(start, e);
             System.err.println("Erreur de mise à jour: " + e.getMessage());
         }
     }
@@ -103,8 +127,7 @@ public abstract class Monitor {
      * @return true si le système est compatible, false sinon
      */
     public boolean isCompatibleOS() {
-        String os = System.getProperty("os.name").toLowerCase();
-        return os.contains("windows");
+        return commandBackend.isSupported();
     }
 
     /**
@@ -176,18 +199,11 @@ public abstract class Monitor {
         }
 
         try {
-            for (String command : commands) {
-                Process process = Runtime.getRuntime().exec(command);
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        if (shouldSkipLine(line, skipPatterns)) {
-                            continue;
-                        }
-                        processWmicLine(line.trim(), info);
-                    }
+            executeTimed(commandBackend, commands, (index, line) -> {
+                if (!shouldSkipLine(line, skipPatterns)) {
+                    processWmicLine(line.trim(), info);
                 }
-            }
+            });
         } catch (Exception e) {
             handleError(info, e, "lors de l'exécution des commandes WMIC");
         }
@@ -195,6 +211,244 @@ public abstract class Monitor {
         return info;
     }
 
+    /**
+     * Exécute les commandes WMIC déclarées par le moniteur
+     *
+     * @return Map contenant les informations récupérées
+     */
+    protected Map<String, Object> executeWmicCommands() {
+        return executeWmicCommands(getWmicCommands(), getWmicSkipPatterns());
+    }
+
+    /**
+     * Exécute les commandes WMIC de plusieurs moniteurs en un seul appel au
+     * backend (un seul processus avec le backend par lots). Chaque ligne est
+     * traitée par le moniteur qui a déclaré la commande.
+     *
+     * @param backend  Backend de commandes
+     * @param monitors Moniteurs à rafraîchir
+     * @return Informations de tous les moniteurs fusionnées
+     */
+    public static Map<String, Object> executeWmicCommands(CommandBackend backend, Monitor... monitors) {
+        Map<String, Object> info = new HashMap<>();
+        if (!backend.isSupported()) {
+            info.put("error", "Système d'exploitation non supporté");
+            return info;
+        }
+
+        WmicBatch batch = WmicBatch.of(monitors);
+        try {
+            info.putAll(batch.execute(backend));
+        } catch (Exception e) {
+            String errorMsg = "Erreur lors de l'exécution groupée des commandes WMIC";
+            System.err.println(errorMsg + ": " + e.getMessage());
+            info.put("error", errorMsg);
+        }
+        return info;
+    }
+
+    /**
+     * Exécute les commandes WMIC de plusieurs moniteurs en un seul lot, comme
+     * une tâche du collecteur parallèle soumise à son échéance. Si le lot
+     * dépasse l'échéance, son processus est détruit par le collecteur ; les
+     * sorties déjà reçues sont conservées et seules les commandes restées
+     * sans sortie sont relancées, chacune comme une tâche séparée : une
+     * commande bloquée est abandonnée sans retarder les autres.
+     *
+     * @param backend   Backend de commandes
+     * @param collector Collecteur parallèle portant l'échéance
+     * @param monitors  Moniteurs à rafraîchir
+     * @return Résultat dont les valeurs sont les informations des commandes
+     *         terminées à temps
+     */
+    public static ParallelCollector.Result executeWmicCommandsInParallel(CommandBackend backend,
+            ParallelCollector collector, Monitor... monitors) {
+        if (!backend.isSupported()) {
+            ParallelCollector.Result result = new ParallelCollector.Result();
+            result.getValues().put("error", "Système d'exploitation non supporté");
+            return result;
+        }
+
+        WmicBatch batch = WmicBatch.of(monitors);
+        WmicBatch.Progress progress = batch.new Progress();
+        Map<String, Callable<Map<String, Object>>> tasks = new LinkedHashMap<>();
+        tasks.put("wmic", () -> batch.execute(backend, progress));
+        ParallelCollector.Result result = collector.collect(tasks);
+        if (result.getTimedOut().isEmpty()) {
+            return result;
+        }
+
+        // Lot abandonné : le thread qui le lisait n'écrit plus rien, les
+        // commandes déjà servies sont reprises telles quelles et les autres
+        // sont isolées pour écarter la requête bloquée
+        boolean[] answered = new boolean[batch.commands.length];
+        Map<String, Object> partial = progress.abandon(answered);
+        tasks.clear();
+        for (int i = 0; i < batch.commands.length; i++) {
+            if (!answered[i]) {
+                WmicBatch single = batch.single(i);
+                tasks.put(batch.commands[i], () -> single.execute(backend));
+            }
+        }
+        ParallelCollector.Result retry = collector.collect(tasks);
+        for (int i = 0; i < batch.commands.length; i++) {
+            if (answered[i]) {
+                retry.addCompleted(batch.commands[i]);
+            }
+        }
+        partial.forEach(retry.getValues()::putIfAbsent);
+        return retry;
+    }
+
+    /**
+     * Commandes WMIC de plusieurs moniteurs, chaque ligne de sortie étant
+     * traitée par le moniteur qui a déclaré la commande
+     */
+    private static final class WmicBatch {
+        private final String[] commands;
+        private final Monitor[] owners;
+        private final String[][] skipPatterns;
+
+        private WmicBatch(String[] commands, Monitor[] owners, String[][] skipPatterns) {
+            this.commands = commands;
+            this.owners = owners;
+            this.skipPatterns = skipPatterns;
+        }
+
+        static WmicBatch of(Monitor... monitors) {
+            int total = 0;
+            for (Monitor monitor : monitors) {
+                total += monitor.getWmicCommands().length;
+            }
+            String[] commands = new String[total];
+            Monitor[] owners = new Monitor[total];
+            String[][] skipPatterns = new String[total][];
+            int index = 0;
+            for (Monitor monitor : monitors) {
+                String[] monitorSkipPatterns = monitor.getWmicSkipPatterns();
+                for (String command : monitor.getWmicCommands()) {
+                    commands[index] = command;
+                    owners[index] = monitor;
+                    skipPatterns[index] = monitorSkipPatterns;
+                    index++;
+                }
+            }
+            return new WmicBatch(commands, owners, skipPatterns);
+        }
+
+        WmicBatch single(int index) {
+            return new WmicBatch(new String[] { commands[index] }, new Monitor[] { owners[index] },
+                    new String[][] { skipPatterns[index] });
+        }
+
+        Map<String, Object> execute(CommandBackend backend) throws IOException {
+            Map<String, Object> info = new HashMap<>();
+            executeTimed(backend, commands, (commandIndex, line) -> process(commandIndex, line, info));
+            return info;
+        }
+
+        /**
+         * Variante dont l'avancement reste lisible si le lot est abandonné
+         */
+        Map<String, Object> execute(CommandBackend backend, Progress progress) throws IOException {
+            executeTimed(backend, commands, progress::onLine);
+            return progress.values();
+        }
+
+        private void process(int commandIndex, String line, Map<String, Object> info) {
+            if (!shouldSkipLine(line, skipPatterns[commandIndex])) {
+                owners[commandIndex].processWmicLine(line.trim(), info);
+            }
+        }
+
+        /**
+         * Informations reçues pour chaque commande du lot. Une fois le lot
+         * abandonné, les lignes qui arrivent encore sont ignorées.
+         */
+        final class Progress {
+            private final List<Map<String, Object>> perCommand = new ArrayList<>();
+            private boolean abandoned;
+
+            Progress() {
+                for (int i = 0; i < commands.length; i++) {
+                    perCommand.add(null);
+                }
+            }
+
+            synchronized void onLine(int commandIndex, String line) {
+                if (abandoned) {
+                    return;
+                }
+                Map<String, Object> info = perCommand.get(commandIndex);
+                if (info == null) {
+                    info = new HashMap<>();
+                    perCommand.set(commandIndex, info);
+                }
+                process(commandIndex, line, info);
+            }
+
+            synchronized Map<String, Object> values() {
+                Map<String, Object> merged = new HashMap<>();
+                for (Map<String, Object> info : perCommand) {
+                    if (info != null) {
+                        merged.putAll(info);
+                    }
+                }
+                return merged;
+            }
+
+            /**
+             * @param answered Rempli à true pour chaque commande ayant produit
+             *                 au moins une ligne
+             * @return Informations des commandes ayant produit une sortie
+             */
+            synchronized Map<String, Object> abandon(boolean[] answered) {
+                abandoned = true;
+                for (int i = 0; i < answered.length; i++) {
+                    answered[i] = perCommand.get(i) != null;
+                }
+                return values();
+            }
+        }
+    }
+
+    /**
+     * Exécute un lot de commandes en mesurant la part de chacune dans
+     * {@link CollectionStats} (opérations {@code wmic.<commande>})
+     */
+    private static void executeTimed(CommandBackend backend, String[] commands,
+            CommandBackend.LineHandler handler) throws IOException {
+        CommandBatchTimer timer = CollectionStats.getDefault().batch("wmic", commands);
+        boolean success = false;
+        try {
+            backend.execute(commands, (commandIndex, line) -> {
+                timer.onLine(commandIndex);
+                handler.onLine(commandIndex, line);
+            });
+            success = true;
+        } finally {
+            timer.finish(success);
+        }
+    }
+
+    /**
+     * Commandes WMIC du moniteur - à déclarer par les classes filles
+     *
+     * @return Commandes à exécuter à chaque rafraîchissement
+     */
+    protected String[] getWmicCommands() {
+        return new String[0];
+    }
+
+    /**
+     * Patterns des lignes à ignorer dans la sortie des commandes du moniteur
+     *
+     * @return Patterns à ignorer
+     */
+    protected String[] getWmicSkipPatterns() {
+        return new String[0];
+    }
+
     /**
      * Traite une ligne de sortie WMIC - à implémenter par les classes filles
      * 
@@ -207,7 +461,7 @@ public abstract class Monitor {
     /**
      * Vérifie si une ligne doit être ignorée selon les patterns fournis
      */
-    private boolean shouldSkipLine(String line, String... skipPatterns) {
+    private static boolean shouldSkipLine(String line, String... skipPatterns) {
         if (line.trim().isEmpty()) {
             return true;
         }
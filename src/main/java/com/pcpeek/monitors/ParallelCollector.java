@@ -0,0 +1,165 @@
+package com.pcpeek.monitors;
+
+import com.pcpeek.monitors.backend.ProcessScope;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécute des tâches de collecte en parallèle sur un pool borné, avec une
+ * échéance commune : les résultats des tâches terminées à temps sont
+ * fusionnés, les autres sont annulées et signalées. Une requête lente ou
+ * bloquée (batterie via PowerShell, WMI qui ne répond plus, ...) ne retarde
+ * donc plus l'ensemble de la collecte au-delà de l'échéance. Chaque tâche
+ * s'exécute dans une {@link ProcessScope} : à l'annulation, ses processus
+ * sont détruits et le thread du pool est libéré.
+ * <p>
+ * Le délai par défaut est lu dans la propriété système
+ * {@code pcpeek.collect.timeout-ms} (10 secondes si absente).
+ */
+public final class ParallelCollector {
+    public static final long DEFAULT_TIMEOUT_MS = 10000;
+    private static final int DEFAULT_THREADS = 8;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static volatile ParallelCollector defaultCollector;
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    /**
+     * @param maxThreads Nombre maximal de tâches exécutées simultanément
+     * @param timeoutMs  Délai accordé à chaque collecte
+     */
+    public ParallelCollector(int maxThreads, long timeoutMs) {
+        int threads = Math.max(1, maxThreads);
+        this.timeoutMs = timeoutMs > 0 ? timeoutMs : DEFAULT_TIMEOUT_MS;
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "pcpeek-collector-" + THREAD_COUNTER.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // Les threads ne restent pas en vie entre deux collectes statiques
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static ParallelCollector getDefault() {
+        ParallelCollector collector = defaultCollector;
+        if (collector == null) {
+            synchronized (ParallelCollector.class) {
+                if (defaultCollector == null) {
+                    defaultCollector = new ParallelCollector(DEFAULT_THREADS,
+                            Long.getLong("pcpeek.collect.timeout-ms", DEFAULT_TIMEOUT_MS));
+                }
+                collector = defaultCollector;
+            }
+        }
+        return collector;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * Lance toutes les tâches puis attend leurs résultats jusqu'à l'échéance
+     *
+     * @param tasks Tâches nommées, chacune retournant les informations collectées
+     * @return Résultat, avec les informations fusionnées des tâches terminées à temps
+     */
+    public Result collect(Map<String, Callable<Map<String, Object>>> tasks) {
+        Map<String, Future<Map<String, Object>>> futures = new LinkedHashMap<>();
+        Map<String, ProcessScope> scopes = new HashMap<>();
+        for (Map.Entry<String, Callable<Map<String, Object>>> task : tasks.entrySet()) {
+            ProcessScope scope = new ProcessScope();
+            Callable<Map<String, Object>> callable = task.getValue();
+            scopes.put(task.getKey(), scope);
+            futures.put(task.getKey(), executor.submit(() -> scope.call(callable)));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        Result result = new Result();
+        for (Map.Entry<String, Future<Map<String, Object>>> entry : futures.entrySet()) {
+            Future<Map<String, Object>> future = entry.getValue();
+            try {
+                Map<String, Object> values = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (values != null) {
+                    result.values.putAll(values);
+                }
+                result.completed.add(entry.getKey());
+            } catch (TimeoutException e) {
+                // Les processus d'abord : l'interruption seule ne débloque pas leur lecture
+                scopes.get(entry.getKey()).cancel();
+                future.cancel(true);
+                result.timedOut.add(entry.getKey());
+                System.err.println("Collecte '" + entry.getKey() + "' abandonnée après " + timeoutMs + " ms");
+            } catch (ExecutionException e) {
+                result.failed.add(entry.getKey());
+                System.err.println("Erreur lors de la collecte '" + entry.getKey() + "': " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (Future<Map<String, Object>> pending : futures.values()) {
+                    pending.cancel(true);
+                }
+                for (ProcessScope scope : scopes.values()) {
+                    scope.cancel();
+                }
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Résultat d'une collecte parallèle
+     */
+    public static final class Result {
+        private final Map<String, Object> values = new HashMap<>();
+        private final List<String> completed = new ArrayList<>();
+        private final List<String> timedOut = new ArrayList<>();
+        private final List<String> failed = new ArrayList<>();
+
+        Result() {
+        }
+
+        /**
+         * Compte comme terminée une tâche servie autrement, par exemple par
+         * la partie achevée d'un lot abandonné
+         */
+        void addCompleted(String name) {
+            completed.add(name);
+        }
+
+        public Map<String, Object> getValues() {
+            return values;
+        }
+
+        public List<String> getCompleted() {
+            return Collections.unmodifiableList(completed);
+        }
+
+        public List<String> getTimedOut() {
+            return Collections.unmodifiableList(timedOut);
+        }
+
+        public List<String> getFailed() {
+            return Collections.unmodifiableList(failed);
+        }
+
+        public boolean isComplete() {
+            return timedOut.isEmpty() && failed.isEmpty();
+        }
+    }
+}
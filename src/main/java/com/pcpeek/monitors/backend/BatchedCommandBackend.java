@@ -0,0 +1,94 @@
+package com.pcpeek.monitors.backend;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+/**
+ * Backend qui exécute toutes les commandes d'un rafraîchissement dans un
+ * seul processus {@code cmd /c}. Chaque commande est précédée d'une ligne
+ * marqueur ; la sortie combinée est lue en flux et chaque ligne est
+ * attribuée à la commande du dernier marqueur rencontré.
+ */
+public class BatchedCommandBackend implements CommandBackend {
+    static final String MARKER_PREFIX = "##PCPEEK-CMD-";
+    static final String MARKER_SUFFIX = "##";
+
+    @Override
+    public boolean isSupported() {
+        return System.getProperty("os.name").toLowerCase().contains("windows");
+    }
+
+    @Override
+    public void execute(String[] commands, LineHandler handler) throws IOException {
+        if (commands.length == 0) {
+            return;
+        }
+        Process process = ProcessScope.start(new ProcessBuilder("cmd", "/c", buildScript(commands))
+                .redirectError(ProcessBuilder.Redirect.DISCARD));
+        // WMIC attend la fermeture de son entrée standard avant de terminer
+        process.getOutputStream().close();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            dispatch(reader, commands.length, handler);
+        } finally {
+            ProcessCommandBackend.waitFor(process);
+        }
+    }
+
+    /**
+     * Construit la ligne de commande unique : {@code echo marqueur & commande & ...}
+     */
+    static String buildScript(String[] commands) {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < commands.length; i++) {
+            if (i > 0) {
+                script.append(" & ");
+            }
+            script.append("echo ").append(MARKER_PREFIX).append(i).append(MARKER_SUFFIX)
+                    .append(" & ").append(commands[i]);
+        }
+        return script.toString();
+    }
+
+    /**
+     * Découpe la sortie combinée selon les marqueurs et la transmet ligne par
+     * ligne. Les lignes qui précèdent le premier marqueur sont ignorées.
+     *
+     * @param reader       Sortie combinée
+     * @param commandCount Nombre de commandes du lot
+     * @param handler      Gestionnaire des lignes
+     */
+    static void dispatch(BufferedReader reader, int commandCount, LineHandler handler) throws IOException {
+        int current = -1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int marker = parseMarker(line);
+            if (marker >= 0 && marker < commandCount) {
+                current = marker;
+            } else if (current >= 0) {
+                handler.onLine(current, line);
+            }
+        }
+    }
+
+    private static int parseMarker(String line) {
+        String trimmed = line.trim();
+        if (!trimmed.startsWith(MARKER_PREFIX) || !trimmed.endsWith(MARKER_SUFFIX)) {
+            return -1;
+        }
+        int index = 0;
+        int end = trimmed.length() - MARKER_SUFFIX.length();
+        int start = MARKER_PREFIX.length();
+        if (start >= end) {
+            return -1;
+        }
+        for (int i = start; i < end; i++) {
+            char c = trimmed.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+}
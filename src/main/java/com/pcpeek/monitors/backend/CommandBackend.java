@@ -0,0 +1,38 @@
+package com.pcpeek.monitors.backend;
+
+import java.io.IOException;
+
+/**
+ * Moyen d'exécuter les commandes de collecte (WMIC) et d'en lire la sortie.
+ * Les moniteurs ne lancent plus de processus eux-mêmes : ils délèguent à un
+ * backend, ce qui permet de regrouper les commandes d'un rafraîchissement ou
+ * de rejouer des sorties enregistrées.
+ */
+public interface CommandBackend {
+
+    /**
+     * Reçoit la sortie des commandes ligne par ligne, au fil de la lecture
+     */
+    @FunctionalInterface
+    interface LineHandler {
+        /**
+         * @param commandIndex Index de la commande ayant produit la ligne
+         * @param line         Ligne brute de sortie
+         */
+        void onLine(int commandIndex, String line);
+    }
+
+    /**
+     * @return true si le backend peut exécuter des commandes sur ce système
+     */
+    boolean isSupported();
+
+    /**
+     * Exécute les commandes et transmet chaque ligne de sortie au gestionnaire
+     *
+     * @param commands Commandes à exécuter, dans l'ordre
+     * @param handler  Gestionnaire appelé pour chaque ligne
+     * @throws IOException Si l'exécution échoue
+     */
+    void execute(String[] commands, LineHandler handler) throws IOException;
+}
@@ -0,0 +1,60 @@
+package com.pcpeek.monitors.backend;
+
+/**
+ * Choix du backend de commandes utilisé par défaut par les moniteurs.
+ * La propriété système {@code pcpeek.wmi.backend} accepte {@code batched}
+ * (par défaut, un seul processus par rafraîchissement) ou {@code process}
+ * (un processus par commande).
+ */
+public final class CommandBackends {
+    private static final CommandBackend NONE = new CommandBackend() {
+        @Override
+        public boolean isSupported() {
+            return false;
+        }
+
+        @Override
+        public void execute(String[] commands, LineHandler handler) {
+        }
+    };
+    private static volatile CommandBackend defaultBackend;
+
+    private CommandBackends() {
+    }
+
+    public static CommandBackend getDefault() {
+        CommandBackend backend = defaultBackend;
+        if (backend == null) {
+            synchronized (CommandBackends.class) {
+                if (defaultBackend == null) {
+                    defaultBackend = create(System.getProperty("pcpeek.wmi.backend", "batched"));
+                }
+                backend = defaultBackend;
+            }
+        }
+        return backend;
+    }
+
+    /**
+     * Remplace le backend par défaut, par exemple par un
+     * {@link RecordedCommandBackend} pour les tests et les mesures
+     */
+    public static void setDefault(CommandBackend backend) {
+        defaultBackend = backend;
+    }
+
+    /**
+     * Backend qui n'exécute rien, pour les moniteurs utilisés uniquement
+     * comme parseurs : leur construction ne lance alors aucune commande
+     */
+    public static CommandBackend none() {
+        return NONE;
+    }
+
+    static CommandBackend create(String name) {
+        if ("process".equalsIgnoreCase(name)) {
+            return new ProcessCommandBackend();
+        }
+        return new BatchedCommandBackend();
+    }
+}
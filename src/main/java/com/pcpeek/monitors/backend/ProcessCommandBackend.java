@@ -0,0 +1,46 @@
+package com.pcpeek.monitors.backend;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backend historique : un processus par commande.
+ */
+public class ProcessCommandBackend implements CommandBackend {
+    private static final long WAIT_TIMEOUT_SECONDS = 30;
+
+    @Override
+    public boolean isSupported() {
+        return System.getProperty("os.name").toLowerCase().contains("windows");
+    }
+
+    @Override
+    public void execute(String[] commands, LineHandler handler) throws IOException {
+        for (int i = 0; i < commands.length; i++) {
+            Process process = ProcessScope.start(new ProcessBuilder(commands[i].split(" "))
+                    .redirectError(ProcessBuilder.Redirect.DISCARD));
+            // WMIC attend la fermeture de son entrée standard avant de terminer
+            process.getOutputStream().close();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    handler.onLine(i, line);
+                }
+            }
+            waitFor(process);
+        }
+    }
+
+    static void waitFor(Process process) {
+        try {
+            if (!process.waitFor(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
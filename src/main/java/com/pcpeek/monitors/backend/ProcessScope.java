@@ -0,0 +1,84 @@
+package com.pcpeek.monitors.backend;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Processus lancés par une tâche de collecte.
+ * <p>
+ * La lecture de la sortie d'un processus ignore l'interruption du thread :
+ * annuler la tâche ne suffit pas à libérer un thread bloqué sur une requête
+ * WMI qui ne répond plus. Le collecteur parallèle exécute donc chaque tâche
+ * dans une portée et l'annule à l'échéance, ce qui détruit les processus
+ * encore en cours : leur sortie se ferme et la lecture se termine. Un
+ * processus lancé après l'annulation est détruit aussitôt.
+ */
+public final class ProcessScope {
+    private static final ThreadLocal<ProcessScope> CURRENT = new ThreadLocal<>();
+
+    private final List<Process> processes = new ArrayList<>();
+    private boolean cancelled;
+
+    /**
+     * Lance un processus rattaché à la portée du thread courant, s'il en a une
+     *
+     * @throws InterruptedIOException Si la portée a déjà été annulée
+     */
+    public static Process start(ProcessBuilder builder) throws IOException {
+        Process process = builder.start();
+        ProcessScope scope = CURRENT.get();
+        if (scope != null && !scope.register(process)) {
+            process.destroyForcibly();
+            throw new InterruptedIOException("Collecte annulée");
+        }
+        return process;
+    }
+
+    /**
+     * Exécute une tâche dans cette portée, sur le thread courant
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        ProcessScope previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.call();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Détruit les processus encore en cours de la portée
+     */
+    public void cancel() {
+        List<Process> running;
+        synchronized (this) {
+            cancelled = true;
+            running = new ArrayList<>(processes);
+            processes.clear();
+        }
+        for (Process process : running) {
+            process.destroyForcibly();
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    private synchronized boolean register(Process process) {
+        if (cancelled) {
+            return false;
+        }
+        processes.removeIf(previous -> !previous.isAlive());
+        processes.add(process);
+        return true;
+    }
+}
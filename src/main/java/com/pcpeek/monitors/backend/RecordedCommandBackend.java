@@ -0,0 +1,91 @@
+package com.pcpeek.monitors.backend;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Backend qui rejoue des sorties de commandes enregistrées.
+ * Il fonctionne sur tous les systèmes, ce qui permet de tester et de mesurer
+ * les parseurs des moniteurs et le découpage des lots sans Windows.
+ * Une commande inconnue produit une sortie vide.
+ */
+public class RecordedCommandBackend implements CommandBackend {
+    private final Map<String, String> outputs = new HashMap<>();
+    private final AtomicLong executions = new AtomicLong();
+
+    public RecordedCommandBackend() {
+    }
+
+    public RecordedCommandBackend(Map<String, String> outputs) {
+        this.outputs.putAll(outputs);
+    }
+
+    /**
+     * Enregistre la sortie d'une commande avec un autre backend, par exemple
+     * sur un poste Windows, pour la rejouer ensuite
+     *
+     * @param source   Backend réel
+     * @param commands Commandes à capturer
+     * @return Backend contenant les sorties capturées
+     */
+    public static RecordedCommandBackend capture(CommandBackend source, String... commands) throws IOException {
+        StringBuilder[] captured = new StringBuilder[commands.length];
+        for (int i = 0; i < commands.length; i++) {
+            captured[i] = new StringBuilder();
+        }
+        source.execute(commands, (index, line) -> captured[index].append(line).append('\n'));
+        RecordedCommandBackend recorded = new RecordedCommandBackend();
+        for (int i = 0; i < commands.length; i++) {
+            recorded.record(commands[i], captured[i].toString());
+        }
+        return recorded;
+    }
+
+    /**
+     * @param command Commande
+     * @param output  Sortie brute à rejouer
+     * @return Ce backend, pour chaîner les enregistrements
+     */
+    public synchronized RecordedCommandBackend record(String command, String output) {
+        outputs.put(command, output);
+        return this;
+    }
+
+    public synchronized Map<String, String> getOutputs() {
+        return new HashMap<>(outputs);
+    }
+
+    /**
+     * @return Nombre d'appels à {@link #execute}, l'équivalent d'un lancement
+     *         de processus pour le backend par lots
+     */
+    public long getExecutionCount() {
+        return executions.get();
+    }
+
+    @Override
+    public boolean isSupported() {
+        return true;
+    }
+
+    @Override
+    public void execute(String[] commands, LineHandler handler) throws IOException {
+        executions.incrementAndGet();
+        for (int i = 0; i < commands.length; i++) {
+            String output;
+            synchronized (this) {
+                output = outputs.getOrDefault(commands[i], "");
+            }
+            try (BufferedReader reader = new BufferedReader(new StringReader(output))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    handler.onLine(i, line);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.pcpeek.monitors.dynamicinfo;
+
+import oshi.hardware.CentralProcessor;
+
+/**
+ * Échantillonneur de charge CPU sans attente.
+ * Il conserve les ticks système et par processeur de la lecture précédente et
+ * calcule la charge à partir des écarts depuis ce dernier appel : aucune
+ * lecture ne dort. Les charges calculées sont stockées dans des tableaux
+ * préalloués et lues en O(cœurs) sans allocation.
+ */
+public class CpuLoadSampler {
+    private static final int IDLE = CentralProcessor.TickType.IDLE.getIndex();
+    private static final int IOWAIT = CentralProcessor.TickType.IOWAIT.getIndex();
+
+    private final CentralProcessor processor;
+    private final long[] previousSystemTicks;
+    private final long[][] previousProcessorTicks;
+    private final double[] coreLoads;
+    private double systemLoad;
+
+    public CpuLoadSampler(CentralProcessor processor) {
+        this.processor = processor;
+        this.previousSystemTicks = processor.getSystemCpuLoadTicks().clone();
+        long[][] processorTicks = processor.getProcessorCpuLoadTicks();
+        this.previousProcessorTicks = new long[processorTicks.length][];
+        for (int i = 0; i < processorTicks.length; i++) {
+            previousProcessorTicks[i] = processorTicks[i].clone();
+        }
+        this.coreLoads = new double[processorTicks.length];
+    }
+
+    /**
+     * Met à jour les charges à partir des ticks écoulés depuis l'appel
+     * précédent (ou depuis la construction pour le premier appel)
+     */
+    public synchronized void sample() {
+        systemLoad = computeLoad(previousSystemTicks, processor.getSystemCpuLoadTicks());
+        long[][] processorTicks = processor.getProcessorCpuLoadTicks();
+        int cores = Math.min(coreLoads.length, processorTicks.length);
+        for (int i = 0; i < cores; i++) {
+            coreLoads[i] = computeLoad(previousProcessorTicks[i], processorTicks[i]);
+        }
+    }
+
+    /**
+     * @return Charge globale entre 0 et 1 lors du dernier échantillon
+     */
+    public synchronized double getSystemLoad() {
+        return systemLoad;
+    }
+
+    /**
+     * @param core Index du processeur logique
+     * @return Charge du processeur entre 0 et 1 lors du dernier échantillon
+     */
+    public synchronized double getCoreLoad(int core) {
+        return coreLoads[core];
+    }
+
+    public int getCoreCount() {
+        return coreLoads.length;
+    }
+
+    /**
+     * Copie les charges par cœur dans un tableau fourni par l'appelant
+     *
+     * @param target Tableau de destination, d'au moins {@link #getCoreCount()} cases
+     * @return Nombre de valeurs copiées
+     */
+    public synchronized int copyCoreLoads(double[] target) {
+        int count = Math.min(target.length, coreLoads.length);
+        System.arraycopy(coreLoads, 0, target, 0, count);
+        return count;
+    }
+
+    /**
+     * Calcule la charge entre deux relevés de ticks puis remplace le relevé
+     * précédent par le relevé courant. Les ticks IDLE et IOWAIT sont comptés
+     * comme inactifs, comme le fait OSHI. Les relevés suivent l'ordre des
+     * colonnes de /proc/stat (user, nice, system, idle, iowait, ...).
+     *
+     * @param previous Relevé précédent, mis à jour en place
+     * @param current  Relevé courant
+     * @return Charge entre 0 et 1
+     */
+    public static double computeLoad(long[] previous, long[] current) {
+        long total = 0;
+        long idle = 0;
+        int length = Math.min(previous.length, current.length);
+        for (int i = 0; i < length; i++) {
+            long delta = current[i] - previous[i];
+            total += delta;
+            if (i == IDLE || i == IOWAIT) {
+                idle += delta;
+            }
+            previous[i] = current[i];
+        }
+        if (total <= 0) {
+            return 0.0;
+        }
+        return Math.max(0.0, Math.min(1.0, 1.0 - (double) idle / total));
+    }
+}
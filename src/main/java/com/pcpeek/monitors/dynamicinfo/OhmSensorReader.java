@@ -0,0 +1,187 @@
+package com.pcpeek.monitors.dynamicinfo;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lecteur des capteurs OpenHardwareMonitor, accessibles uniquement par
+ * réflexion.
+ * <p>
+ * L'arbre matériel n'est parcouru qu'une fois : la découverte retient, pour
+ * chaque canal, les capteurs correspondants et le {@link MethodHandle} de leur
+ * méthode {@code GetValue}. Les handles sont mis en cache par classe. Un
+ * rafraîchissement se limite ensuite à un appel de handle par capteur retenu
+ * et range toutes les valeurs dans un tableau primitif, sans recherche de
+ * méthode ni parcours de l'arbre. L'arbre est parcouru à nouveau seulement
+ * si une lecture échoue, par exemple après le retrait d'un matériel.
+ */
+public class OhmSensorReader {
+    public static final int GPU_TEMPERATURE = 0;
+    public static final int GPU_LOAD = 1;
+
+    // Types de capteurs de la bibliothèque OHM
+    private static final int TEMPERATURE_SENSOR = 2;
+    private static final int LOAD_SENSOR = 3;
+    private static final Channel[] CHANNELS = {
+            new Channel("GPU", TEMPERATURE_SENSOR, "Temperature"),
+            new Channel("GPU", LOAD_SENSOR, "Load")
+    };
+
+    private static final ClassValue<MethodHandle> GET_HARDWARE = handles("GetHardware");
+    private static final ClassValue<MethodHandle> GET_NAME = handles("GetName");
+    private static final ClassValue<MethodHandle> GET_SENSORS = handles("GetSensors");
+    private static final ClassValue<MethodHandle> GET_SENSOR_TYPE = handles("GetSensorType");
+    private static final ClassValue<MethodHandle> GET_VALUE = handles("GetValue");
+
+    private final Object root;
+    private final double[] values = new double[CHANNELS.length];
+    private boolean discovered;
+    // Capteurs retenus, groupés par canal : ceux du canal c occupent
+    // les indices firstSensor[c] à firstSensor[c + 1] - 1
+    private Object[] sensors = new Object[0];
+    private MethodHandle[] valueHandles = new MethodHandle[0];
+    private final int[] firstSensor = new int[CHANNELS.length + 1];
+
+    /**
+     * @param root Instance racine {@code OpenHardwareMonitorLib.Hardware}
+     */
+    public OhmSensorReader(Object root) {
+        this.root = root;
+        Arrays.fill(values, -1);
+    }
+
+    /**
+     * Lit tous les canaux en une passe. Un canal sans capteur ou dont les
+     * capteurs n'ont pas de valeur vaut -1.
+     *
+     * @throws IllegalStateException si l'arbre ou un capteur ne peut pas être lu
+     */
+    public synchronized void refresh() {
+        try {
+            if (!discovered) {
+                discover();
+            }
+            for (int channel = 0; channel < CHANNELS.length; channel++) {
+                values[channel] = -1;
+                for (int i = firstSensor[channel]; i < firstSensor[channel + 1]; i++) {
+                    Object value = valueHandles[i].invokeExact(sensors[i]);
+                    if (value != null) {
+                        values[channel] = ((Number) value).doubleValue();
+                        break;
+                    }
+                }
+            }
+        } catch (Throwable e) {
+            discovered = false;
+            Arrays.fill(values, -1);
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            throw new IllegalStateException("Lecture des capteurs OHM impossible: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param channel {@link #GPU_TEMPERATURE} ou {@link #GPU_LOAD}
+     * @return Valeur lue lors du dernier rafraîchissement, -1 si indisponible
+     */
+    public synchronized double getValue(int channel) {
+        return values[channel];
+    }
+
+    /**
+     * @return Nombre de capteurs retenus lors de la dernière découverte
+     */
+    public synchronized int getSensorCount() {
+        return sensors.length;
+    }
+
+    /**
+     * Parcourt l'arbre matériel et retient les capteurs de chaque canal, dans
+     * l'ordre de l'arbre
+     */
+    private void discover() throws Throwable {
+        List<List<Object>> matches = new ArrayList<>();
+        for (int channel = 0; channel < CHANNELS.length; channel++) {
+            matches.add(new ArrayList<>());
+        }
+        Object[] hardwareList = (Object[]) invoke(GET_HARDWARE, root);
+        for (Object hardware : hardwareList) {
+            String hardwareName = (String) invoke(GET_NAME, hardware);
+            Object[] hardwareSensors = null;
+            for (int channel = 0; channel < CHANNELS.length; channel++) {
+                if (!hardwareName.contains(CHANNELS[channel].hardwareName)) {
+                    continue;
+                }
+                if (hardwareSensors == null) {
+                    hardwareSensors = (Object[]) invoke(GET_SENSORS, hardware);
+                }
+                for (Object sensor : hardwareSensors) {
+                    int type = ((Number) invoke(GET_SENSOR_TYPE, sensor)).intValue();
+                    String sensorName = (String) invoke(GET_NAME, sensor);
+                    if (type == CHANNELS[channel].sensorType && sensorName.contains(CHANNELS[channel].sensorName)) {
+                        matches.get(channel).add(sensor);
+                    }
+                }
+            }
+        }
+
+        int count = 0;
+        for (int channel = 0; channel < CHANNELS.length; channel++) {
+            firstSensor[channel] = count;
+            count += matches.get(channel).size();
+        }
+        firstSensor[CHANNELS.length] = count;
+        sensors = new Object[count];
+        valueHandles = new MethodHandle[count];
+        int index = 0;
+        for (List<Object> channelSensors : matches) {
+            for (Object sensor : channelSensors) {
+                sensors[index] = sensor;
+                valueHandles[index] = GET_VALUE.get(sensor.getClass());
+                index++;
+            }
+        }
+        discovered = true;
+    }
+
+    private static Object invoke(ClassValue<MethodHandle> handles, Object target) throws Throwable {
+        return handles.get(target.getClass()).invokeExact(target);
+    }
+
+    /**
+     * Handles d'une méthode publique sans argument, résolus une fois par
+     * classe et adaptés au type {@code (Object) -> Object} pour être appelés
+     * par {@code invokeExact}
+     */
+    private static ClassValue<MethodHandle> handles(String methodName) {
+        return new ClassValue<>() {
+            @Override
+            protected MethodHandle computeValue(Class<?> type) {
+                try {
+                    return MethodHandles.lookup().unreflect(type.getMethod(methodName))
+                            .asType(MethodType.methodType(Object.class, Object.class));
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalArgumentException(
+                            "Méthode " + methodName + " introuvable sur " + type.getName(), e);
+                }
+            }
+        };
+    }
+
+    private static final class Channel {
+        private final String hardwareName;
+        private final int sensorType;
+        private final String sensorName;
+
+        private Channel(String hardwareName, int sensorType, String sensorName) {
+            this.hardwareName = hardwareName;
+            this.sensorType = sensorType;
+            this.sensorName = sensorName;
+        }
+    }
+}
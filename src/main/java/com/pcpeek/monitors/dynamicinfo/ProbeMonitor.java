@@ -1,12 +1,14 @@
 package com.pcpeek.monitors.dynamicinfo;
 
 import com.pcpeek.monitors.Monitor;
+import com.pcpeek.monitors.backend.CommandBackend;
+import com.pcpeek.monitors.stats.CollectionStats;
+import com.pcpeek.monitors.stats.OperationStats;
 import oshi.SystemInfo;
 import oshi.hardware.CentralProcessor;
 import oshi.hardware.GlobalMemory;
 import oshi.hardware.HardwareAbstractionLayer;
 import oshi.hardware.Sensors;
-import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -16,17 +18,44 @@ public class ProbeMonitor extends Monitor {
     private CentralProcessor processor;
     private GlobalMemory memory;
     private Sensors sensors;
-    private Object ohmHardware;
+    private CpuLoadSampler cpuLoadSampler;
+    // Réutilisé d'une collecte à l'autre, copié seulement à la publication
+    private double[] coreLoads;
+    private OhmSensorReader ohmSensors;
     private static final String OHM_SENSOR_CLASS = "OpenHardwareMonitorLib.Hardware";
 
+    // Latences et erreurs de chaque sonde, exposées par CollectionStats
+    private static final OperationStats CPU_TEMPERATURE_STATS = probeStats("cpu_temperature");
+    private static final OperationStats PROCESSOR_NAME_STATS = probeStats("processor_name");
+    private static final OperationStats CPU_LOADS_STATS = probeStats("cpu_loads_per_core");
+    private static final OperationStats TOTAL_MEMORY_STATS = probeStats("total_memory");
+    private static final OperationStats AVAILABLE_MEMORY_STATS = probeStats("available_memory");
+    private static final OperationStats FAN_SPEEDS_STATS = probeStats("fan_speeds");
+    private static final OperationStats OHM_SENSORS_STATS = probeStats("ohm_sensors");
+
     public ProbeMonitor() {
         super();
+        initializeProbes();
+    }
+
+    /**
+     * @param commandBackend Backend des commandes WMIC ; les sondes elles-mêmes
+     *                       sont lues par OSHI et OHM
+     */
+    public ProbeMonitor(CommandBackend commandBackend) {
+        super(commandBackend);
+        initializeProbes();
+    }
+
+    private void initializeProbes() {
         try {
             systemInfo = new SystemInfo();
             hardware = systemInfo.getHardware();
             processor = hardware.getProcessor();
             memory = hardware.getMemory();
             sensors = hardware.getSensors();
+            cpuLoadSampler = new CpuLoadSampler(processor);
+            coreLoads = new double[cpuLoadSampler.getCoreCount()];
 
             initializeOHMSensors();
         } catch (Exception e) {
@@ -37,7 +66,7 @@ public class ProbeMonitor extends Monitor {
     private void initializeOHMSensors() {
         try {
             Class<?> ohmClass = Class.forName(OHM_SENSOR_CLASS);
-            ohmHardware = ohmClass.getDeclaredConstructor().newInstance();
+            ohmSensors = new OhmSensorReader(ohmClass.getDeclaredConstructor().newInstance());
         } catch (Exception e) {
             System.err.println("Erreur lors de l'initialisation des capteurs OHM: " + e.getMessage());
         }
@@ -47,19 +76,27 @@ public class ProbeMonitor extends Monitor {
         Map<String, Object> probeInfo = new HashMap<>();
 
         try {
-            probeInfo.put("cpu_temperature", getCpuTemperature());
-            probeInfo.put("gpu_temperature", getGpuTemperature());
+            // Une seule passe sur les capteurs OHM pour toutes les valeurs GPU
+            boolean ohmRefreshed = refreshOhmSensors();
+            // Une sonde en échec (ou sans capteur) n'est pas publiée : sa
+            // métrique n'est pas marquée fraîche et son âge augmente
+            double cpuTemperature = getCpuTemperature();
+            if (cpuTemperature > 0) {
+                probeInfo.put("cpu_temperature", cpuTemperature);
+            }
+            putOhmValue(probeInfo, "gpu_temperature", ohmRefreshed, OhmSensorReader.GPU_TEMPERATURE);
 
-            double[] cpuLoads = getCpuLoadPerCore();
-            if (cpuLoads != null) {
-                probeInfo.put("cpu_loads_per_core", cpuLoads);
+            if (sampleCpuLoads()) {
                 double avgLoad = 0;
-                for (double load : cpuLoads) {
+                for (double load : coreLoads) {
                     avgLoad += load;
                 }
-                probeInfo.put("cpu_load_avg", avgLoad / cpuLoads.length);
+                // L'instantané garde sa propre copie, le tampon est réécrit à la collecte suivante
+                probeInfo.put("cpu_loads_per_core", coreLoads.clone());
+                probeInfo.put("cpu_load_avg", avgLoad / coreLoads.length);
+                probeInfo.put("cpu_load", cpuLoadSampler.getSystemLoad() * 100);
             }
-            probeInfo.put("gpu_load", getGpuLoad());
+            putOhmValue(probeInfo, "gpu_load", ohmRefreshed, OhmSensorReader.GPU_LOAD);
 
             probeInfo.put("total_memory", getTotalMemory());
             probeInfo.put("available_memory", getAvailableMemory());
@@ -69,7 +106,10 @@ public class ProbeMonitor extends Monitor {
                 probeInfo.put("fan_speeds", fanSpeeds);
             }
 
-            probeInfo.put("processor_name", getProcessorName());
+            String processorName = readProcessorName();
+            if (processorName != null) {
+                probeInfo.put("processor_name", processorName);
+            }
 
         } catch (Exception e) {
             System.err.println("Erreur lors de la collecte des sondes: " + e.getMessage());
@@ -158,139 +198,164 @@ public class ProbeMonitor extends Monitor {
     public double getCpuTemperature() {
         if (!connect())
             return -1;
+        long start = System.nanoTime();
         try {
-            return sensors.getCpuTemperature();
+            double temperature = sensors.getCpuTemperature();
+            CPU_TEMPERATURE_STATS.recordSuccess(start);
+            return temperature;
         } catch (Exception e) {
+            CPU_TEMPERATURE_STATS.recordFailure(start, e);
             System.err.println("Erreur lors de la lecture de la température CPU: " + e.getMessage());
             return -1;
         }
     }
 
     public String getProcessorName() {
+        String name = readProcessorName();
+        return name != null ? name : "Inconnu";
+    }
+
+    /**
+     * @return Nom du processeur, null si la lecture échoue
+     */
+    private String readProcessorName() {
         if (!connect())
-            return "Inconnu";
+            return null;
+        long start = System.nanoTime();
         try {
-            return processor.getProcessorIdentifier().getName();
+            String name = processor.getProcessorIdentifier().getName();
+            PROCESSOR_NAME_STATS.recordSuccess(start);
+            return name;
         } catch (Exception e) {
+            PROCESSOR_NAME_STATS.recordFailure(start, e);
             System.err.println("Erreur lors de la lecture du nom du processeur: " + e.getMessage());
-            return "Inconnu";
+            return null;
         }
     }
 
+    /**
+     * Calcule la charge de chaque processeur logique depuis l'appel précédent,
+     * sans attente
+     *
+     * @return Charges par cœur entre 0 et 1, ou null si le processeur n'est pas
+     *         disponible
+     */
     public double[] getCpuLoadPerCore() {
-        try {
-            long[] prevTicks = processor.getSystemCpuLoadTicks();
-            Thread.sleep(1000);
-            long[] currTicks = processor.getSystemCpuLoadTicks();
-
-            if (prevTicks != null && currTicks != null) {
-                double[] loadPerCore = new double[processor.getLogicalProcessorCount()];
-                long totalTicks = 0;
-                long idleTicks = currTicks[oshi.hardware.CentralProcessor.TickType.IDLE.getIndex()] -
-                        prevTicks[oshi.hardware.CentralProcessor.TickType.IDLE.getIndex()];
-
-                for (int i = 0; i < currTicks.length; i++) {
-                    totalTicks += currTicks[i] - prevTicks[i];
-                }
-
-                double systemLoad = totalTicks > 0 ? 1.0 - ((double) idleTicks / totalTicks) : 0;
-
-                for (int i = 0; i < loadPerCore.length; i++) {
-                    loadPerCore[i] = systemLoad;
-                }
+        return sampleCpuLoads() ? coreLoads.clone() : null;
+    }
 
-                return loadPerCore;
-            }
+    /**
+     * Relève les charges par cœur dans le tampon {@link #coreLoads}, sans
+     * allocation
+     *
+     * @return true si le relevé a réussi
+     */
+    private boolean sampleCpuLoads() {
+        if (cpuLoadSampler == null) {
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            cpuLoadSampler.sample();
+            cpuLoadSampler.copyCoreLoads(coreLoads);
+            CPU_LOADS_STATS.recordSuccess(start);
+            return true;
         } catch (Exception e) {
+            CPU_LOADS_STATS.recordFailure(start, e);
             System.err.println("Erreur lors de la récupération de la charge CPU: " + e.getMessage());
+            return false;
         }
-        return null;
     }
 
     public long getTotalMemory() {
-        return memory.getTotal();
+        long start = System.nanoTime();
+        try {
+            long total = memory.getTotal();
+            TOTAL_MEMORY_STATS.recordSuccess(start);
+            return total;
+        } catch (RuntimeException e) {
+            TOTAL_MEMORY_STATS.recordFailure(start, e);
+            throw e;
+        }
     }
 
     public long getAvailableMemory() {
-        return memory.getAvailable();
+        long start = System.nanoTime();
+        try {
+            long available = memory.getAvailable();
+            AVAILABLE_MEMORY_STATS.recordSuccess(start);
+            return available;
+        } catch (RuntimeException e) {
+            AVAILABLE_MEMORY_STATS.recordFailure(start, e);
+            throw e;
+        }
     }
 
     public int[] getFanSpeeds() {
-        return sensors.getFanSpeeds();
+        long start = System.nanoTime();
+        try {
+            int[] speeds = sensors.getFanSpeeds();
+            FAN_SPEEDS_STATS.recordSuccess(start);
+            return speeds;
+        } catch (RuntimeException e) {
+            FAN_SPEEDS_STATS.recordFailure(start, e);
+            throw e;
+        }
     }
 
     public double getGpuTemperature() {
-        try {
-            if (ohmHardware != null) {
-                Method getHardware = ohmHardware.getClass().getMethod("GetHardware");
-                Object[] hardwareList = (Object[]) getHardware.invoke(ohmHardware);
-
-                for (Object hw : hardwareList) {
-                    Method getHwName = hw.getClass().getMethod("GetName");
-                    String name = (String) getHwName.invoke(hw);
-                    if (name.contains("GPU")) {
-                        Method getSensors = hw.getClass().getMethod("GetSensors");
-                        Object[] sensors = (Object[]) getSensors.invoke(hw);
-
-                        for (Object sensor : sensors) {
-                            Method getSensorType = sensor.getClass().getMethod("GetSensorType");
-                            int type = (int) getSensorType.invoke(sensor);
-                            Method getSensorName = sensor.getClass().getMethod("GetName");
-                            String sensorName = (String) getSensorName.invoke(sensor);
-
-                            if (type == 2 && sensorName.contains("Temperature")) {
-                                Method getValue = sensor.getClass().getMethod("GetValue");
-                                Double value = (Double) getValue.invoke(sensor);
-                                if (value != null) {
-                                    return value;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-        }
-        return -1;
+        return ohmValue(refreshOhmSensors(), OhmSensorReader.GPU_TEMPERATURE);
     }
 
     public double getGpuLoad() {
+        return ohmValue(refreshOhmSensors(), OhmSensorReader.GPU_LOAD);
+    }
+
+    /**
+     * Relit tous les capteurs OHM utilisés en une passe
+     *
+     * @return true si les valeurs ont pu être lues
+     */
+    private boolean refreshOhmSensors() {
+        if (ohmSensors == null) {
+            return false;
+        }
+        long start = System.nanoTime();
         try {
-            if (ohmHardware != null) {
-                Method getHardware = ohmHardware.getClass().getMethod("GetHardware");
-                Object[] hardwareList = (Object[]) getHardware.invoke(ohmHardware);
-
-                for (Object hw : hardwareList) {
-                    Method getHwName = hw.getClass().getMethod("GetName");
-                    String name = (String) getHwName.invoke(hw);
-                    if (name.contains("GPU")) {
-                        Method getSensors = hw.getClass().getMethod("GetSensors");
-                        Object[] sensors = (Object[]) getSensors.invoke(hw);
-
-                        for (Object sensor : sensors) {
-                            Method getSensorType = sensor.getClass().getMethod("GetSensorType");
-                            int type = (int) getSensorType.invoke(sensor);
-                            Method getSensorName = sensor.getClass().getMethod("GetName");
-                            String sensorName = (String) getSensorName.invoke(sensor);
-
-                            if (type == 3 && sensorName.contains("Load")) {
-                                Method getValue = sensor.getClass().getMethod("GetValue");
-                                Double value = (Double) getValue.invoke(sensor);
-                                if (value != null) {
-                                    return value;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
+            ohmSensors.refresh();
+            OHM_SENSORS_STATS.recordSuccess(start);
+            return true;
+        } catch (RuntimeException e) {
+            OHM_SENSORS_STATS.recordFailure(start, e);
+            return false;
         }
-        return -1;
+    }
+
+    private double ohmValue(boolean refreshed, int channel) {
+        return refreshed ? ohmSensors.getValue(channel) : -1;
+    }
+
+    /**
+     * Publie une valeur OHM seulement si le rafraîchissement a réussi et que
+     * le capteur existe
+     */
+    private void putOhmValue(Map<String, Object> probeInfo, String key, boolean refreshed, int channel) {
+        double value = ohmValue(refreshed, channel);
+        if (value >= 0) {
+            probeInfo.put(key, value);
+        }
+    }
+
+    private static OperationStats probeStats(String metric) {
+        return CollectionStats.getDefault().operation("probe." + metric);
     }
 
     @Override
     protected Map<String, Object> initializeSystemInfo() {
+        // Appelé par le constructeur de Monitor, avant l'initialisation des sondes
+        if (!connect()) {
+            return new HashMap<>();
+        }
         return getProbeInfo();
     }
 
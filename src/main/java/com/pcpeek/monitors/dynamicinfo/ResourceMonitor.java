@@ -1,10 +1,8 @@
 package com.pcpeek.monitors.dynamicinfo;
 
 import com.pcpeek.monitors.Monitor;
+import com.pcpeek.monitors.backend.CommandBackend;
 import java.util.Map;
-import java.util.HashMap;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 
 public class ResourceMonitor extends Monitor {
     private static final String[] WMIC_COMMANDS = {
@@ -13,37 +11,35 @@ public class ResourceMonitor extends Monitor {
             "wmic path win32_operatingsystem get lastbootuptime",
             "wmic path win32_operatingsystem get systemuptime"
     };
+    private static final String[] SKIP_PATTERNS = {
+            "FreePhysicalMemory", "TotalVisibleMemorySize", "LoadPercentage", "LastBootUpTime", "SystemUpTime"
+    };
 
     public ResourceMonitor() {
         super();
     }
 
+    public ResourceMonitor(CommandBackend commandBackend) {
+        super(commandBackend);
+    }
+
     public Map<String, Object> getResourceInfo() {
-        Map<String, Object> info = new HashMap<>();
-        if (!isCompatibleOS()) {
-            info.put("error", "Système d'exploitation non supporté");
-            return info;
-        }
+        return executeWmicCommands();
+    }
 
-        try {
-            for (String command : WMIC_COMMANDS) {
-                Process process = Runtime.getRuntime().exec(command);
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        if (line.trim().isEmpty() || line.contains("FreePhysicalMemory") ||
-                                line.contains("TotalVisibleMemorySize") || line.contains("LoadPercentage") ||
-                                line.contains("LastBootUpTime") || line.contains("SystemUpTime"))
-                            continue;
-                        processOSInfo(line.trim(), info);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Erreur lors de l'initialisation des informations OS: " + e.getMessage());
-            info.put("error", "Erreur lors de la récupération des informations OS");
-        }
-        return info;
+    @Override
+    protected String[] getWmicCommands() {
+        return WMIC_COMMANDS;
+    }
+
+    @Override
+    protected String[] getWmicSkipPatterns() {
+        return SKIP_PATTERNS;
+    }
+
+    @Override
+    protected void processWmicLine(String line, Map<String, Object> info) {
+        processOSInfo(line, info);
     }
 
     public void displayResourceInfo(Map<String, Object> systemInfo) {
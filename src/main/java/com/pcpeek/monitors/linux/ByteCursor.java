@@ -0,0 +1,159 @@
+package com.pcpeek.monitors.linux;
+
+/**
+ * Curseur de lecture sur le contenu brut d'un {@link ProcFile}.
+ * Les nombres sont lus directement depuis les octets ASCII, sans passer par
+ * des chaînes : aucune allocation par lecture.
+ */
+final class ByteCursor {
+    private byte[] data;
+    private int position;
+    private int limit;
+
+    ByteCursor reset(ProcFile file) {
+        this.data = file.data();
+        this.position = 0;
+        this.limit = file.length();
+        return this;
+    }
+
+    boolean hasMore() {
+        return position < limit;
+    }
+
+    /**
+     * @return true si la ligne courante commence par le préfixe donné
+     */
+    boolean lineStartsWith(byte[] prefix) {
+        if (position + prefix.length > limit) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[position + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true si la ligne courante commence par "cpu" suivi d'un chiffre
+     */
+    boolean atCoreLine() {
+        return position + 3 < limit && data[position] == 'c' && data[position + 1] == 'p'
+                && data[position + 2] == 'u' && isDigit(data[position + 3]);
+    }
+
+    /**
+     * Avance au début de la ligne suivante
+     */
+    void nextLine() {
+        while (position < limit && data[position] != '\n') {
+            position++;
+        }
+        if (position < limit) {
+            position++;
+        }
+    }
+
+    /**
+     * Avance jusqu'à la ligne qui commence par le préfixe donné
+     *
+     * @return true si la ligne a été trouvée
+     */
+    boolean seekLine(byte[] prefix) {
+        while (position < limit) {
+            if (lineStartsWith(prefix)) {
+                return true;
+            }
+            nextLine();
+        }
+        return false;
+    }
+
+    /**
+     * Avance après le premier mot de la ligne (par exemple l'étiquette "cpu0")
+     */
+    void skipWord() {
+        while (position < limit && data[position] != ' ' && data[position] != '\t' && data[position] != '\n') {
+            position++;
+        }
+    }
+
+    /**
+     * Lit le prochain entier de la ligne courante
+     *
+     * @param fallback Valeur retournée si la ligne ne contient plus de nombre
+     * @return Entier lu
+     */
+    long nextLong(long fallback) {
+        if (!skipToNumber()) {
+            return fallback;
+        }
+        boolean negative = false;
+        if (data[position] == '-') {
+            negative = true;
+            position++;
+        }
+        long value = 0;
+        while (position < limit && isDigit(data[position])) {
+            value = value * 10 + (data[position] - '0');
+            position++;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Lit le prochain nombre décimal (par exemple "0.52") de la ligne courante
+     *
+     * @param fallback Valeur retournée si la ligne ne contient plus de nombre
+     * @return Nombre lu
+     */
+    double nextDecimal(double fallback) {
+        if (!skipToNumber()) {
+            return fallback;
+        }
+        boolean negative = false;
+        if (data[position] == '-') {
+            negative = true;
+            position++;
+        }
+        long integer = 0;
+        while (position < limit && isDigit(data[position])) {
+            integer = integer * 10 + (data[position] - '0');
+            position++;
+        }
+        long fraction = 0;
+        long scale = 1;
+        if (position < limit && data[position] == '.') {
+            position++;
+            while (position < limit && isDigit(data[position])) {
+                if (scale < 1_000_000_000L) {
+                    fraction = fraction * 10 + (data[position] - '0');
+                    scale *= 10;
+                }
+                position++;
+            }
+        }
+        double value = integer + (double) fraction / scale;
+        return negative ? -value : value;
+    }
+
+    private boolean skipToNumber() {
+        while (position < limit) {
+            byte b = data[position];
+            if (b == '\n') {
+                return false;
+            }
+            if (isDigit(b) || (b == '-' && position + 1 < limit && isDigit(data[position + 1]))) {
+                return true;
+            }
+            position++;
+        }
+        return false;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
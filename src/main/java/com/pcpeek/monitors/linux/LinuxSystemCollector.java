@@ -0,0 +1,364 @@
+package com.pcpeek.monitors.linux;
+
+import com.pcpeek.metrics.MetricRegistry;
+import com.pcpeek.metrics.MetricStore;
+import com.pcpeek.monitors.dynamicinfo.CpuLoadSampler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collecteur natif Linux basé sur /proc et /sys.
+ * Les fichiers sont découverts une seule fois à la construction, puis relus
+ * à chaque échantillon à travers des canaux ouverts en permanence et des
+ * tampons préalloués. Les nombres sont lus directement depuis les octets et
+ * les relevés de ticks sont conservés dans des tableaux primitifs : une
+ * collecte n'alloue rien, hormis la copie des deux tableaux (charges par
+ * cœur, ventilateurs) confiée à l'instantané immuable.
+ * <p>
+ * Les valeurs sont écrites sous les mêmes clés que celles lues par
+ * {@code SystemData} (cpu_load, total_memory, fan_speeds, ...).
+ */
+public class LinuxSystemCollector implements Closeable {
+    private static final int TICK_COLUMNS = 8;
+    private static final int STAT_CAPACITY = 64 * 1024;
+    private static final int SMALL_CAPACITY = 256;
+
+    private static final byte[] CPU_PREFIX = ascii("cpu ");
+    private static final byte[] MEM_TOTAL = ascii("MemTotal:");
+    private static final byte[] MEM_FREE = ascii("MemFree:");
+    private static final byte[] MEM_AVAILABLE = ascii("MemAvailable:");
+
+    private final ProcFile stat;
+    private final ProcFile meminfo;
+    private final ProcFile loadavg;
+    private final ProcFile uptime;
+    private final ProcFile cpuThermalZone;
+    private final ProcFile[] fanInputs;
+    private final String processorName;
+    private final ByteCursor cursor = new ByteCursor();
+
+    private final long[] previousSystemTicks = new long[TICK_COLUMNS];
+    private final long[] currentSystemTicks = new long[TICK_COLUMNS];
+    private final long[][] previousCoreTicks;
+    private final long[] currentCoreTicks = new long[TICK_COLUMNS];
+    private final double[] coreLoads;
+    private final int[] fanSpeeds;
+
+    public LinuxSystemCollector() {
+        this(Paths.get("/proc"), Paths.get("/sys"));
+    }
+
+    /**
+     * @param procRoot Racine de /proc (modifiable pour les tests)
+     * @param sysRoot  Racine de /sys (modifiable pour les tests)
+     */
+    public LinuxSystemCollector(Path procRoot, Path sysRoot) {
+        this.stat = new ProcFile(procRoot.resolve("stat"), STAT_CAPACITY);
+        this.meminfo = new ProcFile(procRoot.resolve("meminfo"), 4096);
+        this.loadavg = new ProcFile(procRoot.resolve("loadavg"), SMALL_CAPACITY);
+        this.uptime = new ProcFile(procRoot.resolve("uptime"), SMALL_CAPACITY);
+        this.processorName = readProcessorName(procRoot.resolve("cpuinfo"));
+
+        Path zone = findCpuThermalZone(sysRoot.resolve("class/thermal"));
+        this.cpuThermalZone = zone != null ? new ProcFile(zone.resolve("temp"), SMALL_CAPACITY) : null;
+
+        List<Path> fans = findFanInputs(sysRoot.resolve("class/hwmon"));
+        this.fanInputs = new ProcFile[fans.size()];
+        for (int i = 0; i < fanInputs.length; i++) {
+            fanInputs[i] = new ProcFile(fans.get(i), SMALL_CAPACITY);
+        }
+        this.fanSpeeds = new int[fanInputs.length];
+
+        int cores = countCores();
+        this.previousCoreTicks = new long[cores][TICK_COLUMNS];
+        this.coreLoads = new double[cores];
+        // Relevé de référence : la première collecte publie déjà une charge
+        readBaselineTicks();
+    }
+
+    /**
+     * @return true si le système est Linux et que /proc/stat est lisible
+     */
+    public static boolean isSupported() {
+        return System.getProperty("os.name").toLowerCase().contains("linux")
+                && Files.isReadable(Paths.get("/proc/stat"));
+    }
+
+    /**
+     * Lit tous les fichiers et écrit les valeurs dans le stockage fourni.
+     * Une source en erreur est ignorée, les autres sont tout de même écrites.
+     *
+     * @param target Stockage de destination
+     */
+    public synchronized void collect(MetricStore target) {
+        collectCpu(target);
+        collectMemory(target);
+        collectLoadAverage(target);
+        collectUptime(target);
+        collectTemperature(target);
+        collectFans(target);
+        if (processorName != null) {
+            target.putObject(MetricRegistry.PROCESSOR_NAME, processorName);
+        }
+    }
+
+    private void collectCpu(MetricStore target) {
+        try {
+            stat.read();
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la lecture de " + stat.path() + ": " + e.getMessage());
+            return;
+        }
+        ByteCursor c = cursor.reset(stat);
+        if (!c.seekLine(CPU_PREFIX)) {
+            return;
+        }
+        readTicks(c, currentSystemTicks);
+        double systemLoad = CpuLoadSampler.computeLoad(previousSystemTicks, currentSystemTicks);
+
+        int core = 0;
+        double loadSum = 0;
+        c.nextLine();
+        while (c.hasMore() && c.atCoreLine() && core < coreLoads.length) {
+            readTicks(c, currentCoreTicks);
+            coreLoads[core] = CpuLoadSampler.computeLoad(previousCoreTicks[core], currentCoreTicks);
+            loadSum += coreLoads[core];
+            core++;
+            c.nextLine();
+        }
+
+        target.putDouble(MetricRegistry.CPU_LOAD, systemLoad * 100);
+        if (core > 0) {
+            target.putDouble(MetricRegistry.CPU_LOAD_AVG, loadSum / core);
+            target.putObject(MetricRegistry.CPU_LOADS_PER_CORE, coreLoads.clone());
+        }
+    }
+
+    private static void readTicks(ByteCursor c, long[] ticks) {
+        c.skipWord();
+        for (int i = 0; i < ticks.length; i++) {
+            ticks[i] = c.nextLong(0);
+        }
+    }
+
+    private void collectMemory(MetricStore target) {
+        try {
+            meminfo.read();
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la lecture de " + meminfo.path() + ": " + e.getMessage());
+            return;
+        }
+        // Les trois lignes sont dans cet ordre au début de /proc/meminfo
+        ByteCursor c = cursor.reset(meminfo);
+        if (c.seekLine(MEM_TOTAL)) {
+            target.putLong(MetricRegistry.TOTAL_MEMORY, c.nextLong(0) * 1024L);
+        }
+        if (c.seekLine(MEM_FREE)) {
+            target.putLong(MetricRegistry.MEMORY_FREE, c.nextLong(0) * 1024L);
+        }
+        if (c.seekLine(MEM_AVAILABLE)) {
+            target.putLong(MetricRegistry.AVAILABLE_MEMORY, c.nextLong(0) * 1024L);
+        }
+    }
+
+    private void collectLoadAverage(MetricStore target) {
+        try {
+            loadavg.read();
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la lecture de " + loadavg.path() + ": " + e.getMessage());
+            return;
+        }
+        ByteCursor c = cursor.reset(loadavg);
+        target.putDouble(MetricRegistry.LOAD_AVERAGE_1, c.nextDecimal(0));
+        target.putDouble(MetricRegistry.LOAD_AVERAGE_5, c.nextDecimal(0));
+        target.putDouble(MetricRegistry.LOAD_AVERAGE_15, c.nextDecimal(0));
+    }
+
+    private void collectUptime(MetricStore target) {
+        try {
+            uptime.read();
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la lecture de " + uptime.path() + ": " + e.getMessage());
+            return;
+        }
+        target.putLong(MetricRegistry.SYSTEM_UPTIME, (long) cursor.reset(uptime).nextDecimal(0));
+    }
+
+    private void collectTemperature(MetricStore target) {
+        if (cpuThermalZone == null) {
+            return;
+        }
+        try {
+            cpuThermalZone.read();
+        } catch (IOException e) {
+            return;
+        }
+        long milliCelsius = cursor.reset(cpuThermalZone).nextLong(Long.MIN_VALUE);
+        if (milliCelsius != Long.MIN_VALUE) {
+            target.putDouble(MetricRegistry.CPU_TEMPERATURE, milliCelsius / 1000.0);
+        }
+    }
+
+    private void collectFans(MetricStore target) {
+        if (fanInputs.length == 0) {
+            return;
+        }
+        for (int i = 0; i < fanInputs.length; i++) {
+            try {
+                fanInputs[i].read();
+                fanSpeeds[i] = (int) cursor.reset(fanInputs[i]).nextLong(0);
+            } catch (IOException e) {
+                fanSpeeds[i] = 0;
+            }
+        }
+        target.putObject(MetricRegistry.FAN_SPEEDS, fanSpeeds.clone());
+    }
+
+    public int getCoreCount() {
+        return coreLoads.length;
+    }
+
+    public int getFanCount() {
+        return fanInputs.length;
+    }
+
+    public boolean hasCpuTemperature() {
+        return cpuThermalZone != null;
+    }
+
+    @Override
+    public synchronized void close() {
+        stat.close();
+        meminfo.close();
+        loadavg.close();
+        uptime.close();
+        if (cpuThermalZone != null) {
+            cpuThermalZone.close();
+        }
+        for (ProcFile fan : fanInputs) {
+            fan.close();
+        }
+    }
+
+    private int countCores() {
+        try {
+            stat.read();
+        } catch (IOException e) {
+            return 0;
+        }
+        ByteCursor c = cursor.reset(stat);
+        if (!c.seekLine(CPU_PREFIX)) {
+            return 0;
+        }
+        int cores = 0;
+        c.nextLine();
+        while (c.hasMore() && c.atCoreLine()) {
+            cores++;
+            c.nextLine();
+        }
+        return cores;
+    }
+
+    /**
+     * Relit le contenu de /proc/stat chargé par {@link #countCores()} comme
+     * relevé précédent de la première collecte
+     */
+    private void readBaselineTicks() {
+        ByteCursor c = cursor.reset(stat);
+        if (!c.seekLine(CPU_PREFIX)) {
+            return;
+        }
+        readTicks(c, previousSystemTicks);
+        int core = 0;
+        c.nextLine();
+        while (c.hasMore() && c.atCoreLine() && core < previousCoreTicks.length) {
+            readTicks(c, previousCoreTicks[core]);
+            core++;
+            c.nextLine();
+        }
+    }
+
+    private static String readProcessorName(Path cpuinfo) {
+        try {
+            for (String line : Files.readAllLines(cpuinfo, StandardCharsets.US_ASCII)) {
+                if (line.startsWith("model name")) {
+                    int colon = line.indexOf(':');
+                    return colon >= 0 ? line.substring(colon + 1).trim() : null;
+                }
+            }
+        } catch (IOException e) {
+            // Nom du processeur facultatif
+        }
+        return null;
+    }
+
+    /**
+     * Choisit la zone thermique du processeur : x86_pkg_temp, puis une zone
+     * dont le type évoque le CPU, puis la première zone disponible
+     */
+    private static Path findCpuThermalZone(Path thermalRoot) {
+        Path best = null;
+        int bestRank = Integer.MAX_VALUE;
+        if (!Files.isDirectory(thermalRoot)) {
+            return null;
+        }
+        try (DirectoryStream<Path> zones = Files.newDirectoryStream(thermalRoot, "thermal_zone*")) {
+            for (Path zone : zones) {
+                if (!Files.isReadable(zone.resolve("temp"))) {
+                    continue;
+                }
+                String type = readTrimmed(zone.resolve("type")).toLowerCase();
+                int rank = type.equals("x86_pkg_temp") ? 0
+                        : type.contains("cpu") || type.contains("coretemp") || type.contains("k10temp") ? 1
+                        : 2;
+                if (rank < bestRank || (rank == bestRank && zone.compareTo(best) < 0)) {
+                    best = zone;
+                    bestRank = rank;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la recherche des zones thermiques: " + e.getMessage());
+        }
+        return best;
+    }
+
+    private static List<Path> findFanInputs(Path hwmonRoot) {
+        List<Path> fans = new ArrayList<>();
+        if (!Files.isDirectory(hwmonRoot)) {
+            return fans;
+        }
+        try (DirectoryStream<Path> devices = Files.newDirectoryStream(hwmonRoot, "hwmon*")) {
+            for (Path device : devices) {
+                try (DirectoryStream<Path> inputs = Files.newDirectoryStream(device, "fan*_input")) {
+                    for (Path input : inputs) {
+                        fans.add(input);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la recherche des ventilateurs: " + e.getMessage());
+        }
+        fans.sort(null);
+        return fans;
+    }
+
+    private static String readTrimmed(Path path) {
+        try {
+            return new String(Files.readAllBytes(path), StandardCharsets.US_ASCII).trim();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,75 @@
+package com.pcpeek.monitors.linux;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fichier de /proc ou /sys relu à chaque échantillon. Le canal reste ouvert
+ * et le tampon est alloué une seule fois ; chaque lecture repart de l'offset
+ * 0, ce qui régénère le contenu côté noyau. Le contenu est tronqué à la
+ * capacité du tampon.
+ */
+final class ProcFile implements Closeable {
+    private final Path path;
+    private final ByteBuffer buffer;
+    private FileChannel channel;
+    private int length;
+
+    ProcFile(Path path, int capacity) {
+        this.path = path;
+        this.buffer = ByteBuffer.allocate(capacity);
+    }
+
+    /**
+     * Relit le fichier dans le tampon
+     *
+     * @return Nombre d'octets lus
+     */
+    int read() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        }
+        buffer.clear();
+        long position = 0;
+        try {
+            int read;
+            while (buffer.hasRemaining() && (read = channel.read(buffer, position)) > 0) {
+                position += read;
+            }
+        } catch (IOException e) {
+            // Le canal sera rouvert à la prochaine lecture
+            close();
+            throw e;
+        }
+        length = buffer.position();
+        return length;
+    }
+
+    byte[] data() {
+        return buffer.array();
+    }
+
+    int length() {
+        return length;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Fermeture au mieux
+            }
+            channel = null;
+        }
+    }
+}
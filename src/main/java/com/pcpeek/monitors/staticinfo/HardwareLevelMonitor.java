@@ -1,10 +1,8 @@
 package com.pcpeek.monitors.staticinfo;
 
 import com.pcpeek.monitors.Monitor;
+import com.pcpeek.monitors.backend.CommandBackend;
 import java.util.Map;
-import java.util.HashMap;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 
 public class HardwareLevelMonitor extends Monitor {
     private static final String[] WMIC_COMMANDS = {
@@ -13,35 +11,33 @@ public class HardwareLevelMonitor extends Monitor {
             "wmic diskdrive get model,size,mediatype,status",
             "wmic baseboard get manufacturer,product,version,serialnumber"
     };
+    private static final String[] SKIP_PATTERNS = { "Name", "Capacity" };
 
     public HardwareLevelMonitor() {
         super();
     }
 
+    public HardwareLevelMonitor(CommandBackend commandBackend) {
+        super(commandBackend);
+    }
+
     public Map<String, Object> getSystemInfo() {
-        Map<String, Object> info = new HashMap<>();
-        if (!isCompatibleOS()) {
-            info.put("error", "Système d'exploitation non supporté");
-            return info;
-        }
-
-        try {
-            for (String command : WMIC_COMMANDS) {
-                Process process = Runtime.getRuntime().exec(command);
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        if (line.trim().isEmpty() || line.contains("Name") || line.contains("Capacity"))
-                            continue;
-                        processHardwareInfo(line.trim(), info);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Erreur lors de l'initialisation des informations matérielles: " + e.getMessage());
-            info.put("error", "Erreur lors de la récupération des informations matérielles");
-        }
-        return info;
+        return executeWmicCommands();
+    }
+
+    @Override
+    protected String[] getWmicCommands() {
+        return WMIC_COMMANDS;
+    }
+
+    @Override
+    protected String[] getWmicSkipPatterns() {
+        return SKIP_PATTERNS;
+    }
+
+    @Override
+    protected void processWmicLine(String line, Map<String, Object> info) {
+        processHardwareInfo(line, info);
     }
 
     public void displayHardwareInfo(Map<String, Object> systemInfo) {
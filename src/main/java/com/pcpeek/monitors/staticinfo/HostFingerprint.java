@@ -0,0 +1,118 @@
+package com.pcpeek.monitors.staticinfo;
+
+import oshi.SystemInfo;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Empreinte d'un démarrage de la machine : nom d'hôte, plus l'identifiant de
+ * démarrage du noyau Linux ou, à défaut, l'heure de démarrage. Tant que
+ * l'empreinte ne change pas, l'inventaire statique est considéré valide.
+ */
+public final class HostFingerprint {
+    private static final Path LINUX_BOOT_ID = Paths.get("/proc/sys/kernel/random/boot_id");
+    // L'heure de démarrage est recalculée depuis l'uptime et peut varier d'une seconde
+    private static final long BOOT_TIME_TOLERANCE_SECONDS = 5;
+
+    private final String hostname;
+    private final String bootId;
+    private final long bootTimeSeconds;
+
+    public HostFingerprint(String hostname, String bootId, long bootTimeSeconds) {
+        this.hostname = hostname != null ? hostname : "";
+        this.bootId = bootId != null ? bootId : "";
+        this.bootTimeSeconds = bootTimeSeconds;
+    }
+
+    /**
+     * Calcule l'empreinte du démarrage courant
+     */
+    public static HostFingerprint current() {
+        String bootId = readBootId();
+        long bootTime = bootId.isEmpty() ? readBootTime() : 0;
+        return new HostFingerprint(readHostname(), bootId, bootTime);
+    }
+
+    /**
+     * @return true si les deux empreintes désignent le même démarrage du même hôte
+     */
+    public boolean matches(HostFingerprint other) {
+        if (other == null || !hostname.equals(other.hostname)) {
+            return false;
+        }
+        if (!bootId.isEmpty() || !other.bootId.isEmpty()) {
+            return bootId.equals(other.bootId);
+        }
+        return Math.abs(bootTimeSeconds - other.bootTimeSeconds) <= BOOT_TIME_TOLERANCE_SECONDS;
+    }
+
+    public String getHostname() {
+        return hostname;
+    }
+
+    public String getBootId() {
+        return bootId;
+    }
+
+    public long getBootTimeSeconds() {
+        return bootTimeSeconds;
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeUTF(hostname);
+        out.writeUTF(bootId);
+        out.writeLong(bootTimeSeconds);
+    }
+
+    static HostFingerprint read(DataInput in) throws IOException {
+        return new HostFingerprint(in.readUTF(), in.readUTF(), in.readLong());
+    }
+
+    @Override
+    public String toString() {
+        return hostname + (bootId.isEmpty() ? "@" + bootTimeSeconds : "/" + bootId);
+    }
+
+    private static String readHostname() {
+        // Les variables d'environnement évitent une résolution DNS au démarrage
+        String name = System.getenv("COMPUTERNAME");
+        if (name == null || name.isEmpty()) {
+            name = System.getenv("HOSTNAME");
+        }
+        if (name == null || name.isEmpty()) {
+            try {
+                name = InetAddress.getLocalHost().getHostName();
+            } catch (IOException e) {
+                name = "";
+            }
+        }
+        return name.trim();
+    }
+
+    private static String readBootId() {
+        if (!Files.isReadable(LINUX_BOOT_ID)) {
+            return "";
+        }
+        try {
+            return new String(Files.readAllBytes(LINUX_BOOT_ID), StandardCharsets.US_ASCII).trim();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static long readBootTime() {
+        try {
+            return new SystemInfo().getOperatingSystem().getSystemBootTime();
+        } catch (Exception e) {
+            System.err.println("Erreur lors de la lecture de l'heure de démarrage: " + e.getMessage());
+            return 0;
+        }
+    }
+}
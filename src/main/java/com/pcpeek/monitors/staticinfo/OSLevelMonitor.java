@@ -1,10 +1,8 @@
 package com.pcpeek.monitors.staticinfo;
 
 import com.pcpeek.monitors.Monitor;
+import com.pcpeek.monitors.backend.CommandBackend;
 import java.util.Map;
-import java.util.HashMap;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 
 public class OSLevelMonitor extends Monitor {
     private static final String[] WMIC_COMMANDS = {
@@ -12,35 +10,33 @@ public class OSLevelMonitor extends Monitor {
             "wmic computersystem get model,manufacturer,systemtype",
             "wmic path win32_operatingsystem get caption,version,osarchitecture,serialnumber,licensedatetime"
     };
+    private static final String[] SKIP_PATTERNS = { "Caption", "Version" };
 
     public OSLevelMonitor() {
         super();
     }
 
+    public OSLevelMonitor(CommandBackend commandBackend) {
+        super(commandBackend);
+    }
+
     public Map<String, Object> getSystemInfo() {
-        Map<String, Object> info = new HashMap<>();
-        if (!isCompatibleOS()) {
-            info.put("error", "Système d'exploitation non supporté");
-            return info;
-        }
+        return executeWmicCommands();
+    }
 
-        try {
-            for (String command : WMIC_COMMANDS) {
-                Process process = Runtime.getRuntime().exec(command);
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        if (line.trim().isEmpty() || line.contains("Caption") || line.contains("Version"))
-                            continue;
-                        processSystemInfo(line.trim(), info);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Erreur lors de l'initialisation des informations système: " + e.getMessage());
-            info.put("error", "Erreur lors de la récupération des informations système");
-        }
-        return info;
+    @Override
+    protected String[] getWmicCommands() {
+        return WMIC_COMMANDS;
+    }
+
+    @Override
+    protected String[] getWmicSkipPatterns() {
+        return SKIP_PATTERNS;
+    }
+
+    @Override
+    protected void processWmicLine(String line, Map<String, Object> info) {
+        processSystemInfo(line, info);
     }
 
     private void processSystemInfo(String line, Map<String, Object> info) {
@@ -0,0 +1,185 @@
+package com.pcpeek.monitors.staticinfo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache disque de l'inventaire statique (OS et matériel).
+ * Ces informations ne changent pas entre deux démarrages : elles sont écrites
+ * dans un petit fichier binaire accompagné de l'{@link HostFingerprint} du
+ * démarrage, et relues tant que l'empreinte correspond. Les requêtes WMIC ne
+ * sont donc rejouées qu'après un redémarrage ou sur demande explicite.
+ * <p>
+ * Le fichier est désigné par la propriété système
+ * {@code pcpeek.inventory.cache}, par défaut {@code ~/.pcpeek/inventory.bin}.
+ */
+public class StaticInventoryCache {
+    private static final int MAGIC = 0x50435049; // "PCPI"
+    private static final short FORMAT_VERSION = 1;
+
+    private static final byte TYPE_STRING = 'S';
+    private static final byte TYPE_LONG = 'L';
+    private static final byte TYPE_INTEGER = 'I';
+    private static final byte TYPE_DOUBLE = 'D';
+    private static final byte TYPE_BOOLEAN = 'B';
+
+    private final Path file;
+
+    public StaticInventoryCache() {
+        this(getDefaultPath());
+    }
+
+    public StaticInventoryCache(Path file) {
+        this.file = file;
+    }
+
+    public static Path getDefaultPath() {
+        String configured = System.getProperty("pcpeek.inventory.cache");
+        if (configured != null && !configured.isEmpty()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".pcpeek", "inventory.bin");
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Relit l'inventaire s'il a été enregistré pendant le même démarrage
+     *
+     * @param fingerprint Empreinte du démarrage courant
+     * @return Inventaire en cache, ou null s'il est absent, illisible ou périmé
+     */
+    public Map<String, Object> load(HostFingerprint fingerprint) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readShort() != FORMAT_VERSION) {
+                return null;
+            }
+            if (!fingerprint.matches(HostFingerprint.read(in))) {
+                return null;
+            }
+            int count = in.readInt();
+            Map<String, Object> inventory = new HashMap<>(Math.max(16, count * 2));
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                inventory.put(key, readValue(in));
+            }
+            return inventory;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (EOFException e) {
+            System.err.println("Cache d'inventaire tronqué, ignoré: " + file);
+            return null;
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la lecture du cache d'inventaire: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Enregistre l'inventaire pour le démarrage courant. Le fichier est écrit
+     * à côté puis renommé, pour ne jamais laisser un cache à moitié écrit.
+     * Les valeurs d'un type non pris en charge sont ignorées.
+     *
+     * @param fingerprint Empreinte du démarrage courant
+     * @param inventory   Inventaire à enregistrer
+     * @return true si le cache a été écrit
+     */
+    public boolean store(HostFingerprint fingerprint, Map<String, Object> inventory) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Map<String, Object> supported = new HashMap<>();
+            for (Map.Entry<String, Object> entry : inventory.entrySet()) {
+                if (entry.getKey() != null && typeOf(entry.getValue()) != 0) {
+                    supported.put(entry.getKey(), entry.getValue());
+                }
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(FORMAT_VERSION);
+                fingerprint.write(out);
+                out.writeInt(supported.size());
+                for (Map.Entry<String, Object> entry : supported.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    writeValue(out, entry.getValue());
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'écriture du cache d'inventaire: " + e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Fichier temporaire abandonné
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Supprime le cache, pour forcer une nouvelle collecte au prochain chargement
+     */
+    public void invalidate() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la suppression du cache d'inventaire: " + e.getMessage());
+        }
+    }
+
+    private static byte typeOf(Object value) {
+        if (value instanceof String) {
+            return TYPE_STRING;
+        } else if (value instanceof Long) {
+            return TYPE_LONG;
+        } else if (value instanceof Integer) {
+            return TYPE_INTEGER;
+        } else if (value instanceof Double) {
+            return TYPE_DOUBLE;
+        } else if (value instanceof Boolean) {
+            return TYPE_BOOLEAN;
+        }
+        return 0;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        byte type = typeOf(value);
+        out.writeByte(type);
+        switch (type) {
+            case TYPE_STRING -> out.writeUTF((String) value);
+            case TYPE_LONG -> out.writeLong((Long) value);
+            case TYPE_INTEGER -> out.writeInt((Integer) value);
+            case TYPE_DOUBLE -> out.writeDouble((Double) value);
+            case TYPE_BOOLEAN -> out.writeBoolean((Boolean) value);
+            default -> throw new IOException("Type non pris en charge: " + type);
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case TYPE_STRING -> in.readUTF();
+            case TYPE_LONG -> in.readLong();
+            case TYPE_INTEGER -> in.readInt();
+            case TYPE_DOUBLE -> in.readDouble();
+            case TYPE_BOOLEAN -> in.readBoolean();
+            default -> throw new IOException("Type inconnu dans le cache: " + type);
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.pcpeek.monitors.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Auto-instrumentation de la collecte : latences et erreurs par opération,
+ * et fraîcheur de chaque métrique. Les opérations sont nommées par famille,
+ * par exemple {@code monitor.ProbeMonitor.update}, {@code wmic.<commande>},
+ * {@code probe.cpu_temperature} ou {@code ui.push}.
+ * <p>
+ * La mémoire occupée est fixe par opération ; l'enregistrement est sans
+ * verrou et peut être appelé depuis n'importe quel thread.
+ */
+public final class CollectionStats {
+    private static final CollectionStats DEFAULT = new CollectionStats();
+
+    private final ConcurrentHashMap<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final MetricFreshness freshness = new MetricFreshness();
+
+    public static CollectionStats getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @param name Nom de l'opération
+     * @return Statistiques de l'opération, créées au premier appel
+     */
+    public OperationStats operation(String name) {
+        OperationStats stats = operations.get(name);
+        return stats != null ? stats : operations.computeIfAbsent(name, OperationStats::new);
+    }
+
+    /**
+     * @return Statistiques de toutes les opérations, triées par nom
+     */
+    public List<OperationStats> getOperations() {
+        List<OperationStats> sorted = new ArrayList<>(operations.values());
+        sorted.sort(Comparator.comparing(OperationStats::getName));
+        return sorted;
+    }
+
+    public MetricFreshness getFreshness() {
+        return freshness;
+    }
+
+    /**
+     * Prépare la mesure d'un lot de commandes exécutées en une fois
+     *
+     * @param prefix   Préfixe des opérations ({@code wmic})
+     * @param commands Commandes du lot
+     * @return Enregistreur à notifier de chaque ligne lue
+     */
+    public CommandBatchTimer batch(String prefix, String[] commands) {
+        OperationStats[] perCommand = new OperationStats[commands.length];
+        for (int i = 0; i < commands.length; i++) {
+            perCommand[i] = operation(prefix + "." + commands[i]);
+        }
+        return new CommandBatchTimer(perCommand);
+    }
+
+    public void reset() {
+        for (OperationStats stats : operations.values()) {
+            stats.reset();
+        }
+        freshness.reset();
+    }
+}
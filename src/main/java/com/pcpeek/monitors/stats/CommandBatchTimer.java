@@ -0,0 +1,54 @@
+package com.pcpeek.monitors.stats;
+
+/**
+ * Mesure de chaque commande d'un lot exécuté en un seul appel (un seul
+ * processus avec le backend par lots). La part d'une commande est le temps
+ * écoulé entre la dernière ligne de la commande précédente et sa propre
+ * dernière ligne ; la dernière commande inclut la fin du processus.
+ * Une commande sans sortie se voit attribuer une durée nulle.
+ */
+public final class CommandBatchTimer {
+    private final OperationStats[] commands;
+    private final long[] lastLineNanos;
+    private final long startNanos = System.nanoTime();
+
+    CommandBatchTimer(OperationStats[] commands) {
+        this.commands = commands;
+        this.lastLineNanos = new long[commands.length];
+    }
+
+    /**
+     * @param commandIndex Index de la commande ayant produit une ligne
+     */
+    public void onLine(int commandIndex) {
+        if (commandIndex >= 0 && commandIndex < lastLineNanos.length) {
+            lastLineNanos[commandIndex] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Enregistre la part de chaque commande. En cas d'échec, les commandes
+     * qui n'avaient encore rien produit sont comptées en erreur (la dernière
+     * commande si toutes avaient produit une sortie).
+     *
+     * @param success false si le lot s'est terminé par une exception
+     */
+    public void finish(boolean success) {
+        long now = System.nanoTime();
+        long previous = startNanos;
+        int lastWithOutput = -1;
+        for (int i = 0; i < lastLineNanos.length; i++) {
+            if (lastLineNanos[i] != 0) {
+                lastWithOutput = i;
+            }
+        }
+        if (!success && lastWithOutput == commands.length - 1) {
+            lastWithOutput--;
+        }
+        for (int i = 0; i < commands.length; i++) {
+            long end = i == commands.length - 1 ? now : Math.max(previous, lastLineNanos[i]);
+            commands[i].recordNanos(end - previous, success || i <= lastWithOutput);
+            previous = end;
+        }
+    }
+}
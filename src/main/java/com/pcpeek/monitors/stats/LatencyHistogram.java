@@ -0,0 +1,107 @@
+package com.pcpeek.monitors.stats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogramme de latences à mémoire fixe, sur le principe des histogrammes
+ * HDR : chaque puissance de deux est découpée en {@value #SUB_BUCKETS}
+ * intervalles égaux, soit une précision relative d'environ 6 % de la
+ * nanoseconde à plusieurs minutes, dans un tableau de taille constante.
+ * L'enregistrement est sans verrou et sans allocation.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // 2^38 ns, soit environ 4,5 minutes ; au-delà les valeurs sont plafonnées
+    private static final int MAGNITUDES = 38 - SUB_BUCKET_BITS + 1;
+    private static final long MAX_VALUE = (1L << 38) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(MAGNITUDES * SUB_BUCKETS);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * @param nanos Durée mesurée, en nanosecondes
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, Math.min(nanos, MAX_VALUE));
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public double getMeanNanos() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalNanos.get() / count;
+    }
+
+    /**
+     * @param quantile Quantile entre 0 et 1 (0.99 pour le 99e centile)
+     * @return Borne supérieure de l'intervalle contenant le quantile, en
+     *         nanosecondes, ou 0 si aucune valeur n'a été enregistrée
+     */
+    public long getValueAtQuantile(double quantile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(1.0, Math.max(0.0, quantile)) * count));
+        long seen = 0;
+        for (int index = 0; index < counts.length(); index++) {
+            seen += counts.get(index);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(index), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    public double getValueAtQuantile(double quantile, TimeUnit unit) {
+        return (double) getValueAtQuantile(quantile) / unit.toNanos(1);
+    }
+
+    public void reset() {
+        for (int index = 0; index < counts.length(); index++) {
+            counts.set(index, 0);
+        }
+        totalCount.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    /**
+     * Les valeurs inférieures à {@code SUB_BUCKETS} ont chacune leur
+     * intervalle ; au-delà, l'intervalle dépend de la position du bit de poids
+     * fort et des {@code SUB_BUCKET_BITS} bits suivants.
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> (magnitude - 1)) & (SUB_BUCKETS - 1);
+        return magnitude * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int index) {
+        int magnitude = index / SUB_BUCKETS;
+        int subBucket = index % SUB_BUCKETS;
+        if (magnitude == 0) {
+            return subBucket;
+        }
+        long width = 1L << (magnitude - 1);
+        return ((long) (SUB_BUCKETS + subBucket) << (magnitude - 1)) + width - 1;
+    }
+}
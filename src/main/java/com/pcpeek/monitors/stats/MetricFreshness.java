@@ -0,0 +1,59 @@
+package com.pcpeek.monitors.stats;
+
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricRegistry;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Horodatage du dernier échantillon réussi de chaque métrique. Une métrique
+ * qu'une sonde ne fournit plus (capteur perdu, commande en échec) vieillit,
+ * ce qui la distingue d'une valeur simplement stable.
+ */
+public final class MetricFreshness {
+    private volatile long[] lastSeenMillis = new long[MetricRegistry.size()];
+
+    /**
+     * Marque la métrique comme présente dans l'échantillon courant.
+     * Appelé par le seul thread d'échantillonnage.
+     */
+    public void markPresent(Metric metric, long nowMillis) {
+        long[] current = lastSeenMillis;
+        int id = metric.getId();
+        if (id >= current.length) {
+            current = Arrays.copyOf(current, Math.max(id + 1, MetricRegistry.size()));
+        }
+        current[id] = nowMillis;
+        lastSeenMillis = current;
+    }
+
+    /**
+     * @return Horodatage du dernier échantillon contenant la métrique, 0 si jamais vue
+     */
+    public long getLastSeenMillis(Metric metric) {
+        long[] current = lastSeenMillis;
+        return metric.getId() < current.length ? current[metric.getId()] : 0;
+    }
+
+    /**
+     * @param nowMillis Instant de référence
+     * @return Âge du dernier échantillon de chaque métrique déjà vue, dans
+     *         l'ordre du registre
+     */
+    public Map<String, Long> getAgesMillis(long nowMillis) {
+        long[] current = lastSeenMillis;
+        Map<String, Long> ages = new LinkedHashMap<>();
+        for (int id = 0; id < current.length; id++) {
+            if (current[id] > 0) {
+                ages.put(MetricRegistry.get(id).getKey(), Math.max(0, nowMillis - current[id]));
+            }
+        }
+        return ages;
+    }
+
+    void reset() {
+        lastSeenMillis = new long[MetricRegistry.size()];
+    }
+}
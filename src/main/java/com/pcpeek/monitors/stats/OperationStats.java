@@ -0,0 +1,88 @@
+package com.pcpeek.monitors.stats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latences et erreurs d'une opération de collecte (mise à jour d'un
+ * moniteur, commande WMIC, lecture d'une sonde, rendu d'une interface, ...)
+ */
+public final class OperationStats {
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private volatile long lastSuccessMillis;
+    private volatile long lastErrorMillis;
+    private volatile String lastError;
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param startNanos Valeur de {@link System#nanoTime()} au début de l'opération
+     */
+    public void recordSuccess(long startNanos) {
+        latencies.record(System.nanoTime() - startNanos);
+        lastSuccessMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * @param startNanos Valeur de {@link System#nanoTime()} au début de l'opération
+     * @param error      Cause de l'échec, peut être null
+     */
+    public void recordFailure(long startNanos, Throwable error) {
+        latencies.record(System.nanoTime() - startNanos);
+        errors.increment();
+        lastErrorMillis = System.currentTimeMillis();
+        lastError = error == null ? null : error.getClass().getSimpleName() + ": " + error.getMessage();
+    }
+
+    /**
+     * Enregistre une durée déjà mesurée, par exemple la part d'une commande
+     * dans un lot
+     */
+    public void recordNanos(long nanos, boolean success) {
+        latencies.record(nanos);
+        if (success) {
+            lastSuccessMillis = System.currentTimeMillis();
+        } else {
+            errors.increment();
+            lastErrorMillis = System.currentTimeMillis();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * @return Horodatage du dernier succès, 0 si l'opération n'a jamais abouti
+     */
+    public long getLastSuccessMillis() {
+        return lastSuccessMillis;
+    }
+
+    public long getLastErrorMillis() {
+        return lastErrorMillis;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    void reset() {
+        latencies.reset();
+        errors.reset();
+        lastSuccessMillis = 0;
+        lastErrorMillis = 0;
+        lastError = null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.pcpeek.observability;
+
+import com.pcpeek.monitors.stats.CollectionStats;
+import com.pcpeek.sampling.SamplingService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * État de la collecte pour {@code /actuator/health} : DOWN si aucun
+ * échantillon n'a abouti depuis {@value #STALE_INTERVALS} intervalles
+ * d'échantillonnage, UP sinon, avec la liste des métriques qui n'ont plus été
+ * fournies depuis ce délai (capteur perdu, commande en échec).
+ */
+@Component("collection")
+public class CollectionHealthIndicator implements HealthIndicator {
+    private static final int STALE_INTERVALS = 3;
+
+    private final SamplingService samplingService;
+    private final CollectionStats stats;
+
+    public CollectionHealthIndicator(SamplingService samplingService) {
+        this.samplingService = samplingService;
+        this.stats = CollectionStats.getDefault();
+    }
+
+    @Override
+    public Health health() {
+        long lastSuccess = stats.operation("sampling.collect").getLastSuccessMillis();
+        if (lastSuccess == 0) {
+            return Health.unknown().withDetail("reason", "Aucun échantillon collecté").build();
+        }
+        long now = System.currentTimeMillis();
+        long staleAfterMs = STALE_INTERVALS * samplingService.getIntervalMs();
+        long sampleAgeMs = now - lastSuccess;
+
+        Map<String, Long> staleMetrics = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> age : stats.getFreshness().getAgesMillis(now).entrySet()) {
+            if (age.getValue() > staleAfterMs) {
+                staleMetrics.put(age.getKey(), age.getValue());
+            }
+        }
+        Health.Builder health = sampleAgeMs > staleAfterMs ? Health.down() : Health.up();
+        return health.withDetail("lastSampleAgeMs", sampleAgeMs)
+                .withDetail("staleAfterMs", staleAfterMs)
+                .withDetail("staleMetrics", staleMetrics)
+                .build();
+    }
+}
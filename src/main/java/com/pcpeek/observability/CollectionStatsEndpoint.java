@@ -0,0 +1,70 @@
+package com.pcpeek.observability;
+
+import com.pcpeek.monitors.stats.CollectionStats;
+import com.pcpeek.monitors.stats.LatencyHistogram;
+import com.pcpeek.monitors.stats.OperationStats;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point d'accès {@code /actuator/collection} : latences (moyenne, centiles,
+ * maximum) et erreurs de chaque opération de collecte, et âge du dernier
+ * échantillon de chaque métrique. Une requête DELETE remet les compteurs à zéro.
+ */
+@Component
+@Endpoint(id = "collection")
+public class CollectionStatsEndpoint {
+    private final CollectionStats stats;
+
+    public CollectionStatsEndpoint() {
+        this(CollectionStats.getDefault());
+    }
+
+    CollectionStatsEndpoint(CollectionStats stats) {
+        this.stats = stats;
+    }
+
+    @ReadOperation
+    public Map<String, Object> collection() {
+        long now = System.currentTimeMillis();
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (OperationStats operation : stats.getOperations()) {
+            operations.put(operation.getName(), describe(operation, now));
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("operations", operations);
+        body.put("metricAgeMs", stats.getFreshness().getAgesMillis(now));
+        return body;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        stats.reset();
+    }
+
+    private static Map<String, Object> describe(OperationStats operation, long now) {
+        LatencyHistogram latencies = operation.getLatencies();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("count", latencies.getCount());
+        details.put("errors", operation.getErrorCount());
+        details.put("meanMs", latencies.getMeanNanos() / TimeUnit.MILLISECONDS.toNanos(1));
+        details.put("p50Ms", latencies.getValueAtQuantile(0.50, TimeUnit.MILLISECONDS));
+        details.put("p90Ms", latencies.getValueAtQuantile(0.90, TimeUnit.MILLISECONDS));
+        details.put("p99Ms", latencies.getValueAtQuantile(0.99, TimeUnit.MILLISECONDS));
+        details.put("maxMs", (double) latencies.getMaxNanos() / TimeUnit.MILLISECONDS.toNanos(1));
+        if (operation.getLastSuccessMillis() > 0) {
+            details.put("lastSuccessAgeMs", now - operation.getLastSuccessMillis());
+        }
+        if (operation.getLastError() != null) {
+            details.put("lastError", operation.getLastError());
+            details.put("lastErrorAgeMs", now - operation.getLastErrorMillis());
+        }
+        return details;
+    }
+}
@@ -0,0 +1,164 @@
+package com.pcpeek.observability;
+
+import com.pcpeek.SystemData;
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricRegistry;
+import com.pcpeek.sampling.SamplingService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Expose les métriques matérielles mesurées par pc-peek sous forme de jauges
+ * Micrometer (et donc sur {@code /actuator/prometheus}).
+ * <p>
+ * Les jauges lisent le dernier instantané publié par le service
+ * d'échantillonnage : une lecture de référence volatile, sans collecte ni
+ * accès aux capteurs. Le coût d'une lecture est donc proportionnel au nombre
+ * de métriques, et une lecture ne bloque jamais. Une métrique absente de
+ * l'instantané est rapportée comme NaN.
+ * <p>
+ * Les charges par coeur et les vitesses de ventilateurs portent les étiquettes
+ * {@code core} et {@code fan}. Leur nombre n'est connu qu'après la première
+ * collecte : les jauges manquantes sont ajoutées lorsqu'un instantané en
+ * contient davantage.
+ * <p>
+ * La charge moyenne et les charges par coeur sont mesurées en fractions
+ * (0 à 1) : leurs jauges les convertissent en pourcentages, comme la charge
+ * globale.
+ */
+@Component
+public class HardwareMetricsBinder implements MeterBinder {
+    private final SamplingService samplingService;
+    private final SystemData live;
+    private final List<MeterRegistry> registries = new CopyOnWriteArrayList<>();
+    private final Consumer<SystemSnapshot> snapshotListener = this::onSnapshot;
+    private volatile int boundCores;
+    private volatile int boundFans;
+
+    public HardwareMetricsBinder(SamplingService samplingService) {
+        this.samplingService = samplingService;
+        this.live = samplingService.getSystemData();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "pcpeek.cpu.load", MetricRegistry.CPU_LOAD, BaseUnits.PERCENT,
+                "Charge CPU globale");
+        Gauge.builder("pcpeek.cpu.load.average", live,
+                data -> value(data.snapshot(), MetricRegistry.CPU_LOAD_AVG) * 100.0)
+                .description("Charge CPU moyenne")
+                .baseUnit(BaseUnits.PERCENT)
+                .register(registry);
+        gauge(registry, "pcpeek.cpu.temperature", MetricRegistry.CPU_TEMPERATURE, "celsius",
+                "Température du processeur");
+        gauge(registry, "pcpeek.gpu.load", MetricRegistry.GPU_LOAD, BaseUnits.PERCENT,
+                "Charge du GPU");
+        gauge(registry, "pcpeek.gpu.temperature", MetricRegistry.GPU_TEMPERATURE, "celsius",
+                "Température du GPU");
+        gauge(registry, "pcpeek.memory.total", MetricRegistry.TOTAL_MEMORY, BaseUnits.BYTES,
+                "Mémoire physique totale");
+        gauge(registry, "pcpeek.memory.available", MetricRegistry.AVAILABLE_MEMORY, BaseUnits.BYTES,
+                "Mémoire physique disponible");
+        loadAverage(registry, "1m", MetricRegistry.LOAD_AVERAGE_1);
+        loadAverage(registry, "5m", MetricRegistry.LOAD_AVERAGE_5);
+        loadAverage(registry, "15m", MetricRegistry.LOAD_AVERAGE_15);
+        TimeGauge.builder("pcpeek.system.uptime", live, TimeUnit.SECONDS,
+                data -> value(data.snapshot(), MetricRegistry.SYSTEM_UPTIME))
+                .description("Temps écoulé depuis le démarrage du système")
+                .register(registry);
+        FunctionCounter.builder("pcpeek.samples", live, data -> data.getVersion())
+                .description("Nombre d'échantillons collectés")
+                .register(registry);
+
+        synchronized (this) {
+            registries.add(registry);
+            SystemSnapshot latest = live.snapshot();
+            for (int core = 0; core < boundCores; core++) {
+                coreGauge(registry, core);
+            }
+            for (int fan = 0; fan < boundFans; fan++) {
+                fanGauge(registry, fan);
+            }
+            if (registries.size() == 1) {
+                samplingService.subscribe(snapshotListener);
+            }
+            onSnapshot(latest);
+        }
+    }
+
+    @PreDestroy
+    public void unbind() {
+        samplingService.unsubscribe(snapshotListener);
+    }
+
+    /**
+     * Ajoute les jauges des coeurs et ventilateurs apparus dans l'instantané
+     */
+    private void onSnapshot(SystemSnapshot snapshot) {
+        int cores = snapshot.getLength(MetricRegistry.CPU_LOADS_PER_CORE);
+        int fans = snapshot.getLength(MetricRegistry.FAN_SPEEDS);
+        if (cores <= boundCores && fans <= boundFans) {
+            return;
+        }
+        synchronized (this) {
+            for (MeterRegistry registry : registries) {
+                for (int core = boundCores; core < cores; core++) {
+                    coreGauge(registry, core);
+                }
+                for (int fan = boundFans; fan < fans; fan++) {
+                    fanGauge(registry, fan);
+                }
+            }
+            boundCores = Math.max(boundCores, cores);
+            boundFans = Math.max(boundFans, fans);
+        }
+    }
+
+    private void gauge(MeterRegistry registry, String name, Metric metric, String unit, String description) {
+        Gauge.builder(name, live, data -> value(data.snapshot(), metric))
+                .description(description)
+                .baseUnit(unit)
+                .register(registry);
+    }
+
+    private void loadAverage(MeterRegistry registry, String window, Metric metric) {
+        Gauge.builder("pcpeek.system.load.average", live, data -> value(data.snapshot(), metric))
+                .description("Charge moyenne du système")
+                .tag("window", window)
+                .register(registry);
+    }
+
+    private void coreGauge(MeterRegistry registry, int core) {
+        Gauge.builder("pcpeek.cpu.core.load", live,
+                data -> data.snapshot().getElement(MetricRegistry.CPU_LOADS_PER_CORE, core, Double.NaN) * 100.0)
+                .description("Charge d'un coeur logique")
+                .baseUnit(BaseUnits.PERCENT)
+                .tag("core", Integer.toString(core))
+                .register(registry);
+    }
+
+    private void fanGauge(MeterRegistry registry, int fan) {
+        Gauge.builder("pcpeek.fan.speed", live,
+                data -> data.snapshot().getElement(MetricRegistry.FAN_SPEEDS, fan, Double.NaN))
+                .description("Vitesse d'un ventilateur")
+                .baseUnit("rpm")
+                .tag("fan", Integer.toString(fan))
+                .register(registry);
+    }
+
+    private static double value(SystemSnapshot snapshot, Metric metric) {
+        return snapshot.getDouble(metric, Double.NaN);
+    }
+}
@@ -0,0 +1,169 @@
+package com.pcpeek.persistence;
+
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricHistory;
+import com.pcpeek.sampling.SamplingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Persistance des échantillons en écriture différée.
+ * Le thread d'échantillonnage ne fait que déposer chaque instantané dans une
+ * file bornée, sans jamais attendre : si la file est pleine (disque lent),
+ * l'échantillon est abandonné et compté. Un thread d'écriture dédié vide la
+ * file et insère les lignes par lots JDBC, puis purge périodiquement les
+ * échantillons plus anciens que la rétention.
+ */
+@Service
+@ConditionalOnProperty(name = "pcpeek.persistence.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricPersistenceService {
+    private static final long PURGE_INTERVAL_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final SamplingService samplingService;
+    private final MetricSampleStore store;
+    private final BlockingQueue<SampleBatch> queue;
+    private final int maxBatches;
+    private final long retentionMillis;
+    private final Consumer<SystemSnapshot> snapshotListener = this::enqueue;
+    private final AtomicLong droppedSamples = new AtomicLong();
+    private final AtomicLong writtenRows = new AtomicLong();
+    private volatile boolean running;
+    private Thread writer;
+
+    public MetricPersistenceService(SamplingService samplingService, MetricSampleStore store,
+            @Value("${pcpeek.persistence.queue-capacity:1024}") int queueCapacity,
+            @Value("${pcpeek.persistence.max-batch:256}") int maxBatches,
+            @Value("${pcpeek.persistence.retention-days:30}") int retentionDays) {
+        this.samplingService = samplingService;
+        this.store = store;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.maxBatches = Math.max(1, maxBatches);
+        this.retentionMillis = TimeUnit.DAYS.toMillis(Math.max(1, retentionDays));
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "pcpeek-metrics-writer");
+        writer.setDaemon(true);
+        writer.start();
+        samplingService.subscribe(snapshotListener);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        samplingService.unsubscribe(snapshotListener);
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+        // Écrit ce qui reste en file avant l'arrêt
+        flush();
+    }
+
+    /**
+     * Dépose un instantané dans la file, sans bloquer
+     *
+     * @return false si la file est pleine et que l'échantillon est abandonné
+     */
+    public boolean enqueue(SystemSnapshot snapshot) {
+        SampleBatch batch = SampleBatch.of(snapshot);
+        if (batch.size == 0) {
+            return true;
+        }
+        if (!queue.offer(batch)) {
+            droppedSamples.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parcourt les échantillons persistés d'une métrique sur une plage de temps
+     */
+    public int forEachInRange(Metric metric, long fromMillis, long toMillis, MetricHistory.SampleVisitor visitor) {
+        return store.forEachInRange(metric, fromMillis, toMillis, visitor);
+    }
+
+    public long getDroppedSamples() {
+        return droppedSamples.get();
+    }
+
+    public long getWrittenRows() {
+        return writtenRows.get();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void writeLoop() {
+        List<SampleBatch> pending = new ArrayList<>(maxBatches);
+        long nextPurge = System.currentTimeMillis();
+        while (running) {
+            try {
+                SampleBatch first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    pending.add(first);
+                    queue.drainTo(pending, maxBatches - 1);
+                    write(pending);
+                    pending.clear();
+                }
+                long now = System.currentTimeMillis();
+                if (now >= nextPurge) {
+                    purge(now);
+                    nextPurge = now + PURGE_INTERVAL_MS;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush() {
+        List<SampleBatch> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        write(pending);
+    }
+
+    private void write(List<SampleBatch> batches) {
+        if (batches.isEmpty()) {
+            return;
+        }
+        try {
+            writtenRows.addAndGet(store.insert(batches));
+        } catch (Exception e) {
+            System.err.println("Erreur lors de l'écriture des échantillons: " + e.getMessage());
+        }
+    }
+
+    private void purge(long now) {
+        try {
+            store.deleteOlderThan(now - retentionMillis);
+        } catch (Exception e) {
+            System.err.println("Erreur lors de la purge des échantillons: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.pcpeek.persistence;
+
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricHistory;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Accès JDBC à la table des échantillons de métriques.
+ * Les insertions passent par des lots de requêtes préparées ; les lectures
+ * par plage utilisent l'index (metric, ts) et sont parcourues en flux,
+ * sans charger tout le résultat en mémoire.
+ */
+@Component
+@ConditionalOnProperty(name = "pcpeek.persistence.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricSampleStore {
+    private static final String INSERT_SQL = "INSERT INTO metric_sample (metric, ts, val) VALUES (?, ?, ?)";
+    private static final String RANGE_SQL = "SELECT ts, val FROM metric_sample WHERE metric = ? AND ts >= ? AND ts < ? ORDER BY ts";
+    private static final String PURGE_SQL = "DELETE FROM metric_sample WHERE ts < ? FETCH FIRST ? ROWS ONLY";
+    private static final int RANGE_FETCH_SIZE = 1000;
+    private static final int PURGE_CHUNK = 10000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MetricSampleStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void createSchema() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS metric_sample ("
+                + "metric VARCHAR(64) NOT NULL, "
+                + "ts BIGINT NOT NULL, "
+                + "val DOUBLE PRECISION NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_metric_sample_metric_ts ON metric_sample (metric, ts)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_metric_sample_ts ON metric_sample (ts)");
+    }
+
+    /**
+     * Insère les échantillons de plusieurs lots dans un seul lot JDBC
+     *
+     * @param batches Lots à écrire
+     * @return Nombre de lignes insérées
+     */
+    public int insert(List<SampleBatch> batches) {
+        int total = 0;
+        for (SampleBatch batch : batches) {
+            total += batch.size;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        // Lignes aplaties dans des tableaux primitifs, indexées par le lot JDBC
+        String[] keys = new String[total];
+        long[] timestamps = new long[total];
+        double[] values = new double[total];
+        int row = 0;
+        for (SampleBatch batch : batches) {
+            for (int i = 0; i < batch.size; i++) {
+                keys[row] = batch.metrics[i].getKey();
+                timestamps[row] = batch.timestamp;
+                values[row] = batch.values[i];
+                row++;
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setString(1, keys[i]);
+                ps.setLong(2, timestamps[i]);
+                ps.setDouble(3, values[i]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return keys.length;
+            }
+        });
+        return total;
+    }
+
+    /**
+     * Parcourt les échantillons d'une métrique sur une plage de temps
+     *
+     * @param metric     Métrique recherchée
+     * @param fromMillis Début de la plage (inclus)
+     * @param toMillis   Fin de la plage (exclue)
+     * @param visitor    Visiteur appelé dans l'ordre chronologique
+     * @return Nombre d'échantillons visités
+     */
+    public int forEachInRange(Metric metric, long fromMillis, long toMillis, MetricHistory.SampleVisitor visitor) {
+        int[] count = new int[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(RANGE_SQL);
+            ps.setFetchSize(RANGE_FETCH_SIZE);
+            ps.setString(1, metric.getKey());
+            ps.setLong(2, fromMillis);
+            ps.setLong(3, toMillis);
+            return ps;
+        }, resultSet -> {
+            visitor.visit(resultSet.getLong(1), resultSet.getDouble(2));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * Supprime les échantillons plus anciens qu'un instant donné, par paquets
+     * pour ne pas verrouiller la table longtemps
+     *
+     * @param beforeMillis Horodatage limite (exclu)
+     * @return Nombre de lignes supprimées
+     */
+    public int deleteOlderThan(long beforeMillis) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_SQL, beforeMillis, PURGE_CHUNK);
+            total += deleted;
+        } while (deleted == PURGE_CHUNK);
+        return total;
+    }
+}
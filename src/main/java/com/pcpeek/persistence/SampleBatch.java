@@ -0,0 +1,35 @@
+package com.pcpeek.persistence;
+
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.Metric;
+
+/**
+ * Valeurs numériques d'un instantané, en attente d'écriture. Les
+ * métriques et les valeurs sont rangées dans des tableaux parallèles.
+ */
+final class SampleBatch {
+    final long timestamp;
+    final Metric[] metrics;
+    final double[] values;
+    int size;
+
+    SampleBatch(long timestamp, int capacity) {
+        this.timestamp = timestamp;
+        this.metrics = new Metric[capacity];
+        this.values = new double[capacity];
+    }
+
+    static SampleBatch of(SystemSnapshot snapshot) {
+        SampleBatch batch = new SampleBatch(snapshot.getLastUpdateMillis(), snapshot.getDynamicDataCount());
+        snapshot.forEachDynamicNumeric(batch::add);
+        return batch;
+    }
+
+    void add(Metric metric, double value) {
+        if (size < metrics.length && !Double.isNaN(value)) {
+            metrics[size] = metric;
+            values[size] = value;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.pcpeek.recording;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Agrégat partiel d'une métrique sur une suite contiguë d'échantillons.
+ * <p>
+ * Deux agrégats de suites consécutives se fusionnent sans relire les
+ * données : moyenne et variance par la formule de Chan, dépassements de
+ * seuil par leurs séquences de début et de fin (un dépassement peut
+ * chevaucher deux morceaux), pics par sélection des plus hautes valeurs.
+ */
+final class MetricAggregate {
+    private static final Comparator<MetricSummary.Peak> LOWEST_FIRST = Comparator
+            .comparingDouble(MetricSummary.Peak::getValue)
+            .thenComparing(Comparator.comparingLong(MetricSummary.Peak::getTimestampMillis).reversed());
+
+    private final double threshold;
+    private final int maxPeaks;
+
+    // Échantillons parcourus, y compris ceux où la métrique est absente
+    private long records;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double mean;
+    private double m2;
+
+    private long exceedanceMillis;
+    private long episodes;
+    private long longestMillis;
+    // Durée des dépassements qui commencent et finissent la suite
+    private long prefixMillis;
+    private long suffixMillis;
+    private boolean startsAbove;
+    private boolean endsAbove;
+    private boolean allAbove = true;
+
+    private final PriorityQueue<MetricSummary.Peak> peaks;
+
+    /**
+     * @param threshold Seuil de dépassement, NaN pour aucun
+     * @param maxPeaks  Nombre de pics conservés
+     */
+    MetricAggregate(double threshold, int maxPeaks) {
+        this.threshold = threshold;
+        this.maxPeaks = maxPeaks;
+        this.peaks = new PriorityQueue<>(Math.max(1, maxPeaks + 1), LOWEST_FIRST);
+    }
+
+    /**
+     * Ajoute l'échantillon suivant de la suite
+     *
+     * @param durationMillis Durée couverte par l'échantillon
+     * @param value          Valeur, NaN si la métrique est absente
+     * @param peak           true si l'échantillon est un maximum local
+     */
+    void add(long timestampMillis, long durationMillis, double value, boolean peak) {
+        records++;
+        boolean present = !Double.isNaN(value);
+        if (present) {
+            count++;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+        }
+
+        boolean above = present && value >= threshold;
+        if (records == 1) {
+            startsAbove = above;
+        }
+        if (above) {
+            if (endsAbove) {
+                suffixMillis += durationMillis;
+            } else {
+                episodes++;
+                suffixMillis = durationMillis;
+            }
+            exceedanceMillis += durationMillis;
+            if (allAbove) {
+                prefixMillis += durationMillis;
+            }
+            longestMillis = Math.max(longestMillis, suffixMillis);
+        } else {
+            allAbove = false;
+            suffixMillis = 0;
+        }
+        endsAbove = above;
+
+        if (present && peak) {
+            offerPeak(new MetricSummary.Peak(timestampMillis, value));
+        }
+    }
+
+    /**
+     * Fusionne l'agrégat de la suite qui suit immédiatement celle-ci
+     *
+     * @return Agrégat de la suite complète (celui-ci, modifié)
+     */
+    MetricAggregate merge(MetricAggregate next) {
+        if (next.records == 0) {
+            return this;
+        }
+        if (records == 0) {
+            return next;
+        }
+        if (next.count > 0) {
+            long total = count + next.count;
+            double delta = next.mean - mean;
+            mean += delta * next.count / total;
+            m2 += next.m2 + delta * delta * count * next.count / total;
+            count = total;
+            min = Math.min(min, next.min);
+            max = Math.max(max, next.max);
+        }
+
+        boolean joined = endsAbove && next.startsAbove;
+        exceedanceMillis += next.exceedanceMillis;
+        episodes += next.episodes - (joined ? 1 : 0);
+        longestMillis = Math.max(Math.max(longestMillis, next.longestMillis),
+                joined ? suffixMillis + next.prefixMillis : 0);
+        if (allAbove && next.startsAbove) {
+            prefixMillis += next.prefixMillis;
+        }
+        suffixMillis = next.allAbove && endsAbove ? suffixMillis + next.suffixMillis : next.suffixMillis;
+        endsAbove = next.endsAbove;
+        allAbove = allAbove && next.allAbove;
+        records += next.records;
+
+        for (MetricSummary.Peak peak : next.peaks) {
+            offerPeak(peak);
+        }
+        return this;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double getMin() {
+        return count > 0 ? min : Double.NaN;
+    }
+
+    double getMax() {
+        return count > 0 ? max : Double.NaN;
+    }
+
+    double getMean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    double getStdDev() {
+        return count > 1 ? Math.sqrt(m2 / count) : 0.0;
+    }
+
+    double getThreshold() {
+        return threshold;
+    }
+
+    long getExceedanceMillis() {
+        return exceedanceMillis;
+    }
+
+    long getEpisodes() {
+        return episodes;
+    }
+
+    long getLongestMillis() {
+        return longestMillis;
+    }
+
+    /**
+     * @return Pics, du plus haut au plus bas
+     */
+    List<MetricSummary.Peak> getPeaks() {
+        List<MetricSummary.Peak> sorted = new ArrayList<>(peaks);
+        sorted.sort(LOWEST_FIRST.reversed());
+        return sorted;
+    }
+
+    private void offerPeak(MetricSummary.Peak peak) {
+        if (maxPeaks <= 0) {
+            return;
+        }
+        peaks.add(peak);
+        if (peaks.size() > maxPeaks) {
+            peaks.poll();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.pcpeek.recording;
+
+import com.pcpeek.metrics.Metric;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Statistiques d'une métrique sur une période enregistrée : extremums,
+ * moyenne, écart type, centiles, dépassements de seuil et plus hauts pics.
+ * <p>
+ * Les centiles sont lus dans un histogramme de
+ * {@link SessionAnalyzer#HISTOGRAM_BINS} classes entre le minimum et le
+ * maximum : l'erreur est au plus d'une demi-classe.
+ */
+public final class MetricSummary {
+    private final Metric metric;
+    private final long count;
+    private final double min;
+    private final double max;
+    private final double mean;
+    private final double stdDev;
+    private final double threshold;
+    private final long exceedanceMillis;
+    private final long exceedanceEpisodes;
+    private final long longestExceedanceMillis;
+    private final List<Peak> peaks;
+    private final long[] histogram;
+
+    MetricSummary(Metric metric, MetricAggregate aggregate, long[] histogram) {
+        this.metric = metric;
+        this.count = aggregate.getCount();
+        this.min = aggregate.getMin();
+        this.max = aggregate.getMax();
+        this.mean = aggregate.getMean();
+        this.stdDev = aggregate.getStdDev();
+        this.threshold = aggregate.getThreshold();
+        this.exceedanceMillis = aggregate.getExceedanceMillis();
+        this.exceedanceEpisodes = aggregate.getEpisodes();
+        this.longestExceedanceMillis = aggregate.getLongestMillis();
+        this.peaks = Collections.unmodifiableList(aggregate.getPeaks());
+        this.histogram = histogram;
+    }
+
+    public Metric getMetric() {
+        return metric;
+    }
+
+    /**
+     * @return Nombre d'échantillons où la métrique est présente
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStdDev() {
+        return stdDev;
+    }
+
+    /**
+     * @param percent Centile entre 0 et 100
+     * @return Valeur du centile, NaN sans échantillon
+     */
+    public double getPercentile(double percent) {
+        if (count == 0 || histogram == null) {
+            return Double.NaN;
+        }
+        if (percent <= 0 || max == min) {
+            return min;
+        }
+        if (percent >= 100) {
+            return max;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * count));
+        double width = (max - min) / histogram.length;
+        long cumulative = 0;
+        for (int bin = 0; bin < histogram.length; bin++) {
+            cumulative += histogram[bin];
+            if (cumulative >= rank) {
+                return Math.min(max, Math.max(min, min + (bin + 0.5) * width));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return true si un seuil de dépassement a été demandé
+     */
+    public boolean hasThreshold() {
+        return !Double.isNaN(threshold);
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @return Durée totale passée au-dessus du seuil
+     */
+    public long getExceedanceMillis() {
+        return exceedanceMillis;
+    }
+
+    /**
+     * @return Nombre de dépassements distincts
+     */
+    public long getExceedanceEpisodes() {
+        return exceedanceEpisodes;
+    }
+
+    public long getLongestExceedanceMillis() {
+        return longestExceedanceMillis;
+    }
+
+    /**
+     * @return Plus hauts maximums locaux, du plus haut au plus bas
+     */
+    public List<Peak> getPeaks() {
+        return peaks;
+    }
+
+    /**
+     * Maximum local d'une métrique
+     */
+    public static final class Peak {
+        private final long timestampMillis;
+        private final double value;
+
+        public Peak(long timestampMillis, double value) {
+            this.timestampMillis = timestampMillis;
+            this.value = value;
+        }
+
+        public long getTimestampMillis() {
+            return timestampMillis;
+        }
+
+        public double getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.pcpeek.recording;
+
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricRegistry;
+import com.pcpeek.metrics.MetricStore;
+import com.pcpeek.metrics.MetricType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Disposition des enregistrements d'un segment.
+ * <p>
+ * Chaque enregistrement a la même taille : horodatage, masque de présence
+ * (un bit par colonne) puis une colonne par métrique numérique, booléenne ou
+ * textuelle (8 octets) et par tableau (longueur fixée à la création du
+ * segment). Une colonne textuelle ne contient que l'indice de la valeur
+ * dans la {@link StringTable} du segment : un texte qui change à chaque
+ * échantillon ne modifie pas la disposition. Les informations statiques ne
+ * changent pas au sein d'un segment et sont écrites une fois dans
+ * l'en-tête. Un échantillon qui ne correspond pas à la disposition
+ * (nouvelle métrique, autre nombre de coeurs, inventaire modifié) ouvre un
+ * nouveau segment.
+ */
+final class RecordLayout {
+    private static final int TIMESTAMP_OFFSET = 0;
+    private static final int PRESENCE_OFFSET = 8;
+
+    private static final byte DOUBLE = 'D';
+    private static final byte LONG = 'L';
+    private static final byte DOUBLE_ARRAY = 'A';
+    private static final byte INT_ARRAY = 'I';
+    private static final byte TEXT = 'T';
+    private static final byte BOOLEAN = 'B';
+
+    private final Metric[] columns;
+    private final byte[] kinds;
+    private final int[] lengths;
+    private final int[] offsets;
+    private final int presenceWords;
+    private final int recordSize;
+    // Colonne de chaque métrique par identifiant, -1 si absente de la disposition
+    private final int[] columnOf;
+    private final Map<String, Object> staticData;
+    private final long staticVersion;
+
+    private RecordLayout(List<Metric> columns, List<Byte> kinds, List<Integer> lengths,
+            Map<String, Object> staticData, long staticVersion) {
+        int count = columns.size();
+        this.columns = columns.toArray(new Metric[0]);
+        this.kinds = new byte[count];
+        this.lengths = new int[count];
+        this.offsets = new int[count];
+        this.columnOf = new int[MetricRegistry.size()];
+        java.util.Arrays.fill(columnOf, -1);
+        this.presenceWords = Math.max(1, (count + Long.SIZE - 1) / Long.SIZE);
+        int offset = PRESENCE_OFFSET + presenceWords * Long.BYTES;
+        for (int column = 0; column < count; column++) {
+            this.kinds[column] = kinds.get(column);
+            this.lengths[column] = lengths.get(column);
+            this.offsets[column] = offset;
+            offset += width(this.kinds[column], this.lengths[column]);
+            int id = this.columns[column].getId();
+            if (id < columnOf.length) {
+                columnOf[id] = column;
+            }
+        }
+        this.recordSize = offset;
+        this.staticData = Collections.unmodifiableMap(staticData);
+        this.staticVersion = staticVersion;
+    }
+
+    /**
+     * @param snapshot Premier échantillon du segment
+     * @return Disposition couvrant les métriques dynamiques de l'échantillon
+     */
+    static RecordLayout of(SystemSnapshot snapshot) {
+        List<Metric> columns = new ArrayList<>();
+        List<Byte> kinds = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        Map<String, Object> dynamicData = snapshot.getDynamicData();
+        for (int id = 0; id < MetricRegistry.size(); id++) {
+            Metric metric = MetricRegistry.get(id);
+            if (!snapshot.hasDynamic(metric)) {
+                continue;
+            }
+            Object value = snapshot.getObject(metric);
+            byte kind;
+            int length = 0;
+            if (value == null) {
+                kind = dynamicData.get(metric.getKey()) instanceof Long ? LONG : DOUBLE;
+            } else if (value instanceof double[]) {
+                kind = DOUBLE_ARRAY;
+                length = ((double[]) value).length;
+            } else if (value instanceof int[]) {
+                kind = INT_ARRAY;
+                length = ((int[]) value).length;
+            } else {
+                kind = value instanceof Boolean ? BOOLEAN : TEXT;
+            }
+            columns.add(metric);
+            kinds.add(kind);
+            lengths.add(length);
+        }
+        return new RecordLayout(columns, kinds, lengths, new LinkedHashMap<>(snapshot.getStaticData()),
+                snapshot.getStaticVersion());
+    }
+
+    /**
+     * @return true si l'échantillon peut être écrit sans perte dans un segment
+     *         de cette disposition
+     */
+    boolean accepts(SystemSnapshot snapshot) {
+        if (snapshot.getStaticVersion() != staticVersion) {
+            return false;
+        }
+        for (int id = 0; id < MetricRegistry.size(); id++) {
+            Metric metric = MetricRegistry.get(id);
+            if (!snapshot.hasDynamic(metric)) {
+                continue;
+            }
+            Object value = snapshot.getObject(metric);
+            int column = id < columnOf.length ? columnOf[id] : -1;
+            if (value == null) {
+                if (column < 0 || (kinds[column] != DOUBLE && kinds[column] != LONG)) {
+                    return false;
+                }
+            } else if (value instanceof double[]) {
+                if (column < 0 || kinds[column] != DOUBLE_ARRAY || lengths[column] != ((double[]) value).length) {
+                    return false;
+                }
+            } else if (value instanceof int[]) {
+                if (column < 0 || kinds[column] != INT_ARRAY || lengths[column] != ((int[]) value).length) {
+                    return false;
+                }
+            } else if (column < 0 || kinds[column] != (value instanceof Boolean ? BOOLEAN : TEXT)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int getRecordSize() {
+        return recordSize;
+    }
+
+    Map<String, Object> getStaticData() {
+        return staticData;
+    }
+
+    /**
+     * Écrit un échantillon à la position donnée
+     *
+     * @param strings Table des chaînes du segment, complétée par les textes
+     *                de l'échantillon
+     */
+    void encode(SystemSnapshot snapshot, long timestampMillis, ByteBuffer buffer, int position,
+            StringTable strings) {
+        for (int word = 0; word < presenceWords; word++) {
+            long presence = 0;
+            int end = Math.min(columns.length, (word + 1) * Long.SIZE);
+            for (int column = word * Long.SIZE; column < end; column++) {
+                Metric metric = columns[column];
+                if (!snapshot.hasDynamic(metric)) {
+                    continue;
+                }
+                presence |= 1L << column;
+                int offset = position + offsets[column];
+                switch (kinds[column]) {
+                    case DOUBLE -> buffer.putDouble(offset, snapshot.getDouble(metric, Double.NaN));
+                    case LONG -> buffer.putLong(offset, snapshot.getLong(metric, 0L));
+                    case BOOLEAN -> buffer.putLong(offset, Boolean.TRUE.equals(snapshot.getObject(metric)) ? 1L : 0L);
+                    case TEXT -> buffer.putLong(offset, strings.indexOf(String.valueOf(snapshot.getObject(metric))));
+                    case DOUBLE_ARRAY -> {
+                        for (int i = 0; i < lengths[column]; i++) {
+                            buffer.putDouble(offset + i * Double.BYTES, snapshot.getElement(metric, i, Double.NaN));
+                        }
+                    }
+                    default -> {
+                        for (int i = 0; i < lengths[column]; i++) {
+                            buffer.putInt(offset + i * Integer.BYTES, (int) snapshot.getElement(metric, i, 0));
+                        }
+                    }
+                }
+            }
+            buffer.putLong(position + PRESENCE_OFFSET + word * Long.BYTES, presence);
+        }
+        buffer.putLong(position + TIMESTAMP_OFFSET, timestampMillis);
+    }
+
+    /**
+     * Relit les valeurs dynamiques d'un enregistrement
+     *
+     * @param strings Table des chaînes du segment ; un texte dont l'indice
+     *                n'y figure pas (segment interrompu avant sa fermeture)
+     *                est ignoré
+     */
+    void decode(ByteBuffer buffer, int position, MetricStore target, StringTable strings) {
+        for (int column = 0; column < columns.length; column++) {
+            if (!isPresent(buffer, position, column)) {
+                continue;
+            }
+            int offset = position + offsets[column];
+            switch (kinds[column]) {
+                case DOUBLE -> target.putDouble(columns[column], buffer.getDouble(offset));
+                case LONG -> target.putLong(columns[column], buffer.getLong(offset));
+                case BOOLEAN -> target.putObject(columns[column], buffer.getLong(offset) != 0);
+                case TEXT -> {
+                    String value = strings.get(buffer.getLong(offset));
+                    if (value != null) {
+                        target.putObject(columns[column], value);
+                    }
+                }
+                case DOUBLE_ARRAY -> {
+                    double[] values = new double[lengths[column]];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = buffer.getDouble(offset + i * Double.BYTES);
+                    }
+                    target.putObject(columns[column], values);
+                }
+                default -> {
+                    int[] values = new int[lengths[column]];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = buffer.getInt(offset + i * Integer.BYTES);
+                    }
+                    target.putObject(columns[column], values);
+                }
+            }
+        }
+    }
+
+    private static boolean isPresent(ByteBuffer buffer, int position, int column) {
+        long presence = buffer.getLong(position + PRESENCE_OFFSET + (column / Long.SIZE) * Long.BYTES);
+        return (presence & (1L << column)) != 0;
+    }
+
+    /**
+     * @return Colonne de la métrique si elle est enregistrée comme valeur
+     *         numérique, -1 sinon
+     */
+    int scalarColumn(Metric metric) {
+        int id = metric.getId();
+        int column = id < columnOf.length ? columnOf[id] : -1;
+        return column >= 0 && (kinds[column] == DOUBLE || kinds[column] == LONG) ? column : -1;
+    }
+
+    /**
+     * Lit une colonne numérique sans décoder le reste de l'enregistrement
+     *
+     * @return Valeur, NaN si elle est absente de l'enregistrement
+     */
+    double scalarAt(ByteBuffer buffer, int position, int column) {
+        if (!isPresent(buffer, position, column)) {
+            return Double.NaN;
+        }
+        int offset = position + offsets[column];
+        return kinds[column] == LONG ? buffer.getLong(offset) : buffer.getDouble(offset);
+    }
+
+    /**
+     * @return Métriques enregistrées comme valeurs numériques
+     */
+    List<Metric> getScalarMetrics() {
+        List<Metric> metrics = new ArrayList<>();
+        for (int column = 0; column < columns.length; column++) {
+            if (kinds[column] == DOUBLE || kinds[column] == LONG) {
+                metrics.add(columns[column]);
+            }
+        }
+        return metrics;
+    }
+
+    static long timestampAt(ByteBuffer buffer, int position) {
+        return buffer.getLong(position + TIMESTAMP_OFFSET);
+    }
+
+    /**
+     * Sérialise la disposition pour l'en-tête du segment
+     */
+    byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(headerSize());
+        buffer.putInt(columns.length);
+        for (int column = 0; column < columns.length; column++) {
+            putString(buffer, columns[column].getKey());
+            buffer.put(kinds[column]);
+            buffer.putInt(lengths[column]);
+        }
+        buffer.putInt(staticData.size());
+        for (Map.Entry<String, Object> entry : staticData.entrySet()) {
+            putString(buffer, entry.getKey());
+            putValue(buffer, entry.getValue());
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Relit une disposition sérialisée par {@link #toBytes()}
+     */
+    static RecordLayout read(ByteBuffer buffer) throws IOException {
+        try {
+            int count = buffer.getInt();
+            List<Metric> columns = new ArrayList<>(count);
+            List<Byte> kinds = new ArrayList<>(count);
+            List<Integer> lengths = new ArrayList<>(count);
+            for (int column = 0; column < count; column++) {
+                String key = getString(buffer);
+                byte kind = buffer.get();
+                int length = buffer.getInt();
+                columns.add(MetricRegistry.register(key, typeOf(kind)));
+                kinds.add(kind);
+                lengths.add(length);
+            }
+            Map<String, Object> staticData = new LinkedHashMap<>();
+            int staticCount = buffer.getInt();
+            for (int i = 0; i < staticCount; i++) {
+                String key = getString(buffer);
+                staticData.put(key, getValue(buffer));
+            }
+            return new RecordLayout(columns, kinds, lengths, staticData, 0);
+        } catch (RuntimeException e) {
+            throw new IOException("En-tête d'enregistrement illisible: " + e.getMessage(), e);
+        }
+    }
+
+    private int headerSize() {
+        int size = Integer.BYTES * 2;
+        for (Metric column : columns) {
+            size += stringSize(column.getKey()) + 1 + Integer.BYTES;
+        }
+        for (Map.Entry<String, Object> entry : staticData.entrySet()) {
+            size += stringSize(entry.getKey()) + valueSize(entry.getValue());
+        }
+        return size;
+    }
+
+    private static int width(byte kind, int length) {
+        return switch (kind) {
+            case DOUBLE_ARRAY -> length * Double.BYTES;
+            case INT_ARRAY -> length * Integer.BYTES;
+            default -> Long.BYTES;
+        };
+    }
+
+    private static MetricType typeOf(byte kind) throws IOException {
+        return switch (kind) {
+            case DOUBLE -> MetricType.DOUBLE;
+            case LONG -> MetricType.LONG;
+            case DOUBLE_ARRAY -> MetricType.DOUBLE_ARRAY;
+            case INT_ARRAY -> MetricType.INT_ARRAY;
+            case TEXT -> MetricType.TEXT;
+            case BOOLEAN -> MetricType.OBJECT;
+            default -> throw new IOException("Type de colonne inconnu: " + (char) kind);
+        };
+    }
+
+    private static void putValue(ByteBuffer buffer, Object value) {
+        if (value instanceof Boolean) {
+            buffer.put(BOOLEAN);
+        } else if (value instanceof Double || value instanceof Float) {
+            buffer.put(DOUBLE);
+        } else if (value instanceof Number) {
+            buffer.put(LONG);
+        } else {
+            buffer.put(TEXT);
+        }
+        putString(buffer, String.valueOf(value));
+    }
+
+    private static Object getValue(ByteBuffer buffer) throws IOException {
+        byte kind = buffer.get();
+        String value = getString(buffer);
+        return switch (kind) {
+            case BOOLEAN -> Boolean.valueOf(value);
+            case DOUBLE -> Double.valueOf(value);
+            case LONG -> Long.valueOf(value);
+            case TEXT -> value;
+            default -> throw new IOException("Type de valeur inconnu: " + (char) kind);
+        };
+    }
+
+    private static int valueSize(Object value) {
+        return 1 + stringSize(String.valueOf(value));
+    }
+
+    static int stringSize(String value) {
+        return Integer.BYTES + value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
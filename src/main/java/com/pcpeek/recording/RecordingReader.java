@@ -0,0 +1,239 @@
+package com.pcpeek.recording;
+
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Lecture d'un enregistrement de session.
+ * <p>
+ * Les segments sont projetés en mémoire en lecture seule et vus comme une
+ * seule suite d'échantillons, adressés par leur position. La recherche par
+ * horodatage est dichotomique sur les segments puis sur l'index clairsemé
+ * du segment trouvé.
+ */
+public class RecordingReader implements AutoCloseable {
+    // Un écart de plus de GAP_INTERVALS intervalles entre deux échantillons
+    // est une interruption de l'enregistrement
+    static final long GAP_INTERVALS = 10;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.pcpeek");
+
+    private final Path directory;
+    private final Segment[] segments;
+    // Position du premier échantillon de chaque segment
+    private final long[] firstPositions;
+    private final long size;
+
+    private RecordingReader(Path directory, List<Segment> segments) {
+        this.directory = directory;
+        this.segments = segments.toArray(new Segment[0]);
+        this.firstPositions = new long[this.segments.length];
+        long position = 0;
+        for (int i = 0; i < this.segments.length; i++) {
+            firstPositions[i] = position;
+            position += this.segments[i].size();
+        }
+        this.size = position;
+    }
+
+    /**
+     * Ouvre les segments d'un répertoire d'enregistrement
+     */
+    public static RecordingReader open(Path directory) throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        try {
+            for (Path path : listSegments(directory)) {
+                Segment segment = Segment.open(path);
+                if (segment.size() == 0) {
+                    segment.close();
+                } else {
+                    segments.add(segment);
+                }
+            }
+        } catch (IOException e) {
+            for (Segment segment : segments) {
+                segment.close();
+            }
+            throw e;
+        }
+        if (segments.isEmpty()) {
+            throw new IOException("Aucun échantillon enregistré dans " + directory);
+        }
+        return new RecordingReader(directory, segments);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return Nombre d'échantillons enregistrés
+     */
+    public long size() {
+        return size;
+    }
+
+    public long getStartMillis() {
+        return segments[0].timestampAt(0);
+    }
+
+    public long getEndMillis() {
+        Segment last = segments[segments.length - 1];
+        return last.timestampAt(last.size() - 1);
+    }
+
+    /**
+     * @return Intervalle d'échantillonnage de la session enregistrée
+     */
+    public long getIntervalMs() {
+        return segments[0].getIntervalMs();
+    }
+
+    public long getTimestamp(long position) {
+        int segment = segmentOf(position);
+        return segments[segment].timestampAt(offsetIn(segment, position));
+    }
+
+    /**
+     * @return Position du dernier échantillon horodaté au plus tard à
+     *         timestampMillis, ou 0 si l'horodatage précède l'enregistrement
+     */
+    public long seek(long timestampMillis) {
+        int low = 0;
+        int high = segments.length - 1;
+        int found = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (segments[mid].timestampAt(0) <= timestampMillis) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int offset = segments[found].floor(timestampMillis);
+        return firstPositions[found] + Math.max(offset, 0);
+    }
+
+    /**
+     * @return Valeur numérique d'une métrique, NaN si elle est absente de
+     *         l'échantillon
+     */
+    public double getScalar(long position, Metric metric) {
+        int segment = segmentOf(position);
+        int column = segments[segment].getLayout().scalarColumn(metric);
+        return column < 0 ? Double.NaN : segments[segment].scalarAt(offsetIn(segment, position), column);
+    }
+
+    /**
+     * @return Métriques numériques présentes dans l'enregistrement
+     */
+    public List<Metric> getScalarMetrics() {
+        LinkedHashSet<Metric> metrics = new LinkedHashSet<>();
+        for (Segment segment : segments) {
+            metrics.addAll(segment.getLayout().getScalarMetrics());
+        }
+        List<Metric> sorted = new ArrayList<>(metrics);
+        sorted.sort(Comparator.comparingInt(Metric::getId));
+        return sorted;
+    }
+
+    /**
+     * @return true si deux échantillons consécutifs sont séparés par une
+     *         interruption de l'enregistrement
+     */
+    boolean isGap(long fromMillis, long toMillis) {
+        return toMillis - fromMillis > GAP_INTERVALS * getIntervalMs();
+    }
+
+    /**
+     * Lit les valeurs dynamiques d'un échantillon
+     */
+    public void read(long position, MetricStore target) {
+        int segment = segmentOf(position);
+        segments[segment].read(offsetIn(segment, position), target);
+    }
+
+    /**
+     * @return Informations statiques en vigueur à la position donnée. La même
+     *         instance est retournée pour toutes les positions d'un segment.
+     */
+    public Map<String, Object> getStaticData(long position) {
+        return segments[segmentOf(position)].getLayout().getStaticData();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Segment segment : segments) {
+            segment.close();
+        }
+    }
+
+    int getSegmentCount() {
+        return segments.length;
+    }
+
+    Segment getSegment(int index) {
+        return segments[index];
+    }
+
+    long getFirstPosition(int segment) {
+        return firstPositions[segment];
+    }
+
+    int segmentOf(long position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position hors de l'enregistrement: " + position);
+        }
+        int low = 0;
+        int high = segments.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (firstPositions[mid] <= position) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private int offsetIn(int segment, long position) {
+        return (int) (position - firstPositions[segment]);
+    }
+
+    static String segmentName(int number) {
+        return String.format("segment-%06d.pcpeek", number);
+    }
+
+    static int segmentNumber(Path path) {
+        Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    /**
+     * @return Segments du répertoire, dans l'ordre d'écriture
+     */
+    static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> segmentNumber(path) >= 0).forEach(segments::add);
+        }
+        segments.sort((a, b) -> Integer.compare(segmentNumber(a), segmentNumber(b)));
+        return segments;
+    }
+}
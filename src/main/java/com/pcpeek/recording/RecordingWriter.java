@@ -0,0 +1,112 @@
+package com.pcpeek.recording;
+
+import com.pcpeek.SystemSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Enregistrement d'une session dans un répertoire de segments.
+ * <p>
+ * Les échantillons sont ajoutés au segment courant, projeté en mémoire ; un
+ * nouveau segment est ouvert quand le courant est plein ou quand
+ * l'échantillon ne correspond plus à sa disposition. Les horodatages
+ * enregistrés ne reculent jamais, pour que la recherche par horodatage
+ * reste valide même si l'horloge système est ajustée pendant la session.
+ */
+public class RecordingWriter implements AutoCloseable {
+    public static final int DEFAULT_SEGMENT_BYTES = 8 * 1024 * 1024;
+
+    private final Path directory;
+    private final long intervalMs;
+    private final int segmentBytes;
+    private int nextSegment;
+    private Segment current;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private long recorded;
+    private boolean closed;
+
+    public RecordingWriter(Path directory, long intervalMs) throws IOException {
+        this(directory, intervalMs, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * @param directory    Répertoire de l'enregistrement, créé si besoin. Les
+     *                     segments existants sont conservés : la session est
+     *                     ajoutée à leur suite.
+     * @param intervalMs   Intervalle d'échantillonnage, utilisé pour la
+     *                     relecture
+     * @param segmentBytes Taille d'un fichier segment
+     */
+    public RecordingWriter(Path directory, long intervalMs, int segmentBytes) throws IOException {
+        this.directory = directory;
+        this.intervalMs = intervalMs;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        List<Path> existing = RecordingReader.listSegments(directory);
+        this.nextSegment = existing.isEmpty() ? 0 : RecordingReader.segmentNumber(existing.get(existing.size() - 1)) + 1;
+    }
+
+    /**
+     * Ajoute un échantillon à l'enregistrement, horodaté à sa dernière mise à
+     * jour
+     */
+    public void append(SystemSnapshot snapshot) throws IOException {
+        append(snapshot, snapshot.getLastUpdateMillis());
+    }
+
+    /**
+     * Ajoute un échantillon à l'enregistrement
+     *
+     * @param timestampMillis Horodatage enregistré, ramené au précédent s'il
+     *                        est antérieur
+     */
+    public synchronized void append(SystemSnapshot snapshot, long timestampMillis) throws IOException {
+        if (closed) {
+            throw new IOException("Enregistrement fermé: " + directory);
+        }
+        if (current == null || current.isFull() || !current.getLayout().accepts(snapshot)) {
+            roll(snapshot);
+        }
+        long timestamp = Math.max(timestampMillis, lastTimestamp);
+        current.append(snapshot, timestamp);
+        lastTimestamp = timestamp;
+        recorded++;
+    }
+
+    /**
+     * @return Nombre d'échantillons enregistrés depuis l'ouverture
+     */
+    public synchronized long getRecordedCount() {
+        return recorded;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        closeCurrent();
+    }
+
+    private void roll(SystemSnapshot snapshot) throws IOException {
+        closeCurrent();
+        Path path = directory.resolve(RecordingReader.segmentName(nextSegment++));
+        current = Segment.create(path, RecordLayout.of(snapshot), intervalMs, segmentBytes);
+    }
+
+    private void closeCurrent() throws IOException {
+        if (current != null) {
+            Segment segment = current;
+            current = null;
+            segment.close();
+        }
+    }
+}
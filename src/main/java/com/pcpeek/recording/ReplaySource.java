@@ -0,0 +1,131 @@
+package com.pcpeek.recording;
+
+import com.pcpeek.metrics.MetricStore;
+import com.pcpeek.sampling.SnapshotSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Relecture d'une session enregistrée à la place des moniteurs.
+ * <p>
+ * La relecture suit une horloge virtuelle qui avance au rythme de l'horloge
+ * réelle multiplié par la vitesse demandée ; chaque collecte du service
+ * d'échantillonnage publie le dernier échantillon enregistré avant cette
+ * horloge. Les interruptions de l'enregistrement (plusieurs sessions dans le
+ * même répertoire, machine en veille) sont sautées. Une fois la fin atteinte,
+ * le dernier échantillon reste affiché.
+ * <p>
+ * Activée par la propriété {@code pcpeek.replay.dir} (option
+ * {@code --replay=répertoire}), avec {@code pcpeek.replay.speed} pour
+ * accélérer la relecture.
+ */
+@Component
+@ConditionalOnProperty(name = "pcpeek.replay.dir")
+public class ReplaySource implements SnapshotSource, AutoCloseable {
+    private final RecordingReader reader;
+    private final double speed;
+    private long virtualMillis;
+    private long lastRealNanos;
+    private long position = -1;
+    private boolean ended;
+
+    @Autowired
+    public ReplaySource(@Value("${pcpeek.replay.dir}") String directory,
+            @Value("${pcpeek.replay.speed:1}") double speed) throws IOException {
+        this(RecordingReader.open(Path.of(directory)), speed);
+    }
+
+    /**
+     * @param reader Enregistrement à rejouer
+     * @param speed  Vitesse de relecture, 1 pour le temps réel
+     */
+    public ReplaySource(RecordingReader reader, double speed) {
+        if (!(speed > 0) || Double.isInfinite(speed)) {
+            throw new IllegalArgumentException("Vitesse de relecture invalide: " + speed);
+        }
+        this.reader = reader;
+        this.speed = speed;
+        this.virtualMillis = reader.getStartMillis();
+    }
+
+    /**
+     * L'intervalle est celui de l'enregistrement, divisé par la vitesse
+     */
+    @Override
+    public long getIntervalMs() {
+        return Math.max(1, Math.round(reader.getIntervalMs() / speed));
+    }
+
+    @Override
+    public synchronized Map<String, Object> getStaticData() {
+        return reader.getStaticData(Math.max(position, 0));
+    }
+
+    @Override
+    public synchronized boolean next(MetricStore target) {
+        long now = System.nanoTime();
+        if (position >= 0) {
+            virtualMillis += Math.round((now - lastRealNanos) / 1_000_000.0 * speed);
+        }
+        lastRealNanos = now;
+
+        long nextPosition = reader.seek(virtualMillis);
+        if (nextPosition == position) {
+            nextPosition = skipGap();
+        }
+        if (nextPosition == position) {
+            if (!ended && position == reader.size() - 1) {
+                ended = true;
+                System.err.println("Fin de la relecture de " + reader.getDirectory());
+            }
+            return false;
+        }
+        position = nextPosition;
+        reader.read(position, target);
+        return true;
+    }
+
+    /**
+     * @return Position courante, -1 avant le premier échantillon
+     */
+    public synchronized long getPosition() {
+        return position;
+    }
+
+    public RecordingReader getReader() {
+        return reader;
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la fermeture de l'enregistrement: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Avance l'horloge virtuelle jusqu'à l'échantillon suivant s'il est séparé
+     * du courant par une interruption
+     */
+    private long skipGap() {
+        if (position < 0 || position + 1 >= reader.size()) {
+            return position;
+        }
+        long next = reader.getTimestamp(position + 1);
+        if (reader.isGap(reader.getTimestamp(position), next)) {
+            virtualMillis = next;
+            return position + 1;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,351 @@
+package com.pcpeek.recording;
+
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.MetricStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fichier segment d'un enregistrement, projeté en mémoire.
+ * <p>
+ * Structure : en-tête fixe, disposition des enregistrements, index
+ * clairsemé (un horodatage tous les {@link #INDEX_STRIDE} enregistrements),
+ * enregistrements de taille fixe puis, une fois le segment fermé, sa
+ * {@link StringTable}. Tant que le segment est ouvert en écriture, chaque
+ * nouvelle chaîne est aussi ajoutée à un journal voisin
+ * ({@code segment-NNNNNN.strings}) avant que l'enregistrement qui la
+ * référence ne devienne visible : un segment interrompu reste entièrement
+ * lisible. Le journal est supprimé à la fermeture. Les enregistrements sont projetés par blocs de
+ * {@link #CHUNK_BYTES} au fil de l'écriture : un ajout est une simple
+ * écriture en mémoire, suivie de la mise à jour du nombre d'enregistrements
+ * dans l'en-tête. Un lecteur ne voit donc jamais d'enregistrement partiel.
+ * À la fermeture, le fichier est ramené à sa taille utile.
+ */
+final class Segment implements AutoCloseable {
+    static final long MAGIC = 0x50435045454B5231L; // "PCPEEKR1"
+    static final int FORMAT_VERSION = 2;
+    static final int INDEX_STRIDE = 64;
+    static final int CHUNK_BYTES = 256 * 1024;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 8;
+    private static final int RECORD_SIZE_OFFSET = 12;
+    private static final int CAPACITY_OFFSET = 16;
+    private static final int COUNT_OFFSET = 20;
+    private static final int INDEX_OFFSET = 24;
+    private static final int DATA_OFFSET = 28;
+    private static final int INTERVAL_OFFSET = 32;
+    private static final int STRINGS_OFFSET = 40;
+    private static final int HEADER_SIZE = 48;
+
+    private final Path path;
+    private final FileChannel channel;
+    // Journal des chaînes, null pour un segment ouvert en lecture
+    private final FileChannel journal;
+    // En-tête et index ; tout le fichier pour un segment ouvert en lecture
+    private final MappedByteBuffer header;
+    // Blocs d'enregistrements, chunkRecords enregistrements chacun
+    private final MappedByteBuffer[] chunks;
+    private final int chunkRecords;
+    private final boolean writable;
+    private final RecordLayout layout;
+    private final StringTable strings;
+    private final int recordSize;
+    private final int capacity;
+    private final int indexOffset;
+    private final int dataOffset;
+    private final long intervalMs;
+    private int count;
+
+    private Segment(Path path, FileChannel channel, FileChannel journal, MappedByteBuffer header, MappedByteBuffer[] chunks, int chunkRecords,
+            boolean writable, RecordLayout layout, StringTable strings, int capacity, int indexOffset,
+            int dataOffset, long intervalMs, int count) {
+        this.path = path;
+        this.channel = channel;
+        this.journal = journal;
+        this.header = header;
+        this.chunks = chunks;
+        this.chunkRecords = chunkRecords;
+        this.writable = writable;
+        this.layout = layout;
+        this.strings = strings;
+        this.recordSize = layout.getRecordSize();
+        this.capacity = capacity;
+        this.indexOffset = indexOffset;
+        this.dataOffset = dataOffset;
+        this.intervalMs = intervalMs;
+        this.count = count;
+    }
+
+    /**
+     * Crée un segment vide pour la disposition donnée
+     *
+     * @param maxBytes Taille maximale des enregistrements et de l'index ; au
+     *                 moins un enregistrement est toujours prévu
+     */
+    static Segment create(Path path, RecordLayout layout, long intervalMs, int maxBytes) throws IOException {
+        byte[] layoutBytes = layout.toBytes();
+        int recordSize = layout.getRecordSize();
+        int indexOffset = align(HEADER_SIZE + layoutBytes.length);
+        // Chaque enregistrement coûte sa taille plus sa part de l'index
+        int available = maxBytes - indexOffset;
+        int capacity = Math.max(1, (int) ((long) available * INDEX_STRIDE / ((long) recordSize * INDEX_STRIDE + Long.BYTES)));
+        int dataOffset = align(indexOffset + indexEntries(capacity) * Long.BYTES);
+        int chunkRecords = Math.max(1, CHUNK_BYTES / recordSize);
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        FileChannel journal = null;
+        try {
+            journal = FileChannel.open(journalPath(path), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, dataOffset);
+            header.putLong(MAGIC_OFFSET, MAGIC);
+            header.putInt(VERSION_OFFSET, FORMAT_VERSION);
+            header.putInt(RECORD_SIZE_OFFSET, recordSize);
+            header.putInt(CAPACITY_OFFSET, capacity);
+            header.putInt(COUNT_OFFSET, 0);
+            header.putInt(INDEX_OFFSET, indexOffset);
+            header.putInt(DATA_OFFSET, dataOffset);
+            header.putLong(INTERVAL_OFFSET, intervalMs);
+            header.putLong(STRINGS_OFFSET, 0L);
+            header.put(HEADER_SIZE, layoutBytes);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(capacity + chunkRecords - 1) / chunkRecords];
+            return new Segment(path, channel, journal, header, chunks, chunkRecords, true, layout,
+                    new StringTable(), capacity, indexOffset, dataOffset, intervalMs, 0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            if (journal != null) {
+                journal.close();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Ouvre un segment existant en lecture seule
+     */
+    static Segment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Fichier d'enregistrement invalide: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            if (buffer.getLong(MAGIC_OFFSET) != MAGIC) {
+                throw new IOException("Fichier d'enregistrement invalide: " + path);
+            }
+            if (buffer.getInt(VERSION_OFFSET) != FORMAT_VERSION) {
+                throw new IOException("Version d'enregistrement non supportée: " + buffer.getInt(VERSION_OFFSET));
+            }
+            int indexOffset = buffer.getInt(INDEX_OFFSET);
+            RecordLayout layout = RecordLayout.read(buffer.duplicate().position(HEADER_SIZE).limit(indexOffset));
+            int recordSize = layout.getRecordSize();
+            if (recordSize != buffer.getInt(RECORD_SIZE_OFFSET)) {
+                throw new IOException("Fichier d'enregistrement invalide: " + path);
+            }
+            int capacity = buffer.getInt(CAPACITY_OFFSET);
+            int dataOffset = buffer.getInt(DATA_OFFSET);
+            // Un segment interrompu avant sa fermeture n'a pas de table des
+            // chaînes : elles sont relues dans son journal
+            long stringsOffset = buffer.getLong(STRINGS_OFFSET);
+            long dataEnd = stringsOffset > 0 ? stringsOffset : fileSize;
+            int count = (int) Math.min(Math.min(buffer.getInt(COUNT_OFFSET), capacity),
+                    Math.max(0, dataEnd - dataOffset) / recordSize);
+            StringTable strings = stringsOffset > 0
+                    ? StringTable.read(buffer.duplicate().position((int) stringsOffset))
+                    : readJournal(journalPath(path));
+            MappedByteBuffer records = buffer.slice(dataOffset, count * recordSize);
+            return new Segment(path, channel, null, buffer, new MappedByteBuffer[] { records }, Math.max(1, count), false,
+                    layout, strings, capacity, indexOffset, dataOffset, buffer.getLong(INTERVAL_OFFSET), count);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e instanceof IOException ? (IOException) e
+                    : new IOException("Fichier d'enregistrement invalide: " + path, e);
+        }
+    }
+
+    RecordLayout getLayout() {
+        return layout;
+    }
+
+    long getIntervalMs() {
+        return intervalMs;
+    }
+
+    int size() {
+        return count;
+    }
+
+    boolean isFull() {
+        return count >= capacity;
+    }
+
+    /**
+     * Ajoute un échantillon en fin de segment
+     */
+    void append(SystemSnapshot snapshot, long timestampMillis) throws IOException {
+        if (!writable) {
+            throw new IllegalStateException("Segment ouvert en lecture seule: " + path);
+        }
+        if (isFull()) {
+            throw new IllegalStateException("Segment plein: " + path);
+        }
+        int chunk = count / chunkRecords;
+        if (chunks[chunk] == null) {
+            // Projection du bloc suivant : le fichier grandit au fil de l'écriture
+            long start = dataOffset + (long) chunk * chunkRecords * recordSize;
+            int records = Math.min(chunkRecords, capacity - chunk * chunkRecords);
+            chunks[chunk] = channel.map(FileChannel.MapMode.READ_WRITE, start, (long) records * recordSize);
+        }
+        int knownStrings = strings.size();
+        layout.encode(snapshot, timestampMillis, chunks[chunk], (count % chunkRecords) * recordSize, strings);
+        if (strings.size() > knownStrings) {
+            appendToJournal(knownStrings);
+        }
+        if (count % INDEX_STRIDE == 0) {
+            header.putLong(indexOffset + (count / INDEX_STRIDE) * Long.BYTES, timestampMillis);
+        }
+        count++;
+        // Publié en dernier : l'enregistrement est complet quand il devient visible
+        header.putInt(COUNT_OFFSET, count);
+    }
+
+    private void appendToJournal(int from) throws IOException {
+        int size = 0;
+        for (int i = from; i < strings.size(); i++) {
+            size += RecordLayout.stringSize(strings.get(i));
+        }
+        ByteBuffer entries = ByteBuffer.allocate(size);
+        for (int i = from; i < strings.size(); i++) {
+            RecordLayout.putString(entries, strings.get(i));
+        }
+        entries.flip();
+        while (entries.hasRemaining()) {
+            journal.write(entries);
+        }
+    }
+
+    long timestampAt(int position) {
+        return RecordLayout.timestampAt(chunkOf(position), offsetOf(position));
+    }
+
+    /**
+     * Recherche dichotomique dans l'index clairsemé puis parcours d'au plus
+     * {@link #INDEX_STRIDE} enregistrements
+     *
+     * @return Position du dernier enregistrement horodaté au plus tard à
+     *         timestampMillis, -1 s'il n'y en a pas
+     */
+    int floor(long timestampMillis) {
+        int entries = indexEntries(count);
+        int low = 0;
+        int high = entries - 1;
+        int block = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (header.getLong(indexOffset + mid * Long.BYTES) <= timestampMillis) {
+                block = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (block < 0) {
+            return -1;
+        }
+        int position = block * INDEX_STRIDE;
+        int end = Math.min(count, position + INDEX_STRIDE);
+        while (position + 1 < end && timestampAt(position + 1) <= timestampMillis) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * @return Valeur numérique de la colonne, NaN si elle est absente
+     * @see RecordLayout#scalarColumn(com.pcpeek.metrics.Metric)
+     */
+    double scalarAt(int position, int column) {
+        return layout.scalarAt(chunkOf(position), offsetOf(position), column);
+    }
+
+    void read(int position, MetricStore target) {
+        layout.decode(chunkOf(position), offsetOf(position), target, strings);
+    }
+
+    private MappedByteBuffer chunkOf(int position) {
+        return chunks[position / chunkRecords];
+    }
+
+    private int offsetOf(int position) {
+        return (position % chunkRecords) * recordSize;
+    }
+
+    /**
+     * Écrit la table des chaînes après le dernier enregistrement puis ramène
+     * le fichier à sa taille utile ; le journal des chaînes devient inutile.
+     * Un segment ouvert en lecture est simplement fermé.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (writable) {
+                long end = dataOffset + (long) count * recordSize;
+                byte[] table = strings.toBytes();
+                ByteBuffer source = ByteBuffer.wrap(table);
+                while (source.hasRemaining()) {
+                    channel.write(source, end + source.position());
+                }
+                for (MappedByteBuffer chunk : chunks) {
+                    if (chunk != null) {
+                        chunk.force();
+                    }
+                }
+                header.putLong(STRINGS_OFFSET, end);
+                header.force();
+                try {
+                    channel.truncate(end + table.length);
+                } catch (IOException e) {
+                    // Sous Windows, un fichier encore projeté ne peut pas être
+                    // raccourci : il garde la taille de son dernier bloc
+                }
+                journal.close();
+                Files.deleteIfExists(journalPath(path));
+            }
+        } finally {
+            channel.close();
+            if (journal != null) {
+                journal.close();
+            }
+        }
+    }
+
+    static Path journalPath(Path segment) {
+        String name = segment.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        return segment.resolveSibling((extension > 0 ? name.substring(0, extension) : name) + ".strings");
+    }
+
+    private static StringTable readJournal(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return new StringTable();
+        }
+        return StringTable.readJournal(ByteBuffer.wrap(Files.readAllBytes(path)));
+    }
+
+    private static int indexEntries(int records) {
+        return (records + INDEX_STRIDE - 1) / INDEX_STRIDE;
+    }
+
+    private static int align(int offset) {
+        return (offset + Long.BYTES - 1) & -Long.BYTES;
+    }
+}
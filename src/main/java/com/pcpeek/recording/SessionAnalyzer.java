@@ -0,0 +1,272 @@
+package com.pcpeek.recording;
+
+import com.pcpeek.metrics.Metric;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Analyse hors ligne d'une session enregistrée.
+ * <p>
+ * La période demandée est découpée en morceaux d'au plus
+ * {@link #CHUNK_RECORDS} échantillons, chacun contenu dans un segment, et
+ * les morceaux sont agrégés en parallèle par un {@link ForkJoinPool}. Les
+ * agrégats partiels sont fusionnés dans l'ordre chronologique, ce qui permet
+ * de suivre les dépassements de seuil d'un morceau à l'autre. Un second
+ * parcours, borné par les extremums du premier, remplit les histogrammes
+ * des centiles. Les valeurs numériques sont lues directement dans les
+ * fichiers projetés, sans décoder les autres colonnes.
+ */
+public class SessionAnalyzer {
+    static final int CHUNK_RECORDS = 8192;
+    public static final int HISTOGRAM_BINS = 4096;
+
+    private final RecordingReader reader;
+    private final ForkJoinPool pool;
+
+    public SessionAnalyzer(RecordingReader reader) {
+        this(reader, ForkJoinPool.commonPool());
+    }
+
+    public SessionAnalyzer(RecordingReader reader, ForkJoinPool pool) {
+        this.reader = reader;
+        this.pool = pool;
+    }
+
+    /**
+     * @param fromMillis Début de la période (inclus)
+     * @param toMillis   Fin de la période (incluse)
+     * @param metrics    Métriques analysées, toutes les métriques numériques
+     *                   enregistrées si null ou vide
+     * @param thresholds Seuils de dépassement par métrique
+     * @param maxPeaks   Nombre de pics retenus par métrique
+     * @return Statistiques de chaque métrique, dans l'ordre demandé
+     */
+    public List<MetricSummary> analyze(long fromMillis, long toMillis, List<Metric> metrics,
+            Map<Metric, Double> thresholds, int maxPeaks) {
+        Metric[] analyzed = (metrics == null || metrics.isEmpty() ? reader.getScalarMetrics() : metrics)
+                .toArray(new Metric[0]);
+        double[] limits = new double[analyzed.length];
+        for (int i = 0; i < analyzed.length; i++) {
+            Double threshold = thresholds != null ? thresholds.get(analyzed[i]) : null;
+            limits[i] = threshold != null ? threshold : Double.NaN;
+        }
+
+        long first = reader.seek(fromMillis);
+        if (reader.getTimestamp(first) < fromMillis) {
+            first++;
+        }
+        long last = reader.seek(toMillis);
+        if (reader.getTimestamp(last) > toMillis) {
+            last = -1;
+        }
+        List<Chunk> chunks = chunks(first, last);
+
+        MetricAggregate[] aggregates;
+        long[][] histograms = new long[analyzed.length][];
+        if (chunks.isEmpty()) {
+            aggregates = new MetricAggregate[analyzed.length];
+            for (int i = 0; i < analyzed.length; i++) {
+                aggregates[i] = new MetricAggregate(limits[i], maxPeaks);
+            }
+        } else {
+            long rangeFirst = first;
+            long rangeLast = last;
+            aggregates = reduce(chunks, chunk -> aggregate(chunk, analyzed, limits, maxPeaks, rangeFirst, rangeLast),
+                    SessionAnalyzer::merge);
+            MetricAggregate[] bounds = aggregates;
+            histograms = reduce(chunks, chunk -> histogram(chunk, analyzed, bounds), SessionAnalyzer::merge);
+        }
+
+        List<MetricSummary> summaries = new ArrayList<>(analyzed.length);
+        for (int i = 0; i < analyzed.length; i++) {
+            summaries.add(new MetricSummary(analyzed[i], aggregates[i], histograms[i]));
+        }
+        return summaries;
+    }
+
+    /**
+     * @return Nombre de threads utilisés pour l'analyse
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Découpe les positions [first, last] en morceaux contenus chacun dans un
+     * segment
+     */
+    private List<Chunk> chunks(long first, long last) {
+        List<Chunk> chunks = new ArrayList<>();
+        if (first > last) {
+            return chunks;
+        }
+        long position = first;
+        while (position <= last) {
+            int segment = reader.segmentOf(position);
+            long segmentEnd = reader.getFirstPosition(segment) + reader.getSegment(segment).size() - 1;
+            long end = Math.min(Math.min(last, segmentEnd), position + CHUNK_RECORDS - 1);
+            chunks.add(new Chunk(segment, reader.getFirstPosition(segment), position, end));
+            position = end + 1;
+        }
+        return chunks;
+    }
+
+    private MetricAggregate[] aggregate(Chunk chunk, Metric[] metrics, double[] thresholds, int maxPeaks,
+            long rangeFirst, long rangeLast) {
+        Segment segment = reader.getSegment(chunk.segment);
+        int start = chunk.startOffset();
+        int length = chunk.length();
+
+        long[] timestamps = new long[length];
+        for (int i = 0; i < length; i++) {
+            timestamps[i] = segment.timestampAt(start + i);
+        }
+        // Un échantillon couvre l'intervalle jusqu'au suivant, sauf après une
+        // interruption de l'enregistrement
+        long[] durations = new long[length];
+        long interval = reader.getIntervalMs();
+        for (int i = 0; i < length; i++) {
+            long next;
+            if (i + 1 < length) {
+                next = timestamps[i + 1];
+            } else if (chunk.last + 1 < reader.size()) {
+                next = reader.getTimestamp(chunk.last + 1);
+            } else {
+                next = -1;
+            }
+            durations[i] = next < 0 || reader.isGap(timestamps[i], next) ? interval : next - timestamps[i];
+        }
+
+        MetricAggregate[] aggregates = new MetricAggregate[metrics.length];
+        double[] values = new double[length];
+        for (int m = 0; m < metrics.length; m++) {
+            MetricAggregate aggregate = new MetricAggregate(thresholds[m], maxPeaks);
+            int column = segment.getLayout().scalarColumn(metrics[m]);
+            for (int i = 0; i < length; i++) {
+                values[i] = column < 0 ? Double.NaN : segment.scalarAt(start + i, column);
+            }
+            double before = chunk.first > rangeFirst ? reader.getScalar(chunk.first - 1, metrics[m]) : Double.NaN;
+            double after = chunk.last < rangeLast ? reader.getScalar(chunk.last + 1, metrics[m]) : Double.NaN;
+            for (int i = 0; i < length; i++) {
+                double value = values[i];
+                double previous = i > 0 ? values[i - 1] : before;
+                double next = i + 1 < length ? values[i + 1] : after;
+                // Le premier échantillon d'un plateau est le pic
+                boolean peak = (Double.isNaN(previous) || value > previous)
+                        && (Double.isNaN(next) || value >= next);
+                aggregate.add(timestamps[i], durations[i], value, peak);
+            }
+            aggregates[m] = aggregate;
+        }
+        return aggregates;
+    }
+
+    private long[][] histogram(Chunk chunk, Metric[] metrics, MetricAggregate[] bounds) {
+        Segment segment = reader.getSegment(chunk.segment);
+        int start = chunk.startOffset();
+        int length = chunk.length();
+        long[][] histograms = new long[metrics.length][];
+        for (int m = 0; m < metrics.length; m++) {
+            long[] bins = new long[HISTOGRAM_BINS];
+            histograms[m] = bins;
+            int column = segment.getLayout().scalarColumn(metrics[m]);
+            if (column < 0 || bounds[m].getCount() == 0) {
+                continue;
+            }
+            double min = bounds[m].getMin();
+            double scale = HISTOGRAM_BINS / (bounds[m].getMax() - min);
+            for (int i = 0; i < length; i++) {
+                double value = segment.scalarAt(start + i, column);
+                if (!Double.isNaN(value)) {
+                    int bin = Double.isInfinite(scale) ? 0 : (int) ((value - min) * scale);
+                    bins[Math.min(HISTOGRAM_BINS - 1, Math.max(0, bin))]++;
+                }
+            }
+        }
+        return histograms;
+    }
+
+    private static MetricAggregate[] merge(MetricAggregate[] earlier, MetricAggregate[] later) {
+        for (int i = 0; i < earlier.length; i++) {
+            earlier[i] = earlier[i].merge(later[i]);
+        }
+        return earlier;
+    }
+
+    private static long[][] merge(long[][] left, long[][] right) {
+        for (int i = 0; i < left.length; i++) {
+            for (int bin = 0; bin < left[i].length; bin++) {
+                left[i][bin] += right[i][bin];
+            }
+        }
+        return left;
+    }
+
+    private <A> A reduce(List<Chunk> chunks, Function<Chunk, A> leaf, BinaryOperator<A> merge) {
+        return pool.invoke(new ChunkTask<>(chunks, 0, chunks.size(), leaf, merge));
+    }
+
+    /**
+     * Agrège les morceaux [from, to) en divisant la liste en deux ; la
+     * fusion respecte l'ordre chronologique des morceaux
+     */
+    @SuppressWarnings("serial") // Jamais sérialisée
+    private static final class ChunkTask<A> extends RecursiveTask<A> {
+        private final List<Chunk> chunks;
+        private final int from;
+        private final int to;
+        private final Function<Chunk, A> leaf;
+        private final BinaryOperator<A> merge;
+
+        ChunkTask(List<Chunk> chunks, int from, int to, Function<Chunk, A> leaf, BinaryOperator<A> merge) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+            this.merge = merge;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from == 1) {
+                return leaf.apply(chunks.get(from));
+            }
+            int middle = (from + to) >>> 1;
+            ChunkTask<A> earlier = new ChunkTask<>(chunks, from, middle, leaf, merge);
+            earlier.fork();
+            A later = new ChunkTask<>(chunks, middle, to, leaf, merge).compute();
+            return merge.apply(earlier.join(), later);
+        }
+    }
+
+    /**
+     * Positions [first, last] d'un même segment
+     */
+    private static final class Chunk {
+        final int segment;
+        final long segmentFirst;
+        final long first;
+        final long last;
+
+        Chunk(int segment, long segmentFirst, long first, long last) {
+            this.segment = segment;
+            this.segmentFirst = segmentFirst;
+            this.first = first;
+            this.last = last;
+        }
+
+        int startOffset() {
+            return (int) (first - segmentFirst);
+        }
+
+        int length() {
+            return (int) (last - first + 1);
+        }
+    }
+}
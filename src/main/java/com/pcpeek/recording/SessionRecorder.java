@@ -0,0 +1,94 @@
+package com.pcpeek.recording;
+
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.sampling.SamplingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Enregistrement des échantillons publiés par le service d'échantillonnage.
+ * <p>
+ * L'ajout d'un échantillon est une écriture dans un fichier projeté en
+ * mémoire : il est fait directement depuis le thread de publication, sans
+ * file ni thread dédié. En cas d'erreur d'écriture (disque plein),
+ * l'enregistrement s'arrête sans interrompre l'échantillonnage.
+ * <p>
+ * Activé par la propriété {@code pcpeek.recording.dir} (option
+ * {@code --record=répertoire}).
+ */
+@Service
+@ConditionalOnProperty(name = "pcpeek.recording.dir")
+public class SessionRecorder implements AutoCloseable {
+    private final SamplingService samplingService;
+    private final RecordingWriter writer;
+    private final Consumer<SystemSnapshot> snapshotListener = this::record;
+    private volatile boolean recording;
+
+    @Autowired
+    public SessionRecorder(SamplingService samplingService, @Value("${pcpeek.recording.dir}") String directory)
+            throws IOException {
+        this(samplingService, new RecordingWriter(Path.of(directory), samplingService.getIntervalMs()));
+    }
+
+    public SessionRecorder(SamplingService samplingService, RecordingWriter writer) {
+        this.samplingService = samplingService;
+        this.writer = writer;
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (recording) {
+            return;
+        }
+        recording = true;
+        samplingService.subscribe(snapshotListener);
+    }
+
+    @PreDestroy
+    @Override
+    public synchronized void close() {
+        samplingService.unsubscribe(snapshotListener);
+        recording = false;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la fermeture de l'enregistrement: " + e.getMessage());
+        }
+    }
+
+    public Path getDirectory() {
+        return writer.getDirectory();
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * @return Nombre d'échantillons enregistrés
+     */
+    public long getRecordedCount() {
+        return writer.getRecordedCount();
+    }
+
+    private void record(SystemSnapshot snapshot) {
+        if (!recording) {
+            return;
+        }
+        try {
+            writer.append(snapshot);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Erreur lors de l'enregistrement d'un échantillon: " + e.getMessage());
+            recording = false;
+            samplingService.unsubscribe(snapshotListener);
+        }
+    }
+}
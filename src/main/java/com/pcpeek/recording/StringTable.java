@@ -0,0 +1,90 @@
+package com.pcpeek.recording;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table des chaînes d'un segment.
+ * <p>
+ * Les valeurs textuelles dynamiques (durée de fonctionnement, message
+ * d'erreur d'une sonde...) changent d'un échantillon à l'autre : chaque
+ * valeur distincte n'est stockée qu'une fois dans la table, les
+ * enregistrements n'en gardent que l'indice sur 8 octets.
+ */
+final class StringTable {
+    private final List<String> values = new ArrayList<>();
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private int byteSize = Integer.BYTES;
+
+    /**
+     * @return Indice de la valeur, ajoutée à la table si elle est nouvelle
+     */
+    int indexOf(String value) {
+        Integer index = indexes.get(value);
+        if (index == null) {
+            index = values.size();
+            values.add(value);
+            indexes.put(value, index);
+            byteSize += RecordLayout.stringSize(value);
+        }
+        return index;
+    }
+
+    /**
+     * @return Valeur de l'indice, null s'il est hors de la table
+     */
+    String get(long index) {
+        return index >= 0 && index < values.size() ? values.get((int) index) : null;
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(byteSize);
+        buffer.putInt(values.size());
+        for (String value : values) {
+            RecordLayout.putString(buffer, value);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Relit une table sérialisée par {@link #toBytes()}
+     */
+    static StringTable read(ByteBuffer buffer) throws IOException {
+        try {
+            StringTable table = new StringTable();
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                // Les valeurs écrites sont distinctes : l'indice est conservé
+                table.indexOf(RecordLayout.getString(buffer));
+            }
+            return table;
+        } catch (RuntimeException e) {
+            throw new IOException("Table des chaînes illisible: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Relit un journal de valeurs écrites une à une par
+     * {@link RecordLayout#putString}. Une dernière valeur incomplète,
+     * interrompue par l'arrêt du processus, est ignorée.
+     */
+    static StringTable readJournal(ByteBuffer buffer) {
+        StringTable table = new StringTable();
+        while (buffer.remaining() >= Integer.BYTES) {
+            int length = buffer.getInt(buffer.position());
+            if (length < 0 || length > buffer.remaining() - Integer.BYTES) {
+                break;
+            }
+            table.indexOf(RecordLayout.getString(buffer));
+        }
+        return table;
+    }
+}
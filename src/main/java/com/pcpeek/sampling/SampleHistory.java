@@ -0,0 +1,111 @@
+package com.pcpeek.sampling;
+
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricHistory;
+import com.pcpeek.metrics.MetricRegistry;
+
+import java.util.Arrays;
+
+/**
+ * Historiques des métriques dynamiques numériques, un tampon circulaire par
+ * métrique, indexés par identifiant de registre. Alimenté par le service
+ * d'échantillonnage à chaque instantané publié.
+ */
+public class SampleHistory {
+    private static final Metric[] DEFAULT_METRICS = {
+            MetricRegistry.CPU_LOAD,
+            MetricRegistry.CPU_LOAD_AVG,
+            MetricRegistry.CPU_TEMPERATURE,
+            MetricRegistry.GPU_LOAD,
+            MetricRegistry.GPU_TEMPERATURE,
+            MetricRegistry.TOTAL_MEMORY,
+            MetricRegistry.AVAILABLE_MEMORY
+    };
+
+    private final int capacity;
+    private volatile Metric[] tracked = new Metric[0];
+    private volatile MetricHistory[] histories = new MetricHistory[0];
+
+    /**
+     * @param retentionMillis Durée d'historique à conserver
+     * @param intervalMillis  Intervalle d'échantillonnage
+     */
+    public SampleHistory(long retentionMillis, long intervalMillis) {
+        this(MetricHistory.capacityFor(retentionMillis, intervalMillis));
+    }
+
+    public SampleHistory(int capacity) {
+        this.capacity = capacity;
+        for (Metric metric : DEFAULT_METRICS) {
+            track(metric);
+        }
+    }
+
+    /**
+     * Ajoute une métrique aux métriques historisées
+     *
+     * @param metric Métrique numérique
+     * @return Historique de la métrique
+     */
+    public synchronized MetricHistory track(Metric metric) {
+        MetricHistory existing = get(metric);
+        if (existing != null) {
+            return existing;
+        }
+        int id = metric.getId();
+        MetricHistory[] next = histories;
+        if (id >= next.length) {
+            next = Arrays.copyOf(next, Math.max(id + 1, MetricRegistry.size()));
+        } else {
+            next = next.clone();
+        }
+        MetricHistory history = new MetricHistory(capacity);
+        next[id] = history;
+        Metric[] nextTracked = Arrays.copyOf(tracked, tracked.length + 1);
+        nextTracked[tracked.length] = metric;
+        histories = next;
+        tracked = nextTracked;
+        return history;
+    }
+
+    /**
+     * @return Historique de la métrique, ou null si elle n'est pas historisée
+     */
+    public MetricHistory get(Metric metric) {
+        MetricHistory[] current = histories;
+        int id = metric.getId();
+        return id < current.length ? current[id] : null;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Ajoute un point pour chaque métrique historisée présente dans les
+     * valeurs dynamiques de l'instantané
+     */
+    public void record(SystemSnapshot snapshot) {
+        long timestamp = snapshot.getLastUpdateMillis();
+        // tracked est lu avant histories : track() publie dans l'ordre inverse
+        Metric[] metrics = tracked;
+        MetricHistory[] current = histories;
+        for (Metric metric : metrics) {
+            if (snapshot.hasDynamic(metric)) {
+                double value = snapshot.getDouble(metric, Double.NaN);
+                if (!Double.isNaN(value)) {
+                    current[metric.getId()].add(timestamp, value);
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        for (MetricHistory history : histories) {
+            if (history != null) {
+                history.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.pcpeek.sampling;
+
+import com.pcpeek.SystemData;
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricRegistry;
+import com.pcpeek.metrics.MetricStore;
+import com.pcpeek.monitors.Monitor;
+import com.pcpeek.monitors.ParallelCollector;
+import com.pcpeek.monitors.backend.CommandBackends;
+import com.pcpeek.monitors.dynamicinfo.ProbeMonitor;
+import com.pcpeek.monitors.dynamicinfo.ResourceMonitor;
+import com.pcpeek.monitors.linux.LinuxSystemCollector;
+import com.pcpeek.monitors.staticinfo.HardwareLevelMonitor;
+import com.pcpeek.monitors.staticinfo.HostFingerprint;
+import com.pcpeek.monitors.staticinfo.OSLevelMonitor;
+import com.pcpeek.monitors.staticinfo.StaticInventoryCache;
+import com.pcpeek.monitors.stats.CollectionStats;
+import com.pcpeek.monitors.stats.MetricFreshness;
+import com.pcpeek.monitors.stats.OperationStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Service d'échantillonnage unique pour toute l'application.
+ * Il possède les moniteurs, effectue une seule collecte par intervalle et
+ * publie l'instantané obtenu à tous les abonnés (dashboards, modes CLI, ...),
+ * quel que soit leur nombre. Chaque collecte produit un {@link SystemSnapshot}
+ * immuable, publié par un seul échange de référence : les abonnés peuvent le
+ * conserver et le lire depuis n'importe quel thread.
+ * <p>
+ * Une {@link SnapshotSource} peut remplacer les moniteurs, par exemple pour
+ * rejouer une session enregistrée : les instantanés sont alors construits à
+ * partir de la source et publiés de la même façon.
+ */
+@Service
+public class SamplingService {
+    public static final long DEFAULT_INTERVAL_MS = 5000;
+    public static final long DEFAULT_RETENTION_SECONDS = 3600;
+
+    private static final OperationStats COLLECT_STATS = CollectionStats.getDefault().operation("sampling.collect");
+    private static final OperationStats LINUX_STATS = CollectionStats.getDefault().operation("linux.collect");
+
+    private final long intervalMs;
+    private final SampleHistory history;
+    private final List<Consumer<SystemSnapshot>> subscribers = new CopyOnWriteArrayList<>();
+    private final Object collectLock = new Object();
+    private final SystemData live = new SystemData();
+    private final SnapshotSource source;
+    private ScheduledExecutorService scheduler;
+
+    private OSLevelMonitor osMonitor;
+    private HardwareLevelMonitor hwMonitor;
+    private ProbeMonitor probeMonitor;
+    private ResourceMonitor resourceMonitor;
+    private LinuxSystemCollector linuxCollector;
+    private final MetricStore nativeValues = new MetricStore();
+    private Map<String, Object> staticInfo;
+    private Map<String, Object> publishedStaticInfo;
+    private final StaticInventoryCache inventoryCache = new StaticInventoryCache();
+    private HostFingerprint fingerprint;
+    private boolean inventoryRefreshRequested = Boolean.getBoolean("pcpeek.inventory.refresh");
+
+    public SamplingService() {
+        this(DEFAULT_INTERVAL_MS);
+    }
+
+    public SamplingService(long intervalMs) {
+        this(intervalMs, DEFAULT_RETENTION_SECONDS);
+    }
+
+    public SamplingService(long intervalMs, long retentionSeconds) {
+        this(intervalMs, retentionSeconds, (SnapshotSource) null);
+    }
+
+    @Autowired
+    public SamplingService(@Value("${pcpeek.sampling.interval-ms:5000}") long intervalMs,
+            @Value("${pcpeek.history.retention-seconds:3600}") long retentionSeconds,
+            ObjectProvider<SnapshotSource> sources) {
+        this(intervalMs, retentionSeconds, sources.getIfAvailable());
+    }
+
+    /**
+     * @param intervalMs       Intervalle d'échantillonnage, remplacé par celui
+     *                         de la source si elle en impose un
+     * @param retentionSeconds Durée conservée dans l'historique
+     * @param source           Source des échantillons, null pour les moniteurs
+     */
+    public SamplingService(long intervalMs, long retentionSeconds, SnapshotSource source) {
+        this.source = source;
+        if (source != null && source.getIntervalMs() > 0) {
+            intervalMs = source.getIntervalMs();
+        }
+        this.intervalMs = intervalMs > 0 ? intervalMs : DEFAULT_INTERVAL_MS;
+        long retention = retentionSeconds > 0 ? retentionSeconds : DEFAULT_RETENTION_SECONDS;
+        this.history = new SampleHistory(TimeUnit.SECONDS.toMillis(retention), this.intervalMs);
+    }
+
+    /**
+     * Démarre l'échantillonnage périodique. La première collecte est faite sur
+     * le thread d'échantillonnage, jamais sur le thread appelant.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pcpeek-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::sampleSafely, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Arrête l'échantillonnage périodique
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        synchronized (collectLock) {
+            if (linuxCollector != null) {
+                linuxCollector.close();
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    /**
+     * Abonne un consommateur aux instantanés publiés
+     *
+     * @param subscriber Consommateur appelé sur le thread d'échantillonnage
+     */
+    public void subscribe(Consumer<SystemSnapshot> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<SystemSnapshot> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Récupère le dernier instantané publié
+     *
+     * @return Dernier instantané, ou null si aucune collecte n'a encore abouti
+     */
+    public SystemSnapshot getLatest() {
+        SystemSnapshot snapshot = live.snapshot();
+        return snapshot.getVersion() > 0 ? snapshot : null;
+    }
+
+    /**
+     * @return Historiques des métriques dynamiques, alimentés à chaque collecte
+     */
+    public SampleHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * @return Données vivantes du service, pour les lecteurs qui veulent
+     *         comparer les versions sans s'abonner
+     */
+    public SystemData getSystemData() {
+        return live;
+    }
+
+    /**
+     * Effectue immédiatement une collecte, la publie à tous les abonnés et la
+     * retourne. Les collectes concurrentes sont sérialisées.
+     *
+     * @return Nouvel instantané, ou le dernier publié si la source ne fournit
+     *         pas de nouvel échantillon
+     */
+    public SystemSnapshot sampleNow() {
+        SystemSnapshot snapshot;
+        synchronized (collectLock) {
+            long start = System.nanoTime();
+            try {
+                snapshot = collect();
+                COLLECT_STATS.recordSuccess(start);
+            } catch (RuntimeException e) {
+                COLLECT_STATS.recordFailure(start, e);
+                throw e;
+            }
+            if (snapshot == null) {
+                // Source sans nouvel échantillon : rien à publier
+                return live.snapshot();
+            }
+            history.record(snapshot);
+            markFresh(snapshot);
+        }
+        publish(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Récupère les informations statiques (OS et matériel), relues depuis le
+     * cache d'inventaire ou collectées une seule fois par démarrage de la
+     * machine, puis réutilisées par tous les instantanés.
+     *
+     * @return Copie des informations statiques
+     */
+    public Map<String, Object> getStaticData() {
+        synchronized (collectLock) {
+            return new HashMap<>(ensureStaticInfo());
+        }
+    }
+
+    /**
+     * Force une nouvelle collecte des informations statiques, sans passer par
+     * le cache d'inventaire, qui est réécrit avec le résultat
+     */
+    public void refreshStaticData() {
+        synchronized (collectLock) {
+            staticInfo = null;
+            inventoryRefreshRequested = true;
+        }
+    }
+
+    private void sampleSafely() {
+        try {
+            sampleNow();
+        } catch (Exception e) {
+            System.err.println("Erreur lors de l'échantillonnage: " + e.getMessage());
+        }
+    }
+
+    private SystemSnapshot collect() {
+        if (source != null) {
+            return collectFromSource();
+        }
+        Map<String, Object> staticValues = ensureStaticInfo();
+        // Les informations statiques ne sont réappliquées que si elles ont
+        // été recollectées : l'instantané conserve sinon sa version statique
+        boolean staticChanged = staticValues != publishedStaticInfo;
+        publishedStaticInfo = staticValues;
+        ensureDynamicMonitors();
+        if (linuxCollector != null) {
+            // Collecte native : le stockage est réutilisé d'un échantillon à l'autre
+            nativeValues.clear();
+            long start = System.nanoTime();
+            try {
+                linuxCollector.collect(nativeValues);
+                LINUX_STATS.recordSuccess(start);
+            } catch (RuntimeException e) {
+                LINUX_STATS.recordFailure(start, e);
+                throw e;
+            }
+            return live.update(builder -> applyStatic(builder, staticChanged, staticValues)
+                    .clearDynamic()
+                    .putAllDynamic(nativeValues));
+        }
+        Map<String, Object> probeValues = probeMonitor.getProbeInfo();
+        Map<String, Object> resourceValues = Monitor.executeWmicCommands(CommandBackends.getDefault(), resourceMonitor);
+        return live.update(builder -> applyStatic(builder, staticChanged, staticValues)
+                .clearDynamic()
+                .putAllDynamic(probeValues)
+                .putAllDynamic(resourceValues));
+    }
+
+    private SystemSnapshot collectFromSource() {
+        nativeValues.clear();
+        if (!source.next(nativeValues)) {
+            return null;
+        }
+        Map<String, Object> staticValues = source.getStaticData();
+        boolean staticChanged = staticValues != publishedStaticInfo;
+        publishedStaticInfo = staticValues;
+        return live.update(builder -> applyStatic(builder, staticChanged, staticValues)
+                .clearDynamic()
+                .putAllDynamic(nativeValues));
+    }
+
+    /**
+     * Note l'horodatage des métriques dynamiques présentes dans l'échantillon
+     */
+    private static void markFresh(SystemSnapshot snapshot) {
+        MetricFreshness freshness = CollectionStats.getDefault().getFreshness();
+        for (int id = 0; id < MetricRegistry.size(); id++) {
+            Metric metric = MetricRegistry.get(id);
+            if (snapshot.hasDynamic(metric)) {
+                freshness.markPresent(metric, snapshot.getLastUpdateMillis());
+            }
+        }
+    }
+
+    private static SystemSnapshot.Builder applyStatic(SystemSnapshot.Builder builder, boolean changed,
+            Map<String, Object> staticValues) {
+        return changed ? builder.clearStatic().putAllStatic(staticValues) : builder;
+    }
+
+    private Map<String, Object> ensureStaticInfo() {
+        if (source != null) {
+            return source.getStaticData();
+        }
+        if (staticInfo != null) {
+            return staticInfo;
+        }
+        if (fingerprint == null) {
+            fingerprint = HostFingerprint.current();
+        }
+        if (!inventoryRefreshRequested) {
+            staticInfo = inventoryCache.load(fingerprint);
+            if (staticInfo != null) {
+                return staticInfo;
+            }
+        }
+        if (osMonitor == null) {
+            // Moniteurs utilisés comme parseurs : leur construction ne lance aucune commande
+            osMonitor = new OSLevelMonitor(CommandBackends.none());
+            hwMonitor = new HardwareLevelMonitor(CommandBackends.none());
+        }
+        // Commandes OS et matériel lancées en parallèle, avec une échéance commune
+        ParallelCollector.Result result = Monitor.executeWmicCommandsInParallel(CommandBackends.getDefault(),
+                ParallelCollector.getDefault(), osMonitor, hwMonitor);
+        staticInfo = result.getValues();
+        inventoryRefreshRequested = false;
+        // Un inventaire partiel (requête abandonnée) n'est pas mis en cache
+        if (result.isComplete() && !staticInfo.isEmpty() && !staticInfo.containsKey("error")) {
+            inventoryCache.store(fingerprint, staticInfo);
+        }
+        return staticInfo;
+    }
+
+    private void ensureDynamicMonitors() {
+        if (linuxCollector == null && probeMonitor == null && LinuxSystemCollector.isSupported()) {
+            linuxCollector = new LinuxSystemCollector();
+        }
+        if (linuxCollector == null && probeMonitor == null) {
+            // Comme pour les moniteurs statiques, la construction ne lance aucune commande
+            probeMonitor = new ProbeMonitor(CommandBackends.none());
+            resourceMonitor = new ResourceMonitor(CommandBackends.none());
+        }
+    }
+
+    private void publish(SystemSnapshot snapshot) {
+        for (Consumer<SystemSnapshot> subscriber : subscribers) {
+            try {
+                subscriber.accept(snapshot);
+            } catch (Exception e) {
+                System.err.println("Erreur lors de la publication d'un instantané: " + e.getMessage());
+            }
+        }
+    }
+}
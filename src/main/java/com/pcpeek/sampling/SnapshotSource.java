@@ -0,0 +1,33 @@
+package com.pcpeek.sampling;
+
+import com.pcpeek.metrics.MetricStore;
+
+import java.util.Map;
+
+/**
+ * Source d'échantillons remplaçant les moniteurs du service
+ * d'échantillonnage, par exemple la relecture d'une session enregistrée.
+ * Les instantanés produits sont publiés comme des échantillons réels : les
+ * abonnés ne font pas la différence.
+ */
+public interface SnapshotSource {
+    /**
+     * @return Intervalle d'échantillonnage propre à la source, ou 0 pour
+     *         conserver celui du service
+     */
+    long getIntervalMs();
+
+    /**
+     * @return Informations statiques correspondant au dernier échantillon lu.
+     *         La même instance est retournée tant qu'elles ne changent pas.
+     */
+    Map<String, Object> getStaticData();
+
+    /**
+     * Lit les valeurs dynamiques de l'échantillon suivant
+     *
+     * @param target Stockage à remplir, vidé par l'appelant
+     * @return false si aucun nouvel échantillon n'est disponible
+     */
+    boolean next(MetricStore target);
+}
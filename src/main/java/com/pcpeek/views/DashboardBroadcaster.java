@@ -0,0 +1,218 @@
+package com.pcpeek.views;
+
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.monitors.stats.CollectionStats;
+import com.pcpeek.monitors.stats.OperationStats;
+import com.pcpeek.sampling.SamplingService;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.shared.Registration;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Diffuse chaque instantané à toutes les interfaces attachées, depuis un
+ * seul abonnement au service d'échantillonnage.
+ * <p>
+ * Chaque interface a son propre rythme : il ralentit (jusqu'à
+ * {@code pcpeek.broadcast.max-interval-ms}) lorsque le client n'a pas
+ * encore appliqué la mise à jour précédente ou l'applique avec retard, et
+ * revient progressivement à l'intervalle d'échantillonnage dès que le client
+ * suit. Un onglet en arrière-plan passe directement au rythme le plus lent.
+ * Les instantanés intermédiaires ne sont jamais mis en file : seul le plus
+ * récent est appliqué. Les interfaces détachées sont désinscrites
+ * automatiquement.
+ */
+@Component
+public class DashboardBroadcaster {
+    private static final OperationStats PUSH_STATS = CollectionStats.getDefault().operation("ui.push");
+
+    private final SamplingService samplingService;
+    private final UiUpdateDispatcher dispatcher;
+    private final long baseIntervalMs;
+    private final long maxIntervalMs;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Consumer<SystemSnapshot> snapshotListener = this::broadcast;
+
+    public DashboardBroadcaster(SamplingService samplingService, UiUpdateDispatcher dispatcher,
+            @Value("${pcpeek.broadcast.max-interval-ms:30000}") long maxIntervalMs) {
+        this.samplingService = samplingService;
+        this.dispatcher = dispatcher;
+        this.baseIntervalMs = samplingService.getIntervalMs();
+        this.maxIntervalMs = Math.max(baseIntervalMs, maxIntervalMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        samplingService.subscribe(snapshotListener);
+    }
+
+    @PreDestroy
+    public void stop() {
+        samplingService.unsubscribe(snapshotListener);
+        subscribers.clear();
+    }
+
+    /**
+     * Inscrit une interface. Le rendu est appelé sous le verrou de session
+     * avec le dernier instantané reçu ; si un instantané est déjà disponible,
+     * il est appliqué sans attendre la collecte suivante.
+     *
+     * @param ui       Interface cible
+     * @param renderer Rendu d'un instantané
+     * @return Inscription, à retirer au détachement de la vue
+     */
+    public Subscription register(UI ui, Consumer<SystemSnapshot> renderer) {
+        Subscriber subscriber = new Subscriber(ui, renderer, baseIntervalMs);
+        subscribers.add(subscriber);
+        subscriber.detachRegistration = ui.addDetachListener(event -> unregister(subscriber));
+        SystemSnapshot latest = samplingService.getLatest();
+        if (latest != null) {
+            deliver(subscriber, latest);
+        }
+        return subscriber;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        Registration registration = subscriber.detachRegistration;
+        if (registration != null) {
+            registration.remove();
+        }
+    }
+
+    private void broadcast(SystemSnapshot snapshot) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.ui.isClosing()) {
+                unregister(subscriber);
+                continue;
+            }
+            subscriber.latest.set(snapshot);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - subscriber.lastDispatchNanos);
+            // Marge d'un quart d'intervalle pour absorber la gigue de l'échantillonnage
+            if (elapsedMs + baseIntervalMs / 4 < subscriber.effectiveIntervalMs()) {
+                continue;
+            }
+            deliver(subscriber, snapshot);
+        }
+    }
+
+    private void deliver(Subscriber subscriber, SystemSnapshot snapshot) {
+        subscriber.latest.set(snapshot);
+        // Horodaté avant la remise de la tâche : apply mesure son retard
+        // depuis cet envoi, même s'il s'exécute aussitôt sur un autre thread
+        long previousDispatch = subscriber.lastDispatchNanos;
+        subscriber.lastDispatchNanos = System.nanoTime();
+        if (!dispatcher.dispatch(subscriber.ui, subscriber.guard, subscriber::apply)) {
+            subscriber.lastDispatchNanos = previousDispatch;
+            if (subscriber.guard.isPending()) {
+                // Le client n'a pas encore appliqué la mise à jour précédente
+                subscriber.slowDown(maxIntervalMs);
+            }
+        }
+    }
+
+    /**
+     * Inscription d'une interface auprès du diffuseur
+     */
+    public interface Subscription {
+        /**
+         * Indique si l'onglet est visible ; un onglet masqué est rafraîchi
+         * au rythme le plus lent
+         */
+        void setVisible(boolean visible);
+
+        long getIntervalMs();
+
+        void remove();
+    }
+
+    private final class Subscriber implements Subscription {
+        private final UI ui;
+        private final Consumer<SystemSnapshot> renderer;
+        private final UiUpdateDispatcher.PushGuard guard = new UiUpdateDispatcher.PushGuard();
+        private final AtomicReference<SystemSnapshot> latest = new AtomicReference<>();
+        private volatile long intervalMs;
+        private volatile boolean visible = true;
+        private volatile long lastDispatchNanos;
+        private volatile Registration detachRegistration;
+        private long appliedVersion = -1;
+
+        Subscriber(UI ui, Consumer<SystemSnapshot> renderer, long intervalMs) {
+            this.ui = ui;
+            this.renderer = renderer;
+            this.intervalMs = intervalMs;
+            this.lastDispatchNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        }
+
+        long effectiveIntervalMs() {
+            return visible ? intervalMs : maxIntervalMs;
+        }
+
+        void slowDown(long limitMs) {
+            intervalMs = Math.min(limitMs, intervalMs * 2);
+        }
+
+        void speedUp(long floorMs) {
+            intervalMs = Math.max(floorMs, intervalMs / 2);
+        }
+
+        /**
+         * Exécuté sous le verrou de session : applique le dernier instantané
+         * et ajuste le rythme selon le retard pris depuis l'envoi
+         */
+        void apply() {
+            long lagMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastDispatchNanos);
+            if (lagMs > baseIntervalMs / 2) {
+                slowDown(maxIntervalMs);
+            } else if (lagMs < baseIntervalMs / 10) {
+                speedUp(baseIntervalMs);
+            }
+            SystemSnapshot snapshot = latest.get();
+            if (snapshot == null || snapshot.getVersion() == appliedVersion) {
+                return;
+            }
+            appliedVersion = snapshot.getVersion();
+            long start = System.nanoTime();
+            try {
+                renderer.accept(snapshot);
+                PUSH_STATS.recordSuccess(start);
+            } catch (RuntimeException e) {
+                PUSH_STATS.recordFailure(start, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void setVisible(boolean visible) {
+            boolean becameVisible = visible && !this.visible;
+            this.visible = visible;
+            SystemSnapshot snapshot = latest.get();
+            if (becameVisible && snapshot != null) {
+                // Rattrapage immédiat au retour au premier plan
+                deliver(this, snapshot);
+            }
+        }
+
+        @Override
+        public long getIntervalMs() {
+            return effectiveIntervalMs();
+        }
+
+        @Override
+        public void remove() {
+            unregister(this);
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.pcpeek.views;
 
 import com.pcpeek.SystemData;
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricHistory;
+import com.pcpeek.metrics.MetricRegistry;
+import com.pcpeek.sampling.SamplingService;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.board.Board;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.charts.Chart;
 import com.vaadin.flow.component.charts.model.*;
 import com.vaadin.flow.component.grid.ColumnTextAlign;
@@ -16,6 +23,7 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.select.Select;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
@@ -25,10 +33,13 @@ import com.vaadin.flow.theme.lumo.LumoUtility.FontWeight;
 import com.vaadin.flow.theme.lumo.LumoUtility.Margin;
 import com.vaadin.flow.theme.lumo.LumoUtility.Padding;
 import com.vaadin.flow.theme.lumo.LumoUtility.TextColor;
+import org.springframework.beans.factory.annotation.Value;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Objects;
+import java.util.function.Supplier;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.ClientCallable;
 import com.vaadin.flow.component.UI;
 
 import static com.pcpeek.SystemData.formatBytes;
@@ -40,23 +51,53 @@ import static com.pcpeek.SystemData.formatUptime;
 @Menu(order = 0, icon = "la la-chart-area")
 public class DashboardView extends Main {
 
-    private SystemData systemData;
-    private Timer updateTimer;
-    private UI ui;
+    private static final int DEFAULT_CHART_POINTS = 60;
+    private static final int DEFAULT_CHART_WIDTH = 800;
+    private static final String LOADING_CLASS = "pcpeek-loading";
+
+    private final SamplingService samplingService;
+    private final DashboardBroadcaster broadcaster;
+    private final int chartPoints;
+    private DashboardBroadcaster.Subscription subscription;
+    private final SystemData systemData = new SystemData();
+    private long renderedVersion = -1;
+    private volatile UI ui;
     private Grid<SystemInfoItem> systemInfoGrid;
+    private List<SystemInfoItem> systemInfoRows;
+    private long renderedStaticVersion = -1;
+    private final List<Highlight> highlights = new ArrayList<>();
     private Chart ramChart;
     private Component cpuLoadChartComponent;
     private Chart cpuLoadChart;
+    private StreamingSeries cpuLoadSeries;
+    private StreamingSeries cpuTemperatureSeries;
+    private ChartRange chartRange = ChartRange.LIVE;
+    private long zoomFrom;
+    private long zoomTo;
+    private Button resetZoomButton;
+    private long renderedTo;
+    private int chartWidth;
+    private DataSeries ramSeries;
+    private DataSeriesItem ramUsedItem;
+    private DataSeriesItem ramFreeItem;
     private HorizontalLayout highlightsLayout;
     private Component ramUsageBlock;
     private Component volumePerAppBlock;
-
-    public DashboardView() {
+    private Component systemInfoBlock;
+    private boolean loading;
+
+    public DashboardView(SamplingService samplingService, DashboardBroadcaster broadcaster,
+            @Value("${pcpeek.dashboard.chart-points:60}") int chartPoints) {
+        this.samplingService = samplingService;
+        this.broadcaster = broadcaster;
+        this.chartPoints = chartPoints > 0 ? chartPoints : DEFAULT_CHART_POINTS;
         addClassName("dashboard-view");
         this.ui = UI.getCurrent();
         initializeMonitors();
         add(buildMainBoard());
-        startPeriodicUpdate();
+        // Sans instantané disponible, la vue est rendue tout de suite avec des
+        // emplacements d'attente, remplis par push à la première collecte
+        setLoading(systemData.getVersion() == 0);
     }
 
     private Board buildMainBoard() {
@@ -69,10 +110,10 @@ public class DashboardView extends Main {
         rightColumn.setSpacing(false);
         rightColumn.setWidthFull();
         highlightsLayout = new HorizontalLayout(
-                createHighlight("Charge CPU", formatOrNA(getCPULoad(), "%.1f%%"), 0.0),
-                createHighlight("Température CPU", formatOrNA(getCPUTemperature(), "%.1f°C"), 0.0),
-                createHighlight("Charge GPU", formatOrNA(getGPULoad(), "%.1f%%"), 0.0),
-                createHighlight("Température GPU", formatOrNA(getGPUTemperature(), "%.1f°C"), 0.0));
+                createHighlight("Charge CPU", () -> formatOrNA(getCPULoad(), "%.1f%%"), 0.0),
+                createHighlight("Température CPU", () -> formatOrNA(getCPUTemperature(), "%.1f°C"), 0.0),
+                createHighlight("Charge GPU", () -> formatOrNA(getGPULoad(), "%.1f%%"), 0.0),
+                createHighlight("Température GPU", () -> formatOrNA(getGPUTemperature(), "%.1f°C"), 0.0));
         highlightsLayout.setWidthFull();
         highlightsLayout.setSpacing(true);
         highlightsLayout.setJustifyContentMode(FlexComponent.JustifyContentMode.BETWEEN);
@@ -98,7 +139,11 @@ public class DashboardView extends Main {
         return board;
     }
 
-    private Component createHighlight(String title, String value, Double percentage) {
+    /**
+     * Crée un indicateur dont la valeur est relue à chaque rafraîchissement
+     * et mise à jour en place
+     */
+    private Component createHighlight(String title, Supplier<String> value, Double percentage) {
         VaadinIcon icon = VaadinIcon.ARROW_UP;
         String prefix = "";
         String theme = "badge";
@@ -115,7 +160,9 @@ public class DashboardView extends Main {
         }
         H2 h2 = new H2(title);
         h2.addClassNames(FontWeight.NORMAL, Margin.NONE, TextColor.SECONDARY, FontSize.XSMALL);
-        Span span = new Span(value);
+        Highlight highlight = new Highlight(value);
+        highlights.add(highlight);
+        Span span = highlight.valueSpan;
         span.addClassNames(FontWeight.SEMIBOLD, FontSize.XXXLARGE);
         Icon i = icon.create();
         i.addClassNames(BoxSizing.BORDER, Padding.XSMALL);
@@ -130,13 +177,22 @@ public class DashboardView extends Main {
     }
 
     private Component createCpuLoadChart() {
-        HorizontalLayout header = createHeader("CPU Load & Temps", "Temps réel");
+        HorizontalLayout header = createHeader("CPU Load & Temps", "Sélectionner une zone pour zoomer");
+        HorizontalLayout controls = new HorizontalLayout(createResetZoomButton(), createRangeSelect());
+        controls.setAlignItems(FlexComponent.Alignment.CENTER);
+        header.add(controls);
         cpuLoadChart = new Chart(ChartType.LINE);
         Configuration conf = cpuLoadChart.getConfiguration();
         conf.getChart().setStyledMode(true);
+        conf.getChart().setZoomType(Dimension.X);
         XAxis xAxis = new XAxis();
         xAxis.setTitle("Temps");
+        xAxis.setType(AxisType.DATETIME);
         conf.addxAxis(xAxis);
+        // Horodatages en heure locale plutôt qu'en UTC
+        Time time = new Time();
+        time.setUseUTC(false);
+        conf.setTime(time);
         YAxis yAxisLeft = new YAxis();
         yAxisLeft.setTitle("Charge CPU (%)");
         yAxisLeft.setMin(0);
@@ -149,12 +205,19 @@ public class DashboardView extends Main {
         yAxisRight.setMax(120);
         yAxisRight.setOpposite(true);
         conf.addyAxis(yAxisRight);
-        ListSeries cpuLoadSeries = new ListSeries("Charge CPU (%)");
-        cpuLoadSeries.setyAxis(0);
-        conf.addSeries(cpuLoadSeries);
-        ListSeries cpuTempSeries = new ListSeries("Température CPU (°C)");
-        cpuTempSeries.setyAxis(1);
-        conf.addSeries(cpuTempSeries);
+        // Pas d'animation : chaque nouveau point décale simplement la fenêtre
+        PlotOptionsLine lineOptions = new PlotOptionsLine();
+        lineOptions.setAnimation(false);
+        lineOptions.setMarker(new Marker(false));
+        conf.setPlotOptions(lineOptions);
+        cpuLoadSeries = new StreamingSeries("Charge CPU (%)", MetricRegistry.CPU_LOAD, 0);
+        cpuTemperatureSeries = new StreamingSeries("Température CPU (°C)", MetricRegistry.CPU_TEMPERATURE, 1);
+        conf.addSeries(cpuLoadSeries.series);
+        conf.addSeries(cpuTemperatureSeries.series);
+        conf.addSeries(cpuLoadSeries.envelope);
+        conf.addSeries(cpuTemperatureSeries.envelope);
+        cpuLoadChart.addChartSelectionListener(event -> zoomCpuLoadChart(event.getSelectionStart(),
+                event.getSelectionEnd()));
         cpuLoadChart.getElement().getStyle().set("width", "100%");
         VerticalLayout layout = new VerticalLayout(header, cpuLoadChart);
         layout.addClassName(Padding.LARGE);
@@ -164,14 +227,50 @@ public class DashboardView extends Main {
         return layout;
     }
 
+    /**
+     * Retour à la fenêtre choisie après un zoom : le bouton de Highcharts
+     * n'agit que côté navigateur et le graphique resterait figé
+     */
+    private Button createResetZoomButton() {
+        resetZoomButton = new Button("Annuler le zoom", VaadinIcon.SEARCH_MINUS.create(), event -> resetZoom());
+        resetZoomButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY);
+        resetZoomButton.setVisible(false);
+        return resetZoomButton;
+    }
+
+    /**
+     * Fenêtres proposées, limitées à la durée conservée par l'historique
+     */
+    private Select<ChartRange> createRangeSelect() {
+        long retentionMillis = samplingService.getHistory().getCapacity() * samplingService.getIntervalMs();
+        List<ChartRange> ranges = new ArrayList<>();
+        for (ChartRange range : ChartRange.values()) {
+            if (range.durationMillis <= retentionMillis) {
+                ranges.add(range);
+            }
+        }
+        Select<ChartRange> select = new Select<>();
+        select.setItems(ranges);
+        select.setItemLabelGenerator(range -> range.label);
+        select.setValue(ChartRange.LIVE);
+        select.addThemeName("small");
+        select.addValueChangeListener(event -> {
+            chartRange = event.getValue() != null ? event.getValue() : ChartRange.LIVE;
+            zoomTo = 0;
+            resetZoomButton.setVisible(false);
+            renderCpuLoadChart();
+        });
+        return select;
+    }
+
     private Component createDeviceInfoColumn() {
         String imageSvg = getDeviceImageSvg();
         com.vaadin.flow.component.html.Image deviceImage = new com.vaadin.flow.component.html.Image(
                 imageSvg, "Image appareil");
         deviceImage.setWidth("300px");
         deviceImage.getStyle().set("display", "block").set("margin", "0 auto 1rem auto").setWidth("100%");
-        Component systemInfo = createSystemInfo();
-        VerticalLayout layout = new VerticalLayout(deviceImage, systemInfo);
+        systemInfoBlock = createSystemInfo();
+        VerticalLayout layout = new VerticalLayout(deviceImage, systemInfoBlock);
         layout.setPadding(false);
         layout.setSpacing(false);
         layout.setWidthFull();
@@ -186,8 +285,12 @@ public class DashboardView extends Main {
         systemInfoGrid.addColumn(SystemInfoItem::getComponent).setHeader("Composant").setFlexGrow(1);
         systemInfoGrid.addColumn(SystemInfoItem::getValue).setHeader("Valeur").setAutoWidth(true)
                 .setTextAlign(ColumnTextAlign.END);
-        List<SystemInfoItem> items = buildSystemInfoItems();
-        systemInfoGrid.setItems(items);
+        systemInfoRows = createSystemInfoRows();
+        for (SystemInfoItem row : systemInfoRows) {
+            row.refresh();
+        }
+        renderedStaticVersion = systemData.snapshot().getStaticVersion();
+        systemInfoGrid.setItems(visibleSystemInfoRows());
         systemInfoGrid.setSizeFull();
         VerticalLayout layout = new VerticalLayout(header, systemInfoGrid);
         layout.setSizeFull();
@@ -198,119 +301,94 @@ public class DashboardView extends Main {
         return layout;
     }
 
-    private List<SystemInfoItem> buildSystemInfoItems() {
-        List<SystemInfoItem> items = new ArrayList<>();
-        if (systemData.getOsCaption().isPresent()) {
-            items.add(new SystemInfoItem("OS Caption", systemData.getOsCaption().get()));
-        }
-        items.add(new SystemInfoItem("OS Name", getOSName()));
-        if (systemData.getOsVersion().isPresent()) {
-            items.add(new SystemInfoItem("OS Version", systemData.getOsVersion().get()));
-        }
-        if (systemData.getOsArchitecture().isPresent()) {
-            items.add(new SystemInfoItem("OS Architecture", systemData.getOsArchitecture().get()));
-        }
-        if (systemData.getOsSerial().isPresent()) {
-            items.add(new SystemInfoItem("OS Serial", systemData.getOsSerial().get()));
-        }
-        if (systemData.getOsLicense().isPresent()) {
-            items.add(new SystemInfoItem("OS License", systemData.getOsLicense().get()));
-        }
-        if (systemData.getSystemType().isPresent()) {
-            items.add(new SystemInfoItem("System Type", systemData.getSystemType().get()));
-        }
-        if (systemData.getSystemManufacturer().isPresent()) {
-            items.add(new SystemInfoItem("Manufacturer", systemData.getSystemManufacturer().get()));
-        }
-        if (systemData.getSystemModel().isPresent()) {
-            items.add(new SystemInfoItem("Model", systemData.getSystemModel().get()));
-        }
-        items.add(new SystemInfoItem("CPU Load", formatOrNA(getCPULoad(), "%.1f%%")));
-        if (systemData.getCpuLoadAvg().isPresent()) {
-            items.add(new SystemInfoItem("CPU Load Avg", String.format("%.1f", systemData.getCpuLoadAvg().getAsDouble())));
-        }
-        items.add(new SystemInfoItem("CPU Temperature", formatOrNA(getCPUTemperature(), "%.1f°C")));
-        items.add(new SystemInfoItem("CPU Name", getCPUName()));
-        if (systemData.getCpuCores().isPresent()) {
-            items.add(new SystemInfoItem("CPU Cores", systemData.getCpuCores().get().toString()));
-        }
-        if (systemData.getCpuThreads().isPresent()) {
-            items.add(new SystemInfoItem("CPU Threads", systemData.getCpuThreads().get().toString()));
-        }
-        if (systemData.getCpuCurrentSpeed().isPresent()) {
-            items.add(new SystemInfoItem("CPU Current Speed", String.format("%d MHz", systemData.getCpuCurrentSpeed().get())));
-        }
-        if (systemData.getCpuMaxSpeed().isPresent()) {
-            items.add(new SystemInfoItem("CPU Max Speed", String.format("%d MHz", systemData.getCpuMaxSpeed().get())));
-        }
-        items.add(new SystemInfoItem("GPU Load", formatOrNA(getGPULoad(), "%.1f%%")));
-        items.add(new SystemInfoItem("GPU Temperature", formatOrNA(getGPUTemperature(), "%.1f°C")));
-        if (systemData.getMemoryManufacturer().isPresent()) {
-            items.add(new SystemInfoItem("Memory Manufacturer", systemData.getMemoryManufacturer().get()));
-        }
-        if (systemData.getMemoryPart().isPresent()) {
-            items.add(new SystemInfoItem("Memory Part", systemData.getMemoryPart().get()));
-        }
-        if (systemData.getMemorySpeed().isPresent()) {
-            items.add(new SystemInfoItem("Memory Speed", systemData.getMemorySpeed().get()));
-        }
-        long staticTotal = systemData.getMemoryTotal().orElse(0L);
-        long staticFree = systemData.getMemoryFree().orElse(0L);
-        items.add(new SystemInfoItem("Static Memory Total", formatBytes(staticTotal)));
-        items.add(new SystemInfoItem("Static Memory Free", formatBytes(staticFree)));
-        long dynTotal = getTotalMemory();
-        long dynAvailable = getAvailableMemory();
-        long dynUsed = dynTotal - dynAvailable;
-        items.add(new SystemInfoItem("Dynamic Total Memory", formatBytes(dynTotal)));
-        items.add(new SystemInfoItem("Dynamic Available Memory", formatBytes(dynAvailable)));
-        items.add(new SystemInfoItem("Dynamic Used Memory", formatBytes(dynUsed)));
-        if (systemData.getDiskModel().isPresent()) {
-            items.add(new SystemInfoItem("Disk Model", systemData.getDiskModel().get()));
-        }
-        if (systemData.getDiskSize().isPresent()) {
-            items.add(new SystemInfoItem("Disk Size", formatBytes(systemData.getDiskSize().get())));
-        }
-        if (systemData.getDiskType().isPresent()) {
-            items.add(new SystemInfoItem("Disk Type", systemData.getDiskType().get()));
-        }
-        if (systemData.getDiskStatus().isPresent()) {
-            items.add(new SystemInfoItem("Disk Status", systemData.getDiskStatus().get()));
-        }
-        if (systemData.getBoardManufacturer().isPresent()) {
-            items.add(new SystemInfoItem("Board Manufacturer", systemData.getBoardManufacturer().get()));
-        }
-        if (systemData.getBoardModel().isPresent()) {
-            items.add(new SystemInfoItem("Board Model", systemData.getBoardModel().get()));
-        }
-        if (systemData.getBoardVersion().isPresent()) {
-            items.add(new SystemInfoItem("Board Version", systemData.getBoardVersion().get()));
-        }
-        if (systemData.getBoardSerial().isPresent()) {
-            items.add(new SystemInfoItem("Board Serial", systemData.getBoardSerial().get()));
-        }
-        if (systemData.getFanSpeeds().isPresent()) {
-            int[] arr = systemData.getFanSpeeds().get();
-            StringBuilder speedsBuilder = new StringBuilder();
-            for (int i = 0; i < arr.length; i++) {
-                if (i > 0) {
-                    speedsBuilder.append(", ");
-                }
-                speedsBuilder.append(arr[i]).append(" RPM");
+    /**
+     * Déclare les lignes du tableau une seule fois, dans l'ordre d'affichage.
+     * Une ligne statique n'est réévaluée que lorsque les informations
+     * statiques de l'instantané changent ; une ligne dont la source ne
+     * retourne rien est masquée.
+     */
+    private List<SystemInfoItem> createSystemInfoRows() {
+        List<SystemInfoItem> rows = new ArrayList<>();
+        rows.add(staticRow("OS Caption", () -> systemData.getOsCaption().orElse(null)));
+        rows.add(dynamicRow("OS Name", this::getOSName));
+        rows.add(staticRow("OS Version", () -> systemData.getOsVersion().orElse(null)));
+        rows.add(staticRow("OS Architecture", () -> systemData.getOsArchitecture().orElse(null)));
+        rows.add(staticRow("OS Serial", () -> systemData.getOsSerial().orElse(null)));
+        rows.add(staticRow("OS License", () -> systemData.getOsLicense().orElse(null)));
+        rows.add(staticRow("System Type", () -> systemData.getSystemType().orElse(null)));
+        rows.add(staticRow("Manufacturer", () -> systemData.getSystemManufacturer().orElse(null)));
+        rows.add(staticRow("Model", () -> systemData.getSystemModel().orElse(null)));
+        rows.add(dynamicRow("CPU Load", () -> formatOrNA(getCPULoad(), "%.1f%%")));
+        rows.add(dynamicRow("CPU Load Avg", () -> systemData.getCpuLoadAvg().isPresent()
+                ? String.format("%.1f", systemData.getCpuLoadAvg().getAsDouble())
+                : null));
+        rows.add(dynamicRow("CPU Temperature", () -> formatOrNA(getCPUTemperature(), "%.1f°C")));
+        rows.add(dynamicRow("CPU Name", this::getCPUName));
+        rows.add(staticRow("CPU Cores", () -> systemData.getCpuCores().map(Object::toString).orElse(null)));
+        rows.add(staticRow("CPU Threads", () -> systemData.getCpuThreads().map(Object::toString).orElse(null)));
+        rows.add(staticRow("CPU Current Speed",
+                () -> systemData.getCpuCurrentSpeed().map(speed -> String.format("%d MHz", speed)).orElse(null)));
+        rows.add(staticRow("CPU Max Speed",
+                () -> systemData.getCpuMaxSpeed().map(speed -> String.format("%d MHz", speed)).orElse(null)));
+        rows.add(dynamicRow("GPU Load", () -> formatOrNA(getGPULoad(), "%.1f%%")));
+        rows.add(dynamicRow("GPU Temperature", () -> formatOrNA(getGPUTemperature(), "%.1f°C")));
+        rows.add(staticRow("Memory Manufacturer", () -> systemData.getMemoryManufacturer().orElse(null)));
+        rows.add(staticRow("Memory Part", () -> systemData.getMemoryPart().orElse(null)));
+        rows.add(staticRow("Memory Speed", () -> systemData.getMemorySpeed().orElse(null)));
+        rows.add(staticRow("Static Memory Total",
+                () -> formatBytes(systemData.getLong(MetricRegistry.MEMORY_TOTAL, 0L))));
+        rows.add(dynamicRow("Static Memory Free",
+                () -> formatBytes(systemData.getLong(MetricRegistry.MEMORY_FREE, 0L))));
+        rows.add(dynamicRow("Dynamic Total Memory", () -> formatBytes(getTotalMemory(systemData.snapshot()))));
+        rows.add(dynamicRow("Dynamic Available Memory",
+                () -> formatBytes(getAvailableMemory(systemData.snapshot()))));
+        rows.add(dynamicRow("Dynamic Used Memory", () -> {
+            SystemSnapshot snapshot = systemData.snapshot();
+            return formatBytes(getTotalMemory(snapshot) - getAvailableMemory(snapshot));
+        }));
+        rows.add(staticRow("Disk Model", () -> systemData.getDiskModel().orElse(null)));
+        rows.add(staticRow("Disk Size", () -> systemData.getDiskSize().map(size -> formatBytes(size)).orElse(null)));
+        rows.add(staticRow("Disk Type", () -> systemData.getDiskType().orElse(null)));
+        rows.add(staticRow("Disk Status", () -> systemData.getDiskStatus().orElse(null)));
+        rows.add(staticRow("Board Manufacturer", () -> systemData.getBoardManufacturer().orElse(null)));
+        rows.add(staticRow("Board Model", () -> systemData.getBoardModel().orElse(null)));
+        rows.add(staticRow("Board Version", () -> systemData.getBoardVersion().orElse(null)));
+        rows.add(staticRow("Board Serial", () -> systemData.getBoardSerial().orElse(null)));
+        rows.add(dynamicRow("Fan Speeds", () -> systemData.getFanSpeeds().map(DashboardView::formatFanSpeeds).orElse(null)));
+        rows.add(dynamicRow("System Uptime", () -> systemData.getSystemUptime().map(uptime -> formatUptime(uptime)).orElse(null)));
+        rows.add(dynamicRow("Boot Time", () -> systemData.getBootTime().orElse(null)));
+        rows.add(dynamicRow("OS Name (dyn)", () -> systemData.getOsName().orElse(null)));
+        rows.add(dynamicRow("Last Update", () -> systemData.getLastUpdate().toString()));
+        return rows;
+    }
+
+    private static SystemInfoItem staticRow(String component, Supplier<String> source) {
+        return new SystemInfoItem(component, source, false);
+    }
+
+    private static SystemInfoItem dynamicRow(String component, Supplier<String> source) {
+        return new SystemInfoItem(component, source, true);
+    }
+
+    private static String formatFanSpeeds(int[] speeds) {
+        StringBuilder speedsBuilder = new StringBuilder();
+        for (int i = 0; i < speeds.length; i++) {
+            if (i > 0) {
+                speedsBuilder.append(", ");
             }
-            String speeds = speedsBuilder.toString();
-            items.add(new SystemInfoItem("Fan Speeds", speeds));
+            speedsBuilder.append(speeds[i]).append(" RPM");
         }
-        if (systemData.getSystemUptime().isPresent()) {
-            items.add(new SystemInfoItem("System Uptime", formatUptime(systemData.getSystemUptime().get())));
-        }
-        if (systemData.getBootTime().isPresent()) {
-            items.add(new SystemInfoItem("Boot Time", systemData.getBootTime().get()));
-        }
-        if (systemData.getOsName().isPresent()) {
-            items.add(new SystemInfoItem("OS Name (dyn)", systemData.getOsName().get()));
+        return speedsBuilder.toString();
+    }
+
+    private List<SystemInfoItem> visibleSystemInfoRows() {
+        List<SystemInfoItem> visible = new ArrayList<>();
+        for (SystemInfoItem row : systemInfoRows) {
+            if (row.isVisible()) {
+                visible.add(row);
+            }
         }
-        items.add(new SystemInfoItem("Last Update", systemData.getLastUpdate().toString()));
-        return items;
+        return visible;
     }
 
     private Component createRamUsageBlock() {
@@ -319,13 +397,16 @@ public class DashboardView extends Main {
         Configuration conf = ramChart.getConfiguration();
         conf.setTitle("");
         conf.getChart().setStyledMode(true);
-        long totalMem = getTotalMemory();
-        long availableMem = getAvailableMemory();
+        SystemSnapshot snapshot = systemData.snapshot();
+        long totalMem = getTotalMemory(snapshot);
+        long availableMem = getAvailableMemory(snapshot);
         long usedMem = totalMem - availableMem;
-        DataSeries series = new DataSeries();
-        series.add(new DataSeriesItem("Occupée (" + formatBytes(usedMem) + ")", usedMem));
-        series.add(new DataSeriesItem("Libre (" + formatBytes(availableMem) + ")", availableMem));
-        conf.setSeries(series);
+        ramSeries = new DataSeries();
+        ramUsedItem = new DataSeriesItem("Occupée (" + formatBytes(usedMem) + ")", usedMem);
+        ramFreeItem = new DataSeriesItem("Libre (" + formatBytes(availableMem) + ")", availableMem);
+        ramSeries.add(ramUsedItem);
+        ramSeries.add(ramFreeItem);
+        conf.setSeries(ramSeries);
         PlotOptionsPie options = new PlotOptionsPie();
         options.setDataLabels(new DataLabels(true));
         conf.setPlotOptions(options);
@@ -366,63 +447,76 @@ public class DashboardView extends Main {
         return header;
     }
 
+    /**
+     * Reprend le dernier instantané déjà collecté, sans jamais attendre une
+     * collecte : le premier affichage ne dépend pas de la latence des capteurs
+     */
     private void initializeMonitors() {
-        try {
-            this.systemData = new SystemData();
-            updateSystemData();
-        } catch (Exception e) {
-            System.err.println("Erreur lors de l'initialisation du système de données: " + e.getMessage());
+        SystemSnapshot latest = samplingService.getLatest();
+        if (latest != null) {
+            systemData.publish(latest);
         }
     }
 
-    private void updateSystemData() {
-        try {
-            com.pcpeek.monitors.staticinfo.OSLevelMonitor osMonitor = new com.pcpeek.monitors.staticinfo.OSLevelMonitor();
-            com.pcpeek.monitors.staticinfo.HardwareLevelMonitor hwMonitor = new com.pcpeek.monitors.staticinfo.HardwareLevelMonitor();
-            osMonitor.update();
-            hwMonitor.update();
-            systemData.updateStaticData(osMonitor.getSystemInfo());
-            systemData.updateStaticData(hwMonitor.getSystemInfo());
-
-            com.pcpeek.monitors.dynamicinfo.ProbeMonitor probeMonitor = new com.pcpeek.monitors.dynamicinfo.ProbeMonitor();
-            com.pcpeek.monitors.dynamicinfo.ResourceMonitor resourceMonitor = new com.pcpeek.monitors.dynamicinfo.ResourceMonitor();
-            probeMonitor.update();
-            resourceMonitor.update();
-            systemData.updateDynamicData(probeMonitor.getSystemInfo());
-            systemData.updateDynamicData(resourceMonitor.getSystemInfo());
-
-        } catch (Exception e) {
-            System.err.println("Erreur lors de la mise à jour des données système: " + e.getMessage());
+    private void setLoading(boolean loading) {
+        this.loading = loading;
+        for (Component block : new Component[] { highlightsLayout, systemInfoBlock, cpuLoadChartComponent,
+                ramUsageBlock }) {
+            if (block != null) {
+                block.getElement().getClassList().set(LOADING_CLASS, loading);
+            }
         }
     }
 
     private void startPeriodicUpdate() {
-        updateTimer = new Timer("DashboardUpdate", true);
-        updateTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                if (ui != null) {
-                    ui.access(() -> {
-                        try {
-                            refreshData();
-                            updateUIComponents();
-                        } catch (Exception e) {
-                            System.err.println("Erreur lors de la mise à jour du dashboard: " + e.getMessage());
-                        }
-                    });
-                }
+        stopPeriodicUpdate();
+        subscription = broadcaster.register(ui, this::applySnapshot);
+        // Un onglet en arrière-plan est rafraîchi au rythme le plus lent
+        getElement().executeJs("const el = $0;"
+                + "if (el.__pcpeekVisibility) document.removeEventListener('visibilitychange', el.__pcpeekVisibility);"
+                + "el.__pcpeekVisibility = () => el.$server.setPageVisible(!document.hidden);"
+                + "document.addEventListener('visibilitychange', el.__pcpeekVisibility);"
+                + "el.__pcpeekVisibility();", getElement());
+    }
+
+    private void stopPeriodicUpdate() {
+        if (subscription != null) {
+            subscription.remove();
+            subscription = null;
+        }
+    }
+
+    @ClientCallable
+    private void setPageVisible(boolean visible) {
+        DashboardBroadcaster.Subscription current = subscription;
+        if (current != null) {
+            current.setVisible(visible);
+        }
+    }
+
+    /**
+     * Appelé par le diffuseur sous le verrou de session, avec le dernier
+     * instantané reçu
+     */
+    private void applySnapshot(SystemSnapshot snapshot) {
+        try {
+            if (snapshot == null || !snapshot.isNewerThan(renderedVersion)) {
+                return;
             }
-        }, 5000, 5000);
+            systemData.publish(snapshot);
+            renderedVersion = snapshot.getVersion();
+            if (loading) {
+                setLoading(false);
+            }
+            updateUIComponents();
+        } catch (Exception e) {
+            System.err.println("Erreur lors de la mise à jour du dashboard: " + e.getMessage());
+        }
     }
 
     private void updateUIComponents() {
-        if (highlightsLayout != null) {
-            highlightsLayout.removeAll();
-            highlightsLayout.add(
-                    createHighlight("Charge CPU", formatOrNA(getCPULoad(), "%.1f%%"), 0.0),
-                    createHighlight("Température CPU", formatOrNA(getCPUTemperature(), "%.1f°C"), 0.0),
-                    createHighlight("Charge GPU", formatOrNA(getGPULoad(), "%.1f%%"), 0.0),
-                    createHighlight("Température GPU", formatOrNA(getGPUTemperature(), "%.1f°C"), 0.0));
+        for (Highlight highlight : highlights) {
+            highlight.refresh();
         }
         if (systemInfoGrid != null) {
             updateSystemInfoGrid();
@@ -438,61 +532,294 @@ public class DashboardView extends Main {
         }
     }
 
+    /**
+     * Rafraîchit uniquement les lignes dont la valeur a changé. La liste
+     * d'éléments n'est renvoyée que si une ligne apparaît ou disparaît.
+     */
     private void updateSystemInfoGrid() {
-        List<SystemInfoItem> items = buildSystemInfoItems();
-        systemInfoGrid.setItems(items);
+        long staticVersion = systemData.snapshot().getStaticVersion();
+        boolean staticChanged = staticVersion != renderedStaticVersion;
+        renderedStaticVersion = staticVersion;
+        boolean visibilityChanged = false;
+        List<SystemInfoItem> changed = new ArrayList<>();
+        for (SystemInfoItem row : systemInfoRows) {
+            if (!row.dynamic && !staticChanged) {
+                continue;
+            }
+            boolean wasVisible = row.isVisible();
+            if (row.refresh()) {
+                if (wasVisible != row.isVisible()) {
+                    visibilityChanged = true;
+                } else {
+                    changed.add(row);
+                }
+            }
+        }
+        if (visibilityChanged) {
+            systemInfoGrid.setItems(visibleSystemInfoRows());
+        } else {
+            for (SystemInfoItem row : changed) {
+                systemInfoGrid.getDataProvider().refreshItem(row);
+            }
+        }
     }
 
+    /**
+     * Met à jour les deux parts du camembert en place : seules les valeurs
+     * modifiées sont envoyées au navigateur
+     */
     private void updateRamChart() {
-        Configuration conf = ramChart.getConfiguration();
-        conf.getSeries().clear();
-        long totalMem = getTotalMemory();
-        long availableMem = getAvailableMemory();
+        SystemSnapshot snapshot = systemData.snapshot();
+        long totalMem = getTotalMemory(snapshot);
+        long availableMem = getAvailableMemory(snapshot);
         long usedMem = totalMem - availableMem;
-        DataSeries series = new DataSeries();
-        series.add(new DataSeriesItem("Occupée (" + formatBytes(usedMem) + ")", usedMem));
-        series.add(new DataSeriesItem("Libre (" + formatBytes(availableMem) + ")", availableMem));
-        conf.setSeries(series);
-        ramChart.drawChart();
+        updateRamItem(ramUsedItem, "Occupée", usedMem);
+        updateRamItem(ramFreeItem, "Libre", availableMem);
+    }
+
+    private void updateRamItem(DataSeriesItem item, String label, long bytes) {
+        Number current = item.getY();
+        if (current != null && current.longValue() == bytes) {
+            return;
+        }
+        item.setY(bytes);
+        item.setName(label + " (" + formatBytes(bytes) + ")");
+        ramSeries.update(item);
     }
 
     private void updateCpuLoadChart() {
         if (cpuLoadChart == null)
             return;
         try {
-            Configuration conf = cpuLoadChart.getConfiguration();
-            conf.getSeries().clear();
-            double load = systemData.getCpuLoad().orElse(0.0);
-            double temp = systemData.getCpuTemperature().orElse(0.0);
-            ListSeries loadSeries = new ListSeries("Charge CPU (%)", load);
-            loadSeries.setyAxis(0);
-            ListSeries tempSeries = new ListSeries("Température CPU (°C)", temp);
-            tempSeries.setyAxis(1);
-            conf.addSeries(loadSeries);
-            conf.addSeries(tempSeries);
+            if (zoomTo != 0) {
+                // Une zone zoomée reste figée jusqu'à l'annulation du zoom
+                return;
+            }
+            if (chartRange == ChartRange.LIVE) {
+                cpuLoadSeries.appendNewPoints();
+                cpuTemperatureSeries.appendNewPoints();
+            } else if (latestChartTimestamp() - renderedTo >= chartRange.durationMillis / chartPixels()) {
+                // Fenêtre longue : redessinée quand un pixel de plus est couvert
+                renderCpuLoadChart();
+            }
+        } catch (Exception e) {
+            System.err.println("Erreur lors de la mise à jour du graphique CPU: " + e.getMessage());
+        }
+    }
+
+    private void zoomCpuLoadChart(Double start, Double end) {
+        if (start == null || end == null) {
+            // Sélection sans bornes : zoom annulé dans le navigateur
+            resetZoom();
+            return;
+        }
+        if (end <= start) {
+            return;
+        }
+        zoomFrom = start.longValue();
+        zoomTo = end.longValue();
+        resetZoomButton.setVisible(true);
+        renderCpuLoadChart();
+    }
+
+    /**
+     * Revient à la fenêtre choisie ; en temps réel, les séries sont
+     * préremplies à nouveau avant de reprendre l'ajout des points
+     */
+    private void resetZoom() {
+        if (zoomTo == 0) {
+            return;
+        }
+        zoomTo = 0;
+        resetZoomButton.setVisible(false);
+        renderCpuLoadChart();
+    }
+
+    /**
+     * Redessine tout le graphique CPU : les derniers points bruts en temps
+     * réel, sinon un point par pixel de large, lus dans les niveaux de
+     * résolution de l'historique pour un coût indépendant de la durée
+     * affichée
+     */
+    private void renderCpuLoadChart() {
+        try {
+            if (zoomTo == 0 && chartRange == ChartRange.LIVE) {
+                cpuLoadSeries.prefill();
+                cpuTemperatureSeries.prefill();
+            } else {
+                long to = zoomTo != 0 ? zoomTo : latestChartTimestamp();
+                long from = zoomTo != 0 ? zoomFrom : to - chartRange.durationMillis;
+                int points = chartPixels();
+                cpuLoadSeries.showWindow(from, to, points);
+                cpuTemperatureSeries.showWindow(from, to, points);
+                renderedTo = to;
+            }
             cpuLoadChart.drawChart();
         } catch (Exception e) {
             System.err.println("Erreur lors de la mise à jour du graphique CPU: " + e.getMessage());
         }
     }
 
+    private long latestChartTimestamp() {
+        long latest = 0;
+        for (Metric metric : new Metric[] { MetricRegistry.CPU_LOAD, MetricRegistry.CPU_TEMPERATURE }) {
+            MetricHistory history = samplingService.getHistory().get(metric);
+            if (history != null) {
+                latest = Math.max(latest, history.getLatestTimestamp());
+            }
+        }
+        return latest;
+    }
+
+    private int chartPixels() {
+        return Math.max(3, chartWidth > 0 ? chartWidth : DEFAULT_CHART_WIDTH);
+    }
+
+    @ClientCallable
+    private void setChartWidth(int width) {
+        if (width <= 0 || width == chartWidth) {
+            return;
+        }
+        chartWidth = width;
+        if (zoomTo != 0 || chartRange != ChartRange.LIVE) {
+            renderCpuLoadChart();
+        }
+    }
+
+    /**
+     * Série du graphique alimentée par l'historique d'une métrique.
+     * Elle est préremplie avec la fenêtre la plus récente, puis ne reçoit que
+     * les points plus récents que le dernier affiché : chaque point est ajouté
+     * avec l'API d'ajout de Highcharts, qui décale le plus ancien une fois la
+     * fenêtre pleine, au lieu de renvoyer toute la configuration.
+     * <p>
+     * Sur une fenêtre longue, la série reçoit l'historique réduit à un point
+     * par pixel, et la série d'enveloppe associée les extremums de chaque
+     * point.
+     */
+    private final class StreamingSeries {
+        private final DataSeries series;
+        private final DataSeries envelope;
+        private final Metric metric;
+        private long lastTimestamp;
+
+        StreamingSeries(String name, Metric metric, int yAxis) {
+            this.series = new DataSeries(name);
+            this.series.setyAxis(yAxis);
+            this.envelope = new DataSeries(name + " min/max");
+            this.envelope.setyAxis(yAxis);
+            PlotOptionsArearange envelopeOptions = new PlotOptionsArearange();
+            envelopeOptions.setAnimation(false);
+            envelopeOptions.setEnableMouseTracking(false);
+            this.envelope.setPlotOptions(envelopeOptions);
+            this.metric = metric;
+            prefill();
+        }
+
+        void prefill() {
+            lastTimestamp = 0;
+            envelope.setData(new ArrayList<>());
+            MetricHistory history = samplingService.getHistory().get(metric);
+            if (history == null) {
+                series.setData(new ArrayList<>());
+                return;
+            }
+            List<DataSeriesItem> items = new ArrayList<>(chartPoints);
+            history.forEachLast(chartPoints, (timestamp, value) -> {
+                items.add(new DataSeriesItem(timestamp, value));
+                lastTimestamp = timestamp;
+            });
+            series.setData(items);
+        }
+
+        void showWindow(long fromMillis, long toMillis, int points) {
+            List<DataSeriesItem> items = new ArrayList<>(points);
+            List<DataSeriesItem> ranges = new ArrayList<>(points);
+            MetricHistory history = samplingService.getHistory().get(metric);
+            if (history != null) {
+                history.forEachDownsampled(fromMillis, toMillis, points, (timestamp, value, min, max) -> {
+                    items.add(new DataSeriesItem(timestamp, value));
+                    DataSeriesItem range = new DataSeriesItem();
+                    range.setX(timestamp);
+                    range.setLow(min);
+                    range.setHigh(max);
+                    ranges.add(range);
+                });
+            }
+            series.setData(items);
+            envelope.setData(ranges);
+        }
+
+        void appendNewPoints() {
+            MetricHistory history = samplingService.getHistory().get(metric);
+            if (history == null || history.getLatestTimestamp() <= lastTimestamp) {
+                return;
+            }
+            history.forEachSince(lastTimestamp + 1, (timestamp, value) -> {
+                boolean shift = series.size() >= chartPoints;
+                series.add(new DataSeriesItem(timestamp, value), true, shift);
+                lastTimestamp = timestamp;
+            });
+        }
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        this.ui = attachEvent.getUI();
+        // Le diffuseur applique aussitôt un instantané publié entre la
+        // construction et l'inscription
+        startPeriodicUpdate();
+        // Largeur du graphique CPU : un point par pixel sur les fenêtres longues
+        getElement().executeJs("const el = $0, chart = $1;"
+                + "if (el.__pcpeekResize) el.__pcpeekResize.disconnect();"
+                + "el.__pcpeekResize = new ResizeObserver(() => el.$server.setChartWidth(Math.round(chart.clientWidth)));"
+                + "el.__pcpeekResize.observe(chart);", getElement(), cpuLoadChart.getElement());
+    }
+
     @Override
     protected void onDetach(com.vaadin.flow.component.DetachEvent detachEvent) {
         super.onDetach(detachEvent);
-        if (updateTimer != null) {
-            updateTimer.cancel();
+        stopPeriodicUpdate();
+    }
+
+    /**
+     * Fenêtres du graphique CPU
+     */
+    private enum ChartRange {
+        LIVE("Temps réel", 0),
+        QUARTER_HOUR("15 min", 15 * 60_000L),
+        HOUR("1 h", 3_600_000L),
+        SIX_HOURS("6 h", 6 * 3_600_000L),
+        DAY("24 h", 24 * 3_600_000L),
+        WEEK("7 jours", 7 * 24 * 3_600_000L);
+
+        private final String label;
+        private final long durationMillis;
+
+        ChartRange(String label, long durationMillis) {
+            this.label = label;
+            this.durationMillis = durationMillis;
         }
     }
 
     public static class SystemInfoItem {
-        private String component;
+        private final String component;
+        private final Supplier<String> source;
+        private final boolean dynamic;
         private String value;
 
         public SystemInfoItem(String component, String value) {
-            this.component = component;
+            this(component, () -> value, false);
             this.value = value;
         }
 
+        SystemInfoItem(String component, Supplier<String> source, boolean dynamic) {
+            this.component = component;
+            this.source = source;
+            this.dynamic = dynamic;
+        }
+
         public String getComponent() {
             return component;
         }
@@ -500,14 +827,55 @@ public class DashboardView extends Main {
         public String getValue() {
             return value;
         }
+
+        boolean isVisible() {
+            return value != null;
+        }
+
+        /**
+         * Relit la valeur depuis sa source
+         *
+         * @return true si la valeur a changé
+         */
+        boolean refresh() {
+            String next = source.get();
+            if (Objects.equals(next, value)) {
+                return false;
+            }
+            value = next;
+            return true;
+        }
+    }
+
+    /**
+     * Valeur d'un indicateur, modifiée en place uniquement si elle change
+     */
+    private static final class Highlight {
+        private final Supplier<String> source;
+        private final Span valueSpan;
+        private String text;
+
+        Highlight(Supplier<String> source) {
+            this.source = source;
+            this.text = source.get();
+            this.valueSpan = new Span(text);
+        }
+
+        void refresh() {
+            String next = source.get();
+            if (!Objects.equals(next, text)) {
+                text = next;
+                valueSpan.setText(next);
+            }
+        }
     }
 
     private double getCPULoad() {
-        return systemData.getCpuLoad().orElse(0.0);
+        return systemData.getDouble(MetricRegistry.CPU_LOAD, 0.0);
     }
 
     private double getCPUTemperature() {
-        return systemData.getCpuTemperature().orElse(0.0);
+        return systemData.getDouble(MetricRegistry.CPU_TEMPERATURE, 0.0);
     }
 
     private String getCPUName() {
@@ -515,22 +883,26 @@ public class DashboardView extends Main {
                 systemData.getProcessorName().orElse("N/A"));
     }
 
-    private long getTotalMemory() {
-        return systemData.getTotalMemory().orElse(
-                systemData.getMemoryTotal().orElse(0L));
+    /**
+     * Les mémoires totale et disponible doivent venir du même instantané,
+     * sinon la mémoire occupée calculée peut être incohérente
+     */
+    private static long getTotalMemory(SystemSnapshot snapshot) {
+        return snapshot.getLong(MetricRegistry.TOTAL_MEMORY,
+                snapshot.getLong(MetricRegistry.MEMORY_TOTAL, 0L));
     }
 
-    private long getAvailableMemory() {
-        return systemData.getAvailableMemory().orElse(
-                systemData.getMemoryFree().orElse(0L));
+    private static long getAvailableMemory(SystemSnapshot snapshot) {
+        return snapshot.getLong(MetricRegistry.AVAILABLE_MEMORY,
+                snapshot.getLong(MetricRegistry.MEMORY_FREE, 0L));
     }
 
     private double getGPULoad() {
-        return systemData.getGpuLoad().orElse(0.0);
+        return systemData.getDouble(MetricRegistry.GPU_LOAD, 0.0);
     }
 
     private double getGPUTemperature() {
-        return systemData.getGpuTemperature().orElse(0.0);
+        return systemData.getDouble(MetricRegistry.GPU_TEMPERATURE, 0.0);
     }
 
     private String getOSName() {
@@ -644,10 +1016,6 @@ public class DashboardView extends Main {
                         "</svg>").getBytes());
     }
 
-    private void refreshData() {
-        updateSystemData();
-    }
-
     public SystemData getSystemData() {
         return systemData;
     }
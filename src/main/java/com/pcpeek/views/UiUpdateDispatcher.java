@@ -0,0 +1,108 @@
+package com.pcpeek.views;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.Command;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transmet les mises à jour aux interfaces depuis un exécuteur dédié.
+ * Le thread d'échantillonnage ne fait que déposer la tâche : il n'attend
+ * jamais le verrou de session Vaadin et n'exécute jamais le rendu d'un
+ * onglet lui-même. Le rendu se limite à appliquer un instantané déjà
+ * collecté.
+ * <p>
+ * Chaque interface possède un {@link PushGuard} : tant que la mise à jour
+ * précédente n'a pas commencé à s'appliquer, les suivantes sont ignorées, si
+ * bien qu'un onglet lent n'accumule jamais de file de mises à jour.
+ */
+@Component
+public class UiUpdateDispatcher {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final ExecutorService executor;
+
+    public UiUpdateDispatcher() {
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "pcpeek-ui-dispatch-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Programme une mise à jour de l'interface, sauf si la précédente est
+     * encore en attente
+     *
+     * @param ui      Interface cible
+     * @param guard   Garde de l'interface
+     * @param command Mise à jour, exécutée sous le verrou de session
+     * @return false si la mise à jour a été ignorée
+     */
+    public boolean dispatch(UI ui, PushGuard guard, Command command) {
+        if (!guard.pending.compareAndSet(false, true)) {
+            guard.skipped.incrementAndGet();
+            return false;
+        }
+        try {
+            executor.execute(() -> access(ui, guard, command));
+            return true;
+        } catch (RejectedExecutionException e) {
+            guard.pending.set(false);
+            return false;
+        }
+    }
+
+    private static void access(UI ui, PushGuard guard, Command command) {
+        try {
+            ui.access(() -> {
+                // La garde est levée avant le rendu : un instantané arrivé
+                // pendant le rendu sera appliqué par la mise à jour suivante
+                guard.pending.set(false);
+                command.execute();
+            });
+        } catch (Exception e) {
+            // Interface détachée ou session fermée
+            guard.pending.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * État de mise à jour d'une interface
+     */
+    public static final class PushGuard {
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private final AtomicLong skipped = new AtomicLong();
+
+        public boolean isPending() {
+            return pending.get();
+        }
+
+        /**
+         * @return Nombre de mises à jour ignorées car la précédente était en attente
+         */
+        public long getSkipped() {
+            return skipped.get();
+        }
+
+        /**
+         * Lève la garde, par exemple au détachement de l'interface
+         */
+        public void reset() {
+            pending.set(false);
+        }
+    }
+}
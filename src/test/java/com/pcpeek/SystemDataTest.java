@@ -0,0 +1,123 @@
+package com.pcpeek;
+
+import com.pcpeek.metrics.MetricRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Map;
+
+public class SystemDataTest {
+    private SystemData systemData;
+
+    @BeforeEach
+    void setUp() {
+        systemData = new SystemData();
+    }
+
+    @Test
+    @DisplayName("Test de la lecture typée sans allocation")
+    void testTypedAccessors() {
+        systemData.setCpuLoad(42.5);
+        systemData.setTotalMemory(16L * 1024 * 1024 * 1024);
+
+        assertEquals(42.5, systemData.getDouble(MetricRegistry.CPU_LOAD, -1), 0.001, "La charge CPU devrait être lue");
+        assertEquals(16L * 1024 * 1024 * 1024, systemData.getLong(MetricRegistry.TOTAL_MEMORY, -1),
+                "La mémoire totale devrait être lue");
+        assertEquals(-1.0, systemData.getDouble(MetricRegistry.GPU_LOAD, -1), 0.001,
+                "Une métrique absente devrait retourner la valeur par défaut");
+    }
+
+    @Test
+    @DisplayName("Test de la priorité des données dynamiques sur les données statiques")
+    void testDynamicOverridesStatic() {
+        systemData.putStatic("memory.total", 1024L);
+        systemData.putDynamic("memory.total", 2048L);
+
+        assertEquals(2048L, (long) systemData.getMemoryTotal().get(), "La valeur dynamique devrait être prioritaire");
+
+        systemData.clearDynamicData();
+        assertEquals(1024L, (long) systemData.getMemoryTotal().get(), "La valeur statique devrait être retrouvée");
+    }
+
+    @Test
+    @DisplayName("Test de la conversion des valeurs textuelles numériques")
+    void testNumericTextConversion() {
+        systemData.putStatic("cpu.cores", "8");
+        systemData.putStatic("cpu.name", "Intel Core i7");
+
+        assertEquals(8L, (long) systemData.getCpuCores().get(), "Le nombre de cœurs devrait être converti");
+        assertEquals("Intel Core i7", systemData.getCpuName().get(), "Le nom du CPU devrait rester textuel");
+    }
+
+    @Test
+    @DisplayName("Test des clés inconnues et de la copie des données")
+    void testUnknownKeysAndMaps() {
+        systemData.putDynamic("os.boottime", "2024-01-01 08:00:00");
+        systemData.setFanSpeeds(new int[] { 1200, 800 });
+
+        Map<String, Object> all = systemData.getAllData();
+        assertEquals("2024-01-01 08:00:00", all.get("os.boottime"), "Une clé inconnue devrait être conservée");
+        assertTrue(systemData.hasDynamicData("fan_speeds"), "Les vitesses des ventilateurs devraient être présentes");
+        assertArrayEquals(new int[] { 1200, 800 }, systemData.getFanSpeeds().get(), "Les vitesses devraient être lues");
+        assertEquals(2, systemData.getDynamicDataCount(), "Deux valeurs dynamiques devraient être présentes");
+    }
+
+    @Test
+    @DisplayName("Test de la copie des tableaux des instantanés")
+    void testArraysAreCopied() {
+        double[] loads = { 0.25, 0.75 };
+        systemData.setCpuLoadsPerCore(loads);
+        loads[0] = 1.0;
+
+        double[] read = systemData.getCpuLoadsPerCore().get();
+        assertEquals(0.25, read[0], 0.001, "Le tableau du producteur ne devrait pas être partagé");
+        read[1] = 0.0;
+        assertEquals(0.75, systemData.getCpuLoadsPerCore().get()[1], 0.001,
+                "Le tableau d'un lecteur ne devrait pas modifier l'instantané");
+
+        SystemSnapshot snapshot = systemData.snapshot();
+        assertEquals(2, snapshot.getLength(MetricRegistry.CPU_LOADS_PER_CORE));
+        assertEquals(0.75, snapshot.getElement(MetricRegistry.CPU_LOADS_PER_CORE, 1, -1), 0.001);
+        assertEquals(-1, snapshot.getElement(MetricRegistry.CPU_LOADS_PER_CORE, 2, -1), 0.001,
+                "Un indice hors du tableau devrait retourner la valeur par défaut");
+        assertEquals(-1, snapshot.getLength(MetricRegistry.FAN_SPEEDS), "Un tableau absent n'a pas de longueur");
+    }
+
+    @Test
+    @DisplayName("Test des instantanés immuables et versionnés")
+    void testSnapshotVersioning() {
+        long initialVersion = systemData.getVersion();
+        systemData.setTotalMemory(8192L);
+        systemData.setAvailableMemory(2048L);
+        SystemSnapshot snapshot = systemData.snapshot();
+
+        assertTrue(systemData.hasChangedSince(initialVersion), "La version devrait avoir changé");
+        assertFalse(systemData.hasChangedSince(snapshot.getVersion()), "La version ne devrait pas avoir changé");
+
+        systemData.update(builder -> builder
+                .putDynamicLong(MetricRegistry.TOTAL_MEMORY, 16384L)
+                .putDynamicLong(MetricRegistry.AVAILABLE_MEMORY, 4096L));
+
+        assertEquals(snapshot.getVersion() + 1, systemData.getVersion(), "Un lot ne devrait publier qu'une version");
+        assertEquals(8192L, snapshot.getLong(MetricRegistry.TOTAL_MEMORY, -1), "L'ancien instantané ne devrait pas changer");
+        assertEquals(2048L, snapshot.getLong(MetricRegistry.AVAILABLE_MEMORY, -1), "L'ancien instantané ne devrait pas changer");
+        assertEquals(4096L, systemData.getLong(MetricRegistry.AVAILABLE_MEMORY, -1), "La nouvelle valeur devrait être lue");
+    }
+
+    @Test
+    @DisplayName("Test de la version des informations statiques")
+    void testStaticVersion() {
+        systemData.putStatic("cpu.name", "Test CPU");
+        long staticVersion = systemData.snapshot().getStaticVersion();
+        assertEquals(systemData.getVersion(), staticVersion, "La version statique devrait suivre la modification");
+
+        systemData.setTotalMemory(8192L);
+        assertEquals(staticVersion, systemData.snapshot().getStaticVersion(),
+                "Une valeur dynamique ne devrait pas changer la version statique");
+
+        systemData.update(builder -> builder.clearStatic().putStatic(MetricRegistry.CPU_NAME, "Autre CPU"));
+        assertEquals(systemData.getVersion(), systemData.snapshot().getStaticVersion(),
+                "Une nouvelle valeur statique devrait changer la version statique");
+    }
+}
@@ -0,0 +1,60 @@
+package com.pcpeek.agent;
+
+import com.pcpeek.sampling.SamplingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgentOptionsTest {
+
+    @Test
+    @DisplayName("Test des options par défaut du mode agent")
+    void testDefaults() {
+        AgentOptions options = AgentOptions.parse(new String[] { "--agent" });
+
+        assertEquals(SamplingService.DEFAULT_INTERVAL_MS, options.getIntervalMs());
+        assertEquals(List.of("stdout"), options.getOutputs(), "La sortie standard devrait être utilisée par défaut");
+        assertNull(options.getSelection(), "Toutes les métriques devraient être transmises par défaut");
+        assertEquals(0, options.getMaxSamples());
+    }
+
+    @Test
+    @DisplayName("Test de la lecture des options du mode agent")
+    void testParse() {
+        AgentOptions options = AgentOptions.parse(new String[] { "--agent", "--interval-ms=1000",
+                "--output=file:/var/log/pcpeek.ndjson", "--output=tcp:collecteur:9000",
+                "--metrics=cpu_load,gpu_load", "--samples=10" });
+
+        assertEquals(1000, options.getIntervalMs());
+        assertEquals(List.of("file:/var/log/pcpeek.ndjson", "tcp:collecteur:9000"), options.getOutputs(),
+                "Les destinations devraient être conservées dans l'ordre");
+        assertNotNull(options.getSelection());
+        assertEquals(10, options.getMaxSamples());
+    }
+
+    @Test
+    @DisplayName("Test d'un agent qui ne fait qu'enregistrer la session")
+    void testRecordOnly() {
+        AgentOptions options = AgentOptions.parse(new String[] { "--agent", "--record=sessions/serveur1" });
+
+        assertEquals("sessions/serveur1", options.getRecordDirectory());
+        assertTrue(options.getOutputs().isEmpty(), "Rien ne devrait être écrit sur la sortie standard");
+        assertNull(AgentOptions.parse(new String[] { "--agent" }).getRecordDirectory());
+    }
+
+    @Test
+    @DisplayName("Test du rejet des options invalides")
+    void testInvalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> AgentOptions.parse(new String[] { "--interval-ms=0" }));
+        assertThrows(IllegalArgumentException.class, () -> AgentOptions.parse(new String[] { "--interval-ms=abc" }));
+        assertThrows(IllegalArgumentException.class, () -> AgentOptions.parse(new String[] { "--output=syslog" }));
+        assertThrows(IllegalArgumentException.class, () -> AgentOptions.parse(new String[] { "--output=tcp:hote" }));
+        assertThrows(IllegalArgumentException.class,
+                () -> AgentOptions.parse(new String[] { "--output=tcp:hote:70000" }));
+        assertThrows(IllegalArgumentException.class, () -> AgentOptions.parse(new String[] { "--metrics=inconnue" }));
+        assertThrows(IllegalArgumentException.class, () -> AgentOptions.parse(new String[] { "--record=" }));
+    }
+}
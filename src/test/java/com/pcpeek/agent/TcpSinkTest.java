@@ -0,0 +1,62 @@
+package com.pcpeek.agent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TcpSinkTest {
+    // Bien plus que les tampons d'envoi et de réception réunis
+    private static final String LINE = "x".repeat(64 * 1024) + "\n";
+
+    // Écrit jusqu'à ce que l'écriture échoue, le collecteur ne lisant jamais
+    private static CompletableFuture<Void> writeUntilFailure(TcpSink sink) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                while (true) {
+                    sink.write(LINE);
+                }
+            } catch (IOException e) {
+                // Attendu : la connexion a été fermée pendant l'écriture
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Test de la fermeture pendant une écriture bloquée")
+    void testCloseDuringBlockedWrite() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            TcpSink sink = new TcpSink("127.0.0.1", server.getLocalPort(), 60_000);
+            CompletableFuture<Void> writing = writeUntilFailure(sink);
+            try (Socket ignored = server.accept()) {
+                Thread.sleep(500);
+                assertFalse(writing.isDone(), "L'écriture devrait être bloquée");
+
+                CompletableFuture<Void> closing = CompletableFuture.runAsync(sink::close);
+                closing.get(2, TimeUnit.SECONDS);
+                writing.get(2, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test de la coupure d'une écriture bloquée au-delà du délai")
+    void testStalledWriteTimeout() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            TcpSink sink = new TcpSink("127.0.0.1", server.getLocalPort(), 200);
+            CompletableFuture<Void> writing = writeUntilFailure(sink);
+            try (Socket ignored = server.accept()) {
+                writing.get(5, TimeUnit.SECONDS);
+            } finally {
+                sink.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.pcpeek.api;
+
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.MetricRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotEncoderTest {
+
+    private static SystemSnapshot sample(long version) {
+        return SystemSnapshot.builder()
+                .putStatic(MetricRegistry.CPU_NAME, "Test CPU")
+                .putDynamicDouble(MetricRegistry.CPU_LOAD, 12.5)
+                .putDynamicLong(MetricRegistry.AVAILABLE_MEMORY, 1024L)
+                .putDynamic(MetricRegistry.PROCESSOR_NAME, "CPU \"test\"")
+                .putDynamic(MetricRegistry.FAN_SPEEDS, new int[] { 1200, 900 })
+                .build(version);
+    }
+
+    @Test
+    @DisplayName("Test de l'encodage JSON d'un instantané")
+    public void testEncode() {
+        SnapshotEncoder.EncodedSnapshot encoded = new SnapshotEncoder().encode(sample(3));
+        String json = encoded.toJson();
+
+        assertTrue(json.startsWith("{\"version\":3,\"timestamp\":"), "Le document devrait commencer par la version");
+        assertTrue(json.contains("\"cpu_load\":12.5"));
+        assertTrue(json.contains("\"available_memory\":1024"));
+        assertTrue(json.contains("\"processor_name\":\"CPU \\\"test\\\"\""), "Les guillemets devraient être échappés");
+        assertTrue(json.contains("\"fan_speeds\":[1200,900]"));
+        assertFalse(json.contains("cpu.name"), "Les informations statiques ne font pas partie du flux");
+        assertEquals(json + "\n", encoded.toJsonLine(null));
+    }
+
+    @Test
+    @DisplayName("Test du partage de l'encodage entre abonnés")
+    public void testEncodedOncePerVersion() {
+        SnapshotEncoder encoder = new SnapshotEncoder();
+        SnapshotEncoder.EncodedSnapshot first = encoder.encode(sample(5));
+        SnapshotEncoder.EncodedSnapshot second = encoder.encode(sample(5));
+
+        assertSame(first, second, "Une même version ne devrait être encodée qu'une fois");
+        assertNotSame(first, encoder.encode(sample(6)));
+
+        MetricSelection selection = MetricSelection.parse("fan_speeds, cpu_load");
+        MetricSelection reordered = MetricSelection.parse("cpu_load,fan_speeds");
+        assertEquals(selection.getKey(), reordered.getKey());
+        assertSame(first.toJson(selection), first.toJson(reordered), "Le document d'une sélection devrait être partagé");
+        assertFalse(first.toJson(selection).contains("available_memory"));
+    }
+
+    @Test
+    @DisplayName("Test des lignes NDJSON d'une sélection")
+    public void testJsonLineWithSelection() {
+        SnapshotEncoder.EncodedSnapshot encoded = new SnapshotEncoder().encode(sample(7));
+        MetricSelection selection = MetricSelection.parse("cpu_load");
+
+        String line = encoded.toJsonLine(selection);
+
+        assertEquals(encoded.toJson(selection) + "\n", line);
+        assertSame(line, encoded.toJsonLine(MetricSelection.parse("cpu_load")), "La ligne devrait être partagée");
+    }
+
+    @Test
+    @DisplayName("Test du rejet d'une métrique inconnue")
+    public void testUnknownMetric() {
+        assertNull(MetricSelection.parse(" "));
+        assertThrows(IllegalArgumentException.class, () -> MetricSelection.parse("cpu_load,inexistante"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.pcpeek.cli;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TerminalRendererTest {
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final TerminalRenderer renderer = new TerminalRenderer(output, StandardCharsets.UTF_8, 20, 5);
+
+    private String frame(String text) throws IOException {
+        output.reset();
+        renderer.beginFrame();
+        renderer.print(text);
+        renderer.endFrame();
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Test de l'envoi des seules cellules modifiées")
+    void testDiff() throws IOException {
+        String first = frame("Charge: 12%\nTempérature\n");
+        assertTrue(first.startsWith("\033[?25l\033[H\033[2J"), "La première image devrait effacer l'écran");
+        assertTrue(first.contains("Charge: 12%"), "La première image devrait être entièrement écrite");
+        assertTrue(first.contains("Température"), "Les caractères accentués devraient être écrits");
+
+        assertEquals("", frame("Charge: 12%\nTempérature\n"), "Une image identique ne devrait rien envoyer");
+
+        assertEquals("\033[1;10H7\033[3;1H", frame("Charge: 17%\nTempérature\n"),
+                "Seul le chiffre modifié devrait être envoyé, puis le curseur placé sous l'image");
+
+        assertEquals("\033[1;9H4% \033[2;1H           \033[2;1H", frame("Charge: 4%\n"),
+                "Le texte raccourci et la ligne disparue devraient être effacés");
+    }
+
+    @Test
+    @DisplayName("Test des nombres, des barres et de la troncature")
+    void testFormatting() throws IOException {
+        renderer.beginFrame();
+        renderer.print(7, 2).print(' ').print(-42).print(' ').print(3.14159, 2).newLine();
+        renderer.print('[').repeat('#', 3).repeat(' ', 2).print(']').newLine();
+        renderer.print("Une ligne bien trop longue pour l'écran").newLine();
+        renderer.print("\n\n\nhors de l'écran");
+        renderer.endFrame();
+        String text = output.toString(StandardCharsets.UTF_8);
+        char separator = java.text.DecimalFormatSymbols.getInstance().getDecimalSeparator();
+        assertTrue(text.contains("07 -42 3" + separator + "14"), "Les nombres devraient être formatés sans String.format");
+        assertTrue(text.contains("[###  ]"), "La barre devrait être dessinée");
+        assertTrue(text.contains("Une ligne bien trop"), "La ligne devrait être tronquée à la largeur");
+        assertFalse(text.contains("longue"), "La fin de la ligne devrait être ignorée");
+        assertFalse(text.contains("hors"), "Les lignes sous l'écran devraient être ignorées");
+
+        output.reset();
+        renderer.close();
+        assertTrue(output.toString(StandardCharsets.UTF_8).endsWith("\033[?25h"), "Le curseur devrait être réaffiché");
+    }
+}
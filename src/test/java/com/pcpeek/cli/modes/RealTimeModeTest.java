@@ -1,6 +1,8 @@
 package com.pcpeek.cli.modes;
 
 import com.pcpeek.SystemData;
+import com.pcpeek.sampling.SamplingService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +14,7 @@ import java.io.PrintStream;
 
 public class RealTimeModeTest {
     private SystemData systemData;
+    private SamplingService samplingService;
     private RealTimeMode realTimeMode;
     private ByteArrayOutputStream outputStream;
     private PrintStream originalOut;
@@ -19,12 +22,20 @@ public class RealTimeModeTest {
     @BeforeEach
     void setUp() {
         systemData = new SystemData();
-        realTimeMode = new RealTimeMode(systemData);
+        samplingService = new SamplingService(1000);
+        samplingService.start();
+        realTimeMode = new RealTimeMode(systemData, samplingService);
         outputStream = new ByteArrayOutputStream();
         originalOut = System.out;
         System.setOut(new PrintStream(outputStream));
     }
 
+    @AfterEach
+    void tearDown() {
+        samplingService.stop();
+        System.setOut(originalOut);
+    }
+
     @Test
     @DisplayName("Test de l'initialisation du mode temps réel")
     void testInitialization() {
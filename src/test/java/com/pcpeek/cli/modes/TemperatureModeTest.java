@@ -1,6 +1,9 @@
 package com.pcpeek.cli.modes;
 
 import com.pcpeek.SystemData;
+import com.pcpeek.metrics.MetricHistory;
+import com.pcpeek.metrics.MetricRegistry;
+import com.pcpeek.sampling.SamplingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +17,7 @@ import java.util.ArrayList;
 
 public class TemperatureModeTest {
     private SystemData systemData;
+    private SamplingService samplingService;
     private TemperatureMode temperatureMode;
     private ByteArrayOutputStream outputStream;
     private PrintStream originalOut;
@@ -21,7 +25,8 @@ public class TemperatureModeTest {
     @BeforeEach
     void setUp() {
         systemData = new SystemData();
-        temperatureMode = new TemperatureMode(systemData);
+        samplingService = new SamplingService();
+        temperatureMode = new TemperatureMode(systemData, samplingService);
         outputStream = new ByteArrayOutputStream();
         originalOut = System.out;
         System.setOut(new PrintStream(outputStream));
@@ -34,12 +39,21 @@ public class TemperatureModeTest {
     }
 
     @Test
-    @DisplayName("Test de la mise à jour des métriques")
-    void testUpdateMetrics() {
-        temperatureMode.updateMetrics();
-        
-        assertTrue(systemData.getCpuTemperature().isPresent(), "La température CPU devrait être présente");
-        assertTrue(systemData.getCpuLoad().isPresent(), "La charge CPU devrait être présente");
+    @DisplayName("Test de l'analyse sur l'historique du service")
+    void testAnalysisUsesServiceHistory() {
+        MetricHistory temperatures = samplingService.getHistory().get(MetricRegistry.CPU_TEMPERATURE);
+        for (int i = 0; i < 10; i++) {
+            temperatures.add(1000L * i, 50.0 + i);
+        }
+        Scanner scanner = new Scanner(new ByteArrayInputStream("\n".getBytes()));
+
+        temperatureMode.showDetailedAnalysis(scanner);
+
+        String output = outputStream.toString();
+        assertTrue(output.contains("Température actuelle: 59.0°C") || output.contains("Température actuelle: 59,0°C"),
+                "La dernière valeur de l'historique devrait être analysée");
+        assertTrue(output.contains("Température moyenne: 54.5°C") || output.contains("Température moyenne: 54,5°C"),
+                "Toute la rétention devrait être analysée");
     }
 
     @Test
@@ -0,0 +1,139 @@
+package com.pcpeek.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricHistoryTest {
+
+    @Test
+    @DisplayName("Test de l'écrasement des points les plus anciens")
+    void testRingOverwrite() {
+        MetricHistory history = new MetricHistory(3);
+        for (int i = 1; i <= 5; i++) {
+            history.add(i * 1000L, i * 10.0);
+        }
+
+        assertEquals(3, history.size(), "L'historique ne devrait pas dépasser sa capacité");
+        assertEquals(30.0, history.getValue(0), 0.001, "Le plus ancien point conservé devrait être le troisième");
+        assertEquals(5000L, history.getLatestTimestamp(), "Le dernier horodatage devrait être conservé");
+        assertEquals(50.0, history.getLatest(-1), 0.001, "La dernière valeur devrait être conservée");
+    }
+
+    @Test
+    @DisplayName("Test de la lecture d'une fenêtre sans copie")
+    void testWindowVisit() {
+        MetricHistory history = new MetricHistory(10);
+        for (int i = 1; i <= 6; i++) {
+            history.add(i * 1000L, i);
+        }
+
+        double[] sum = new double[1];
+        int visited = history.forEachSince(4000L, (timestamp, value) -> sum[0] += value);
+        assertEquals(3, visited, "Trois points devraient être dans la fenêtre");
+        assertEquals(15.0, sum[0], 0.001, "Les points 4, 5 et 6 devraient être visités");
+
+        double[] last = new double[2];
+        assertEquals(2, history.copyLastValues(last), "Deux valeurs devraient être copiées");
+        assertArrayEquals(new double[] { 5.0, 6.0 }, last, 0.001, "Les deux dernières valeurs devraient être copiées");
+    }
+
+    @Test
+    @DisplayName("Test des statistiques de l'historique")
+    void testStatistics() {
+        MetricHistory history = new MetricHistory(5);
+        history.add(1L, 20.0);
+        history.add(2L, 30.0);
+        history.add(3L, 40.0);
+
+        assertEquals(30.0, history.mean(), 0.001, "La moyenne devrait être correctement calculée");
+        assertEquals(200.0 / 3, history.variance(), 0.001, "La variance devrait être correctement calculée");
+        assertEquals(10.0, history.maxStep(), 0.001, "La variation maximale devrait être de 10");
+        assertEquals(20.0, history.trend(), 0.001, "La tendance devrait être de 20");
+        assertEquals(720, MetricHistory.capacityFor(3_600_000L, 5000L), "Une heure à 5 s devrait donner 720 points");
+    }
+
+    @Test
+    @DisplayName("Test d'une fenêtre courte servie sans réduction")
+    void testDownsampleSmallWindow() {
+        MetricHistory history = new MetricHistory(100);
+        for (int i = 0; i < 50; i++) {
+            history.add(i * 1000L, i);
+        }
+
+        List<double[]> points = new ArrayList<>();
+        int visited = history.forEachDownsampled(10_000L, 19_000L, 20,
+                (timestamp, value, min, max) -> points.add(new double[] { timestamp, value, min, max }));
+        assertEquals(10, visited, "Les dix points bruts de la fenêtre devraient être visités");
+        assertEquals(10_000.0, points.get(0)[0], 0.001);
+        assertEquals(19.0, points.get(9)[1], 0.001);
+        assertEquals(points.get(9)[1], points.get(9)[3], 0.001, "Un point brut est sa propre enveloppe");
+        assertThrows(IllegalArgumentException.class, () -> history.forEachDownsampled(0, 1, 2, (t, v, lo, hi) -> {
+        }));
+    }
+
+    @Test
+    @DisplayName("Test de la réduction d'une longue fenêtre par la pyramide LTTB")
+    void testDownsampleLongWindow() {
+        int capacity = 86_400;
+        MetricHistory history = new MetricHistory(capacity);
+        // Deux jours de points : le tampon a tourné, les niveaux aussi
+        int samples = 2 * capacity + 123;
+        long spikeTimestamp = 0;
+        for (int i = 0; i < samples; i++) {
+            double value = 50.0 + 20.0 * Math.sin(i / 900.0);
+            if (i == samples - 40_000) {
+                value = 99.0;
+                spikeTimestamp = i * 1000L;
+            }
+            history.add(i * 1000L, value);
+        }
+        long oldest = history.getTimestamp(0);
+        long latest = history.getLatestTimestamp();
+
+        for (int maxPoints : new int[] { 3, 100, 1280, 30_000 }) {
+            List<double[]> points = new ArrayList<>();
+            int visited = history.forEachDownsampled(Long.MIN_VALUE, Long.MAX_VALUE, maxPoints,
+                    (timestamp, value, min, max) -> points.add(new double[] { timestamp, value, min, max }));
+            assertEquals(maxPoints, visited, "Exactement " + maxPoints + " points devraient être servis");
+            assertEquals(maxPoints, points.size());
+            assertEquals(oldest, (long) points.get(0)[0], "Le premier point brut devrait être conservé");
+            assertEquals(latest, (long) points.get(maxPoints - 1)[0], "Le dernier point brut devrait être conservé");
+
+            double envelopeMax = Double.NEGATIVE_INFINITY;
+            double envelopeMin = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < points.size(); i++) {
+                double[] point = points.get(i);
+                if (i > 0) {
+                    assertTrue(point[0] > points.get(i - 1)[0], "Les horodatages devraient être croissants");
+                }
+                assertTrue(point[2] <= point[1] && point[1] <= point[3], "La valeur devrait être dans l'enveloppe");
+                envelopeMin = Math.min(envelopeMin, point[2]);
+                envelopeMax = Math.max(envelopeMax, point[3]);
+            }
+            assertEquals(99.0, envelopeMax, 0.001, "Le pic devrait rester dans l'enveloppe");
+            assertEquals(30.0, envelopeMin, 0.01, "Le creux devrait rester dans l'enveloppe");
+        }
+
+        // Un zoom autour du pic le garde comme représentant
+        List<double[]> zoomed = new ArrayList<>();
+        history.forEachDownsampled(spikeTimestamp - 3_600_000L, spikeTimestamp + 3_600_000L, 200,
+                (timestamp, value, min, max) -> zoomed.add(new double[] { timestamp, value }));
+        assertEquals(200, zoomed.size());
+        boolean spikeKept = false;
+        for (double[] point : zoomed) {
+            assertTrue(point[0] >= spikeTimestamp - 3_600_000L && point[0] <= spikeTimestamp + 3_600_000L,
+                    "Les points devraient rester dans la fenêtre zoomée");
+            spikeKept |= point[1] == 99.0;
+        }
+        assertTrue(spikeKept, "Le pic devrait être choisi par LTTB");
+
+        history.clear();
+        assertEquals(0, history.forEachDownsampled(Long.MIN_VALUE, Long.MAX_VALUE, 100, (t, v, lo, hi) -> {
+        }), "Un historique vidé ne devrait plus servir de points");
+    }
+}
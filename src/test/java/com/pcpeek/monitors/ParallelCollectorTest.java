@@ -0,0 +1,143 @@
+package com.pcpeek.monitors;
+
+import com.pcpeek.monitors.backend.CommandBackend;
+import com.pcpeek.monitors.backend.CommandBackends;
+import com.pcpeek.monitors.backend.ProcessCommandBackend;
+import com.pcpeek.monitors.backend.RecordedCommandBackend;
+import com.pcpeek.monitors.staticinfo.HardwareLevelMonitor;
+import com.pcpeek.monitors.staticinfo.OSLevelMonitor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelCollectorTest {
+
+    @Test
+    @DisplayName("Test de la fusion des résultats terminés à temps")
+    public void testSlowTaskIsAbandoned() {
+        ParallelCollector collector = new ParallelCollector(4, 200);
+        CountDownLatch never = new CountDownLatch(1);
+
+        Map<String, Callable<Map<String, Object>>> tasks = new LinkedHashMap<>();
+        tasks.put("rapide", () -> Collections.singletonMap("cpu.name", "Test CPU"));
+        tasks.put("bloquée", () -> {
+            never.await();
+            return Collections.singletonMap("battery", "100");
+        });
+        tasks.put("en échec", () -> {
+            throw new IllegalStateException("WMI indisponible");
+        });
+
+        long start = System.nanoTime();
+        ParallelCollector.Result result = collector.collect(tasks);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("Test CPU", result.getValues().get("cpu.name"), "La tâche rapide devrait être fusionnée");
+        assertFalse(result.getValues().containsKey("battery"), "La tâche bloquée ne devrait rien fusionner");
+        assertEquals(Collections.singletonList("bloquée"), result.getTimedOut());
+        assertEquals(Collections.singletonList("en échec"), result.getFailed());
+        assertFalse(result.isComplete());
+        assertTrue(elapsedMs < 2000, "La collecte ne devrait pas attendre la tâche bloquée");
+    }
+
+    @Test
+    @DisplayName("Test de l'exécution parallèle des commandes WMIC")
+    public void testWmicCommandsInParallel() {
+        OSLevelMonitor osMonitor = new OSLevelMonitor(CommandBackends.none());
+        HardwareLevelMonitor hwMonitor = new HardwareLevelMonitor(CommandBackends.none());
+        RecordedCommandBackend backend = new RecordedCommandBackend()
+                .record("wmic os get caption,version,osarchitecture,serialnumber",
+                        "Caption Version\nOSArchitecture 64-bit\n")
+                .record("wmic diskdrive get model,size,mediatype,status", "Size 512110190592\n");
+
+        ParallelCollector.Result result = Monitor.executeWmicCommandsInParallel(backend,
+                new ParallelCollector(4, 5000), osMonitor, hwMonitor);
+
+        assertTrue(result.isComplete(), "Toutes les commandes devraient se terminer");
+        assertEquals(1, result.getCompleted().size(), "Les commandes devraient former une seule tâche");
+        assertEquals("64-bit", result.getValues().get("os.architecture"));
+        assertEquals(512110190592L, result.getValues().get("disk.size"));
+        assertEquals(1, backend.getExecutionCount(), "Les commandes devraient être exécutées en un seul lot");
+    }
+
+    @Test
+    @DisplayName("Test du découpage d'un lot WMIC qui dépasse l'échéance")
+    public void testWmicBatchSplitOnTimeout() {
+        OSLevelMonitor osMonitor = new OSLevelMonitor(CommandBackends.none());
+        HardwareLevelMonitor hwMonitor = new HardwareLevelMonitor(CommandBackends.none());
+        String blocked = "wmic diskdrive get model,size,mediatype,status";
+        RecordedCommandBackend recorded = new RecordedCommandBackend()
+                .record("wmic os get caption,version,osarchitecture,serialnumber",
+                        "Caption Version\nOSArchitecture 64-bit\n");
+        CountDownLatch never = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        CommandBackend backend = new CommandBackend() {
+            @Override
+            public boolean isSupported() {
+                return true;
+            }
+
+            @Override
+            public void execute(String[] commands, LineHandler handler) throws IOException {
+                executions.incrementAndGet();
+                for (int i = 0; i < commands.length; i++) {
+                    int index = i;
+                    if (commands[i].equals(blocked)) {
+                        try {
+                            never.await();
+                        } catch (InterruptedException e) {
+                            throw new InterruptedIOException("Commande interrompue");
+                        }
+                    }
+                    recorded.execute(new String[] { commands[i] }, (commandIndex, line) -> handler.onLine(index, line));
+                }
+            }
+        };
+
+        ParallelCollector.Result result = Monitor.executeWmicCommandsInParallel(backend,
+                new ParallelCollector(8, 300), osMonitor, hwMonitor);
+
+        assertEquals("64-bit", result.getValues().get("os.architecture"),
+                "Les commandes isolées terminées à temps devraient être fusionnées");
+        assertEquals(Collections.singletonList(blocked), result.getTimedOut());
+        assertEquals(6, result.getCompleted().size());
+        assertEquals(7, executions.get(),
+                "Le lot puis chaque commande restée sans sortie devraient être exécutés");
+    }
+
+    @Test
+    @DisplayName("Test de la destruction d'un processus bloqué à l'échéance")
+    public void testBlockedProcessIsDestroyed() throws Exception {
+        // Commande qui ne rend pas la main avant 30 secondes
+        String command = System.getProperty("os.name").toLowerCase().contains("windows")
+                ? "ping -n 30 127.0.0.1"
+                : "sleep 30";
+        CountDownLatch released = new CountDownLatch(1);
+        Map<String, Callable<Map<String, Object>>> tasks = new LinkedHashMap<>();
+        tasks.put("processus", () -> {
+            try {
+                new ProcessCommandBackend().execute(new String[] { command }, (index, line) -> {
+                });
+            } finally {
+                released.countDown();
+            }
+            return Collections.singletonMap("battery", "100");
+        });
+
+        ParallelCollector.Result result = new ParallelCollector(2, 300).collect(tasks);
+
+        assertEquals(Collections.singletonList("processus"), result.getTimedOut());
+        assertTrue(released.await(5, TimeUnit.SECONDS),
+                "Le processus devrait être détruit et le thread du pool libéré");
+        assertFalse(result.getValues().containsKey("battery"), "Une tâche abandonnée ne devrait rien publier");
+    }
+}
@@ -0,0 +1,84 @@
+package com.pcpeek.monitors.backend;
+
+import com.pcpeek.monitors.Monitor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CommandBackendTest {
+
+    private static Monitor recordingMonitor(CommandBackend backend, String name, String... commands) {
+        return new Monitor(backend) {
+            @Override
+            protected Map<String, Object> initializeSystemInfo() {
+                return new HashMap<>();
+            }
+
+            @Override
+            protected void performUpdate() {
+            }
+
+            @Override
+            protected void displayContent() {
+            }
+
+            @Override
+            protected String getMonitorName() {
+                return name;
+            }
+
+            @Override
+            protected String[] getWmicCommands() {
+                return commands;
+            }
+
+            @Override
+            protected String[] getWmicSkipPatterns() {
+                return new String[] { "Header" };
+            }
+
+            @Override
+            protected void processWmicLine(String line, Map<String, Object> info) {
+                info.put(name + "." + info.size(), line);
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Test du découpage de la sortie combinée selon les marqueurs")
+    void testBatchedDispatch() throws Exception {
+        String script = BatchedCommandBackend.buildScript(new String[] { "wmic os get caption", "wmic cpu get name" });
+        assertEquals("echo ##PCPEEK-CMD-0## & wmic os get caption & echo ##PCPEEK-CMD-1## & wmic cpu get name", script,
+                "Le script devrait précéder chaque commande d'un marqueur");
+
+        String output = "bruit\r\n##PCPEEK-CMD-0## \r\nCaption\r\nWindows 11\r\n##PCPEEK-CMD-1##\r\nName\r\nRyzen\r\n";
+        List<String> lines = new ArrayList<>();
+        BatchedCommandBackend.dispatch(new BufferedReader(new StringReader(output)), 2,
+                (index, line) -> lines.add(index + ":" + line));
+        assertEquals(List.of("0:Caption", "0:Windows 11", "1:Name", "1:Ryzen"), lines,
+                "Chaque ligne devrait être attribuée à sa commande");
+    }
+
+    @Test
+    @DisplayName("Test du rafraîchissement de plusieurs moniteurs en un seul appel")
+    void testGroupedMonitors() {
+        RecordedCommandBackend backend = new RecordedCommandBackend()
+                .record("cmd-a", "Header\nvaleur a\n")
+                .record("cmd-b", "Header\n\nvaleur b\n");
+        Monitor first = recordingMonitor(backend, "a", "cmd-a");
+        Monitor second = recordingMonitor(backend, "b", "cmd-b");
+
+        Map<String, Object> info = Monitor.executeWmicCommands(backend, first, second);
+
+        assertEquals(1, backend.getExecutionCount(), "Les deux moniteurs devraient partager un seul appel");
+        assertEquals("valeur a", info.get("a.0"), "La ligne de la première commande devrait être traitée");
+        assertEquals("valeur b", info.get("b.1"), "La ligne de la seconde commande devrait être traitée");
+        assertEquals(2, info.size(), "Les en-têtes et lignes vides devraient être ignorés");
+    }
+}
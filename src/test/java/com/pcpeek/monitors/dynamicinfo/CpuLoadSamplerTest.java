@@ -0,0 +1,30 @@
+package com.pcpeek.monitors.dynamicinfo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CpuLoadSamplerTest {
+
+    @Test
+    @DisplayName("Test du calcul de charge à partir des écarts de ticks")
+    void testComputeLoad() {
+        // USER, NICE, SYSTEM, IDLE, IOWAIT, IRQ, SOFTIRQ, STEAL
+        long[] previous = { 100, 0, 50, 800, 50, 0, 0, 0 };
+        long[] current = { 160, 0, 70, 900, 70, 0, 0, 0 };
+
+        double load = CpuLoadSampler.computeLoad(previous, current);
+
+        assertEquals(0.4, load, 0.0001, "La charge devrait être de 40% (80 ticks actifs sur 200)");
+        assertArrayEquals(current, previous, "Le relevé précédent devrait être remplacé par le relevé courant");
+    }
+
+    @Test
+    @DisplayName("Test de la charge sans ticks écoulés")
+    void testComputeLoadWithoutDelta() {
+        long[] ticks = { 10, 0, 10, 10, 0, 0, 0, 0 };
+
+        assertEquals(0.0, CpuLoadSampler.computeLoad(ticks, ticks.clone()), 0.0001,
+                "La charge devrait être nulle sans ticks écoulés");
+    }
+}
@@ -0,0 +1,144 @@
+package com.pcpeek.monitors.dynamicinfo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OhmSensorReaderTest {
+
+    @Test
+    @DisplayName("Test de la lecture des capteurs GPU en une passe")
+    void testRefreshReadsGpuSensors() {
+        FakeSensor temperature = new FakeSensor(2, "GPU Core Temperature", 61.0);
+        FakeSensor load = new FakeSensor(3, "GPU Core Load", 37.5);
+        FakeRoot root = new FakeRoot(
+                new FakeHardware("Intel Core i7", new FakeSensor(2, "CPU Package Temperature", 70.0)),
+                new FakeHardware("NVIDIA GPU", new FakeSensor(1, "GPU Core Clock", 1800.0), temperature, load));
+        OhmSensorReader reader = new OhmSensorReader(root);
+
+        reader.refresh();
+
+        assertEquals(61.0, reader.getValue(OhmSensorReader.GPU_TEMPERATURE), 0.0001,
+                "La température GPU devrait provenir du capteur de température du GPU");
+        assertEquals(37.5, reader.getValue(OhmSensorReader.GPU_LOAD), 0.0001,
+                "La charge GPU devrait provenir du capteur de charge du GPU");
+        assertEquals(2, reader.getSensorCount(), "Seuls les capteurs utiles devraient être retenus");
+    }
+
+    @Test
+    @DisplayName("Test de la découverte unique de l'arbre matériel")
+    void testDiscoveryIsCached() {
+        FakeSensor load = new FakeSensor(3, "GPU Core Load", 10.0);
+        FakeRoot root = new FakeRoot(new FakeHardware("GPU", load));
+        OhmSensorReader reader = new OhmSensorReader(root);
+
+        reader.refresh();
+        load.value = 20.0;
+        reader.refresh();
+        reader.refresh();
+
+        assertEquals(1, root.traversals, "L'arbre matériel ne devrait être parcouru qu'une fois");
+        assertEquals(3, load.reads, "Chaque rafraîchissement devrait relire la valeur du capteur");
+        assertEquals(20.0, reader.getValue(OhmSensorReader.GPU_LOAD), 0.0001,
+                "La valeur la plus récente devrait être retournée");
+    }
+
+    @Test
+    @DisplayName("Test des capteurs sans valeur")
+    void testMissingValues() {
+        FakeSensor empty = new FakeSensor(2, "GPU Temperature", null);
+        FakeSensor next = new FakeSensor(2, "GPU Hot Spot Temperature", 72.0);
+        OhmSensorReader reader = new OhmSensorReader(new FakeRoot(new FakeHardware("GPU", empty, next)));
+
+        reader.refresh();
+
+        assertEquals(72.0, reader.getValue(OhmSensorReader.GPU_TEMPERATURE), 0.0001,
+                "Le premier capteur ayant une valeur devrait être utilisé");
+        assertEquals(-1, reader.getValue(OhmSensorReader.GPU_LOAD), 0.0001,
+                "Un canal sans capteur devrait valoir -1");
+    }
+
+    @Test
+    @DisplayName("Test de la redécouverte après une erreur de lecture")
+    void testRediscoveryAfterFailure() {
+        FakeSensor load = new FakeSensor(3, "GPU Core Load", 50.0);
+        FakeRoot root = new FakeRoot(new FakeHardware("GPU", load));
+        OhmSensorReader reader = new OhmSensorReader(root);
+        reader.refresh();
+
+        load.failing = true;
+        assertThrows(IllegalStateException.class, reader::refresh,
+                "Une erreur de lecture devrait être signalée");
+        assertEquals(-1, reader.getValue(OhmSensorReader.GPU_LOAD), 0.0001,
+                "Les valeurs devraient être invalidées après une erreur");
+
+        load.failing = false;
+        reader.refresh();
+
+        assertEquals(2, root.traversals, "L'arbre devrait être parcouru à nouveau après une erreur");
+        assertEquals(50.0, reader.getValue(OhmSensorReader.GPU_LOAD), 0.0001,
+                "La lecture devrait reprendre après la redécouverte");
+    }
+
+    public static class FakeRoot {
+        private final Object[] hardware;
+        int traversals;
+
+        FakeRoot(FakeHardware... hardware) {
+            this.hardware = hardware;
+        }
+
+        public Object[] GetHardware() {
+            traversals++;
+            return hardware;
+        }
+    }
+
+    public static class FakeHardware {
+        private final String name;
+        private final Object[] sensors;
+
+        FakeHardware(String name, FakeSensor... sensors) {
+            this.name = name;
+            this.sensors = sensors;
+        }
+
+        public String GetName() {
+            return name;
+        }
+
+        public Object[] GetSensors() {
+            return sensors;
+        }
+    }
+
+    public static class FakeSensor {
+        private final int type;
+        private final String name;
+        Double value;
+        boolean failing;
+        int reads;
+
+        FakeSensor(int type, String name, Double value) {
+            this.type = type;
+            this.name = name;
+            this.value = value;
+        }
+
+        public int GetSensorType() {
+            return type;
+        }
+
+        public String GetName() {
+            return name;
+        }
+
+        public Double GetValue() {
+            if (failing) {
+                throw new IllegalStateException("Capteur retiré");
+            }
+            reads++;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.pcpeek.monitors.linux;
+
+import com.pcpeek.metrics.MetricRegistry;
+import com.pcpeek.metrics.MetricStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class LinuxSystemCollectorTest {
+
+    @TempDir
+    Path root;
+
+    private Path proc;
+    private Path sys;
+
+    private void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void writeFakeSystem(String stat) throws IOException {
+        proc = root.resolve("proc");
+        sys = root.resolve("sys");
+        write(proc.resolve("stat"), stat);
+        write(proc.resolve("meminfo"), "MemTotal:        8000000 kB\n"
+                + "MemFree:         2000000 kB\n"
+                + "MemAvailable:    5000000 kB\n"
+                + "Buffers:          100000 kB\n");
+        write(proc.resolve("loadavg"), "0.52 1.25 2.00 3/512 12345\n");
+        write(proc.resolve("uptime"), "12345.67 54321.00\n");
+        write(proc.resolve("cpuinfo"), "processor\t: 0\nmodel name\t: Test CPU @ 3.00GHz\n");
+        write(sys.resolve("class/thermal/thermal_zone0/type"), "acpitz\n");
+        write(sys.resolve("class/thermal/thermal_zone0/temp"), "30000\n");
+        write(sys.resolve("class/thermal/thermal_zone1/type"), "x86_pkg_temp\n");
+        write(sys.resolve("class/thermal/thermal_zone1/temp"), "52500\n");
+        write(sys.resolve("class/hwmon/hwmon0/fan1_input"), "1200\n");
+        write(sys.resolve("class/hwmon/hwmon0/fan2_input"), "850\n");
+    }
+
+    @Test
+    @DisplayName("Test de la lecture de /proc et /sys")
+    public void testCollect() throws IOException {
+        writeFakeSystem("cpu  100 0 100 800 0 0 0 0 0 0\n"
+                + "cpu0 50 0 50 400 0 0 0 0 0 0\n"
+                + "cpu1 50 0 50 400 0 0 0 0 0 0\n"
+                + "intr 1 2 3\n");
+
+        try (LinuxSystemCollector collector = new LinuxSystemCollector(proc, sys)) {
+            assertEquals(2, collector.getCoreCount(), "Deux cœurs devraient être détectés");
+            assertEquals(2, collector.getFanCount(), "Deux ventilateurs devraient être détectés");
+            assertTrue(collector.hasCpuTemperature(), "Une zone thermique devrait être détectée");
+
+            MetricStore store = new MetricStore();
+            collector.collect(store);
+
+            int total = MetricRegistry.TOTAL_MEMORY.getId();
+            int available = MetricRegistry.AVAILABLE_MEMORY.getId();
+            assertEquals(8000000L * 1024, store.getLong(total, -1), "La mémoire totale devrait être lue en octets");
+            assertEquals(5000000L * 1024, store.getLong(available, -1), "La mémoire disponible devrait être lue en octets");
+            assertEquals(2000000L * 1024, store.getLong(MetricRegistry.MEMORY_FREE.getId(), -1));
+            assertEquals(0.52, store.getDouble(MetricRegistry.LOAD_AVERAGE_1.getId(), -1), 0.0001);
+            assertEquals(1.25, store.getDouble(MetricRegistry.LOAD_AVERAGE_5.getId(), -1), 0.0001);
+            assertEquals(2.00, store.getDouble(MetricRegistry.LOAD_AVERAGE_15.getId(), -1), 0.0001);
+            assertEquals(12345L, store.getLong(MetricRegistry.SYSTEM_UPTIME.getId(), -1));
+            assertEquals(52.5, store.getDouble(MetricRegistry.CPU_TEMPERATURE.getId(), -1), 0.0001,
+                    "La zone x86_pkg_temp devrait être préférée");
+            assertArrayEquals(new int[] { 1200, 850 }, (int[]) store.getObject(MetricRegistry.FAN_SPEEDS.getId()));
+            assertEquals("Test CPU @ 3.00GHz", store.getObject(MetricRegistry.PROCESSOR_NAME.getId()));
+            assertEquals(0.0, store.getDouble(MetricRegistry.CPU_LOAD.getId(), -1), 0.0001,
+                    "La première collecte devrait publier la charge depuis le relevé de la construction");
+            assertTrue(store.has(MetricRegistry.CPU_LOAD_AVG.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test du calcul de la charge entre deux relevés")
+    public void testCpuLoadBetweenSamples() throws IOException {
+        writeFakeSystem("cpu  100 0 100 800 0 0 0 0 0 0\n"
+                + "cpu0 50 0 50 400 0 0 0 0 0 0\n"
+                + "cpu1 50 0 50 400 0 0 0 0 0 0\n");
+
+        try (LinuxSystemCollector collector = new LinuxSystemCollector(proc, sys)) {
+            MetricStore store = new MetricStore();
+            collector.collect(store);
+
+            // cpu0 : 100 ticks actifs sur 100 ; cpu1 : aucun tick actif sur 100
+            write(proc.resolve("stat"), "cpu  200 0 100 900 0 0 0 0 0 0\n"
+                    + "cpu0 150 0 50 400 0 0 0 0 0 0\n"
+                    + "cpu1 50 0 50 500 0 0 0 0 0 0\n");
+            store.clear();
+            collector.collect(store);
+
+            assertEquals(50.0, store.getDouble(MetricRegistry.CPU_LOAD.getId(), -1), 0.0001,
+                    "La charge globale devrait être de 50%");
+            assertEquals(0.5, store.getDouble(MetricRegistry.CPU_LOAD_AVG.getId(), -1), 0.0001);
+            double[] perCore = (double[]) store.getObject(MetricRegistry.CPU_LOADS_PER_CORE.getId());
+            assertArrayEquals(new double[] { 1.0, 0.0 }, perCore, 0.0001);
+        }
+    }
+
+    @Test
+    @DisplayName("Test d'un système sans capteurs")
+    public void testMissingSensors() throws IOException {
+        proc = root.resolve("proc");
+        sys = root.resolve("sys");
+        write(proc.resolve("stat"), "cpu  1 0 1 8 0 0 0 0\ncpu0 1 0 1 8 0 0 0 0\n");
+
+        try (LinuxSystemCollector collector = new LinuxSystemCollector(proc, sys)) {
+            assertEquals(0, collector.getFanCount());
+            assertFalse(collector.hasCpuTemperature());
+
+            MetricStore store = new MetricStore();
+            collector.collect(store);
+            assertFalse(store.has(MetricRegistry.TOTAL_MEMORY.getId()), "Aucune mémoire ne devrait être lue");
+            assertFalse(store.has(MetricRegistry.FAN_SPEEDS.getId()));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.pcpeek.monitors.staticinfo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+public class StaticInventoryCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private Map<String, Object> sampleInventory() {
+        Map<String, Object> inventory = new HashMap<>();
+        inventory.put("os.caption", "Microsoft Windows 11 Pro");
+        inventory.put("cpu.name", "Intel(R) Core(TM) i7-10700K");
+        inventory.put("memory.total", 17179869184L);
+        inventory.put("disk.size", 512110190592L);
+        return inventory;
+    }
+
+    @Test
+    @DisplayName("Test de l'aller-retour de l'inventaire sur disque")
+    public void testStoreAndLoad() {
+        StaticInventoryCache cache = new StaticInventoryCache(directory.resolve("inventory.bin"));
+        HostFingerprint fingerprint = new HostFingerprint("poste-1", "boot-a", 0);
+
+        assertNull(cache.load(fingerprint), "Aucun inventaire ne devrait exister au départ");
+        assertTrue(cache.store(fingerprint, sampleInventory()), "L'inventaire devrait être écrit");
+
+        Map<String, Object> loaded = cache.load(new HostFingerprint("poste-1", "boot-a", 0));
+        assertEquals(sampleInventory(), loaded, "L'inventaire relu devrait être identique");
+    }
+
+    @Test
+    @DisplayName("Test de l'invalidation après un redémarrage")
+    public void testFingerprintMismatch() {
+        StaticInventoryCache cache = new StaticInventoryCache(directory.resolve("inventory.bin"));
+        cache.store(new HostFingerprint("poste-1", "boot-a", 0), sampleInventory());
+
+        assertNull(cache.load(new HostFingerprint("poste-1", "boot-b", 0)),
+                "Un autre identifiant de démarrage devrait invalider le cache");
+        assertNull(cache.load(new HostFingerprint("poste-2", "boot-a", 0)),
+                "Un autre nom d'hôte devrait invalider le cache");
+
+        cache.invalidate();
+        assertNull(cache.load(new HostFingerprint("poste-1", "boot-a", 0)), "Le cache devrait être supprimé");
+    }
+
+    @Test
+    @DisplayName("Test de la tolérance sur l'heure de démarrage")
+    public void testBootTimeTolerance() {
+        HostFingerprint reference = new HostFingerprint("poste-1", "", 1700000000L);
+
+        assertTrue(reference.matches(new HostFingerprint("poste-1", "", 1700000001L)),
+                "Une seconde d'écart ne devrait pas invalider le cache");
+        assertFalse(reference.matches(new HostFingerprint("poste-1", "", 1700003600L)),
+                "Un autre démarrage devrait invalider le cache");
+    }
+
+    @Test
+    @DisplayName("Test d'un fichier de cache corrompu")
+    public void testCorruptedFile() throws IOException {
+        Path file = directory.resolve("inventory.bin");
+        Files.write(file, new byte[] { 1, 2, 3 });
+
+        StaticInventoryCache cache = new StaticInventoryCache(file);
+        assertNull(cache.load(new HostFingerprint("poste-1", "boot-a", 0)),
+                "Un fichier illisible devrait être ignoré");
+    }
+}
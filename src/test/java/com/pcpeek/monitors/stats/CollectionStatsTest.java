@@ -0,0 +1,66 @@
+package com.pcpeek.monitors.stats;
+
+import com.pcpeek.metrics.MetricRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class CollectionStatsTest {
+
+    @Test
+    @DisplayName("Test des centiles de l'histogramme de latences")
+    public void testHistogramQuantiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.5, histogram.getMeanNanos() / 1e6, 0.001);
+        assertEquals(500.0, histogram.getValueAtQuantile(0.5, TimeUnit.MILLISECONDS), 500 * 0.07,
+                "La médiane devrait être précise à quelques pourcents près");
+        assertEquals(990.0, histogram.getValueAtQuantile(0.99, TimeUnit.MILLISECONDS), 990 * 0.07);
+        assertEquals(1000.0, histogram.getValueAtQuantile(1.0, TimeUnit.MILLISECONDS), 0.001,
+                "Le centile 100 ne devrait pas dépasser le maximum");
+    }
+
+    @Test
+    @DisplayName("Test de la part de chaque commande d'un lot")
+    public void testBatchTimer() throws InterruptedException {
+        CollectionStats stats = new CollectionStats();
+        CommandBatchTimer timer = stats.batch("wmic", new String[] { "lente", "sans sortie", "rapide" });
+        Thread.sleep(30);
+        timer.onLine(0);
+        timer.onLine(2);
+        timer.finish(true);
+
+        OperationStats slow = stats.operation("wmic.lente");
+        OperationStats silent = stats.operation("wmic.sans sortie");
+        assertEquals(1, slow.getLatencies().getCount());
+        assertTrue(slow.getLatencies().getMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(25),
+                "La première commande devrait porter l'attente");
+        assertEquals(0, silent.getLatencies().getMaxNanos(), "Une commande sans sortie ne devrait rien porter");
+        assertEquals(0, slow.getErrorCount());
+
+        CommandBatchTimer failed = stats.batch("wmic", new String[] { "lente", "sans sortie" });
+        failed.onLine(0);
+        failed.finish(false);
+        assertEquals(0, slow.getErrorCount(), "La commande terminée ne devrait pas être en erreur");
+        assertEquals(1, silent.getErrorCount(), "La commande interrompue devrait être en erreur");
+    }
+
+    @Test
+    @DisplayName("Test de l'âge des métriques")
+    public void testFreshness() {
+        CollectionStats stats = new CollectionStats();
+        stats.getFreshness().markPresent(MetricRegistry.CPU_LOAD, 1000);
+        stats.getFreshness().markPresent(MetricRegistry.GPU_LOAD, 4000);
+
+        Map<String, Long> ages = stats.getFreshness().getAgesMillis(5000);
+        assertEquals(4000L, (long) ages.get("cpu_load"));
+        assertEquals(1000L, (long) ages.get("gpu_load"));
+        assertFalse(ages.containsKey("cpu_temperature"), "Une métrique jamais vue ne devrait pas avoir d'âge");
+    }
+}
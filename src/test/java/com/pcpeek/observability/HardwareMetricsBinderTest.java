@@ -0,0 +1,45 @@
+package com.pcpeek.observability;
+
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.MetricRegistry;
+import com.pcpeek.sampling.SamplingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HardwareMetricsBinderTest {
+
+    @Test
+    @DisplayName("Test des jauges lues depuis le dernier instantané")
+    public void testGaugesReadLatestSnapshot() {
+        SamplingService samplingService = new SamplingService(1000);
+        samplingService.getSystemData().publish(SystemSnapshot.builder()
+                .putDynamicDouble(MetricRegistry.CPU_LOAD, 42.0)
+                .putDynamicDouble(MetricRegistry.CPU_LOAD_AVG, 0.15)
+                .putDynamicLong(MetricRegistry.AVAILABLE_MEMORY, 2048L)
+                .putDynamic(MetricRegistry.CPU_LOADS_PER_CORE, new double[] { 0.1, 0.2 })
+                .putDynamic(MetricRegistry.FAN_SPEEDS, new int[] { 1200 })
+                .build(1));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new HardwareMetricsBinder(samplingService).bindTo(registry);
+
+        assertEquals(42.0, registry.get("pcpeek.cpu.load").gauge().value(), 0.001);
+        assertEquals(2048.0, registry.get("pcpeek.memory.available").gauge().value(), 0.001);
+        assertEquals(15.0, registry.get("pcpeek.cpu.load.average").gauge().value(), 0.001,
+                "La charge moyenne devrait être exprimée en pourcentage");
+        assertEquals(20.0, registry.get("pcpeek.cpu.core.load").tag("core", "1").gauge().value(), 0.001,
+                "La charge d'un coeur devrait être exprimée en pourcentage");
+        assertEquals(1200.0, registry.get("pcpeek.fan.speed").tag("fan", "0").gauge().value(), 0.001);
+        assertTrue(Double.isNaN(registry.get("pcpeek.gpu.temperature").gauge().value()),
+                "Une métrique absente devrait valoir NaN");
+
+        samplingService.getSystemData().publish(SystemSnapshot.builder()
+                .putDynamicDouble(MetricRegistry.CPU_LOAD, 7.5)
+                .build(2));
+        assertEquals(7.5, registry.get("pcpeek.cpu.load").gauge().value(), 0.001,
+                "La jauge devrait suivre le nouvel instantané sans collecte");
+        assertEquals(2.0, registry.get("pcpeek.samples").functionCounter().count(), 0.001);
+    }
+}
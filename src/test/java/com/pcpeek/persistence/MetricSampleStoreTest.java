@@ -0,0 +1,59 @@
+package com.pcpeek.persistence;
+
+import com.pcpeek.metrics.MetricRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MetricSampleStoreTest {
+    private MetricSampleStore store;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:metrics-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        store = new MetricSampleStore(new JdbcTemplate(dataSource));
+        store.createSchema();
+    }
+
+    private static SampleBatch batch(long timestamp, double cpuLoad, double cpuTemperature) {
+        SampleBatch batch = new SampleBatch(timestamp, 2);
+        batch.add(MetricRegistry.CPU_LOAD, cpuLoad);
+        batch.add(MetricRegistry.CPU_TEMPERATURE, cpuTemperature);
+        return batch;
+    }
+
+    @Test
+    @DisplayName("Test de l'insertion par lot et de la lecture par plage")
+    void testInsertAndRange() {
+        List<SampleBatch> batches = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batches.add(batch(1000L * i, i, 40 + i));
+        }
+        assertEquals(20, store.insert(batches), "Toutes les lignes devraient être insérées");
+
+        List<Double> loads = new ArrayList<>();
+        int count = store.forEachInRange(MetricRegistry.CPU_LOAD, 3000L, 6000L, (timestamp, value) -> loads.add(value));
+        assertEquals(3, count, "Trois échantillons devraient être dans la plage");
+        assertEquals(List.of(3.0, 4.0, 5.0), loads, "Les échantillons devraient être triés par date");
+    }
+
+    @Test
+    @DisplayName("Test de la purge des échantillons anciens")
+    void testPurge() {
+        List<SampleBatch> batches = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batches.add(batch(1000L * i, i, 40 + i));
+        }
+        store.insert(batches);
+
+        assertEquals(10, store.deleteOlderThan(5000L), "Les échantillons avant 5 s devraient être supprimés");
+        assertEquals(5, store.forEachInRange(MetricRegistry.CPU_TEMPERATURE, 0L, Long.MAX_VALUE, (timestamp, value) -> {
+        }), "Cinq échantillons de température devraient rester");
+    }
+}
@@ -0,0 +1,243 @@
+package com.pcpeek.recording;
+
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.Metric;
+import com.pcpeek.metrics.MetricRegistry;
+import com.pcpeek.metrics.MetricStore;
+import com.pcpeek.metrics.MetricType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecordingTest {
+    private static final long START = 1_700_000_000_000L;
+    private static final long INTERVAL = 1000;
+    // Assez petit pour forcer plusieurs segments
+    private static final int SEGMENT_BYTES = 16 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private final SystemSnapshot inventory = inventory("Test CPU", 1);
+
+    private static SystemSnapshot inventory(String cpuName, long version) {
+        return SystemSnapshot.builder()
+                .putStatic(MetricRegistry.CPU_NAME, cpuName)
+                .putStatic(MetricRegistry.CPU_CORES, 8L)
+                .build(version);
+    }
+
+    // Les échantillons partagent les informations statiques de l'inventaire,
+    // comme ceux publiés par le service d'échantillonnage
+    private static SystemSnapshot sample(SystemSnapshot inventory, int i, int cores) {
+        return inventory.toBuilder()
+                .putDynamicDouble(MetricRegistry.CPU_LOAD, i * 0.5)
+                .putDynamicLong(MetricRegistry.AVAILABLE_MEMORY, 1024L * i)
+                .putDynamic(MetricRegistry.PROCESSOR_NAME, "Test CPU")
+                .putDynamic(MetricRegistry.CPU_LOADS_PER_CORE, new double[cores])
+                .putDynamic(MetricRegistry.FAN_SPEEDS, new int[] { 1000 + i, 900 })
+                .build(i + 2);
+    }
+
+    private void record(RecordingWriter writer, int from, int to, SystemSnapshot inventory, int cores)
+            throws IOException {
+        for (int i = from; i < to; i++) {
+            writer.append(sample(inventory, i, cores), START + i * INTERVAL);
+        }
+    }
+
+    @Test
+    @DisplayName("Test de la relecture des valeurs enregistrées sur plusieurs segments")
+    void testRoundTrip() throws IOException {
+        try (RecordingWriter writer = new RecordingWriter(tempDir, INTERVAL, SEGMENT_BYTES)) {
+            record(writer, 0, 500, inventory, 4);
+        }
+        assertTrue(RecordingReader.listSegments(tempDir).size() > 1, "Les segments pleins devraient être renouvelés");
+
+        try (RecordingReader reader = RecordingReader.open(tempDir)) {
+            assertEquals(500, reader.size());
+            assertEquals(INTERVAL, reader.getIntervalMs());
+            assertEquals(START, reader.getStartMillis());
+            assertEquals(START + 499 * INTERVAL, reader.getEndMillis());
+
+            for (int i : new int[] { 0, 63, 64, 250, 499 }) {
+                MetricStore store = new MetricStore();
+                reader.read(i, store);
+                int id = MetricRegistry.CPU_LOAD.getId();
+                assertEquals(i * 0.5, store.getDouble(id, -1), 1e-9);
+                assertEquals(1024L * i, store.getLong(MetricRegistry.AVAILABLE_MEMORY.getId(), -1));
+                assertEquals("Test CPU", store.getObject(MetricRegistry.PROCESSOR_NAME.getId()));
+                assertArrayEquals(new int[] { 1000 + i, 900 },
+                        (int[]) store.getObject(MetricRegistry.FAN_SPEEDS.getId()));
+                assertEquals(4, ((double[]) store.getObject(MetricRegistry.CPU_LOADS_PER_CORE.getId())).length);
+                assertEquals("Test CPU", reader.getStaticData(i).get("cpu.name"));
+                assertEquals(8L, reader.getStaticData(i).get("cpu.cores"));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test de la recherche par horodatage")
+    void testSeek() throws IOException {
+        try (RecordingWriter writer = new RecordingWriter(tempDir, INTERVAL, SEGMENT_BYTES)) {
+            record(writer, 0, 500, inventory, 4);
+        }
+        try (RecordingReader reader = RecordingReader.open(tempDir)) {
+            assertEquals(0, reader.seek(START - 5000), "Un horodatage antérieur devrait ramener au début");
+            assertEquals(0, reader.seek(START));
+            assertEquals(0, reader.seek(START + INTERVAL - 1));
+            for (int i = 1; i < 500; i++) {
+                assertEquals(i, reader.seek(START + i * INTERVAL), "Position attendue pour l'échantillon " + i);
+                assertEquals(i, reader.seek(START + i * INTERVAL + INTERVAL / 2));
+            }
+            assertEquals(499, reader.seek(Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    @DisplayName("Test du changement de segment quand la disposition change")
+    void testLayoutChange() throws IOException {
+        try (RecordingWriter writer = new RecordingWriter(tempDir, INTERVAL)) {
+            record(writer, 0, 10, inventory, 4);
+            record(writer, 10, 20, inventory, 8);
+            record(writer, 20, 30, inventory("Autre CPU", 2), 8);
+        }
+        assertEquals(3, RecordingReader.listSegments(tempDir).size());
+
+        try (RecordingReader reader = RecordingReader.open(tempDir)) {
+            assertEquals(30, reader.size());
+            MetricStore store = new MetricStore();
+            reader.read(15, store);
+            assertEquals(8, ((double[]) store.getObject(MetricRegistry.CPU_LOADS_PER_CORE.getId())).length);
+            assertEquals("Test CPU", reader.getStaticData(15).get("cpu.name"));
+            assertEquals("Autre CPU", reader.getStaticData(25).get("cpu.name"));
+            assertSame(reader.getStaticData(20), reader.getStaticData(29),
+                    "Les informations statiques d'un segment devraient être partagées");
+        }
+    }
+
+    @Test
+    @DisplayName("Test des textes variables et des métriques nombreuses dans un même segment")
+    void testVaryingTextAndManyMetrics() throws IOException {
+        Metric uptime = MetricRegistry.register("test.recording.uptime", MetricType.OBJECT);
+        Metric[] extra = new Metric[100];
+        for (int m = 0; m < extra.length; m++) {
+            extra[m] = MetricRegistry.register("test.recording.extra." + m, MetricType.DOUBLE);
+        }
+        try (RecordingWriter writer = new RecordingWriter(tempDir, INTERVAL)) {
+            for (int i = 0; i < 200; i++) {
+                SystemSnapshot.Builder builder = sample(inventory, i, 4).toBuilder()
+                        .putDynamic(uptime, i + " s")
+                        .putDynamic(MetricRegistry.lookup("test.recording.ok"), i % 2 == 0);
+                for (int m = 0; m < extra.length; m++) {
+                    builder.putDynamicDouble(extra[m], m + i);
+                }
+                writer.append(builder.build(i + 2), START + i * INTERVAL);
+            }
+        }
+        List<Path> segments = RecordingReader.listSegments(tempDir);
+        assertEquals(1, segments.size(), "Un texte qui change ne devrait pas ouvrir de segment");
+        assertTrue(Files.size(segments.get(0)) < 200 * 1024,
+                "Le segment devrait être ramené à sa taille utile: " + Files.size(segments.get(0)));
+
+        try (RecordingReader reader = RecordingReader.open(tempDir)) {
+            assertEquals(200, reader.size());
+            for (int i : new int[] { 0, 1, 150, 199 }) {
+                MetricStore store = new MetricStore();
+                reader.read(i, store);
+                assertEquals(i + " s", store.getObject(uptime.getId()));
+                assertEquals(i % 2 == 0, store.getObject(MetricRegistry.lookup("test.recording.ok").getId()));
+                assertEquals(99.0 + i, store.getDouble(extra[99].getId(), -1), 1e-9);
+                assertEquals("Test CPU", store.getObject(MetricRegistry.PROCESSOR_NAME.getId()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test de la relecture des textes d'un segment interrompu")
+    void testInterruptedSegmentText() throws IOException {
+        Metric uptime = MetricRegistry.register("test.recording.interrupted", MetricType.OBJECT);
+        Path copy = Files.createDirectory(tempDir.resolve("copie"));
+        try (RecordingWriter writer = new RecordingWriter(tempDir, INTERVAL)) {
+            for (int i = 0; i < 20; i++) {
+                writer.append(sample(inventory, i, 4).toBuilder().putDynamic(uptime, i + " s").build(i + 2),
+                        START + i * INTERVAL);
+            }
+            // Copie du segment en cours d'écriture, comme après l'arrêt brutal du processus
+            Path segment = RecordingReader.listSegments(tempDir).get(0);
+            Files.copy(segment, copy.resolve(segment.getFileName()));
+            Files.copy(Segment.journalPath(segment), copy.resolve(Segment.journalPath(segment).getFileName()));
+        }
+        assertFalse(Files.exists(Segment.journalPath(RecordingReader.listSegments(tempDir).get(0))),
+                "Le journal des chaînes devrait être supprimé à la fermeture");
+
+        try (RecordingReader reader = RecordingReader.open(copy)) {
+            assertEquals(20, reader.size());
+            for (int i : new int[] { 0, 7, 19 }) {
+                MetricStore store = new MetricStore();
+                reader.read(i, store);
+                assertEquals(i + " s", store.getObject(uptime.getId()));
+                assertEquals("Test CPU", store.getObject(MetricRegistry.PROCESSOR_NAME.getId()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test de l'ajout d'une session à un enregistrement existant")
+    void testAppendSession() throws IOException {
+        try (RecordingWriter writer = new RecordingWriter(tempDir, INTERVAL)) {
+            record(writer, 0, 5, inventory, 4);
+        }
+        try (RecordingWriter writer = new RecordingWriter(tempDir, INTERVAL)) {
+            record(writer, 100, 105, inventory, 4);
+            // Un horodatage qui recule est ramené au précédent
+            writer.append(sample(inventory, 105, 4), START);
+        }
+        try (RecordingReader reader = RecordingReader.open(tempDir)) {
+            assertEquals(11, reader.size());
+            assertEquals(START + 104 * INTERVAL, reader.getEndMillis());
+            assertEquals(5, reader.seek(START + 100 * INTERVAL));
+        }
+    }
+
+    @Test
+    @DisplayName("Test de la relecture accélérée et du saut des interruptions")
+    void testReplay() throws Exception {
+        try (RecordingWriter writer = new RecordingWriter(tempDir, INTERVAL)) {
+            record(writer, 0, 3, inventory, 4);
+            record(writer, 1000, 1003, inventory, 4);
+        }
+        try (ReplaySource source = new ReplaySource(RecordingReader.open(tempDir), 1000)) {
+            assertEquals(1, source.getIntervalMs());
+            MetricStore store = new MetricStore();
+            assertTrue(source.next(store), "Le premier échantillon devrait être disponible immédiatement");
+            assertEquals(0.0, store.getDouble(MetricRegistry.CPU_LOAD.getId(), -1), 1e-9);
+            assertEquals("Test CPU", source.getStaticData().get("cpu.name"));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (source.getPosition() < 5 && System.currentTimeMillis() < deadline) {
+                store.clear();
+                source.next(store);
+                Thread.sleep(2);
+            }
+            assertEquals(5, source.getPosition(), "La relecture devrait atteindre la fin malgré l'interruption");
+            assertFalse(source.next(new MetricStore()), "Aucun échantillon après la fin");
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ReplaySource(RecordingReader.open(tempDir), 0));
+    }
+
+    @Test
+    @DisplayName("Test du rejet d'un fichier qui n'est pas un enregistrement")
+    void testInvalidFile() throws IOException {
+        Files.write(tempDir.resolve(RecordingReader.segmentName(0)), new byte[64]);
+        assertThrows(IOException.class, () -> RecordingReader.open(tempDir));
+        assertThrows(IOException.class, () -> RecordingReader.open(tempDir.resolve("absent")));
+    }
+}
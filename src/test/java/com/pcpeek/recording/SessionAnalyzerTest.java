@@ -0,0 +1,134 @@
+package com.pcpeek.recording;
+
+import com.pcpeek.SystemSnapshot;
+import com.pcpeek.metrics.MetricRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionAnalyzerTest {
+    private static final long START = 1_700_000_000_000L;
+    private static final long INTERVAL = 1000;
+    private static final int SAMPLES = 30_000;
+    private static final double THRESHOLD = 85.0;
+
+    @TempDir
+    Path tempDir;
+
+    // Sinusoïde qui dépasse le seuil périodiquement, avec trois pics isolés
+    private static double temperature(int i) {
+        return switch (i) {
+            case 1234 -> 150.0;
+            case 20_000 -> 140.0;
+            case 27_000 -> 130.0;
+            default -> 50.0 + 40.0 * Math.sin(i / 700.0);
+        };
+    }
+
+    private RecordingReader record(Path directory, int segmentBytes) throws IOException {
+        SystemSnapshot inventory = SystemSnapshot.builder().putStatic(MetricRegistry.CPU_NAME, "Test CPU").build(1);
+        try (RecordingWriter writer = new RecordingWriter(directory, INTERVAL, segmentBytes)) {
+            for (int i = 0; i < SAMPLES; i++) {
+                writer.append(inventory.toBuilder()
+                        .putDynamicDouble(MetricRegistry.CPU_TEMPERATURE, temperature(i))
+                        .putDynamicLong(MetricRegistry.AVAILABLE_MEMORY, i)
+                        .build(i + 2), START + i * INTERVAL);
+            }
+        }
+        return RecordingReader.open(directory);
+    }
+
+    @Test
+    @DisplayName("Test de l'agrégation parallèle comparée à un calcul séquentiel")
+    void testMatchesSequential() throws IOException {
+        double[] values = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            values[i] = temperature(i);
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(values).average().orElseThrow();
+        long episodes = 0;
+        long longestRun = 0;
+        long run = 0;
+        long above = 0;
+        for (double value : values) {
+            if (value >= THRESHOLD) {
+                above++;
+                episodes += run == 0 ? 1 : 0;
+                longestRun = Math.max(longestRun, ++run);
+            } else {
+                run = 0;
+            }
+        }
+
+        // Petits segments (morceaux coupés par les segments) puis un seul
+        // segment découpé en plusieurs morceaux
+        for (int segmentBytes : new int[] { 64 * 1024, 4 * 1024 * 1024 }) {
+            try (RecordingReader reader = record(tempDir.resolve("s" + segmentBytes), segmentBytes)) {
+                List<MetricSummary> summaries = new SessionAnalyzer(reader).analyze(Long.MIN_VALUE, Long.MAX_VALUE,
+                        List.of(MetricRegistry.CPU_TEMPERATURE, MetricRegistry.AVAILABLE_MEMORY),
+                        Map.of(MetricRegistry.CPU_TEMPERATURE, THRESHOLD), 3);
+                MetricSummary summary = summaries.get(0);
+
+                assertEquals(SAMPLES, summary.getCount());
+                assertEquals(sorted[0], summary.getMin());
+                assertEquals(150.0, summary.getMax());
+                assertEquals(mean, summary.getMean(), 1e-9);
+                double tolerance = (summary.getMax() - summary.getMin()) / SessionAnalyzer.HISTOGRAM_BINS;
+                for (double percent : new double[] { 50, 90, 99 }) {
+                    double exact = sorted[(int) Math.ceil(percent / 100 * SAMPLES) - 1];
+                    assertEquals(exact, summary.getPercentile(percent), tolerance, "Centile " + percent);
+                }
+
+                assertEquals(above * INTERVAL, summary.getExceedanceMillis());
+                assertEquals(episodes, summary.getExceedanceEpisodes(),
+                        "Les dépassements à cheval sur deux morceaux ne devraient compter qu'une fois");
+                assertEquals(longestRun * INTERVAL, summary.getLongestExceedanceMillis());
+
+                List<MetricSummary.Peak> peaks = summary.getPeaks();
+                assertEquals(3, peaks.size());
+                assertEquals(150.0, peaks.get(0).getValue());
+                assertEquals(START + 1234 * INTERVAL, peaks.get(0).getTimestampMillis());
+                assertEquals(140.0, peaks.get(1).getValue());
+                assertEquals(130.0, peaks.get(2).getValue());
+
+                MetricSummary memory = summaries.get(1);
+                assertEquals(SAMPLES - 1.0, memory.getMax(), "Les valeurs entières devraient être relues");
+                assertFalse(memory.hasThreshold());
+                assertEquals(SAMPLES - 1.0, memory.getPeaks().get(0).getValue(),
+                        "Le dernier échantillon d'une série croissante est un pic");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test de l'analyse d'une période")
+    void testTimeRange() throws IOException {
+        try (RecordingReader reader = record(tempDir, 64 * 1024)) {
+            SessionAnalyzer analyzer = new SessionAnalyzer(reader);
+            MetricSummary summary = analyzer.analyze(START + 1000 * INTERVAL - 1, START + 2000 * INTERVAL,
+                    List.of(MetricRegistry.AVAILABLE_MEMORY), Map.of(), 0).get(0);
+            assertEquals(1001, summary.getCount());
+            assertEquals(1000.0, summary.getMin());
+            assertEquals(2000.0, summary.getMax());
+            assertTrue(summary.getPeaks().isEmpty());
+
+            MetricSummary empty = analyzer.analyze(START - 10 * INTERVAL, START - 1,
+                    List.of(MetricRegistry.AVAILABLE_MEMORY), Map.of(), 3).get(0);
+            assertEquals(0, empty.getCount());
+            assertTrue(Double.isNaN(empty.getPercentile(50)));
+
+            List<MetricSummary> all = analyzer.analyze(Long.MIN_VALUE, Long.MAX_VALUE, null, null, 1);
+            assertEquals(2, all.size(), "Toutes les métriques numériques devraient être analysées par défaut");
+        }
+    }
+}